@@ -0,0 +1,91 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Allocation regression check of the serializer: runs extractInto and insert
+ * of the {@link SerializerBenchmark} with the GC profiler and fails if
+ * gc.alloc.rate.norm exceeds the threshold. Only beans without STRING fields
+ * are checked, decoding a string always allocates it.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.github.s7connector.benchmarks.AllocationCheck [bytes per operation]
+ * </pre>
+ *
+ * The build runs it with the check-allocation profile.
+ */
+public final class AllocationCheck {
+
+	/** Default threshold in bytes per operation, above the profiler noise */
+	private static final double THRESHOLD = 16;
+
+	private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+	public static void main(String[] args) throws RunnerException {
+		final double threshold = (args.length > 0) ? Double.parseDouble(args[0]) : THRESHOLD;
+
+		final List<String> failures = new ArrayList<String>();
+		for (RunResult result : new Runner(new OptionsBuilder()
+				.include(SerializerBenchmark.class.getSimpleName() + "\\.(extractInto|insert)$")
+				.param("bean", "CONT_C", "BIG_DB", "NESTED")
+				.addProfiler(GCProfiler.class)
+				.build()).run()) {
+			final String name = result.getParams().getBenchmark() + " " + result.getParams().getParam("bean");
+			final Result alloc = getAllocRateNorm(result.getSecondaryResults());
+			if (alloc == null) {
+				failures.add(name + ": no " + ALLOC_RATE_NORM + " result");
+			} else if (alloc.getScore() > threshold) {
+				failures.add(name + ": " + alloc.getScore() + " " + alloc.getScoreUnit());
+			}
+		}
+
+		if (!failures.isEmpty()) {
+			System.err.println("Allocation above " + threshold + " B/op:");
+			for (String failure : failures) {
+				System.err.println("  " + failure);
+			}
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Returns the normalized allocation rate, the label has a prefix in
+	 * older JMH versions
+	 */
+	private static Result getAllocRateNorm(Map<String, Result> results) {
+		for (Map.Entry<String, Result> entry : results.entrySet()) {
+			if (entry.getKey().endsWith(ALLOC_RATE_NORM)) {
+				return entry.getValue();
+			}
+		}
+		return null;
+	}
+
+	private AllocationCheck() {
+	}
+
+}
@@ -0,0 +1,252 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.benchmarks;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.HdrHistogram.Histogram;
+
+import com.github.s7connector.api.BitKey;
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.api.SiemensPLCS;
+import com.github.s7connector.impl.S7TCPAsyncConnection;
+import com.github.s7connector.test.connector.S7SimulatorServer;
+
+/**
+ * Sweeps item count, poll period and PLC latency for one
+ * S7TCPAsyncConnection polling the simulator server, and reports per run:
+ * <ul>
+ * <li>delivered items per second</li>
+ * <li>the consumer latency from the start of the poll cycle to the delivery
+ * of an item, as percentiles of a histogram</li>
+ * <li>poll cycle overruns, cycles that took longer than the period</li>
+ * <li>bytes allocated by the poll thread per cycle</li>
+ * </ul>
+ *
+ * Every run is written as one JSON line to the output file, or to stdout.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.github.s7connector.benchmarks.AsyncConnectionHarness \
+ *     --items 1,10,100,1000 --periods 10,100 --latencies 0,5 --duration 10 --out results.jsonl
+ * </pre>
+ */
+public final class AsyncConnectionHarness {
+
+	/**
+	 * Stamps the start of every poll cycle
+	 */
+	private static final class TimedConnector implements S7Connector {
+		private final S7Connector connector;
+
+		volatile long cycleStart;
+
+		TimedConnector(final S7Connector connector) {
+			this.connector = connector;
+		}
+
+		@Override
+		public byte[] read(final DaveArea area, final int areaNumber, final int bytes, final int offset)
+				throws IOException {
+			this.cycleStart = System.nanoTime();
+			return this.connector.read(area, areaNumber, bytes, offset);
+		}
+
+		@Override
+		public Map<ItemKey, byte[]> read(final Collection<ItemKey> items) throws IOException {
+			this.cycleStart = System.nanoTime();
+			return this.connector.read(items);
+		}
+
+		@Override
+		public Map<BitKey, Boolean> readBits(final Collection<BitKey> keys) throws IOException {
+			return this.connector.readBits(keys);
+		}
+
+		@Override
+		public void write(final DaveArea area, final int areaNumber, final int offset, final byte[] buffer)
+				throws IOException {
+			this.connector.write(area, areaNumber, offset, buffer);
+		}
+
+		@Override
+		public void write(final Map<ItemKey, byte[]> items, final Map<BitKey, Boolean> bits) throws IOException {
+			this.connector.write(items, bits);
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.connector.close();
+		}
+	}
+
+	private static final class TimedConnection extends S7TCPAsyncConnection {
+		volatile TimedConnector connector;
+
+		TimedConnection(final String host, final int port) {
+			super(host, SiemensPLCS.SNon200, 0, 2, port);
+		}
+
+		@Override
+		protected S7Connector doStartConnection() throws IOException {
+			this.connector = new TimedConnector(super.doStartConnection());
+			return this.connector;
+		}
+	}
+
+	/**
+	 * Records the deliveries of one run, called on the poll thread only
+	 */
+	private static final class Recorder implements Consumer<byte[]> {
+		private final TimedConnection connection;
+		private final int items;
+		private final long periodNanos;
+
+		/** Consumer latency in microseconds */
+		final Histogram latency = new Histogram(3);
+
+		volatile boolean measuring;
+		volatile Thread pollThread;
+		volatile long cycles, overruns, delivered;
+
+		private int cycleDeliveries;
+
+		Recorder(final TimedConnection connection, final int items, final long periodNanos) {
+			this.connection = connection;
+			this.items = items;
+			this.periodNanos = periodNanos;
+		}
+
+		@Override
+		public void accept(final byte[] data) {
+			final long now = System.nanoTime();
+			if (this.pollThread == null) {
+				this.pollThread = Thread.currentThread();
+			}
+			final long start = this.connection.connector.cycleStart;
+			if (++this.cycleDeliveries == this.items) {
+				this.cycleDeliveries = 0;
+				if (this.measuring) {
+					this.cycles++;
+					if ((now - start) > this.periodNanos) {
+						this.overruns++;
+					}
+				}
+			}
+			if (this.measuring) {
+				this.delivered++;
+				this.latency.recordValue(Math.max(0, (now - start) / 1000));
+			}
+		}
+	}
+
+	private static long allocatedBytes(final Thread thread) {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+				.getThreadAllocatedBytes(thread.getId());
+	}
+
+	private static String run(final int items, final int periodMillis, final int plcLatencyMillis,
+			final int pduLength, final int warmupSeconds, final int durationSeconds) throws Exception {
+		try (S7SimulatorServer server = new S7SimulatorServer(pduLength);
+				TimedConnection connection = new TimedConnection(server.getHost(), server.getPort())) {
+			server.setLatency(plcLatencyMillis);
+			final Recorder recorder = new Recorder(connection, items, Duration.ofMillis(periodMillis).toNanos());
+			for (int i = 0; i < items; i++) {
+				connection.addItem(new ItemKey(DaveArea.DB, 1, 4, i * 4), recorder);
+			}
+			connection.setPeriod(Duration.ofMillis(periodMillis));
+			connection.start();
+
+			Thread.sleep(warmupSeconds * 1000L);
+			if (recorder.pollThread == null) {
+				throw new IllegalStateException("No item delivered during the warmup");
+			}
+
+			final long allocatedBefore = allocatedBytes(recorder.pollThread);
+			final long begin = System.nanoTime();
+			recorder.measuring = true;
+			Thread.sleep(durationSeconds * 1000L);
+			recorder.measuring = false;
+			final long elapsed = System.nanoTime() - begin;
+			final long allocated = allocatedBytes(recorder.pollThread) - allocatedBefore;
+			connection.stop();
+			// the last cycle may still record
+			Thread.sleep(Math.max(100, 2 * periodMillis + 2 * plcLatencyMillis));
+
+			final Histogram h = recorder.latency;
+			final long cycles = recorder.cycles;
+			return String.format(Locale.ROOT,
+					"{\"items\":%d,\"periodMs\":%d,\"plcLatencyMs\":%d,\"pduLength\":%d,\"durationS\":%.3f,"
+							+ "\"cycles\":%d,\"expectedCycles\":%d,\"overruns\":%d,\"itemsPerSecond\":%.1f,"
+							+ "\"latencyUs\":{\"mean\":%.1f,\"p50\":%d,\"p90\":%d,\"p99\":%d,\"p999\":%d,\"max\":%d},"
+							+ "\"allocatedBytesPerCycle\":%d}",
+					items, periodMillis, plcLatencyMillis, pduLength, elapsed / 1e9, cycles,
+					elapsed / Duration.ofMillis(periodMillis).toNanos(), recorder.overruns,
+					recorder.delivered / (elapsed / 1e9), h.getMean(), h.getValueAtPercentile(50),
+					h.getValueAtPercentile(90), h.getValueAtPercentile(99), h.getValueAtPercentile(99.9),
+					h.getMaxValue(), (cycles > 0) ? (allocated / cycles) : 0);
+		}
+	}
+
+	private static int[] ints(final String value) {
+		return Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+	}
+
+	public static void main(final String[] args) throws Exception {
+		final Map<String, String> options = new HashMap<String, String>();
+		options.put("items", "1,10,100,1000");
+		options.put("periods", "10,100");
+		options.put("latencies", "0,5");
+		options.put("pdu", "240");
+		options.put("warmup", "3");
+		options.put("duration", "10");
+		for (int i = 0; (i + 1) < args.length; i += 2) {
+			if (!args[i].startsWith("--")) {
+				throw new IllegalArgumentException("Unknown argument: " + args[i]);
+			}
+			options.put(args[i].substring(2), args[i + 1]);
+		}
+
+		final int pduLength = Integer.parseInt(options.get("pdu"));
+		final int warmup = Integer.parseInt(options.get("warmup"));
+		final int duration = Integer.parseInt(options.get("duration"));
+		final Writer out = options.containsKey("out") ? new FileWriter(options.get("out"), true)
+				: new PrintWriter(System.out);
+		try (PrintWriter writer = new PrintWriter(out, true)) {
+			for (final int items : ints(options.get("items"))) {
+				for (final int period : ints(options.get("periods"))) {
+					for (final int latency : ints(options.get("latencies"))) {
+						System.err.printf("items %d, period %d ms, PLC latency %d ms%n", items, period, latency);
+						writer.println(run(items, period, latency, pduLength, warmup, duration));
+					}
+				}
+			}
+		}
+	}
+
+}
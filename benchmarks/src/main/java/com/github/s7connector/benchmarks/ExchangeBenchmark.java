@@ -0,0 +1,102 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.benchmarks;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.api.factory.S7ConnectorFactory;
+import com.github.s7connector.impl.nodave.Nodave;
+import com.github.s7connector.impl.nodave.PDU;
+import com.github.s7connector.impl.nodave.PLCinterface;
+import com.github.s7connector.impl.nodave.ResultSet;
+import com.github.s7connector.impl.nodave.TCPConnection;
+import com.github.s7connector.test.connector.S7SimulatorServer;
+
+/**
+ * Measures a full request round trip over a loopback socket to the
+ * simulator server: the TCPConnection exchange of a read PDU and a read
+ * through the connector.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExchangeBenchmark {
+
+	private S7SimulatorServer server;
+
+	private Socket socket;
+
+	private TCPConnection dc;
+
+	private S7Connector connector;
+
+	@Setup
+	public void setup() throws IOException {
+		server = new S7SimulatorServer(240);
+
+		socket = new Socket(server.getHost(), server.getPort());
+		socket.setTcpNoDelay(true);
+		final PLCinterface di = new PLCinterface(socket.getOutputStream(), socket.getInputStream(), "IF1",
+				DaveArea.LOCAL.getCode(), Nodave.PROTOCOL_ISOTCP);
+		dc = new TCPConnection(di, 0, 2);
+		dc.connectPLC();
+
+		connector = S7ConnectorFactory.buildTCPConnector()
+				.withHost(server.getHost())
+				.withPort(server.getPort())
+				.build();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		connector.close();
+		socket.close();
+		server.close();
+	}
+
+	@Benchmark
+	public ResultSet exchange() throws IOException {
+		final PDU p = new PDU(dc.msgOut, dc.PDUstartOut);
+		p.initReadRequest();
+		p.addVarToReadRequest(DaveArea.DB, 1, 0, 16);
+		return dc.execReadRequest(p);
+	}
+
+	@Benchmark
+	public byte[] connectorRead() throws IOException {
+		return connector.read(DaveArea.DB, 1, 16, 0);
+	}
+
+}
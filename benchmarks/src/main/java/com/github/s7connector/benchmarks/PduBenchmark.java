@@ -0,0 +1,201 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.impl.nodave.Nodave;
+import com.github.s7connector.impl.nodave.PDU;
+import com.github.s7connector.impl.nodave.ResultSet;
+import com.github.s7connector.impl.nodave.S7Connection;
+import com.github.s7connector.test.connector.S7Simulator;
+
+/**
+ * Measures the CPU cost of the nodave framing layer per request: encoding
+ * read and write PDUs with one item and with as many items as fit into a
+ * 240 byte PDU, decoding the answers and the big-endian helpers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PduBenchmark {
+
+	/**
+	 * Items of 4 bytes in one read request of a 240 byte PDU
+	 */
+	private static final int MAX_READ_ITEMS = 19;
+
+	/**
+	 * Items of 8 bytes in one write request of a 240 byte PDU
+	 */
+	private static final int MAX_WRITE_ITEMS = 8;
+
+	/**
+	 * Answers every exchange with a recorded response
+	 */
+	private static final class ReplayConnection extends S7Connection {
+		byte[] response;
+
+		ReplayConnection() {
+			super(null);
+			this.PDUstartIn = 7;
+			this.PDUstartOut = 7;
+		}
+
+		@Override
+		public int exchange(final PDU p1) {
+			System.arraycopy(this.response, 0, this.msgIn, 0, this.response.length);
+			return Nodave.RESULT_OK;
+		}
+	}
+
+	private final byte[] msgOut = new byte[Nodave.MAX_RAW_LEN];
+
+	private final byte[] value = new byte[8];
+
+	private final S7Simulator simulator = new S7Simulator(240);
+
+	private final ReplayConnection connection = new ReplayConnection();
+
+	private byte[] readResponse1, readResponseMax, writeResponse1, writeResponseMax;
+
+	@Setup
+	public void setup() {
+		encodeRead(1);
+		readResponse1 = answer();
+		encodeRead(MAX_READ_ITEMS);
+		readResponseMax = answer();
+		encodeWrite(1);
+		writeResponse1 = answer();
+		encodeWrite(MAX_WRITE_ITEMS);
+		writeResponseMax = answer();
+	}
+
+	/**
+	 * Answers the request in msgOut
+	 */
+	private byte[] answer() {
+		final byte[] response = new byte[Nodave.MAX_RAW_LEN];
+		simulator.handle(msgOut, 7, response, 7);
+		return response;
+	}
+
+	private PDU encodeRead(final int items) {
+		final PDU p = new PDU(msgOut, 7);
+		p.initReadRequest();
+		for (int i = 0; i < items; i++) {
+			p.addVarToReadRequest(DaveArea.DB, 1, i * 4, 4);
+		}
+		return p;
+	}
+
+	private PDU encodeWrite(final int items) {
+		final PDU p = new PDU(msgOut, 7);
+		p.prepareWriteRequest();
+		for (int i = 0; i < items; i++) {
+			p.addVarToWriteRequest(DaveArea.DB, 1, i * 8, 8, value);
+		}
+		return p;
+	}
+
+	private ResultSet decodeRead(final byte[] response) throws IOException {
+		connection.response = response;
+		return connection.execReadRequest(new PDU(connection.msgOut, 7));
+	}
+
+	private ResultSet decodeWrite(final byte[] response) throws IOException {
+		connection.response = response;
+		return connection.execWriteRequest(new PDU(connection.msgOut, 7));
+	}
+
+	@Benchmark
+	public PDU encodeRead1() {
+		return encodeRead(1);
+	}
+
+	@Benchmark
+	public PDU encodeReadMax() {
+		return encodeRead(MAX_READ_ITEMS);
+	}
+
+	@Benchmark
+	public PDU encodeWrite1() {
+		return encodeWrite(1);
+	}
+
+	@Benchmark
+	public PDU encodeWriteMax() {
+		return encodeWrite(MAX_WRITE_ITEMS);
+	}
+
+	@Benchmark
+	public ResultSet decodeRead1() throws IOException {
+		return decodeRead(readResponse1);
+	}
+
+	@Benchmark
+	public ResultSet decodeReadMax() throws IOException {
+		return decodeRead(readResponseMax);
+	}
+
+	@Benchmark
+	public ResultSet decodeWrite1() throws IOException {
+		return decodeWrite(writeResponse1);
+	}
+
+	@Benchmark
+	public ResultSet decodeWriteMax() throws IOException {
+		return decodeWrite(writeResponseMax);
+	}
+
+	@Benchmark
+	public PDU setupReceivedPDU() {
+		final PDU p = new PDU(readResponseMax, 7);
+		p.setupReceivedPDU();
+		return p;
+	}
+
+	/**
+	 * Decodes the data of a full read answer as words, longs and floats
+	 */
+	@Benchmark
+	public void bigEndianHelpers(final Blackhole bh) {
+		final byte[] b = readResponseMax;
+		for (int pos = 0; pos < 200; pos += 4) {
+			bh.consume(Nodave.USBEWord(b, pos));
+			bh.consume(Nodave.SBELong(b, pos));
+			bh.consume(Nodave.BEFloat(b, pos));
+		}
+	}
+
+}
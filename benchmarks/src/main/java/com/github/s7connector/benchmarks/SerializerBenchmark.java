@@ -0,0 +1,146 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.s7connector.benchmarks.beans.BigDB;
+import com.github.s7connector.benchmarks.beans.MixedDB;
+import com.github.s7connector.benchmarks.beans.NestedDB;
+import com.github.s7connector.blocks.CONT_C;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.serializer.S7SerializerImpl;
+import com.github.s7connector.impl.serializer.parser.BeanParser;
+
+/**
+ * Measures the codec of the serializer without a connection: decoding a
+ * buffer into a new or an existing bean and encoding a bean into a buffer.
+ *
+ * Run with the GC profiler to see the allocation rate per operation:
+ * 
+ * <pre>
+ * java -jar target/benchmarks.jar SerializerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+	/**
+	 * The bean: the CONT_C block, a DB with 200 mixed fields, the 4096 byte
+	 * array of the BigDBTest and an array of nested STRUCTs
+	 */
+	@Param({ "CONT_C", "MIXED", "BIG_DB", "NESTED" })
+	public String bean;
+
+	private Class<?> beanClass;
+
+	private Object instance;
+
+	private byte[] buffer;
+
+	private byte[] target;
+
+	private Object reused;
+
+	@Setup
+	public void setup() throws Exception {
+		Random random = new Random(42);
+		switch (bean) {
+		case "CONT_C":
+			beanClass = CONT_C.class;
+			break;
+		case "MIXED":
+			beanClass = MixedDB.class;
+			break;
+		case "BIG_DB":
+			beanClass = BigDB.class;
+			break;
+		case "NESTED":
+			beanClass = NestedDB.class;
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown bean: " + bean);
+		}
+
+		// random content, random string lengths do not fit the strings
+		int blockSize = BeanParser.parse(beanClass).blockSize;
+		buffer = new byte[blockSize];
+		random.nextBytes(buffer);
+		instance = S7SerializerImpl.extractBytes(beanClass, buffer, 0);
+		for (Field field : beanClass.getFields()) {
+			if (field.getType() == String.class) {
+				field.set(instance, "Station " + field.getName());
+			}
+		}
+
+		buffer = new byte[blockSize];
+		S7SerializerImpl.insertBytes(instance, buffer, 0);
+		target = new byte[blockSize];
+		reused = S7SerializerImpl.extractBytes(beanClass, buffer, 0);
+	}
+
+	@Benchmark
+	public Object extract() throws S7Exception {
+		return S7SerializerImpl.extractBytes(beanClass, buffer, 0);
+	}
+
+	/**
+	 * Decoding into the same bean, which reuses its arrays and nested
+	 * structures. With trace logging disabled only STRING fields allocate,
+	 * {@link AllocationCheck} fails above a threshold of gc.alloc.rate.norm.
+	 */
+	@Benchmark
+	public Object extractInto() throws S7Exception {
+		return S7SerializerImpl.extractInto(reused, buffer, 0);
+	}
+
+	@Benchmark
+	public byte[] insert() throws S7Exception {
+		S7SerializerImpl.insertBytes(instance, target, 0);
+		return target;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(SerializerBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+
+}
@@ -0,0 +1,628 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.benchmarks.beans;
+
+import com.github.s7connector.api.annotation.Datablock;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * A DB with 200 fields of mixed types, 606 bytes
+ */
+@Datablock
+public class MixedDB {
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 0, bitOffset = 0)
+	public boolean flag0;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 0, bitOffset = 1)
+	public boolean flag1;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 0, bitOffset = 2)
+	public boolean flag2;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 0, bitOffset = 3)
+	public boolean flag3;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 0, bitOffset = 4)
+	public boolean flag4;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 0, bitOffset = 5)
+	public boolean flag5;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 0, bitOffset = 6)
+	public boolean flag6;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 0, bitOffset = 7)
+	public boolean flag7;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 1, bitOffset = 0)
+	public boolean flag8;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 1, bitOffset = 1)
+	public boolean flag9;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 1, bitOffset = 2)
+	public boolean flag10;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 1, bitOffset = 3)
+	public boolean flag11;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 1, bitOffset = 4)
+	public boolean flag12;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 1, bitOffset = 5)
+	public boolean flag13;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 1, bitOffset = 6)
+	public boolean flag14;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 1, bitOffset = 7)
+	public boolean flag15;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 2, bitOffset = 0)
+	public boolean flag16;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 2, bitOffset = 1)
+	public boolean flag17;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 2, bitOffset = 2)
+	public boolean flag18;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 2, bitOffset = 3)
+	public boolean flag19;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 2, bitOffset = 4)
+	public boolean flag20;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 2, bitOffset = 5)
+	public boolean flag21;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 2, bitOffset = 6)
+	public boolean flag22;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 2, bitOffset = 7)
+	public boolean flag23;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 3, bitOffset = 0)
+	public boolean flag24;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 3, bitOffset = 1)
+	public boolean flag25;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 3, bitOffset = 2)
+	public boolean flag26;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 3, bitOffset = 3)
+	public boolean flag27;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 3, bitOffset = 4)
+	public boolean flag28;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 3, bitOffset = 5)
+	public boolean flag29;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 3, bitOffset = 6)
+	public boolean flag30;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 3, bitOffset = 7)
+	public boolean flag31;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 4, bitOffset = 0)
+	public boolean flag32;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 4, bitOffset = 1)
+	public boolean flag33;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 4, bitOffset = 2)
+	public boolean flag34;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 4, bitOffset = 3)
+	public boolean flag35;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 4, bitOffset = 4)
+	public boolean flag36;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 4, bitOffset = 5)
+	public boolean flag37;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 4, bitOffset = 6)
+	public boolean flag38;
+
+	@S7Variable(type = S7Type.BOOL, byteOffset = 4, bitOffset = 7)
+	public boolean flag39;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 6)
+	public int int0;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 8)
+	public int int1;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 10)
+	public int int2;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 12)
+	public int int3;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 14)
+	public int int4;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 16)
+	public int int5;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 18)
+	public int int6;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 20)
+	public int int7;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 22)
+	public int int8;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 24)
+	public int int9;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 26)
+	public int int10;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 28)
+	public int int11;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 30)
+	public int int12;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 32)
+	public int int13;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 34)
+	public int int14;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 36)
+	public int int15;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 38)
+	public int int16;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 40)
+	public int int17;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 42)
+	public int int18;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 44)
+	public int int19;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 46)
+	public int int20;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 48)
+	public int int21;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 50)
+	public int int22;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 52)
+	public int int23;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 54)
+	public int int24;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 56)
+	public int int25;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 58)
+	public int int26;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 60)
+	public int int27;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 62)
+	public int int28;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 64)
+	public int int29;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 66)
+	public int int30;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 68)
+	public int int31;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 70)
+	public int int32;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 72)
+	public int int33;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 74)
+	public int int34;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 76)
+	public int int35;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 78)
+	public int int36;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 80)
+	public int int37;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 82)
+	public int int38;
+
+	@S7Variable(type = S7Type.INT, byteOffset = 84)
+	public int int39;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 86)
+	public float real0;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 90)
+	public float real1;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 94)
+	public float real2;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 98)
+	public float real3;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 102)
+	public float real4;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 106)
+	public float real5;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 110)
+	public float real6;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 114)
+	public float real7;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 118)
+	public float real8;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 122)
+	public float real9;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 126)
+	public float real10;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 130)
+	public float real11;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 134)
+	public float real12;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 138)
+	public float real13;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 142)
+	public float real14;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 146)
+	public float real15;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 150)
+	public float real16;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 154)
+	public float real17;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 158)
+	public float real18;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 162)
+	public float real19;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 166)
+	public float real20;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 170)
+	public float real21;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 174)
+	public float real22;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 178)
+	public float real23;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 182)
+	public float real24;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 186)
+	public float real25;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 190)
+	public float real26;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 194)
+	public float real27;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 198)
+	public float real28;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 202)
+	public float real29;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 206)
+	public float real30;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 210)
+	public float real31;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 214)
+	public float real32;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 218)
+	public float real33;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 222)
+	public float real34;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 226)
+	public float real35;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 230)
+	public float real36;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 234)
+	public float real37;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 238)
+	public float real38;
+
+	@S7Variable(type = S7Type.REAL, byteOffset = 242)
+	public float real39;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 246)
+	public long dint0;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 250)
+	public long dint1;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 254)
+	public long dint2;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 258)
+	public long dint3;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 262)
+	public long dint4;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 266)
+	public long dint5;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 270)
+	public long dint6;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 274)
+	public long dint7;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 278)
+	public long dint8;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 282)
+	public long dint9;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 286)
+	public long dint10;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 290)
+	public long dint11;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 294)
+	public long dint12;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 298)
+	public long dint13;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 302)
+	public long dint14;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 306)
+	public long dint15;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 310)
+	public long dint16;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 314)
+	public long dint17;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 318)
+	public long dint18;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 322)
+	public long dint19;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 326)
+	public long dint20;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 330)
+	public long dint21;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 334)
+	public long dint22;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 338)
+	public long dint23;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 342)
+	public long dint24;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 346)
+	public long dint25;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 350)
+	public long dint26;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 354)
+	public long dint27;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 358)
+	public long dint28;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 362)
+	public long dint29;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 366)
+	public int word0;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 368)
+	public int word1;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 370)
+	public int word2;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 372)
+	public int word3;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 374)
+	public int word4;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 376)
+	public int word5;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 378)
+	public int word6;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 380)
+	public int word7;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 382)
+	public int word8;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 384)
+	public int word9;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 386)
+	public int word10;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 388)
+	public int word11;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 390)
+	public int word12;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 392)
+	public int word13;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 394)
+	public int word14;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 396)
+	public int word15;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 398)
+	public int word16;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 400)
+	public int word17;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 402)
+	public int word18;
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 404)
+	public int word19;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 406)
+	public byte byte0;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 407)
+	public byte byte1;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 408)
+	public byte byte2;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 409)
+	public byte byte3;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 410)
+	public byte byte4;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 411)
+	public byte byte5;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 412)
+	public byte byte6;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 413)
+	public byte byte7;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 414)
+	public byte byte8;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 415)
+	public byte byte9;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 416)
+	public byte byte10;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 417)
+	public byte byte11;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 418)
+	public byte byte12;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 419)
+	public byte byte13;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 420)
+	public byte byte14;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 421)
+	public byte byte15;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 422)
+	public byte byte16;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 423)
+	public byte byte17;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 424)
+	public byte byte18;
+
+	@S7Variable(type = S7Type.BYTE, byteOffset = 425)
+	public byte byte19;
+
+	@S7Variable(type = S7Type.STRING, byteOffset = 426, size = 16)
+	public String string0;
+
+	@S7Variable(type = S7Type.STRING, byteOffset = 444, size = 16)
+	public String string1;
+
+	@S7Variable(type = S7Type.STRING, byteOffset = 462, size = 16)
+	public String string2;
+
+	@S7Variable(type = S7Type.STRING, byteOffset = 480, size = 16)
+	public String string3;
+
+	@S7Variable(type = S7Type.STRING, byteOffset = 498, size = 16)
+	public String string4;
+
+	@S7Variable(type = S7Type.STRING, byteOffset = 516, size = 16)
+	public String string5;
+
+	@S7Variable(type = S7Type.STRING, byteOffset = 534, size = 16)
+	public String string6;
+
+	@S7Variable(type = S7Type.STRING, byteOffset = 552, size = 16)
+	public String string7;
+
+	@S7Variable(type = S7Type.STRING, byteOffset = 570, size = 16)
+	public String string8;
+
+	@S7Variable(type = S7Type.STRING, byteOffset = 588, size = 16)
+	public String string9;
+
+}
@@ -0,0 +1,77 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.benchmarks.beans;
+
+import com.github.s7connector.api.annotation.Datablock;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * A DB with an array of nested STRUCTs, 8 axes with a position and a
+ * status each, 262 bytes
+ */
+@Datablock
+public class NestedDB {
+
+	@Datablock
+	public static class Status {
+		@S7Variable(type = S7Type.BOOL, byteOffset = 0, bitOffset = 0)
+		public boolean ready;
+
+		@S7Variable(type = S7Type.BOOL, byteOffset = 0, bitOffset = 1)
+		public boolean error;
+
+		@S7Variable(type = S7Type.WORD, byteOffset = 2)
+		public int code;
+	}
+
+	@Datablock
+	public static class Position {
+		@S7Variable(type = S7Type.REAL, byteOffset = 0)
+		public float x;
+
+		@S7Variable(type = S7Type.REAL, byteOffset = 4)
+		public float y;
+
+		@S7Variable(type = S7Type.REAL, byteOffset = 8)
+		public float z;
+	}
+
+	@Datablock
+	public static class Axis {
+		@S7Variable(type = S7Type.STRUCT, byteOffset = 0)
+		public Position target;
+
+		@S7Variable(type = S7Type.STRUCT, byteOffset = 12)
+		public Position actual;
+
+		@S7Variable(type = S7Type.STRUCT, byteOffset = 24)
+		public Status status;
+
+		@S7Variable(type = S7Type.DINT, byteOffset = 28)
+		public long cycles;
+	}
+
+	@S7Variable(type = S7Type.WORD, byteOffset = 0)
+	public int mode;
+
+	@S7Variable(type = S7Type.DINT, byteOffset = 2)
+	public long heartbeat;
+
+	@S7Variable(type = S7Type.STRUCT, byteOffset = 6, arraySize = 8)
+	public Axis[] axes;
+
+}
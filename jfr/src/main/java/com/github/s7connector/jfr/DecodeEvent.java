@@ -0,0 +1,46 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The serializer decoded beans from the bytes read
+ */
+@Name("com.github.s7connector.Decode")
+@Label("S7 Decode")
+@Category({ "S7 Connector" })
+@Description("The serializer decoded beans")
+final class DecodeEvent extends Event {
+
+	@Label("Bean Class")
+	Class<?> beanClass;
+
+	@Label("Bytes")
+	@DataAmount
+	int bytes;
+
+	@Label("Decode Time")
+	@Timespan
+	long decodeTime;
+
+}
@@ -0,0 +1,74 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A request PDU was sent and its answer received, the event is committed after
+ * the answer, its round trip is the time between sending and receiving
+ */
+@Name("com.github.s7connector.Exchange")
+@Label("S7 Exchange")
+@Category({ "S7 Connector" })
+@Description("A request PDU and its answer")
+final class ExchangeEvent extends Event {
+
+	@Label("Function")
+	String function;
+
+	@Label("PDU Reference")
+	int pduReference;
+
+	@Label("Area")
+	@Description("Area of the first item")
+	String area;
+
+	@Label("DB Number")
+	@Description("Area number of the first item")
+	int areaNumber;
+
+	@Label("Offset")
+	@Description("Byte offset of the first item")
+	int offset;
+
+	@Label("Bytes")
+	@Description("Length of the first item")
+	@DataAmount
+	int bytes;
+
+	@Label("Items")
+	int items;
+
+	@Label("Round Trip")
+	@Timespan
+	long roundTrip;
+
+	@Label("Bytes Sent")
+	@DataAmount
+	int bytesSent;
+
+	@Label("Bytes Received")
+	@DataAmount
+	int bytesReceived;
+
+}
@@ -0,0 +1,41 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A phase of the connection establishment completed
+ */
+@Name("com.github.s7connector.Handshake")
+@Label("S7 Handshake")
+@Category({ "S7 Connector" })
+@Description("A phase of the connection establishment")
+final class HandshakeEvent extends Event {
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Duration")
+	@Timespan
+	long phaseTime;
+
+}
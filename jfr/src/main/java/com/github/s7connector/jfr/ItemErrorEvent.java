@@ -0,0 +1,49 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The PLC answered an item of a request with an error
+ */
+@Name("com.github.s7connector.ItemError")
+@Label("S7 Item Error")
+@Category({ "S7 Connector" })
+@Description("An item answered with an error")
+final class ItemErrorEvent extends Event {
+
+	@Label("Area")
+	String area;
+
+	@Label("DB Number")
+	int areaNumber;
+
+	@Label("Offset")
+	int offset;
+
+	@Label("Bytes")
+	int bytes;
+
+	@Label("Error Code")
+	@Description("The libnodave result code")
+	int errorCode;
+
+}
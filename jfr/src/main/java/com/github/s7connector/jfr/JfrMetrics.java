@@ -0,0 +1,141 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.jfr;
+
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Metrics;
+
+/**
+ * Metrics committing JDK Flight Recorder events, install with
+ * S7ConnectorFactory.buildTCPConnector().withMetrics(new JfrMetrics())
+ * <p>
+ * The events are committed when the metrics are called, so their start time
+ * is the end of the measured operation and the measured time is an event
+ * field. Disabled events are not filled, the connector times the operations
+ * anyway as long as metrics are installed.
+ */
+public final class JfrMetrics implements S7Metrics {
+
+	/**
+	 * The metrics called after the events were committed
+	 */
+	private final S7Metrics delegate;
+
+	/**
+	 * Creates metrics committing events only
+	 */
+	public JfrMetrics() {
+		this(S7Metrics.NOOP);
+	}
+
+	/**
+	 * Creates metrics committing events and calling other metrics, e.g. a
+	 * S7MetricsRecorder
+	 *
+	 * @param delegate
+	 *            the other metrics
+	 */
+	public JfrMetrics(final S7Metrics delegate) {
+		this.delegate = delegate;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void exchange(final Function function, final int pduReference, final ItemKey item, final int items,
+			final long nanos, final int bytesSent, final int bytesReceived) {
+		final ExchangeEvent event = new ExchangeEvent();
+		if (event.shouldCommit()) {
+			event.function = function.name();
+			event.pduReference = pduReference;
+			if (item != null) {
+				event.area = (item.getArea() != null) ? item.getArea().name() : null;
+				event.areaNumber = item.getAreaNumber();
+				event.offset = item.getOffset();
+				event.bytes = item.getBytes();
+			}
+			event.items = items;
+			event.roundTrip = nanos;
+			event.bytesSent = bytesSent;
+			event.bytesReceived = bytesReceived;
+			event.commit();
+		}
+		this.delegate.exchange(function, pduReference, item, items, nanos, bytesSent, bytesReceived);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void handshake(final Phase phase, final long nanos) {
+		final HandshakeEvent event = new HandshakeEvent();
+		if (event.shouldCommit()) {
+			event.phase = phase.name();
+			event.phaseTime = nanos;
+			event.commit();
+		}
+		this.delegate.handshake(phase, nanos);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void decode(final Class<?> beanClass, final int bytes, final long nanos) {
+		final DecodeEvent event = new DecodeEvent();
+		if (event.shouldCommit()) {
+			event.beanClass = beanClass;
+			event.bytes = bytes;
+			event.decodeTime = nanos;
+			event.commit();
+		}
+		this.delegate.decode(beanClass, bytes, nanos);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void itemError(final ItemKey item, final int errorCode) {
+		final ItemErrorEvent event = new ItemErrorEvent();
+		if (event.shouldCommit()) {
+			event.area = (item.getArea() != null) ? item.getArea().name() : null;
+			event.areaNumber = item.getAreaNumber();
+			event.offset = item.getOffset();
+			event.bytes = item.getBytes();
+			event.errorCode = errorCode;
+			event.commit();
+		}
+		this.delegate.itemError(item, errorCode);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void pollCycle(final int pdus, final long nanos, final boolean overrun) {
+		final PollCycleEvent event = new PollCycleEvent();
+		if (event.shouldCommit()) {
+			event.pdus = pdus;
+			event.cycleTime = nanos;
+			event.overrun = overrun;
+			event.commit();
+		}
+		this.delegate.pollCycle(pdus, nanos, overrun);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void reconnect() {
+		final ReconnectEvent event = new ReconnectEvent();
+		if (event.shouldCommit()) {
+			event.commit();
+		}
+		this.delegate.reconnect();
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A poll cycle of an asynchronous connection completed
+ */
+@Name("com.github.s7connector.PollCycle")
+@Label("S7 Poll Cycle")
+@Category({ "S7 Connector" })
+@Description("A poll cycle of an asynchronous connection")
+final class PollCycleEvent extends Event {
+
+	@Label("PDUs")
+	@Description("Request PDUs of the cycle")
+	int pdus;
+
+	@Label("Cycle Time")
+	@Timespan
+	long cycleTime;
+
+	@Label("Overrun")
+	@Description("The cycle took longer than the period")
+	boolean overrun;
+
+}
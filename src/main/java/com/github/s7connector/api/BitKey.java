@@ -0,0 +1,61 @@
+package com.github.s7connector.api;
+
+import java.util.Objects;
+
+public final class BitKey {
+    private final DaveArea area;
+    private final int areaNumber, byteOffset, bitOffset;
+
+    public BitKey(DaveArea area, int areaNumber, int byteOffset, int bitOffset) {
+        if (bitOffset < 0 || bitOffset > 7)
+            throw new IllegalArgumentException("Bit offset out of range (0-7): " + bitOffset);
+        this.area = area;
+        this.areaNumber = areaNumber;
+        this.byteOffset = byteOffset;
+        this.bitOffset = bitOffset;
+    }
+
+    public DaveArea getArea() {
+        return area;
+    }
+
+    public int getAreaNumber() {
+        return areaNumber;
+    }
+
+    public int getByteOffset() {
+        return byteOffset;
+    }
+
+    public int getBitOffset() {
+        return bitOffset;
+    }
+
+    /**
+     * Returns the bit address as used on the wire (byte offset * 8 + bit offset)
+     */
+    public int getBitAddress() {
+        return byteOffset * 8 + bitOffset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BitKey bitKey = (BitKey) o;
+        return areaNumber == bitKey.areaNumber &&
+                byteOffset == bitKey.byteOffset &&
+                bitOffset == bitKey.bitOffset &&
+                area == bitKey.area;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(area, areaNumber, byteOffset, bitOffset);
+    }
+
+    @Override
+    public String toString() {
+        return "" + area.toString() + areaNumber + ":" + byteOffset + "." + bitOffset;
+    }
+}
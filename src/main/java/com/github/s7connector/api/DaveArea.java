@@ -44,4 +44,20 @@ public enum DaveArea {
 	public int getCode() {
 		return this.code;
 	}
+
+	/**
+	 * Returns the area of a function code
+	 *
+	 * @param code
+	 *            the function code
+	 * @return the area, null if the code is unknown
+	 */
+	public static DaveArea fromCode(final int code) {
+		for (final DaveArea area : values()) {
+			if (area.code == code) {
+				return area;
+			}
+		}
+		return null;
+	}
 }
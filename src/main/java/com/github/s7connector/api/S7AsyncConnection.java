@@ -4,7 +4,12 @@ import com.github.s7connector.exception.S7Exception;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 public interface S7AsyncConnection extends Closeable {
@@ -43,10 +48,63 @@ public interface S7AsyncConnection extends Closeable {
         removeItem(new ItemKey(area, areaNumber, bytes, offset));
     }
 
+    /**
+     * Adds a consumer of the polled bytes of an item next to the consumer
+     * added with {@link #addItem(ItemKey, Consumer)}. Any number of sinks may
+     * share a key, each gets its own copy of the bytes, and addItem and
+     * removeItem do not affect them.
+     */
+    default void addSink(ItemKey key, Consumer<byte[]> sink) {
+        addSink(key, sink, null);
+    }
+
+    /**
+     * Adds a consumer of the polled bytes of an item
+     *
+     * @param exceptionConsumer receives the read errors of the item, may be null
+     * @see #addSink(ItemKey, Consumer)
+     */
+    void addSink(ItemKey key, Consumer<byte[]> sink, Consumer<S7Exception> exceptionConsumer);
+
+    /**
+     * Removes a sink added with addSink, other sinks and the item of the key
+     * are kept
+     */
+    void removeSink(ItemKey key, Consumer<byte[]> sink);
+
+    /**
+     * Publishes the polled bytes of an item, an alternative to
+     * {@link #addItem(ItemKey, Consumer)} with demand signalling. The poll
+     * thread only buffers the bytes per subscription, they are delivered on
+     * the executor. Items added with addItem are independent of it.
+     *
+     * @param overflow what a subscription does while its buffer is full
+     * @param capacity the buffer size of each subscription
+     * @param executor the executor delivering the items
+     */
+    S7Flow.Publisher<byte[]> publish(ItemKey key, S7Flow.Overflow overflow, int capacity, Executor executor);
+
+    /**
+     * Publishes the latest polled bytes of an item, delivered on the common
+     * pool
+     */
+    default S7Flow.Publisher<byte[]> publish(ItemKey key) {
+        return publish(key, S7Flow.Overflow.LATEST, 1, ForkJoinPool.commonPool());
+    }
+
     void setExceptionConsumer(Consumer<IOException> consumer);
 
     void removeExceptionConsumer();
 
+    CompletableFuture<byte[]> read(ItemKey key);
+
+    default CompletableFuture<byte[]> read(DaveArea area,
+                                           int areaNumber,
+                                           int bytes,
+                                           int offset) {
+        return read(new ItemKey(area, areaNumber, bytes, offset));
+    }
+
     CompletableFuture<Void> write(ItemKey key, byte[] value);
 
     default CompletableFuture<Void> write(DaveArea area,
@@ -55,4 +113,16 @@ public interface S7AsyncConnection extends Closeable {
                                           byte[] value) {
         return write(new ItemKey(area, areaNumber, value.length, offset), value);
     }
+
+    CompletableFuture<Map<BitKey, Boolean>> readBits(Collection<BitKey> keys);
+
+    default CompletableFuture<Boolean> readBit(BitKey key) {
+        return readBits(Collections.singletonList(key)).thenApply(bits -> bits.get(key));
+    }
+
+    CompletableFuture<Void> writeBits(Map<BitKey, Boolean> bits);
+
+    default CompletableFuture<Void> writeBit(BitKey key, boolean value) {
+        return writeBits(Collections.singletonMap(key, value));
+    }
 }
@@ -0,0 +1,51 @@
+package com.github.s7connector.api;
+
+import com.github.s7connector.exception.S7Exception;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Serializer on top of an {@link S7AsyncConnection}. The transfers run on the
+ * executor of the connection, beans are encoded and decoded on the executor
+ * of the serializer.
+ */
+public interface S7AsyncSerializer {
+
+    /**
+     * Dispenses an Object from the mapping of the Datablock
+     */
+    <T> CompletableFuture<T> dispenseAsync(Class<T> beanClass, int dbNum, int byteOffset);
+
+    /**
+     * Stores an Object to the Datablock
+     */
+    CompletableFuture<Void> storeAsync(Object bean, int dbNum, int byteOffset);
+
+    /**
+     * Subscribes to an Object, the bytes are read with the poll of the
+     * connection. Images are delivered in order, an image which is not yet
+     * decoded when the next one arrives is skipped. Subscriptions are
+     * independent of each other and of the items added to the connection.
+     */
+    default <T> void subscribe(Class<T> beanClass, int dbNum, int byteOffset, Consumer<T> consumer)
+            throws S7Exception {
+        subscribe(beanClass, dbNum, byteOffset, consumer, null);
+    }
+
+    /**
+     * Subscribes to an Object with a consumer for read and decode errors and
+     * for rejected decodings
+     */
+    <T> void subscribe(Class<T> beanClass,
+                       int dbNum,
+                       int byteOffset,
+                       Consumer<T> consumer,
+                       Consumer<S7Exception> exceptionConsumer) throws S7Exception;
+
+    /**
+     * Removes the subscriptions of an Object made with this serializer, the
+     * items of the connection are kept
+     */
+    void unsubscribe(Class<?> beanClass, int dbNum, int byteOffset) throws S7Exception;
+}
@@ -0,0 +1,128 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.api;
+
+import java.util.BitSet;
+
+import com.github.s7connector.exception.S7Exception;
+
+/**
+ * Columnar image of an array of beans of the same class (structure of
+ * arrays). Every mapped field is decoded into one column with an entry per
+ * element: BOOL values into a {@link BitSet}, integral values into
+ * <code>int[]</code> or <code>long[]</code>, REAL and LREAL values into
+ * <code>float[]</code> or <code>double[]</code> and all other values into
+ * <code>Object[]</code>. Fields of nested structures are named
+ * <code>outer.inner</code>, array components <code>name[index]</code>.
+ *
+ * The columns are allocated once for the capacity and are overwritten by
+ * every decode, so one instance can be reused across polls. Large tables
+ * are decoded in parallel. An instance is not thread safe.
+ */
+public interface S7Columns {
+
+	/**
+	 * Decodes the elements of a buffer into the columns
+	 *
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the offset of the first element in the buffer
+	 * @param count
+	 *            the number of elements, at most the capacity
+	 * @param stride
+	 *            the distance in bytes between two elements
+	 * @return this instance
+	 * @throws S7Exception
+	 *             if a value can not be decoded
+	 */
+	S7Columns decode(byte[] buffer, int byteOffset, int count, int stride) throws S7Exception;
+
+	/**
+	 * @return the mapped bean class
+	 */
+	Class<?> getBeanClass();
+
+	/**
+	 * @return the size of one element in bytes
+	 */
+	int getBlockSize();
+
+	/**
+	 * @return the maximum number of elements
+	 */
+	int getCapacity();
+
+	/**
+	 * @return the number of elements of the last decode
+	 */
+	int size();
+
+	/**
+	 * Returns a BOOL column
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the column
+	 */
+	BitSet getBits(String field);
+
+	/**
+	 * Returns a column of byte, short or int values
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the column
+	 */
+	int[] getInts(String field);
+
+	/**
+	 * Returns a column of long values
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the column
+	 */
+	long[] getLongs(String field);
+
+	/**
+	 * Returns a column of float values
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the column
+	 */
+	float[] getFloats(String field);
+
+	/**
+	 * Returns a column of double values
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the column
+	 */
+	double[] getDoubles(String field);
+
+	/**
+	 * Returns a column of values without primitive mapping, e.g. strings
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the column
+	 */
+	Object[] getObjects(String field);
+
+}
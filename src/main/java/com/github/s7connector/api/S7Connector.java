@@ -17,6 +17,10 @@ package com.github.s7connector.api;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public interface S7Connector extends Closeable {
 	/**
@@ -30,6 +34,73 @@ public interface S7Connector extends Closeable {
 	 */
 	public byte[] read(DaveArea area, int areaNumber, int bytes, int offset) throws IOException;
 
+	/**
+	 * Reads several areas. Implementations may pack them into as few requests
+	 * as possible, this default reads the areas one by one.
+	 * 
+	 * @param items
+	 *            the areas to read
+	 * @return the bytes of each area, in the order of the items
+	 */
+	public default Map<ItemKey, byte[]> read(final Collection<ItemKey> items) throws IOException {
+		final Map<ItemKey, byte[]> result = new LinkedHashMap<ItemKey, byte[]>();
+		for (final ItemKey key : items) {
+			result.put(key, this.read(key.getArea(), key.getAreaNumber(), key.getBytes(), key.getOffset()));
+		}
+		return result;
+	}
+
+	/**
+	 * Reads a single bit
+	 * 
+	 * @param key
+	 *            the bit
+	 * @return the value
+	 */
+	public default boolean readBit(final BitKey key) throws IOException {
+		return this.readBits(Collections.singletonList(key)).get(key);
+	}
+
+	/**
+	 * Reads several bits. Implementations may read them with single-bit items
+	 * packed into as few requests as possible, this default reads the byte of
+	 * each bit.
+	 * 
+	 * @param keys
+	 *            the bits to read
+	 * @return the value of each bit, in the order of the keys
+	 */
+	public default Map<BitKey, Boolean> readBits(final Collection<BitKey> keys) throws IOException {
+		final Map<BitKey, Boolean> result = new LinkedHashMap<BitKey, Boolean>();
+		for (final BitKey key : keys) {
+			final byte[] buffer = this.read(key.getArea(), key.getAreaNumber(), 1, key.getByteOffset());
+			result.put(key, (buffer[0] & (0x01 << key.getBitOffset())) != 0);
+		}
+		return result;
+	}
+
+	/**
+	 * Writes a single bit
+	 * 
+	 * @param key
+	 *            the bit
+	 * @param value
+	 *            the value
+	 */
+	public default void writeBit(final BitKey key, final boolean value) throws IOException {
+		this.writeBits(Collections.singletonMap(key, value));
+	}
+
+	/**
+	 * Writes several bits, see {@link #write(Map, Map)}
+	 * 
+	 * @param bits
+	 *            the bits to write
+	 */
+	public default void writeBits(final Map<BitKey, Boolean> bits) throws IOException {
+		this.write(Collections.<ItemKey, byte[]> emptyMap(), bits);
+	}
+
 	/**
 	 * Writes an area
 	 * 
@@ -40,4 +111,41 @@ public interface S7Connector extends Closeable {
 	 */
 	public void write(DaveArea area, int areaNumber, int offset, byte[] buffer) throws IOException;
 
+	/**
+	 * Writes several areas and single bits. Implementations may pack them into
+	 * as few requests as possible, this default writes the areas one by one
+	 * and sets each bit by reading, modifying and writing back its byte (which
+	 * is not atomic).
+	 * 
+	 * @param items
+	 *            the areas to write
+	 * @param bits
+	 *            the bits to write
+	 */
+	public default void write(final Map<ItemKey, byte[]> items, final Map<BitKey, Boolean> bits) throws IOException {
+		for (final Map.Entry<ItemKey, byte[]> item : items.entrySet()) {
+			final ItemKey key = item.getKey();
+			this.write(key.getArea(), key.getAreaNumber(), key.getOffset(), item.getValue());
+		}
+
+		for (final Map.Entry<BitKey, Boolean> bit : bits.entrySet()) {
+			final BitKey key = bit.getKey();
+			final byte[] buffer = this.read(key.getArea(), key.getAreaNumber(), 1, key.getByteOffset());
+			if (bit.getValue()) {
+				buffer[0] |= (0x01 << key.getBitOffset());
+			} else {
+				buffer[0] &= ~(0x01 << key.getBitOffset());
+			}
+			this.write(key.getArea(), key.getAreaNumber(), key.getByteOffset(), buffer);
+		}
+	}
+
+	/**
+	 * Returns the metrics the requests of this connector are reported to
+	 * 
+	 * @return the metrics, {@link S7Metrics#NOOP} if there are none
+	 */
+	public default S7Metrics getMetrics() {
+		return S7Metrics.NOOP;
+	}
 }
@@ -0,0 +1,112 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.api;
+
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * Registry of the converter factory per S7 type
+ *
+ * The defaults create the converter classes declared by {@link S7Type}. They
+ * are replaced by converters found with the {@link ServiceLoader} (listed in
+ * META-INF/services/com.github.s7connector.api.S7Serializable, registered
+ * for their {@link S7Serializable#getS7Type()}, new instances are created
+ * with their no-arg constructor) and by factories passed to
+ * {@link #register(S7Type, Supplier)}.
+ *
+ * Every serializer creates its own converters of each parsed bean class, so
+ * converters may keep state like a cache or a charset and are not shared
+ * between serializers. Beans parsed before a registration keep their
+ * converters.
+ */
+public final class S7ConverterRegistry {
+
+	/** Local Logger. */
+	private static final Logger logger = LoggerFactory.getLogger(S7ConverterRegistry.class);
+
+	/** The converter factories. */
+	private static final Map<S7Type, Supplier<? extends S7Serializable>> factories =
+			new ConcurrentHashMap<S7Type, Supplier<? extends S7Serializable>>();
+
+	static {
+		for (final S7Type type : S7Type.values()) {
+			factories.put(type, factory(type.getSerializer()));
+		}
+
+		try {
+			for (final S7Serializable converter : ServiceLoader.load(S7Serializable.class)) {
+				if (converter.getS7Type() != null) {
+					logger.debug("Registering converter {} for {}", converter.getClass().getName(),
+							converter.getS7Type());
+					factories.put(converter.getS7Type(), factory(converter.getClass()));
+				}
+			}
+		} catch (final ServiceConfigurationError e) {
+			logger.warn("Error while loading converters", e);
+		}
+	}
+
+	/**
+	 * Creates a new converter of a type
+	 *
+	 * @param type
+	 *            the S7 type
+	 * @return the converter
+	 */
+	public static S7Serializable create(final S7Type type) {
+		return factories.get(type).get();
+	}
+
+	/**
+	 * Registers a converter factory for a type, replacing the current one
+	 *
+	 * @param type
+	 *            the S7 type
+	 * @param factory
+	 *            creates a converter for each serializer
+	 * @return the previous factory
+	 */
+	public static Supplier<? extends S7Serializable> register(final S7Type type,
+			final Supplier<? extends S7Serializable> factory) {
+		return factories.put(type, factory);
+	}
+
+	/**
+	 * Returns a factory calling the no-arg constructor of a converter class
+	 */
+	private static Supplier<S7Serializable> factory(final Class<? extends S7Serializable> converterClass) {
+		return () -> {
+			try {
+				return converterClass.newInstance();
+			} catch (final Exception e) {
+				throw new IllegalStateException("Error while instantiate converter " + converterClass.getName(), e);
+			}
+		};
+	}
+
+	private S7ConverterRegistry() {
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.github.s7connector.api;
+
+/**
+ * Reactive streams interfaces with the methods of java.util.concurrent.Flow,
+ * which is not available on Java 8. Subscribers signal their demand with
+ * {@link Subscription#request(long)} and receive at most that many items, so
+ * adapters to Flow or org.reactivestreams only delegate.
+ */
+public final class S7Flow {
+
+    private S7Flow() {
+    }
+
+    /**
+     * What a subscription does with an item while its buffer is full
+     */
+    public enum Overflow {
+        /**
+         * The oldest buffered item is replaced, with a capacity of 1 the
+         * subscriber always receives the latest item
+         */
+        LATEST,
+        /**
+         * The subscription fails with an S7Exception
+         */
+        BUFFER,
+        /**
+         * The new item is dropped
+         */
+        DROP
+    }
+
+    @FunctionalInterface
+    public interface Publisher<T> {
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    public interface Subscriber<T> {
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    public interface Subscription {
+        /**
+         * Adds demand for n items
+         */
+        void request(long n);
+
+        void cancel();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.api;
+
+/**
+ * Receives the measurements of the connections. All methods have empty
+ * defaults, implementations override what they need. They are called on
+ * the threads doing the transfers and must not block.
+ *
+ * The connections check for {@link #NOOP} before they measure, so without
+ * metrics there is no cost on the request path.
+ */
+public interface S7Metrics {
+
+	/**
+	 * Function of a request PDU
+	 */
+	enum Function {
+		READ, WRITE, OTHER
+	}
+
+	/**
+	 * Metrics which discard everything, the default of all connections
+	 */
+	S7Metrics NOOP = new S7Metrics() {
+	};
+
+	/**
+	 * Phase of the connection establishment
+	 */
+	enum Phase {
+		/** TCP connect */
+		TCP_CONNECT,
+		/** ISO-on-TCP connection request */
+		ISO_CONNECT,
+		/** S7 setup communication, negotiates the PDU length */
+		SETUP_COMMUNICATION
+	}
+
+	/**
+	 * A request PDU was sent and its answer received
+	 *
+	 * @param function
+	 *            the function of the request
+	 * @param pduReference
+	 *            the PDU reference of the request
+	 * @param item
+	 *            the first item of a read or write request, null for other
+	 *            functions
+	 * @param items
+	 *            the number of items of the request
+	 * @param nanos
+	 *            the round-trip time
+	 * @param bytesSent
+	 *            the size of the request packet
+	 * @param bytesReceived
+	 *            the size of the answer packet
+	 */
+	default void exchange(final Function function, final int pduReference, final ItemKey item, final int items,
+			final long nanos, final int bytesSent, final int bytesReceived) {
+	}
+
+	/**
+	 * A phase of the connection establishment completed
+	 *
+	 * @param phase
+	 *            the phase
+	 * @param nanos
+	 *            the duration of the phase
+	 */
+	default void handshake(final Phase phase, final long nanos) {
+	}
+
+	/**
+	 * The serializer decoded beans from the bytes read
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @param bytes
+	 *            the number of bytes decoded
+	 * @param nanos
+	 *            the duration of the decoding
+	 */
+	default void decode(final Class<?> beanClass, final int bytes, final long nanos) {
+	}
+
+	/**
+	 * The PLC answered an item of a request with an error
+	 *
+	 * @param item
+	 *            the item, at most one chunk of a larger area
+	 * @param errorCode
+	 *            the libnodave result code
+	 */
+	default void itemError(final ItemKey item, final int errorCode) {
+	}
+
+	/**
+	 * A poll cycle of an asynchronous connection completed
+	 *
+	 * @param pdus
+	 *            the number of request PDUs of the cycle
+	 * @param nanos
+	 *            the duration of the cycle
+	 * @param overrun
+	 *            whether the cycle took longer than the period
+	 */
+	default void pollCycle(final int pdus, final long nanos, final boolean overrun) {
+	}
+
+	/**
+	 * An asynchronous connection was established again after it was lost
+	 */
+	default void reconnect() {
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.api;
+
+/**
+ * Primitive-typed variants of {@link S7Serializable}. A converter
+ * implementing one of these interfaces is used without boxing for bean
+ * fields (and arrays) of the matching primitive type.
+ */
+public interface S7PrimitiveSerializable {
+
+	/**
+	 * Converter for boolean fields
+	 */
+	interface OfBoolean extends S7Serializable {
+
+		/**
+		 * Extracts a boolean from a byte buffer.
+		 *
+		 * @param buffer
+		 *            the buffer
+		 * @param byteOffset
+		 *            the byte offset
+		 * @param bitOffset
+		 *            the bit offset
+		 * @return the value
+		 */
+		boolean getBoolean(byte[] buffer, int byteOffset, int bitOffset);
+
+		/**
+		 * Inserts a boolean to the byte buffer.
+		 *
+		 * @param value
+		 *            the value
+		 * @param buffer
+		 *            the buffer
+		 * @param byteOffset
+		 *            the byte offset
+		 * @param bitOffset
+		 *            the bit offset
+		 */
+		void putBoolean(boolean value, byte[] buffer, int byteOffset, int bitOffset);
+	}
+
+	/**
+	 * Converter for byte, short and int fields
+	 */
+	interface OfInt extends S7Serializable {
+
+		/**
+		 * Extracts an int from a byte buffer.
+		 *
+		 * @param buffer
+		 *            the buffer
+		 * @param byteOffset
+		 *            the byte offset
+		 * @param bitOffset
+		 *            the bit offset
+		 * @return the value
+		 */
+		int getInt(byte[] buffer, int byteOffset, int bitOffset);
+
+		/**
+		 * Inserts an int to the byte buffer.
+		 *
+		 * @param value
+		 *            the value
+		 * @param buffer
+		 *            the buffer
+		 * @param byteOffset
+		 *            the byte offset
+		 * @param bitOffset
+		 *            the bit offset
+		 */
+		void putInt(int value, byte[] buffer, int byteOffset, int bitOffset);
+	}
+
+	/**
+	 * Converter for long fields
+	 */
+	interface OfLong extends S7Serializable {
+
+		/**
+		 * Extracts a long from a byte buffer.
+		 *
+		 * @param buffer
+		 *            the buffer
+		 * @param byteOffset
+		 *            the byte offset
+		 * @param bitOffset
+		 *            the bit offset
+		 * @return the value
+		 */
+		long getLong(byte[] buffer, int byteOffset, int bitOffset);
+
+		/**
+		 * Inserts a long to the byte buffer.
+		 *
+		 * @param value
+		 *            the value
+		 * @param buffer
+		 *            the buffer
+		 * @param byteOffset
+		 *            the byte offset
+		 * @param bitOffset
+		 *            the bit offset
+		 */
+		void putLong(long value, byte[] buffer, int byteOffset, int bitOffset);
+	}
+
+	/**
+	 * Converter for float fields
+	 */
+	interface OfFloat extends S7Serializable {
+
+		/**
+		 * Extracts a float from a byte buffer.
+		 *
+		 * @param buffer
+		 *            the buffer
+		 * @param byteOffset
+		 *            the byte offset
+		 * @param bitOffset
+		 *            the bit offset
+		 * @return the value
+		 */
+		float getFloat(byte[] buffer, int byteOffset, int bitOffset);
+
+		/**
+		 * Inserts a float to the byte buffer.
+		 *
+		 * @param value
+		 *            the value
+		 * @param buffer
+		 *            the buffer
+		 * @param byteOffset
+		 *            the byte offset
+		 * @param bitOffset
+		 *            the bit offset
+		 */
+		void putFloat(float value, byte[] buffer, int byteOffset, int bitOffset);
+	}
+
+	/**
+	 * Converter for double fields
+	 */
+	interface OfDouble extends S7Serializable {
+
+		/**
+		 * Extracts a double from a byte buffer.
+		 *
+		 * @param buffer
+		 *            the buffer
+		 * @param byteOffset
+		 *            the byte offset
+		 * @param bitOffset
+		 *            the bit offset
+		 * @return the value
+		 */
+		double getDouble(byte[] buffer, int byteOffset, int bitOffset);
+
+		/**
+		 * Inserts a double to the byte buffer.
+		 *
+		 * @param value
+		 *            the value
+		 * @param buffer
+		 *            the buffer
+		 * @param byteOffset
+		 *            the byte offset
+		 * @param bitOffset
+		 *            the bit offset
+		 */
+		void putDouble(double value, byte[] buffer, int byteOffset, int bitOffset);
+	}
+
+}
@@ -61,6 +61,18 @@ public interface S7Serializable {
 	 */
 	public int getSizeInBytes();
 
+	/**
+	 * Returns the size of a value with a specified size (like a STRING) in
+	 * bytes. Types without a variable size ignore the specified size.
+	 *
+	 * @param size
+	 *            the specified size
+	 * @return the size in bytes
+	 */
+	public default int getSizeInBytes(final int size) {
+		return this.getSizeInBytes();
+	}
+
 	/**
 	 * Inserts a Java Object to the byte buffer.
 	 *
@@ -15,6 +15,8 @@ limitations under the License.
 */
 package com.github.s7connector.api;
 
+import java.util.List;
+
 import com.github.s7connector.exception.S7Exception;
 
 public interface S7Serializer {
@@ -55,6 +57,94 @@ public interface S7Serializer {
 	 */
 	<T> T dispense(Class<T> beanClass, int dbNum, int byteOffset, int blockSize) throws S7Exception;
 
+	/**
+	 * Dispenses an array of Objects of the same class from the Datablock, for
+	 * example an array of UDT instances. All elements are read in one
+	 * transfer and decoded from one buffer.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param beanClass
+	 *            the bean class
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset of the first element
+	 * @param count
+	 *            the number of elements
+	 * @param stride
+	 *            the distance in bytes between two elements
+	 * @return the elements
+	 * @throws S7Exception
+	 *             the s7 exception
+	 */
+	<T> List<T> dispenseArray(Class<T> beanClass, int dbNum, int byteOffset, int count, int stride)
+			throws S7Exception;
+
+	/**
+	 * Dispenses an array of Objects of the same class from the Datablock into
+	 * columns, without creating the beans. All elements are read in one
+	 * transfer, the columns are overwritten.
+	 *
+	 * @param columns
+	 *            the columns of the bean class
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset of the first element
+	 * @param count
+	 *            the number of elements, at most the capacity of the columns
+	 * @param stride
+	 *            the distance in bytes between two elements
+	 * @return the columns
+	 * @throws S7Exception
+	 *             the s7 exception
+	 */
+	S7Columns dispenseColumns(S7Columns columns, int dbNum, int byteOffset, int count, int stride)
+			throws S7Exception;
+
+	/**
+	 * Dispenses only some fields of an Object from the Datablock. Only the
+	 * bytes of the requested fields are read, ranges with small gaps are
+	 * merged and all ranges are read in as few requests as possible. The
+	 * other fields keep their initial values.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param beanClass
+	 *            the bean class
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset
+	 * @param fieldNames
+	 *            the names of the annotated fields to read, at least one
+	 * @return the t
+	 * @throws S7Exception
+	 *             the s7 exception
+	 */
+	<T> T dispenseFields(Class<T> beanClass, int dbNum, int byteOffset, String... fieldNames) throws S7Exception;
+
+	/**
+	 * Dispenses the mapping of the Datablock into an existing Object. Arrays
+	 * and nested structures of the target are reused if their sizes match.
+	 * Records and beans with final fields cannot be overwritten, use
+	 * {@link #dispense(Class, int, int)} for them.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param target
+	 *            the bean to overwrite
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset
+	 * @return the target
+	 * @throws S7Exception
+	 *             the s7 exception
+	 */
+	<T> T dispenseInto(T target, int dbNum, int byteOffset) throws S7Exception;
+
 	/**
 	 * Stores an Object to the Datablock.
 	 *
@@ -67,4 +157,53 @@ public interface S7Serializer {
 	 */
 	void store(Object bean, int dbNum, int byteOffset) throws S7Exception;
 
-}
\ No newline at end of file
+	/**
+	 * Stores an array of Objects to the Datablock in one transfer. Only the
+	 * elements are written, bytes between the elements and the slots of null
+	 * elements are left alone.
+	 *
+	 * @param beans
+	 *            the beans
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset of the first element
+	 * @param stride
+	 *            the distance in bytes between two elements
+	 */
+	void storeArray(List<?> beans, int dbNum, int byteOffset, int stride) throws S7Exception;
+
+	/**
+	 * Stores only the changes of an Object to the Datablock. The bytes of the
+	 * last store or dispense of the same class at the same location are kept
+	 * as shadow image, only the changed byte ranges are written and changed
+	 * BOOL values are written as single bits. The first call for a location
+	 * reads the current bytes to build the shadow image.
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset
+	 */
+	void storeChanges(Object bean, int dbNum, int byteOffset) throws S7Exception;
+
+	/**
+	 * Stores only some fields of an Object to the Datablock in one request.
+	 * BOOL fields are written as single bits, so the other bits of the same
+	 * byte stay untouched, for example command bits set by the PLC program.
+	 * The other fields are not written.
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset
+	 * @param fieldNames
+	 *            the names of the annotated fields to write
+	 */
+	void storeFields(Object bean, int dbNum, int byteOffset, String... fieldNames) throws S7Exception;
+
+}
@@ -0,0 +1,349 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.api;
+
+import java.nio.ByteBuffer;
+
+import com.github.s7connector.exception.S7Exception;
+
+/**
+ * Flyweight view of a bean mapping over a byte image of a Datablock. The
+ * fields are addressed by their name (nested structures as
+ * <code>outer.inner</code>) and decoded on access at the offsets of their
+ * {@link com.github.s7connector.api.annotation.S7Variable} annotation, no
+ * bean is created. Views are cheap to rebind, so many views can share one
+ * polled buffer. A view is not thread safe.
+ */
+public interface S7View {
+
+	/**
+	 * Binds the view to a buffer
+	 *
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the offset of the bean in the buffer
+	 * @return this view
+	 */
+	S7View wrap(byte[] buffer, int byteOffset);
+
+	/**
+	 * Binds the view to a buffer, offsets are absolute indexes of the buffer
+	 *
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the offset of the bean in the buffer
+	 * @return this view
+	 */
+	S7View wrap(ByteBuffer buffer, int byteOffset);
+
+	/**
+	 * Moves the view within the buffer, e.g. to the next element of an array
+	 *
+	 * @param byteOffset
+	 *            the offset of the bean in the buffer
+	 * @return this view
+	 */
+	S7View moveTo(int byteOffset);
+
+	/**
+	 * @return the offset of the bean in the buffer
+	 */
+	int getByteOffset();
+
+	/**
+	 * @return the size of the bean in bytes
+	 */
+	int getBlockSize();
+
+	/**
+	 * Reads a BOOL
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the value
+	 */
+	boolean getBoolean(String field);
+
+	/**
+	 * Reads a BOOL of an array
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @return the value
+	 */
+	boolean getBoolean(String field, int index);
+
+	/**
+	 * Reads a field whose converter implements
+	 * {@link S7PrimitiveSerializable.OfInt}, e.g. BYTE, WORD, DWORD, the 8 to
+	 * 32 bit integers, TIME, TIME_OF_DAY or S5TIME, with the int value of the
+	 * int bean field mapping
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the value
+	 */
+	int getInt(String field);
+
+	/**
+	 * Reads an int field of an array, see {@link #getInt(String)}
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @return the value
+	 */
+	int getInt(String field, int index);
+
+	/**
+	 * Reads a field with the long value of the long bean field mapping
+	 * ({@link S7PrimitiveSerializable.OfLong}, e.g. the 64 bit types, unsigned
+	 * DWORD and UDINT or LTIME), other int fields are widened
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the value
+	 */
+	long getLong(String field);
+
+	/**
+	 * Reads a long field of an array, see {@link #getLong(String)}
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @return the value
+	 */
+	long getLong(String field, int index);
+
+	/**
+	 * Reads a REAL
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the value
+	 */
+	float getFloat(String field);
+
+	/**
+	 * Reads a REAL of an array
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @return the value
+	 */
+	float getFloat(String field, int index);
+
+	/**
+	 * Reads an LREAL
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the value
+	 */
+	double getDouble(String field);
+
+	/**
+	 * Reads an LREAL of an array
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @return the value
+	 */
+	double getDouble(String field, int index);
+
+	/**
+	 * Reads a STRING or WSTRING
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the value
+	 */
+	String getString(String field);
+
+	/**
+	 * Reads a field with the Java type of the mapped bean field
+	 *
+	 * @param field
+	 *            the field name
+	 * @return the value
+	 */
+	Object get(String field) throws S7Exception;
+
+	/**
+	 * Reads an array element with the Java type of the mapped bean field
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @return the value
+	 */
+	Object get(String field, int index) throws S7Exception;
+
+	/**
+	 * Writes a BOOL
+	 *
+	 * @param field
+	 *            the field name
+	 * @param value
+	 *            the value
+	 */
+	void setBoolean(String field, boolean value);
+
+	/**
+	 * Writes a BOOL of an array
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @param value
+	 *            the value
+	 */
+	void setBoolean(String field, int index, boolean value);
+
+	/**
+	 * Writes an int field, see {@link #getInt(String)}
+	 *
+	 * @param field
+	 *            the field name
+	 * @param value
+	 *            the value
+	 */
+	void setInt(String field, int value);
+
+	/**
+	 * Writes an int field of an array, see {@link #getInt(String)}
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @param value
+	 *            the value
+	 */
+	void setInt(String field, int index, int value);
+
+	/**
+	 * Writes a long field, see {@link #getLong(String)}
+	 *
+	 * @param field
+	 *            the field name
+	 * @param value
+	 *            the value
+	 */
+	void setLong(String field, long value);
+
+	/**
+	 * Writes a long field of an array, see {@link #getLong(String)}
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @param value
+	 *            the value
+	 */
+	void setLong(String field, int index, long value);
+
+	/**
+	 * Writes a REAL
+	 *
+	 * @param field
+	 *            the field name
+	 * @param value
+	 *            the value
+	 */
+	void setFloat(String field, float value);
+
+	/**
+	 * Writes a REAL of an array
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @param value
+	 *            the value
+	 */
+	void setFloat(String field, int index, float value);
+
+	/**
+	 * Writes an LREAL
+	 *
+	 * @param field
+	 *            the field name
+	 * @param value
+	 *            the value
+	 */
+	void setDouble(String field, double value);
+
+	/**
+	 * Writes an LREAL of an array
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @param value
+	 *            the value
+	 */
+	void setDouble(String field, int index, double value);
+
+	/**
+	 * Writes a STRING or WSTRING
+	 *
+	 * @param field
+	 *            the field name
+	 * @param value
+	 *            the value
+	 */
+	void setString(String field, String value);
+
+	/**
+	 * Writes a field with the Java type of the mapped bean field
+	 *
+	 * @param field
+	 *            the field name
+	 * @param value
+	 *            the value
+	 */
+	void set(String field, Object value) throws S7Exception;
+
+	/**
+	 * Writes an array element with the Java type of the mapped bean field
+	 *
+	 * @param field
+	 *            the field name
+	 * @param index
+	 *            the array index
+	 * @param value
+	 *            the value
+	 */
+	void set(String field, int index, Object value) throws S7Exception;
+
+}
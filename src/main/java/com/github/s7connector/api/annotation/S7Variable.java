@@ -26,6 +26,18 @@ import com.github.s7connector.impl.utils.S7Type;
 /**
  * Defines an Offset in a DB
  *
+ * Public fields of beans are set after the no-arg constructor is called.
+ * Records (annotated components) and beans whose annotated fields are all
+ * final are created with their constructor instead, the canonical one for
+ * records. Other beans need a constructor taking exactly the annotated
+ * fields, its parameters are matched to the fields by the names of
+ * {@link java.beans.ConstructorProperties}, else by the parameter names if
+ * compiled with -parameters, else by type if each field type occurs once.
+ * Constructors whose parameters can not be matched unambiguously are
+ * skipped. An IllegalArgumentException (wrapped in an S7Exception by the
+ * serializer) is raised if no constructor or more than one constructor
+ * matches.
+ *
  * @author Thomas Rudin
  */
 @Target(value = { ElementType.FIELD })
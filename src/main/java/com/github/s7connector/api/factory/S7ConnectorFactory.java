@@ -15,11 +15,17 @@ limitations under the License.
 */
 package com.github.s7connector.api.factory;
 
+import com.github.s7connector.api.DaveArea;
 import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.api.S7Metrics;
 import com.github.s7connector.api.SiemensPLCS;
+import com.github.s7connector.impl.S7CachingConnector;
 import com.github.s7connector.impl.S7TCPConnection;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * S7 connector factory, currently only for TCP connections
@@ -39,6 +45,8 @@ public class S7ConnectorFactory {
 
         private int rack = 0, slot = 2, port = 102, timeout = 2000;
 
+        private S7Metrics metrics = S7Metrics.NOOP;
+
         TCPConnectionBuilder(SiemensPLCS type) {
             this.plcsType = type;
         }
@@ -47,7 +55,8 @@ public class S7ConnectorFactory {
          * Builds a connection with given params
          */
         public S7Connector build() throws IOException {
-            return new S7TCPConnection(this.host, this.rack, this.slot, this.port, this.timeout, this.plcsType);
+            return new S7TCPConnection(this.host, this.rack, this.slot, this.port, this.timeout, this.plcsType,
+                    this.metrics);
         }
 
         /**
@@ -90,6 +99,64 @@ public class S7ConnectorFactory {
             return this;
         }
 
+        /**
+         * report requests to metrics, default is none
+         */
+        public TCPConnectionBuilder withMetrics(final S7Metrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+    }
+
+    /**
+     * Caching connector builder
+     */
+    public static class CachingConnectorBuilder {
+
+        private final S7Connector connector;
+
+        private final Map<DaveArea, Long> ttls = new EnumMap<>(DaveArea.class);
+
+        private long maxBytes = 1 << 20;
+
+        CachingConnectorBuilder(S7Connector connector) {
+            this.connector = connector;
+        }
+
+        /**
+         * Builds a cache in front of the connector
+         */
+        public S7Connector build() {
+            return new S7CachingConnector(this.connector, this.ttls, this.maxBytes);
+        }
+
+        /**
+         * time to live of all areas, default is none (not cached)
+         */
+        public CachingConnectorBuilder withTtl(final Duration ttl) {
+            for (DaveArea area : DaveArea.values()) {
+                this.ttls.put(area, ttl.toNanos());
+            }
+            return this;
+        }
+
+        /**
+         * time to live of an area, zero disables caching of the area
+         */
+        public CachingConnectorBuilder withTtl(final DaveArea area, final Duration ttl) {
+            this.ttls.put(area, ttl.toNanos());
+            return this;
+        }
+
+        /**
+         * upper bound of the cached bytes, default is 1 MiB
+         */
+        public CachingConnectorBuilder withMaxBytes(final long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
     }
 
     /**
@@ -104,4 +171,12 @@ public class S7ConnectorFactory {
         return new TCPConnectionBuilder(SiemensPLCS.SNon200);
     }
 
+    /**
+     * @param connector the connector to cache reads of
+     * @return returns a new caching connector builder
+     */
+    public static CachingConnectorBuilder buildCachingConnector(S7Connector connector) {
+        return new CachingConnectorBuilder(connector);
+    }
+
 }
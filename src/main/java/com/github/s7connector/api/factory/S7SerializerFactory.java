@@ -15,9 +15,20 @@ limitations under the License.
 */
 package com.github.s7connector.api.factory;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import com.github.s7connector.api.S7AsyncConnection;
+import com.github.s7connector.api.S7AsyncSerializer;
+import com.github.s7connector.api.S7Columns;
 import com.github.s7connector.api.S7Connector;
 import com.github.s7connector.api.S7Serializer;
+import com.github.s7connector.api.S7View;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.serializer.S7AsyncSerializerImpl;
+import com.github.s7connector.impl.serializer.S7ColumnsImpl;
 import com.github.s7connector.impl.serializer.S7SerializerImpl;
+import com.github.s7connector.impl.serializer.S7ViewImpl;
 
 /**
  * S7 Serializer factory
@@ -38,4 +49,61 @@ public class S7SerializerFactory {
 		return new S7SerializerImpl(connector);
 	}
 
+	/**
+	 * Builds a new asynchronous serializer with given connection, beans are
+	 * decoded on the common fork join pool
+	 * 
+	 * @param connection
+	 *            the connection to use
+	 * @return a serializer instance
+	 */
+	public static S7AsyncSerializer buildAsyncSerializer(final S7AsyncConnection connection) {
+		return buildAsyncSerializer(connection, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Builds a new asynchronous serializer with given connection
+	 * 
+	 * @param connection
+	 *            the connection to use
+	 * @param executor
+	 *            the executor which encodes and decodes the beans
+	 * @return a serializer instance
+	 */
+	public static S7AsyncSerializer buildAsyncSerializer(final S7AsyncConnection connection,
+			final Executor executor) {
+		return new S7AsyncSerializerImpl(connection, executor);
+	}
+
+	/**
+	 * Builds a new view of the mapping of a bean class, the view must be
+	 * bound to a buffer with one of the wrap methods
+	 * 
+	 * @param beanClass
+	 *            the mapped bean class
+	 * @return a view instance
+	 * @throws S7Exception
+	 *             if the bean class can not be parsed
+	 */
+	public static S7View buildView(final Class<?> beanClass) throws S7Exception {
+		return new S7ViewImpl(beanClass);
+	}
+
+	/**
+	 * Builds new columns for an array of a bean class, the columns are
+	 * filled with {@link S7Serializer#dispenseColumns} or with
+	 * {@link S7Columns#decode}
+	 * 
+	 * @param beanClass
+	 *            the mapped bean class
+	 * @param capacity
+	 *            the maximum number of elements
+	 * @return a columns instance
+	 * @throws S7Exception
+	 *             if the bean class can not be parsed
+	 */
+	public static S7Columns buildColumns(final Class<?> beanClass, final int capacity) throws S7Exception {
+		return new S7ColumnsImpl(beanClass, capacity);
+	}
+
 }
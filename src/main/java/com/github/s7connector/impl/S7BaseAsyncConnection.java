@@ -1,21 +1,33 @@
 package com.github.s7connector.impl;
 
+import com.github.s7connector.api.BitKey;
 import com.github.s7connector.api.ItemKey;
 import com.github.s7connector.api.S7AsyncConnection;
 import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.api.S7Flow;
+import com.github.s7connector.api.S7Metrics;
 import com.github.s7connector.exception.S7Exception;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
+    private interface Task<T> {
+        T run(S7Connector connection) throws IOException;
+    }
+
     private static class ItemProcessor {
         final Consumer<byte[]> consumer;
 
@@ -49,6 +61,51 @@ public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
 
     private volatile Boolean closeFlag = false;
 
+    private volatile S7Metrics metrics = S7Metrics.NOOP;
+
+    private final List<Runnable> cycleListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Additional consumers per item (publishers, process images, bean
+     * subscriptions), polled together with the items but independent of
+     * addItem and removeItem
+     */
+    private final Map<ItemKey, List<ItemProcessor>> sinks = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the request PDUs of a poll cycle and forwards them to the metrics
+     */
+    private final class CycleMetrics implements S7Metrics {
+        final S7Metrics metrics;
+
+        int exchanges;
+
+        CycleMetrics(S7Metrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void exchange(Function function, int pduReference, ItemKey item, int items, long nanos,
+                             int bytesSent, int bytesReceived) {
+            exchanges++;
+            metrics.exchange(function, pduReference, item, items, nanos, bytesSent, bytesReceived);
+        }
+
+        @Override
+        public void itemError(ItemKey item, int errorCode) {
+            metrics.itemError(item, errorCode);
+        }
+
+        @Override
+        public void decode(Class<?> beanClass, int bytes, long nanos) {
+            metrics.decode(beanClass, bytes, nanos);
+        }
+    }
+
+    private volatile CycleMetrics cycleMetrics = null;
+
+    private volatile boolean connectedOnce = false;
+
     private synchronized void setState(State state) {
         this.state = state;
         if (stateConsumer != null)
@@ -68,6 +125,31 @@ public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
         return stateConsumer;
     }
 
+    public S7Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics the requests, poll cycles and reconnects of this
+     * connection are reported to
+     *
+     * @param metrics the metrics, {@link S7Metrics#NOOP} to disable them
+     */
+    public void setMetrics(S7Metrics metrics) {
+        synchronized (connectionLock) {
+            this.metrics = metrics;
+            this.cycleMetrics = (metrics != S7Metrics.NOOP) ? new CycleMetrics(metrics) : null;
+            applyMetrics();
+        }
+    }
+
+    private void applyMetrics() {
+        if (connection instanceof S7BaseConnection) {
+            CycleMetrics cm = cycleMetrics;
+            ((S7BaseConnection) connection).setMetrics((cm != null) ? cm : S7Metrics.NOOP);
+        }
+    }
+
     public Duration getPeriod() {
         return period;
     }
@@ -156,6 +238,48 @@ public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
         items.remove(key);
     }
 
+    /**
+     * Adds a listener called on the poll thread after the consumers of all
+     * items of a poll cycle were called
+     *
+     * @param listener the listener
+     */
+    public void addCycleListener(Runnable listener) {
+        cycleListeners.add(listener);
+    }
+
+    public void removeCycleListener(Runnable listener) {
+        cycleListeners.remove(listener);
+    }
+
+    @Override
+    public S7ItemPublisher publish(ItemKey key, S7Flow.Overflow overflow, int capacity, Executor executor) {
+        return new S7ItemPublisher(this, key, overflow, capacity, executor);
+    }
+
+    @Override
+    public void addSink(ItemKey key, Consumer<byte[]> sink, Consumer<S7Exception> exceptionConsumer) {
+        ItemProcessor processor = new ItemProcessor(sink, exceptionConsumer);
+        sinks.compute(key, (k, list) -> {
+            List<ItemProcessor> result = (list != null) ? list : new CopyOnWriteArrayList<>();
+            result.add(processor);
+            return result;
+        });
+    }
+
+    @Override
+    public void removeSink(ItemKey key, Consumer<byte[]> sink) {
+        sinks.computeIfPresent(key, (k, list) -> {
+            for (ItemProcessor processor : list) {
+                if (processor.consumer == sink) {
+                    list.remove(processor);
+                    break;
+                }
+            }
+            return list.isEmpty() ? null : list;
+        });
+    }
+
     @Override
     public void setExceptionConsumer(Consumer<IOException> consumer) {
         this.exceptionConsumer = consumer;
@@ -167,9 +291,40 @@ public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
     }
 
     @Override
-    public synchronized CompletableFuture<Void> write(ItemKey key, byte[] value) {
+    public CompletableFuture<byte[]> read(ItemKey key) {
+        logger.debug("Read {}", key);
+        return submit(connection -> connection.read(key.getArea(), key.getAreaNumber(), key.getBytes(), key.getOffset()));
+    }
+
+    @Override
+    public CompletableFuture<Void> write(ItemKey key, byte[] value) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Write {} -> {} bytes", key, value.length);
+        }
+        return submit(connection -> {
+            connection.write(key.getArea(), key.getAreaNumber(), key.getOffset(), value);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<BitKey, Boolean>> readBits(Collection<BitKey> keys) {
+        logger.debug("Read bits {}", keys);
+        return submit(connection -> connection.readBits(keys));
+    }
+
+    @Override
+    public CompletableFuture<Void> writeBits(Map<BitKey, Boolean> bits) {
+        logger.debug("Write bits {}", bits);
+        return submit(connection -> {
+            connection.writeBits(bits);
+            return null;
+        });
+    }
+
+    private synchronized <T> CompletableFuture<T> submit(Task<T> task) {
         AtomicReference<Future<Void>> fRef = new AtomicReference<>();
-        CompletableFuture<Void> cf = new CompletableFuture<Void>() {
+        CompletableFuture<T> cf = new CompletableFuture<T>() {
             @Override
             public boolean cancel(boolean mayInterruptIfRunning) {
                 if (super.cancel(mayInterruptIfRunning)) {
@@ -180,16 +335,12 @@ public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
                         return false;
                 } else return false;
             }
-
-            public ScheduledFuture<Void> sf;
         };
-        logger.debug("Write {} -> {}", key, value);
         if (state != State.Active)
             throw new IllegalStateException("Connection not active");
         fRef.set(getExecutor().schedule(() -> {
             try {
-                doWrite(key, value);
-                cf.complete(null);
+                cf.complete(doTask(task));
             } catch (Throwable e) {
                 cf.completeExceptionally(e);
             }
@@ -207,6 +358,10 @@ public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
             if (connection == null) {
                 try {
                     connection = doStartConnection();
+                    applyMetrics();
+                    if (connectedOnce)
+                        metrics.reconnect();
+                    connectedOnce = true;
                 } catch (IOException e) {
                     logger.error("Error during connection establishment", e);
                 }
@@ -244,11 +399,25 @@ public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
     private void poll() {
         try {
             checkConnectionAndDo(() -> {
+                CycleMetrics cm = cycleMetrics;
+                long start = (cm != null) ? System.nanoTime() : 0;
+                int exchanges = (cm != null) ? cm.exchanges : 0;
                 try {
                     doRead();
                 } catch (Exception e) {
                     logger.error("Error during read cycle", e);
                 }
+                for (Runnable listener : cycleListeners) {
+                    try {
+                        listener.run();
+                    } catch (Exception e) {
+                        logger.error("Error while call cycle listener", e);
+                    }
+                }
+                if (cm != null) {
+                    long nanos = System.nanoTime() - start;
+                    cm.metrics.pollCycle(cm.exchanges - exchanges, nanos, nanos > period.toNanos());
+                }
             });
         } catch (IOException e) {
             logger.warn("Error while polling, retry next poll", e);
@@ -264,22 +433,47 @@ public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
     }
 
     private void doRead() throws IOException {
+        Set<ItemKey> keys = new LinkedHashSet<>(items.keySet());
+        keys.addAll(sinks.keySet());
+        if (keys.size() > 1) {
+            // all items in as few requests as possible
+            Map<ItemKey, byte[]> results = null;
+            try {
+                results = connection.read(new ArrayList<>(keys));
+            } catch (S7Exception e) {
+                logger.debug("Item read error, read items one by one", e);
+            } catch (IOException e) {
+                logger.error("Global read error", e);
+                Consumer<IOException> ec = exceptionConsumer;
+                try {
+                    if (ec != null)
+                        ec.accept(e);
+                } catch (Exception ne) {
+                    logger.error("Error while call exception consumer", ne);
+                }
+                closeConnection();
+                return;
+            }
+            if (results != null) {
+                results.forEach(this::dispatch);
+                return;
+            }
+        }
         AtomicBoolean error = new AtomicBoolean(false);
-        items.forEach((key, proc) -> {
+        keys.forEach(key -> {
             try {
                 if (!error.get()) {
                     byte[] result = connection.read(key.getArea(), key.getAreaNumber(), key.getBytes(), key.getOffset());
-                    proc.consumer.accept(result);
+                    dispatch(key, result);
                 }
             } catch (S7Exception e) {
                 logger.warn("Item read error", e);
-                Consumer<S7Exception> ec = proc.exceptionConsumer;
-                try {
-                    if (ec != null)
-                        proc.exceptionConsumer.accept(e);
-                } catch (Exception ne) {
-                    logger.error("Error while call exception consumer", ne);
+                List<ItemProcessor> list = sinks.get(key);
+                if (list != null) {
+                    for (ItemProcessor sink : list)
+                        itemError(sink, e);
                 }
+                itemError(items.get(key), e);
             } catch (IOException e) {
                 logger.error("Global read error", e);
                 error.set(true);
@@ -295,11 +489,34 @@ public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
         });
     }
 
-    private void doWrite(ItemKey key, byte[] value) throws Exception {
+    private void dispatch(ItemKey key, byte[] result) {
+        // the sinks get copies, the consumer of the item may modify the bytes
+        List<ItemProcessor> list = sinks.get(key);
+        if (list != null) {
+            for (ItemProcessor sink : list)
+                sink.consumer.accept(result.clone());
+        }
+        ItemProcessor proc = items.get(key);
+        if (proc != null)
+            proc.consumer.accept(result);
+    }
+
+    private void itemError(ItemProcessor proc, S7Exception e) {
+        Consumer<S7Exception> ec = (proc != null) ? proc.exceptionConsumer : null;
+        try {
+            if (ec != null)
+                ec.accept(e);
+        } catch (Exception ne) {
+            logger.error("Error while call exception consumer", ne);
+        }
+    }
+
+    private <T> T doTask(Task<T> task) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>(null);
         AtomicReference<Exception> ex = new AtomicReference<>(null);
         checkConnectionAndDo(() -> {
                     try {
-                        connection.write(key.getArea(), key.getAreaNumber(), key.getOffset(), value);
+                        result.set(task.run(connection));
                     } catch (IOException e) {
                         ex.set(e);
                     }
@@ -307,5 +524,6 @@ public abstract class S7BaseAsyncConnection implements S7AsyncConnection {
         );
         if (ex.get() != null)
             throw ex.get();
+        return result.get();
     }
 }
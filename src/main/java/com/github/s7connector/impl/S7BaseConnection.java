@@ -15,13 +15,25 @@ limitations under the License.
 */
 package com.github.s7connector.impl;
 
+import com.github.s7connector.api.BitKey;
 import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
 import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.api.S7Metrics;
 import com.github.s7connector.exception.S7Exception;
 import com.github.s7connector.impl.nodave.Nodave;
+import com.github.s7connector.impl.nodave.PDU;
+import com.github.s7connector.impl.nodave.ResultSet;
 import com.github.s7connector.impl.nodave.S7Connection;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Base-Connection for the S7-PLC Connection Libnodave:
@@ -34,6 +46,30 @@ public abstract class S7BaseConnection implements S7Connector {
 	/** The Constant MAX_SIZE. */
 	private static final int MAX_SIZE = 96;
 
+	/** The maximum number of items in one request. */
+	private static final int MAX_ITEMS = 20;
+
+	/** The PDU length, if none was negotiated. */
+	private static final int DEFAULT_PDU_LENGTH = 240;
+
+	/** Header and parameter size of an empty write request. */
+	private static final int WRITE_REQUEST_SIZE = 12;
+
+	/** Parameter and data header size of a write request item. */
+	private static final int WRITE_ITEM_SIZE = 16;
+
+	/** Header and parameter size of an empty read request. */
+	private static final int READ_REQUEST_SIZE = 12;
+
+	/** Parameter size of a read request item. */
+	private static final int READ_ITEM_SIZE = 12;
+
+	/** Header and parameter size of a read response. */
+	private static final int READ_RESPONSE_SIZE = 14;
+
+	/** Data header size of a read response item. */
+	private static final int READ_RESULT_SIZE = 4;
+
 	/** The Constant PROPERTY_AREA. */
 	public static final String PROPERTY_AREA = "area";
 
@@ -70,9 +106,82 @@ public abstract class S7BaseConnection implements S7Connector {
 		}
 	}
 
+	/**
+	 * Item of a multi-item read request
+	 */
+	private static final class ReadItem {
+		final DaveArea area;
+		final int areaNumber;
+		final int start;
+		final int length;
+		final byte[] buffer;
+		final int bufferOffset;
+		final boolean bit;
+
+		ReadItem(final DaveArea area, final int areaNumber, final int start, final int length, final byte[] buffer,
+				final int bufferOffset, final boolean bit) {
+			this.area = area;
+			this.areaNumber = areaNumber;
+			this.start = start;
+			this.length = length;
+			this.buffer = buffer;
+			this.bufferOffset = bufferOffset;
+			this.bit = bit;
+		}
+
+		int getResultSize() {
+			return READ_RESULT_SIZE + this.length + (this.length % 2);
+		}
+
+		ItemKey getKey() {
+			return new ItemKey(this.area, this.areaNumber, this.length, this.bit ? (this.start / 8) : this.start);
+		}
+	}
+
+	/**
+	 * Item of a multi-item write request
+	 */
+	private static final class WriteItem {
+		final DaveArea area;
+		final int areaNumber;
+		final int start;
+		final byte[] buffer;
+		final boolean bit;
+
+		WriteItem(final DaveArea area, final int areaNumber, final int start, final byte[] buffer, final boolean bit) {
+			this.area = area;
+			this.areaNumber = areaNumber;
+			this.start = start;
+			this.buffer = buffer;
+			this.bit = bit;
+		}
+
+		int getSize() {
+			return WRITE_ITEM_SIZE + this.buffer.length + (this.buffer.length % 2);
+		}
+
+		ItemKey getKey() {
+			return new ItemKey(this.area, this.areaNumber, this.buffer.length, this.bit ? (this.start / 8) : this.start);
+		}
+	}
+
+	/**
+	 * Reads and writes of a caller thread, executed by the thread holding the
+	 * connection, possibly packed with the requests of other threads
+	 */
+	private static final class Request {
+		final List<ReadItem> reads = new ArrayList<ReadItem>();
+		final List<WriteItem> writes = new ArrayList<WriteItem>();
+		IOException error;
+		boolean done;
+	}
+
 	/** The dc. */
 	private S7Connection dc;
 
+	/** Requests waiting for the connection. */
+	private final Queue<Request> requests = new ConcurrentLinkedQueue<Request>();
+
 	/**
 	 * Initialize the connection
 	 *
@@ -83,49 +192,406 @@ public abstract class S7BaseConnection implements S7Connector {
 		this.dc = dc;
 	}
 
+	/**
+	 * Sets the metrics the requests of this connection are reported to
+	 *
+	 * @param metrics
+	 *            the metrics, {@link S7Metrics#NOOP} to disable them
+	 */
+	public void setMetrics(final S7Metrics metrics) {
+		this.dc.metrics = metrics;
+	}
+
 	/** {@inheritDoc} */
 	@Override
-	public synchronized byte[] read(final DaveArea area, final int areaNumber, final int bytes, final int offset) throws IOException {
-		if (bytes > MAX_SIZE) {
-			final byte[] ret = new byte[bytes];
+	public S7Metrics getMetrics() {
+		return this.dc.metrics;
+	}
 
-			final byte[] currentBuffer = this.read(area, areaNumber, MAX_SIZE, offset);
-			System.arraycopy(currentBuffer, 0, ret, 0, currentBuffer.length);
+	/**
+	 * Checks the result of an item and reports an error to the metrics
+	 *
+	 * @param error
+	 *            the libnodave result of the item
+	 * @param key
+	 *            the item
+	 */
+	private void checkItem(final int error, final ItemKey key) throws S7Exception {
+		if (error != Nodave.RESULT_OK) {
+			this.dc.metrics.itemError(key, error);
+			checkResult(error);
+		}
+	}
 
-			final byte[] nextBuffer = this.read(area, areaNumber, bytes - MAX_SIZE, offset + MAX_SIZE);
-			System.arraycopy(nextBuffer, 0, ret, currentBuffer.length, nextBuffer.length);
+	/**
+	 * Adds the chunks of an area to a read plan
+	 *
+	 * @param plan
+	 *            the plan
+	 * @param area
+	 *            the area
+	 * @param areaNumber
+	 *            the area number
+	 * @param offset
+	 *            the offset of the area
+	 * @param buffer
+	 *            the buffer to read into
+	 */
+	private static void addReadItems(final List<ReadItem> plan, final DaveArea area, final int areaNumber,
+			final int offset, final byte[] buffer) {
+		for (int pos = 0; pos < buffer.length; pos += MAX_SIZE) {
+			plan.add(new ReadItem(area, areaNumber, offset + pos, Math.min(MAX_SIZE, buffer.length - pos), buffer, pos,
+					false));
+		}
+	}
 
-			return ret;
-		} else {
-			final byte[] buffer = new byte[bytes];
-			final int ret = this.dc.readBytes(area, areaNumber, offset, bytes, buffer);
+	/**
+	 * Adds the chunks of an area to a write plan
+	 *
+	 * @param plan
+	 *            the plan
+	 * @param area
+	 *            the area
+	 * @param areaNumber
+	 *            the area number
+	 * @param offset
+	 *            the offset of the area
+	 * @param buffer
+	 *            the bytes to write
+	 */
+	private static void addWriteItems(final List<WriteItem> plan, final DaveArea area, final int areaNumber,
+			final int offset, final byte[] buffer) {
+		for (int pos = 0; pos < buffer.length; pos += MAX_SIZE) {
+			final byte[] chunk = new byte[Math.min(MAX_SIZE, buffer.length - pos)];
+			System.arraycopy(buffer, pos, chunk, 0, chunk.length);
+			plan.add(new WriteItem(area, areaNumber, offset + pos, chunk, false));
+		}
+	}
 
-			checkResult(ret);
-			return buffer;
+	/**
+	 * Executes a request. Requests of concurrent callers are queued, the
+	 * thread which gets the connection executes all queued requests packed
+	 * together.
+	 *
+	 * @param request
+	 *            the request
+	 */
+	private void execute(final Request request) throws IOException {
+		this.requests.add(request);
+		synchronized (this) {
+			if (!request.done) {
+				this.executeQueued();
+			}
+		}
+		if (request.error != null) {
+			throw request.error;
 		}
 	}
 
+	/**
+	 * @return whether two queued requests may be packed together
+	 */
+	private static boolean packable(final Request first, final Request next) {
+		if (first.writes.isEmpty()) {
+			return next.writes.isEmpty();
+		}
+		return first.reads.isEmpty() && next.reads.isEmpty();
+	}
 
-	/** {@inheritDoc} */
+	/**
+	 * Executes all queued requests in order. Consecutive reads and consecutive
+	 * writes are packed into as few PDUs as possible, so a read queued after
+	 * a write sees the written value.
+	 * <p>
+	 * If the PLC rejects an item of packed reads, the reads are repeated one
+	 * by one, so every request gets its own result. Writes are never
+	 * repeated, all requests of failed packed writes get the same error. After
+	 * a transfer error the remaining requests fail with it without a transfer.
+	 */
+	private void executeQueued() {
+		final List<Request> batch = new ArrayList<Request>();
+		for (Request request = this.requests.poll(); request != null; request = this.requests.poll()) {
+			batch.add(request);
+		}
+
+		IOException transferError = null;
+		int next = 0;
+		while (next < batch.size()) {
+			int end = next + 1;
+			while ((end < batch.size()) && packable(batch.get(next), batch.get(end))) {
+				end++;
+			}
+			final List<Request> segment = batch.subList(next, end);
+			next = end;
+
+			if (transferError == null) {
+				try {
+					this.executePacked(segment);
+				} catch (final S7Exception e) {
+					if ((segment.size() > 1) && segment.get(0).writes.isEmpty()) {
+						transferError = this.executeOneByOne(segment);
+					} else {
+						fail(segment, e);
+					}
+				} catch (final IOException e) {
+					transferError = e;
+					fail(segment, e);
+				}
+			} else {
+				fail(segment, transferError);
+			}
+		}
+	}
+
+	/**
+	 * Executes requests packed together
+	 *
+	 * @param segment
+	 *            the requests
+	 */
+	private void executePacked(final List<Request> segment) throws IOException {
+		final List<ReadItem> reads = new ArrayList<ReadItem>();
+		final List<WriteItem> writes = new ArrayList<WriteItem>();
+		for (final Request request : segment) {
+			reads.addAll(request.reads);
+			writes.addAll(request.writes);
+		}
+		this.read(reads);
+		this.write(writes);
+		for (final Request request : segment) {
+			request.done = true;
+		}
+	}
+
+	/**
+	 * Executes read requests one by one
+	 *
+	 * @param segment
+	 *            the requests
+	 * @return the transfer error, null if there was none
+	 */
+	private IOException executeOneByOne(final List<Request> segment) {
+		IOException transferError = null;
+		for (final Request request : segment) {
+			if (transferError != null) {
+				request.error = transferError;
+			} else {
+				try {
+					this.read(request.reads);
+				} catch (final S7Exception e) {
+					request.error = e;
+				} catch (final IOException e) {
+					transferError = e;
+					request.error = e;
+				}
+			}
+			request.done = true;
+		}
+		return transferError;
+	}
+
+	/**
+	 * Fails requests
+	 *
+	 * @param segment
+	 *            the requests
+	 * @param error
+	 *            the error
+	 */
+	private static void fail(final List<Request> segment, final IOException error) {
+		for (final Request request : segment) {
+			request.error = error;
+			request.done = true;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Areas larger than MAX_SIZE bytes are split in chunks, which are packed
+	 * into as few multi-item read requests as the negotiated PDU length
+	 * allows, together with the requests of concurrent callers.
+	 */
 	@Override
-	public synchronized void write(final DaveArea area, final int areaNumber, final int offset, final byte[] buffer) throws IOException {
-		if (buffer.length > MAX_SIZE) {
-			// Split buffer
-			final byte[] subBuffer = new byte[MAX_SIZE];
-			final byte[] nextBuffer = new byte[buffer.length - subBuffer.length];
+	public byte[] read(final DaveArea area, final int areaNumber, final int bytes, final int offset) throws IOException {
+		final byte[] buffer = new byte[bytes];
+		final Request request = new Request();
+		addReadItems(request.reads, area, areaNumber, offset, buffer);
+		this.execute(request);
+		return buffer;
+	}
 
-			System.arraycopy(buffer, 0, subBuffer, 0, subBuffer.length);
-			System.arraycopy(buffer, MAX_SIZE, nextBuffer, 0, nextBuffer.length);
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The areas (split in chunks of at most MAX_SIZE bytes) are packed into as
+	 * few multi-item read requests as the negotiated PDU length allows.
+	 */
+	@Override
+	public Map<ItemKey, byte[]> read(final Collection<ItemKey> items) throws IOException {
+		final Map<ItemKey, byte[]> result = new LinkedHashMap<ItemKey, byte[]>();
+		final Request request = new Request();
+		for (final ItemKey key : items) {
+			if (!result.containsKey(key)) {
+				final byte[] buffer = new byte[key.getBytes()];
+				addReadItems(request.reads, key.getArea(), key.getAreaNumber(), key.getOffset(), buffer);
+				result.put(key, buffer);
+			}
+		}
+		this.execute(request);
+		return result;
+	}
 
-			this.write(area, areaNumber, offset, subBuffer);
-			this.write(area, areaNumber, offset + subBuffer.length, nextBuffer);
-		} else {
-			// Size fits
-			final int ret = this.dc.writeBytes(area, areaNumber, offset, buffer.length, buffer);
-			// Check return-value
-			checkResult(ret);
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The bits are read with single-bit items, packed into as few multi-item
+	 * read requests as the negotiated PDU length allows.
+	 */
+	@Override
+	public Map<BitKey, Boolean> readBits(final Collection<BitKey> keys) throws IOException {
+		final Map<BitKey, byte[]> buffers = new LinkedHashMap<BitKey, byte[]>();
+		final Request request = new Request();
+		for (final BitKey key : keys) {
+			if (!buffers.containsKey(key)) {
+				final byte[] buffer = new byte[1];
+				request.reads.add(new ReadItem(key.getArea(), key.getAreaNumber(), key.getBitAddress(), 1, buffer, 0,
+						true));
+				buffers.put(key, buffer);
+			}
 		}
+		this.execute(request);
+
+		final Map<BitKey, Boolean> result = new LinkedHashMap<BitKey, Boolean>();
+		for (final Map.Entry<BitKey, byte[]> bit : buffers.entrySet()) {
+			result.put(bit.getKey(), (bit.getValue()[0] & 0x01) != 0);
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the items with multi-item read requests
+	 *
+	 * @param plan
+	 *            the items, at most MAX_SIZE bytes each
+	 */
+	private void read(final List<ReadItem> plan) throws IOException {
+		final int pduLength = this.getPDULength();
+
+		int next = 0;
+		while (next < plan.size()) {
+			final PDU p = new PDU(this.dc.msgOut, this.dc.PDUstartOut);
+			p.prepareReadRequest();
+
+			final int first = next;
+			int requestSize = READ_REQUEST_SIZE;
+			int responseSize = READ_RESPONSE_SIZE;
+			while ((next < plan.size()) && ((next - first) < MAX_ITEMS)) {
+				final ReadItem item = plan.get(next);
+				if ((next > first) && (((requestSize + READ_ITEM_SIZE) > pduLength)
+						|| ((responseSize + item.getResultSize()) > pduLength))) {
+					break;
+				}
+				if (item.bit) {
+					p.addBitVarToReadRequest(item.area.getCode(), item.areaNumber, item.start, item.length);
+				} else {
+					p.addVarToReadRequest(item.area, item.areaNumber, item.start, item.length);
+				}
+				requestSize += READ_ITEM_SIZE;
+				responseSize += item.getResultSize();
+				next++;
+			}
+
+			final ResultSet rs = this.dc.execReadRequest(p);
+			checkResult(rs.getErrorState());
+			if (rs.getNumResults() != (next - first)) {
+				checkResult(Nodave.RESULT_EMPTY_RESULT_SET_ERROR);
+			}
+			for (int i = 0; i < rs.getNumResults(); i++) {
+				final ReadItem item = plan.get(first + i);
+				this.checkItem(rs.results[i].error, item.getKey());
+				if (rs.results[i].length != item.length) {
+					checkResult(Nodave.RESULT_SHORT_PACKET);
+				}
+				System.arraycopy(this.dc.msgIn, rs.results[i].bufferStart, item.buffer, item.bufferOffset, item.length);
+			}
+		}
+	}
+
+	/**
+	 * @return the negotiated PDU length
+	 */
+	private int getPDULength() {
+		return (this.dc.maxPDUlength > 0) ? this.dc.maxPDUlength : DEFAULT_PDU_LENGTH;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void write(final DaveArea area, final int areaNumber, final int offset, final byte[] buffer) throws IOException {
+		final Request request = new Request();
+		addWriteItems(request.writes, area, areaNumber, offset, buffer);
+		this.execute(request);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The areas (split in chunks of at most MAX_SIZE bytes) and bits are packed
+	 * into as few multi-item write requests as the negotiated PDU length
+	 * allows, bits are written with single-bit items.
+	 */
+	@Override
+	public void write(final Map<ItemKey, byte[]> items, final Map<BitKey, Boolean> bits) throws IOException {
+		final Request request = new Request();
+		for (final Map.Entry<ItemKey, byte[]> item : items.entrySet()) {
+			final ItemKey key = item.getKey();
+			addWriteItems(request.writes, key.getArea(), key.getAreaNumber(), key.getOffset(), item.getValue());
+		}
+		for (final Map.Entry<BitKey, Boolean> bit : bits.entrySet()) {
+			final BitKey key = bit.getKey();
+			request.writes.add(new WriteItem(key.getArea(), key.getAreaNumber(), key.getBitAddress(),
+					new byte[] { (byte) (bit.getValue() ? 1 : 0) }, true));
+		}
+		this.execute(request);
 	}
 
+	/**
+	 * Writes the items with multi-item write requests
+	 *
+	 * @param plan
+	 *            the items, at most MAX_SIZE bytes each
+	 */
+	private void write(final List<WriteItem> plan) throws IOException {
+		final int pduLength = this.getPDULength();
+
+		int next = 0;
+		while (next < plan.size()) {
+			final PDU p = new PDU(this.dc.msgOut, this.dc.PDUstartOut);
+			p.prepareWriteRequest();
+
+			int size = WRITE_REQUEST_SIZE;
+			int count = 0;
+			while ((next < plan.size()) && (count < MAX_ITEMS)) {
+				final WriteItem item = plan.get(next);
+				if ((count > 0) && ((size + item.getSize()) > pduLength)) {
+					break;
+				}
+				if (item.bit) {
+					p.addBitVarToWriteRequest(item.area, item.areaNumber, item.start, item.buffer.length, item.buffer);
+				} else {
+					p.addVarToWriteRequest(item.area, item.areaNumber, item.start, item.buffer.length, item.buffer);
+				}
+				size += item.getSize();
+				count++;
+				next++;
+			}
+
+			final ResultSet rs = this.dc.execWriteRequest(p);
+			checkResult(rs.getErrorState());
+			for (int i = 0; i < rs.getNumResults(); i++) {
+				this.checkItem(rs.results[i].error, plan.get((next - count) + i).getKey());
+			}
+		}
+	}
 
 }
@@ -0,0 +1,417 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl;
+
+import com.github.s7connector.api.BitKey;
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.api.S7Metrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache in front of a connector, for many readers polling the
+ * same areas (e.g. dashboards). Reads are answered from cached blocks that
+ * contain the requested range and are younger than the time to live of their
+ * area, concurrent reads of the same range share one request, also for the
+ * ranges of multi-range reads. Writes go to the connector and invalidate the
+ * overlapping blocks.
+ * <p>
+ * Built by S7ConnectorFactory.buildCachingConnector(connector).
+ */
+public final class S7CachingConnector implements S7Connector {
+
+	/**
+	 * A cached block
+	 */
+	private static final class Entry {
+		final ItemKey key;
+		final byte[] data;
+		final long expires;
+
+		Entry(final ItemKey key, final byte[] data, final long expires) {
+			this.key = key;
+			this.data = data;
+			this.expires = expires;
+		}
+
+		boolean contains(final DaveArea area, final int areaNumber, final int offset, final int bytes) {
+			return (this.key.getArea() == area) && (this.key.getAreaNumber() == areaNumber)
+					&& (this.key.getOffset() <= offset)
+					&& ((offset + bytes) <= (this.key.getOffset() + this.key.getBytes()));
+		}
+	}
+
+	/**
+	 * @return whether the ranges overlap
+	 */
+	private static boolean overlaps(final ItemKey key, final DaveArea area, final int areaNumber, final int offset,
+			final int bytes) {
+		return (key.getArea() == area) && (key.getAreaNumber() == areaNumber)
+				&& (key.getOffset() < (offset + bytes)) && (offset < (key.getOffset() + key.getBytes()));
+	}
+
+	/** The cached connector */
+	private final S7Connector connector;
+
+	/** Time to live per area in nanoseconds, 0 is not cached */
+	private final Map<DaveArea, Long> ttls;
+
+	/** Upper bound of the cached bytes */
+	private final long maxBytes;
+
+	/** The blocks, least recently used first, guarded by itself */
+	private final LinkedHashMap<ItemKey, Entry> cache = new LinkedHashMap<ItemKey, Entry>(16, 0.75f, true);
+
+	/** Sum of the cached bytes, guarded by the cache */
+	private long cachedBytes = 0;
+
+	/** Reads in progress */
+	private final Map<ItemKey, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<ItemKey, CompletableFuture<byte[]>>();
+
+	/** Incremented by every write, reads started before a write are not cached */
+	private final AtomicLong writes = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+
+	/**
+	 * Creates a cache
+	 *
+	 * @param connector
+	 *            the cached connector
+	 * @param ttls
+	 *            time to live per area in nanoseconds, areas without one are
+	 *            not cached
+	 * @param maxBytes
+	 *            upper bound of the cached bytes
+	 */
+	public S7CachingConnector(final S7Connector connector, final Map<DaveArea, Long> ttls, final long maxBytes) {
+		this.connector = connector;
+		this.ttls = new EnumMap<DaveArea, Long>(DaveArea.class);
+		this.ttls.putAll(ttls);
+		this.maxBytes = maxBytes;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public byte[] read(final DaveArea area, final int areaNumber, final int bytes, final int offset)
+			throws IOException {
+		final long ttl = this.getTtl(area);
+		if (ttl <= 0) {
+			return this.connector.read(area, areaNumber, bytes, offset);
+		}
+
+		final byte[] cached = this.lookup(area, areaNumber, offset, bytes);
+		if (cached != null) {
+			this.hits.increment();
+			return cached;
+		}
+
+		// single flight, concurrent reads of the same range wait for the first
+		final ItemKey key = new ItemKey(area, areaNumber, bytes, offset);
+		final CompletableFuture<byte[]> flight = new CompletableFuture<byte[]>();
+		final CompletableFuture<byte[]> running = this.inFlight.putIfAbsent(key, flight);
+		if (running != null) {
+			this.hits.increment();
+			return await(running).clone();
+		}
+
+		this.misses.increment();
+		try {
+			final long generation = this.writes.get();
+			final byte[] data = this.connector.read(area, areaNumber, bytes, offset);
+			this.store(key, data, ttl, generation);
+			flight.complete(data);
+			return data.clone();
+		} catch (final IOException | RuntimeException e) {
+			flight.completeExceptionally(e);
+			throw e;
+		} finally {
+			this.inFlight.remove(key, flight);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Map<ItemKey, byte[]> read(final Collection<ItemKey> items) throws IOException {
+		final Map<ItemKey, byte[]> result = new LinkedHashMap<ItemKey, byte[]>();
+		final List<ItemKey> missing = new ArrayList<ItemKey>();
+		for (final ItemKey key : items) {
+			final byte[] cached = (this.getTtl(key.getArea()) > 0)
+					? this.lookup(key.getArea(), key.getAreaNumber(), key.getOffset(), key.getBytes())
+					: null;
+			if (cached != null) {
+				this.hits.increment();
+			} else {
+				missing.add(key);
+			}
+			// keeps the order of the items
+			result.put(key, cached);
+		}
+
+		if (missing.isEmpty()) {
+			return result;
+		}
+
+		// single flight per range, ranges read by a concurrent request are joined
+		final List<ItemKey> requested = new ArrayList<ItemKey>();
+		final Map<ItemKey, CompletableFuture<byte[]>> flights = new LinkedHashMap<ItemKey, CompletableFuture<byte[]>>();
+		final Map<ItemKey, CompletableFuture<byte[]>> joined = new LinkedHashMap<ItemKey, CompletableFuture<byte[]>>();
+		for (final ItemKey key : missing) {
+			if (this.getTtl(key.getArea()) <= 0) {
+				requested.add(key);
+				continue;
+			}
+			final CompletableFuture<byte[]> flight = new CompletableFuture<byte[]>();
+			final CompletableFuture<byte[]> running = this.inFlight.putIfAbsent(key, flight);
+			if (running != null) {
+				joined.put(key, running);
+			} else {
+				flights.put(key, flight);
+				requested.add(key);
+			}
+		}
+
+		if (!requested.isEmpty()) {
+			this.misses.add(requested.size());
+			try {
+				final long generation = this.writes.get();
+				final Map<ItemKey, byte[]> reads = this.connector.read(requested);
+				for (final ItemKey key : requested) {
+					final byte[] data = reads.get(key);
+					final CompletableFuture<byte[]> flight = flights.get(key);
+					if (data == null) {
+						throw new IOException("No result for " + key);
+					} else if (flight == null) {
+						result.put(key, data);
+					} else {
+						this.store(key, data, this.getTtl(key.getArea()), generation);
+						flight.complete(data);
+						result.put(key, data.clone());
+					}
+				}
+			} catch (final IOException | RuntimeException e) {
+				for (final CompletableFuture<byte[]> flight : flights.values()) {
+					flight.completeExceptionally(e);
+				}
+				throw e;
+			} finally {
+				for (final Map.Entry<ItemKey, CompletableFuture<byte[]>> flight : flights.entrySet()) {
+					this.inFlight.remove(flight.getKey(), flight.getValue());
+				}
+			}
+		}
+
+		// after the own ranges, so concurrent requests joining each other complete
+		for (final Map.Entry<ItemKey, CompletableFuture<byte[]>> flight : joined.entrySet()) {
+			this.hits.increment();
+			result.put(flight.getKey(), await(flight.getValue()).clone());
+		}
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void write(final DaveArea area, final int areaNumber, final int offset, final byte[] buffer)
+			throws IOException {
+		this.writes.incrementAndGet();
+		try {
+			this.connector.write(area, areaNumber, offset, buffer);
+		} finally {
+			this.invalidate(area, areaNumber, offset, buffer.length);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void write(final Map<ItemKey, byte[]> items, final Map<BitKey, Boolean> bits) throws IOException {
+		this.writes.incrementAndGet();
+		try {
+			this.connector.write(items, bits);
+		} finally {
+			for (final ItemKey key : items.keySet()) {
+				this.invalidate(key.getArea(), key.getAreaNumber(), key.getOffset(), key.getBytes());
+			}
+			for (final BitKey key : bits.keySet()) {
+				this.invalidate(key.getArea(), key.getAreaNumber(), key.getByteOffset(), 1);
+			}
+		}
+	}
+
+	/**
+	 * Drops all cached blocks
+	 */
+	public void invalidate() {
+		this.writes.incrementAndGet();
+		synchronized (this.cache) {
+			this.cache.clear();
+			this.cachedBytes = 0;
+		}
+		this.inFlight.clear();
+	}
+
+	/**
+	 * @return the reads answered from the cache or by a concurrent read
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * @return the reads passed to the connector
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * @return the number of cached blocks
+	 */
+	public int size() {
+		synchronized (this.cache) {
+			return this.cache.size();
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7Metrics getMetrics() {
+		return this.connector.getMetrics();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void close() throws IOException {
+		this.connector.close();
+	}
+
+	/**
+	 * @return the time to live of the area in nanoseconds
+	 */
+	private long getTtl(final DaveArea area) {
+		final Long ttl = this.ttls.get(area);
+		return (ttl != null) ? ttl : 0;
+	}
+
+	/**
+	 * Copies a range out of a valid block containing it
+	 *
+	 * @return the bytes, null if no block contains the range
+	 */
+	private byte[] lookup(final DaveArea area, final int areaNumber, final int offset, final int bytes) {
+		final long now = System.nanoTime();
+		synchronized (this.cache) {
+			Entry entry = this.cache.get(new ItemKey(area, areaNumber, bytes, offset));
+			if ((entry == null) || ((now - entry.expires) >= 0)) {
+				entry = null;
+				for (final Iterator<Entry> it = this.cache.values().iterator(); it.hasNext();) {
+					final Entry candidate = it.next();
+					if ((now - candidate.expires) >= 0) {
+						it.remove();
+						this.cachedBytes -= candidate.data.length;
+					} else if (candidate.contains(area, areaNumber, offset, bytes)) {
+						entry = candidate;
+					}
+				}
+				if (entry == null) {
+					return null;
+				}
+				// marks the block as recently used
+				this.cache.get(entry.key);
+			}
+			final int from = offset - entry.key.getOffset();
+			return Arrays.copyOfRange(entry.data, from, from + bytes);
+		}
+	}
+
+	/**
+	 * Caches a block unless a write happened since it was read
+	 */
+	private void store(final ItemKey key, final byte[] data, final long ttl, final long generation) {
+		if (data.length > this.maxBytes) {
+			return;
+		}
+		synchronized (this.cache) {
+			if (this.writes.get() != generation) {
+				return;
+			}
+			final Entry previous = this.cache.put(key, new Entry(key, data, System.nanoTime() + ttl));
+			if (previous != null) {
+				this.cachedBytes -= previous.data.length;
+			}
+			this.cachedBytes += data.length;
+
+			// evicts the least recently used blocks
+			for (final Iterator<Entry> it = this.cache.values().iterator(); (this.cachedBytes > this.maxBytes)
+					&& it.hasNext();) {
+				this.cachedBytes -= it.next().data.length;
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Drops the blocks and reads in progress overlapping a range
+	 */
+	private void invalidate(final DaveArea area, final int areaNumber, final int offset, final int bytes) {
+		synchronized (this.cache) {
+			for (final Iterator<Entry> it = this.cache.values().iterator(); it.hasNext();) {
+				final Entry entry = it.next();
+				if (overlaps(entry.key, area, areaNumber, offset, bytes)) {
+					this.cachedBytes -= entry.data.length;
+					it.remove();
+				}
+			}
+		}
+		// later reads must not join a read started before the write
+		this.inFlight.keySet().removeIf(key -> overlaps(key, area, areaNumber, offset, bytes));
+	}
+
+	/**
+	 * Waits for a read of another thread
+	 */
+	private static byte[] await(final CompletableFuture<byte[]> flight) throws IOException {
+		try {
+			return flight.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for a read", e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,198 @@
+package com.github.s7connector.impl;
+
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Flow;
+import com.github.s7connector.exception.S7Exception;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Publishes the polled bytes of an item. The poll thread only queues the bytes
+ * of each subscription, they are delivered on the executor as demanded, so a
+ * slow subscriber never delays the poll.
+ */
+public class S7ItemPublisher implements S7Flow.Publisher<byte[]> {
+    private static final Logger logger = LoggerFactory.getLogger(S7ItemPublisher.class);
+
+    private final S7BaseAsyncConnection connection;
+
+    private final ItemKey key;
+
+    private final S7Flow.Overflow overflow;
+
+    private final int capacity;
+
+    private final Executor executor;
+
+    private final List<ItemSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    S7ItemPublisher(S7BaseAsyncConnection connection, ItemKey key, S7Flow.Overflow overflow, int capacity,
+                    Executor executor) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.connection = connection;
+        this.key = key;
+        this.overflow = overflow;
+        this.capacity = capacity;
+        this.executor = executor;
+    }
+
+    public ItemKey getKey() {
+        return key;
+    }
+
+    @Override
+    public void subscribe(S7Flow.Subscriber<? super byte[]> subscriber) {
+        ItemSubscription subscription = new ItemSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (!subscription.cancelled) {
+            subscriptions.add(subscription);
+            connection.addSink(key, subscription);
+        }
+    }
+
+    /**
+     * Completes all subscriptions after their buffered items
+     */
+    public void close() {
+        for (ItemSubscription subscription : subscriptions) {
+            connection.removeSink(key, subscription);
+            subscription.completed = true;
+            subscription.schedule();
+        }
+    }
+
+    private final class ItemSubscription implements S7Flow.Subscription, Consumer<byte[]> {
+        final S7Flow.Subscriber<? super byte[]> subscriber;
+
+        // guarded by itself
+        final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+
+        final AtomicLong requested = new AtomicLong();
+
+        final AtomicInteger wip = new AtomicInteger();
+
+        volatile boolean cancelled = false;
+
+        volatile boolean completed = false;
+
+        volatile Throwable error = null;
+
+        ItemSubscription(S7Flow.Subscriber<? super byte[]> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        // called on the poll thread
+        @Override
+        public void accept(byte[] data) {
+            if (cancelled || error != null)
+                return;
+            synchronized (queue) {
+                if (queue.size() >= capacity) {
+                    switch (overflow) {
+                        case LATEST:
+                            queue.pollFirst();
+                            break;
+                        case DROP:
+                            return;
+                        case BUFFER:
+                        default:
+                            error = new S7Exception("Buffer overflow of " + key + ", " + capacity + " items");
+                            queue.clear();
+                            schedule();
+                            return;
+                    }
+                }
+                queue.addLast(data);
+            }
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                requested.accumulateAndGet(n, (r, add) -> (r + add < 0) ? Long.MAX_VALUE : r + add);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                subscriptions.remove(this);
+                connection.removeSink(key, this);
+                synchronized (queue) {
+                    queue.clear();
+                }
+            }
+        }
+
+        void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    logger.error("Delivery of {} rejected", key, e);
+                    cancel();
+                    wip.set(0);
+                }
+            }
+        }
+
+        // serialized by wip, runs on the executor
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!cancelled) {
+                    long r = requested.get();
+                    long emitted = 0;
+                    while (emitted != r && !cancelled && error == null) {
+                        byte[] next;
+                        synchronized (queue) {
+                            next = queue.pollFirst();
+                        }
+                        if (next == null)
+                            break;
+                        try {
+                            subscriber.onNext(next);
+                        } catch (Throwable t) {
+                            logger.error("Error while call subscriber of {}", key, t);
+                            cancel();
+                        }
+                        emitted++;
+                    }
+                    if (emitted != 0 && r != Long.MAX_VALUE)
+                        requested.addAndGet(-emitted);
+
+                    Throwable e = error;
+                    if (e != null && !cancelled) {
+                        cancel();
+                        subscriber.onError(e);
+                    } else if (completed && !cancelled) {
+                        boolean empty;
+                        synchronized (queue) {
+                            empty = queue.isEmpty();
+                        }
+                        if (empty) {
+                            cancel();
+                            subscriber.onComplete();
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
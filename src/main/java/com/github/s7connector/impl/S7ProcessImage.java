@@ -0,0 +1,264 @@
+package com.github.s7connector.impl;
+
+import com.github.s7connector.api.BitKey;
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Shared process image on top of an asynchronous connection. The ranges of all
+ * readers are coalesced to one block per contiguous area, the blocks are polled
+ * by the connection next to its items and published as an immutable {@link Snapshot}
+ * after each complete poll cycle. Any number of readers take snapshots without
+ * locking and without requests to the PLC.
+ * <p>
+ * A snapshot only holds blocks read in the same poll cycle, a cycle with a
+ * failed block is not published and readers keep the previous snapshot.
+ */
+public class S7ProcessImage implements Closeable {
+
+    /**
+     * Ranges with at most this gap are polled as one block
+     */
+    private static final int GAP = 16;
+
+    /**
+     * Immutable process image of one poll cycle
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, null, Collections.emptyMap());
+
+        private final long cycle;
+
+        private final Instant timestamp;
+
+        private final Map<ItemKey, byte[]> blocks;
+
+        Snapshot(long cycle, Instant timestamp, Map<ItemKey, byte[]> blocks) {
+            this.cycle = cycle;
+            this.timestamp = timestamp;
+            this.blocks = blocks;
+        }
+
+        /**
+         * @return the number of the poll cycle, 0 before the first cycle
+         */
+        public long getCycle() {
+            return cycle;
+        }
+
+        /**
+         * @return the end of the poll cycle, null before the first cycle
+         */
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return whether the snapshot holds the range
+         */
+        public boolean contains(ItemKey key) {
+            return find(key.getArea(), key.getAreaNumber(), key.getOffset(), key.getBytes()) != null;
+        }
+
+        /**
+         * Copies a range out of the snapshot
+         *
+         * @param key the range
+         * @return the bytes
+         * @throws IllegalArgumentException if the snapshot does not hold the range
+         */
+        public byte[] read(ItemKey key) {
+            Map.Entry<ItemKey, byte[]> block = get(key.getArea(), key.getAreaNumber(), key.getOffset(), key.getBytes());
+            int from = key.getOffset() - block.getKey().getOffset();
+            return Arrays.copyOfRange(block.getValue(), from, from + key.getBytes());
+        }
+
+        public byte[] read(DaveArea area, int areaNumber, int bytes, int offset) {
+            return read(new ItemKey(area, areaNumber, bytes, offset));
+        }
+
+        /**
+         * Reads a bit of the snapshot
+         *
+         * @param key the bit
+         * @return the value
+         * @throws IllegalArgumentException if the snapshot does not hold the bit
+         */
+        public boolean readBit(BitKey key) {
+            Map.Entry<ItemKey, byte[]> block = get(key.getArea(), key.getAreaNumber(), key.getByteOffset(), 1);
+            byte b = block.getValue()[key.getByteOffset() - block.getKey().getOffset()];
+            return (b & (1 << key.getBitOffset())) != 0;
+        }
+
+        private Map.Entry<ItemKey, byte[]> get(DaveArea area, int areaNumber, int offset, int bytes) {
+            Map.Entry<ItemKey, byte[]> block = find(area, areaNumber, offset, bytes);
+            if (block == null)
+                throw new IllegalArgumentException("Not in the process image: " + new ItemKey(area, areaNumber, bytes, offset));
+            return block;
+        }
+
+        private Map.Entry<ItemKey, byte[]> find(DaveArea area, int areaNumber, int offset, int bytes) {
+            for (Map.Entry<ItemKey, byte[]> block : blocks.entrySet()) {
+                ItemKey key = block.getKey();
+                if (key.getArea() == area && key.getAreaNumber() == areaNumber
+                        && key.getOffset() <= offset && offset + bytes <= key.getOffset() + key.getBytes())
+                    return block;
+            }
+            return null;
+        }
+    }
+
+    private final S7BaseAsyncConnection connection;
+
+    private final Runnable cycleListener = this::publish;
+
+    /**
+     * Requested ranges with their number of registrations, guarded by this
+     */
+    private final Map<ItemKey, Integer> ranges = new HashMap<>();
+
+    private volatile List<ItemKey> blocks = Collections.emptyList();
+
+    /**
+     * Sinks of the polled blocks, guarded by this
+     */
+    private final Map<ItemKey, Consumer<byte[]>> sinks = new HashMap<>();
+
+    /**
+     * Blocks read in the current poll cycle
+     */
+    private final Map<ItemKey, byte[]> pending = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Written on the poll thread only
+     */
+    private long cycle = 0;
+
+    public S7ProcessImage(S7BaseAsyncConnection connection) {
+        this.connection = connection;
+        connection.addCycleListener(cycleListener);
+    }
+
+    /**
+     * Adds a range to the image, it is contained from the next complete poll
+     * cycle on. Ranges may be added several times and are kept until removed
+     * as often.
+     *
+     * @param key the range
+     */
+    public synchronized void addRange(ItemKey key) {
+        ranges.merge(key, 1, Integer::sum);
+        update();
+    }
+
+    public synchronized void removeRange(ItemKey key) {
+        ranges.computeIfPresent(key, (k, count) -> (count > 1) ? count - 1 : null);
+        update();
+    }
+
+    /**
+     * @return the blocks polled for the ranges
+     */
+    public List<ItemKey> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * @return the latest complete snapshot, lock-free
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Removes the blocks from the connection, the connection stays open
+     */
+    @Override
+    public synchronized void close() {
+        connection.removeCycleListener(cycleListener);
+        ranges.clear();
+        update();
+    }
+
+    private void update() {
+        List<ItemKey> old = blocks;
+        List<ItemKey> coalesced = coalesce(ranges.keySet());
+        Set<ItemKey> keep = new HashSet<>(coalesced);
+        for (ItemKey block : old) {
+            if (!keep.contains(block)) {
+                connection.removeSink(block, sinks.remove(block));
+                pending.remove(block);
+            }
+        }
+        Set<ItemKey> existing = new HashSet<>(old);
+        for (ItemKey block : coalesced) {
+            if (!existing.contains(block)) {
+                Consumer<byte[]> sink = data -> pending.put(block, data);
+                sinks.put(block, sink);
+                connection.addSink(block, sink);
+            }
+        }
+        blocks = Collections.unmodifiableList(coalesced);
+    }
+
+    /**
+     * Merges overlapping and close ranges of the same area
+     */
+    static List<ItemKey> coalesce(Collection<ItemKey> ranges) {
+        List<ItemKey> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparing(ItemKey::getArea)
+                .thenComparingInt(ItemKey::getAreaNumber)
+                .thenComparingInt(ItemKey::getOffset));
+        List<ItemKey> result = new ArrayList<>();
+        ItemKey current = null;
+        for (ItemKey key : sorted) {
+            if (current != null && current.getArea() == key.getArea() && current.getAreaNumber() == key.getAreaNumber()
+                    && key.getOffset() - (current.getOffset() + current.getBytes()) <= GAP) {
+                int end = Math.max(current.getOffset() + current.getBytes(), key.getOffset() + key.getBytes());
+                current = new ItemKey(current.getArea(), current.getAreaNumber(), end - current.getOffset(), current.getOffset());
+            } else {
+                if (current != null)
+                    result.add(current);
+                current = key;
+            }
+        }
+        if (current != null)
+            result.add(current);
+        return result;
+    }
+
+    private void publish() {
+        List<ItemKey> current = blocks;
+        if (current.isEmpty())
+            return;
+        Map<ItemKey, byte[]> data = new HashMap<>();
+        for (ItemKey block : current) {
+            byte[] bytes = pending.get(block);
+            if (bytes == null) {
+                // incomplete cycle, keep the previous snapshot
+                pending.clear();
+                return;
+            }
+            data.put(block, bytes);
+        }
+        pending.clear();
+        snapshot = new Snapshot(++cycle, Instant.now(), Collections.unmodifiableMap(data));
+    }
+}
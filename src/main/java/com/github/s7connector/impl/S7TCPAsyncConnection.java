@@ -95,7 +95,7 @@ public class S7TCPAsyncConnection extends S7BaseAsyncConnection {
 
     @Override
     protected S7Connector doStartConnection() throws IOException {
-        return new S7TCPConnection(host, rack, slot, port, (int) timeout.toMillis(), plcType);
+        return new S7TCPConnection(host, rack, slot, port, (int) timeout.toMillis(), plcType, getMetrics());
     }
 
     @Override
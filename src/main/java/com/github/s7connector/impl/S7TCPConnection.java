@@ -16,6 +16,7 @@ limitations under the License.
 package com.github.s7connector.impl;
 
 import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.S7Metrics;
 import com.github.s7connector.api.SiemensPLCS;
 import com.github.s7connector.exception.S7Exception;
 import com.github.s7connector.impl.nodave.Nodave;
@@ -81,13 +82,25 @@ public final class S7TCPConnection extends S7BaseConnection {
      * @throws S7Exception
      */
     public S7TCPConnection(final String host, final int rack, final int slot, final int port, final int timeout, final SiemensPLCS plcType) throws IOException {
+        this(host, rack, slot, port, timeout, plcType, S7Metrics.NOOP);
+    }
+
+    /**
+     * Creates a new Instance to the given host, rack, slot and port, the
+     * connection establishment and all requests are reported to the metrics
+     *
+     * @param host
+     * @throws S7Exception
+     */
+    public S7TCPConnection(final String host, final int rack, final int slot, final int port, final int timeout, final SiemensPLCS plcType,
+                           final S7Metrics metrics) throws IOException {
         this.host = host;
         this.rack = rack;
         this.slot = slot;
         this.port = port;
         this.timeout = timeout;
         this.plcType = plcType;
-        this.setupSocket();
+        this.setupSocket(metrics);
     }
 
     @Override
@@ -110,11 +123,15 @@ public final class S7TCPConnection extends S7BaseConnection {
     /**
      * Sets up the socket
      */
-    private void setupSocket() throws IOException {
+    private void setupSocket(final S7Metrics metrics) throws IOException {
         try {
             this.socket = new Socket();
             this.socket.setSoTimeout(2000);
+            final long start = (metrics != S7Metrics.NOOP) ? System.nanoTime() : 0;
             this.socket.connect(new InetSocketAddress(this.host, this.port), this.timeout);
+            if (metrics != S7Metrics.NOOP) {
+                metrics.handshake(S7Metrics.Phase.TCP_CONNECT, System.nanoTime() - start);
+            }
 
             //select the plc interface protocol by the plcsType
             int protocol;
@@ -137,8 +154,9 @@ public final class S7TCPConnection extends S7BaseConnection {
                     protocol);
 
             this.dc = new TCPConnection(this.di, this.rack, this.slot);
-            final int res = this.dc.connectPLC();
+            final int res = this.dc.connectPLC(metrics);
             checkResult(res);
+            this.dc.metrics = metrics;
 
             super.init(this.dc);
         } catch (final Exception e) {
@@ -0,0 +1,89 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in microseconds with power of two
+ * buckets, percentiles are reported as the upper bound of their bucket
+ */
+public final class LatencyHistogram {
+
+	/** Bucket i counts values below 2^i microseconds. */
+	private static final int BUCKETS = 40;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder sum = new LongAdder();
+
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records a duration
+	 *
+	 * @param nanos
+	 *            the duration in nanoseconds
+	 */
+	public void record(final long nanos) {
+		final long micros = Math.max(0, nanos / 1000);
+		final int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+		this.buckets.incrementAndGet(bucket);
+		this.count.increment();
+		this.sum.add(micros);
+		this.max.accumulate(micros);
+	}
+
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	public long getMaxMicros() {
+		return this.max.get();
+	}
+
+	public double getMeanMicros() {
+		final long n = this.count.sum();
+		return (n > 0) ? ((double) this.sum.sum() / n) : 0;
+	}
+
+	/**
+	 * @param percentile
+	 *            the percentile, 0 to 100
+	 * @return the upper bound of the bucket holding the percentile in
+	 *         microseconds, at most the maximum
+	 */
+	public long getPercentileMicros(final double percentile) {
+		final long n = this.count.sum();
+		if (n == 0) {
+			return 0;
+		}
+		final long rank = (long) Math.ceil((percentile / 100.0) * n);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += this.buckets.get(i);
+			if (seen >= rank) {
+				return Math.min((1L << i) - 1, this.max.get());
+			}
+		}
+		return this.max.get();
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Metrics;
+
+/**
+ * Dependency-free metrics, counters and histograms kept in memory. Can be
+ * shared by several connections and registered as MXBean:
+ *
+ * <pre>
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(recorder,
+ * 		new ObjectName("com.github.s7connector:type=Metrics,name=plc1"));
+ * </pre>
+ */
+public final class S7MetricsRecorder implements S7Metrics, S7MetricsRecorderMXBean {
+
+	private final LongAdder readRequests = new LongAdder();
+
+	private final LongAdder writeRequests = new LongAdder();
+
+	private final LongAdder otherRequests = new LongAdder();
+
+	private final LongAdder bytesSent = new LongAdder();
+
+	private final LongAdder bytesReceived = new LongAdder();
+
+	private final LatencyHistogram roundTrip = new LatencyHistogram();
+
+	private final Map<ItemKey, LongAdder> itemErrors = new ConcurrentHashMap<ItemKey, LongAdder>();
+
+	private final LongAdder pdusPolled = new LongAdder();
+
+	private final LatencyHistogram cycleDuration = new LatencyHistogram();
+
+	private final LongAdder overruns = new LongAdder();
+
+	private final LongAdder reconnects = new LongAdder();
+
+	/** {@inheritDoc} */
+	@Override
+	public void exchange(final Function function, final int pduReference, final ItemKey item, final int items,
+			final long nanos, final int bytesSent, final int bytesReceived) {
+		switch (function) {
+		case READ:
+			this.readRequests.increment();
+			break;
+		case WRITE:
+			this.writeRequests.increment();
+			break;
+		default:
+			this.otherRequests.increment();
+			break;
+		}
+		this.bytesSent.add(bytesSent);
+		this.bytesReceived.add(bytesReceived);
+		this.roundTrip.record(nanos);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void itemError(final ItemKey item, final int errorCode) {
+		this.itemErrors.computeIfAbsent(item, k -> new LongAdder()).increment();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void pollCycle(final int pdus, final long nanos, final boolean overrun) {
+		this.pdusPolled.add(pdus);
+		this.cycleDuration.record(nanos);
+		if (overrun) {
+			this.overruns.increment();
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void reconnect() {
+		this.reconnects.increment();
+	}
+
+	public LatencyHistogram getRoundTrip() {
+		return this.roundTrip;
+	}
+
+	public LatencyHistogram getCycleDuration() {
+		return this.cycleDuration;
+	}
+
+	/**
+	 * @param item
+	 *            the item
+	 * @return the number of errors of the item
+	 */
+	public long getItemErrors(final ItemKey item) {
+		final LongAdder errors = this.itemErrors.get(item);
+		return (errors != null) ? errors.sum() : 0;
+	}
+
+	@Override
+	public long getReadRequests() {
+		return this.readRequests.sum();
+	}
+
+	@Override
+	public long getWriteRequests() {
+		return this.writeRequests.sum();
+	}
+
+	@Override
+	public long getOtherRequests() {
+		return this.otherRequests.sum();
+	}
+
+	@Override
+	public long getBytesSent() {
+		return this.bytesSent.sum();
+	}
+
+	@Override
+	public long getBytesReceived() {
+		return this.bytesReceived.sum();
+	}
+
+	@Override
+	public double getRoundTripMeanMicros() {
+		return this.roundTrip.getMeanMicros();
+	}
+
+	@Override
+	public long getRoundTripP99Micros() {
+		return this.roundTrip.getPercentileMicros(99);
+	}
+
+	@Override
+	public long getRoundTripMaxMicros() {
+		return this.roundTrip.getMaxMicros();
+	}
+
+	@Override
+	public long getItemErrors() {
+		long sum = 0;
+		for (final LongAdder errors : this.itemErrors.values()) {
+			sum += errors.sum();
+		}
+		return sum;
+	}
+
+	@Override
+	public long getPollCycles() {
+		return this.cycleDuration.getCount();
+	}
+
+	@Override
+	public double getPdusPerCycle() {
+		final long cycles = this.cycleDuration.getCount();
+		return (cycles > 0) ? ((double) this.pdusPolled.sum() / cycles) : 0;
+	}
+
+	@Override
+	public long getCycleDurationP99Micros() {
+		return this.cycleDuration.getPercentileMicros(99);
+	}
+
+	@Override
+	public long getOverruns() {
+		return this.overruns.sum();
+	}
+
+	@Override
+	public long getReconnects() {
+		return this.reconnects.sum();
+	}
+
+}
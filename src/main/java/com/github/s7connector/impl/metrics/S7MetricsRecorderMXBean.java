@@ -0,0 +1,51 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.metrics;
+
+/**
+ * JMX view of a {@link S7MetricsRecorder}
+ */
+public interface S7MetricsRecorderMXBean {
+
+	long getReadRequests();
+
+	long getWriteRequests();
+
+	long getOtherRequests();
+
+	long getBytesSent();
+
+	long getBytesReceived();
+
+	double getRoundTripMeanMicros();
+
+	long getRoundTripP99Micros();
+
+	long getRoundTripMaxMicros();
+
+	long getItemErrors();
+
+	long getPollCycles();
+
+	double getPdusPerCycle();
+
+	long getCycleDurationP99Micros();
+
+	long getOverruns();
+
+	long getReconnects();
+
+}
@@ -163,14 +163,19 @@ public final class PDU {
 
 	/**
 	 * Add values after value header in data, adjust dlen and data count. Needs
-	 * valid header,parameters,data,dlen
+	 * valid header,parameters,data,dlen. The value header is the last one
+	 * added, so this works for multi-item write requests too.
 	 */
 	void addValue(final byte[] values) {
-		int valCount = (0x100 * this.mem[this.data + 2]) + this.mem[this.data + 3];
-		if (this.mem[this.data + 1] == 4) { // bit data, length is in bits
+		final int valueHeader = (this.data + this.dlen) - 4;
+		int valCount = Nodave.USBEWord(this.mem, valueHeader + 2);
+		if (this.mem[valueHeader + 1] == 4) { // bit data, length is in bits
 			valCount += 8 * values.length;
-		} else if (this.mem[this.data + 1] == 9) { // byte data, length is in
-													// bytes
+		} else if (this.mem[valueHeader + 1] == 9) { // byte data, length is in
+														// bytes
+			valCount += values.length;
+		} else if (this.mem[valueHeader + 1] == 3) { // single bits, one byte
+														// per bit
 			valCount += values.length;
 		} else {
 			// XXX
@@ -179,7 +184,7 @@ public final class PDU {
 			this.udata = this.data + 4;
 		}
 		this.udlen += values.length;
-		Nodave.setUSBEWord(this.mem, this.data + 2, valCount);
+		Nodave.setUSBEWord(this.mem, valueHeader + 2, valCount);
 		this.addData(values);
 	}
 
@@ -299,6 +304,13 @@ public final class PDU {
 		return this.error;
 	}
 
+	/**
+	 * return the overall length of the PDU (header, parameters and data)
+	 */
+	public int getLength() {
+		return this.hlen + this.plen + this.dlen;
+	}
+
 	/**
 	 * return the function code of the PDU
 	 */
@@ -62,9 +62,13 @@ public final class PLCinterface {
 			}
 			res = 0;
 			while ((this.in.available() > 0) && (len > 0)) {
-				res = this.in.read(b, start, len);
-				start += res;
-				len -= res;
+				final int n = this.in.read(b, start, Math.min(len, this.in.available()));
+				if (n < 0) {
+					break;
+				}
+				start += n;
+				len -= n;
+				res += n;
 			}
 			return res;
 		} catch (final IOException e) {
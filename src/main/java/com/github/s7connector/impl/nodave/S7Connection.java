@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.util.concurrent.Semaphore;
 
 import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.S7Metrics;
+import com.github.s7connector.exception.S7Exception;
 
 /**
  * This class comprises the variables and methods common to connections to an S7
@@ -40,6 +42,7 @@ public abstract class S7Connection {
 	int dataPointer;
 	PLCinterface iface; // pointer to used interface
 	public int maxPDUlength;
+	public volatile S7Metrics metrics = S7Metrics.NOOP; // measures the exchanges
 	public byte messageNumber = 0;
 	public byte[] msgIn;
 	public byte[] msgOut;
@@ -79,64 +82,117 @@ public abstract class S7Connection {
 	public ResultSet execReadRequest(final PDU p) throws IOException {
 		PDU p2;
 		int errorState;
-		errorState = this.exchange(p);
+		this.acquire();
+		try {
+			errorState = this.exchange(p);
 
-		p2 = new PDU(this.msgIn, this.PDUstartIn);
-		p2.setupReceivedPDU();
-		/*
-		 * if (p2.udlen == 0) { dataPointer = 0; answLen = 0; return
-		 * Nodave.RESULT_CPU_RETURNED_NO_DATA; }
-		 */
-		final ResultSet rs = new ResultSet();
-		if (p2.mem[p2.param + 0] == PDU.FUNC_READ) {
-			int numResults = p2.mem[p2.param + 1];
-			// System.out.println("Results " + numResults);
-			rs.results = new Result[numResults];
-			int pos = p2.data;
-			for (int i = 0; i < numResults; i++) {
-				final Result r = new Result();
-				r.error = Nodave.USByte(p2.mem, pos);
-				if (r.error == 255) {
-
-					final int type = Nodave.USByte(p2.mem, pos + 1);
-					int len = Nodave.USBEWord(p2.mem, pos + 2);
-					r.error = 0;
-					// System.out.println("Raw length " + len);
-					if (type == 4) {
-						len /= 8;
-					} else if (type == 3) {
-						; // length is ok
+			p2 = new PDU(this.msgIn, this.PDUstartIn);
+			p2.setupReceivedPDU();
+			/*
+			 * if (p2.udlen == 0) { dataPointer = 0; answLen = 0; return
+			 * Nodave.RESULT_CPU_RETURNED_NO_DATA; }
+			 */
+			final ResultSet rs = new ResultSet();
+			if (p2.mem[p2.param + 0] == PDU.FUNC_READ) {
+				int numResults = p2.mem[p2.param + 1];
+				// System.out.println("Results " + numResults);
+				rs.results = new Result[numResults];
+				int pos = p2.data;
+				for (int i = 0; i < numResults; i++) {
+					final Result r = new Result();
+					r.error = Nodave.USByte(p2.mem, pos);
+					if (r.error == 255) {
+
+						final int type = Nodave.USByte(p2.mem, pos + 1);
+						int len = Nodave.USBEWord(p2.mem, pos + 2);
+						r.error = 0;
+						// System.out.println("Raw length " + len);
+						if (type == 4) {
+							len /= 8;
+						} else if (type == 3) {
+							; // length is ok
+						}
+
+						// System.out.println("Byte length " + len);
+						// r.data = new byte[len];
+						r.length = len;
+
+						// System.arraycopy(p2.mem, pos + 4, r.data, 0, len);
+						// Nodave.dump("Result " + i + ":", r.data, 0, len);
+						r.bufferStart = pos + 4;
+						pos += len;
+						if ((len % 2) == 1) {
+							pos++;
+						}
 					}
+					pos += 4;
+					rs.results[i] = r;
+				}
+				numResults = p2.mem[p2.param + 1];
+				rs.setNumResults(numResults);
+				this.dataPointer = p2.udata;
+				this.answLen = p2.udlen;
+				// }
+			} else {
+				errorState |= 2048;
+			}
+			rs.setErrorState(errorState);
+			return rs;
+		} finally {
+			this.semaphore.release();
+		}
+	}
 
-					// System.out.println("Byte length " + len);
-					// r.data = new byte[len];
-
-					// System.arraycopy(p2.mem, pos + 4, r.data, 0, len);
-					// Nodave.dump("Result " + i + ":", r.data, 0, len);
-					r.bufferStart = pos + 4;
-					pos += len;
-					if ((len % 2) == 1) {
-						pos++;
+	/*
+	 * Write a predefined set of values to the PLC. The result set contains the
+	 * return code of each item, 0 if the item was written.
+	 */
+	public ResultSet execWriteRequest(final PDU p) throws IOException {
+		this.acquire();
+		final ResultSet rs = new ResultSet();
+		try {
+			int errorState = this.exchange(p);
+			if (errorState == 0) {
+				final PDU p2 = new PDU(this.msgIn, this.PDUstartIn);
+				errorState = p2.setupReceivedPDU();
+				if (errorState == 0) {
+					if (p2.mem[p2.param + 0] == PDU.FUNC_WRITE) {
+						final int numResults = Nodave.USByte(p2.mem, p2.param + 1);
+						rs.results = new Result[numResults];
+						for (int i = 0; i < numResults; i++) {
+							final Result r = new Result();
+							r.error = Nodave.USByte(p2.mem, p2.data + i);
+							if (r.error == 255) {
+								r.error = 0;
+							}
+							rs.results[i] = r;
+						}
+						rs.setNumResults(numResults);
+					} else {
+						errorState |= 4096;
 					}
-				} else {
-					System.out.println("Error " + r.error);
 				}
-				pos += 4;
-				rs.results[i] = r;
 			}
-			numResults = p2.mem[p2.param + 1];
-			rs.setNumResults(numResults);
-			this.dataPointer = p2.udata;
-			this.answLen = p2.udlen;
-			// }
-		} else {
-			errorState |= 2048;
+			rs.setErrorState(errorState);
+		} finally {
+			this.semaphore.release();
 		}
-		this.semaphore.release();
-		rs.setErrorState(errorState);
 		return rs;
 	}
 
+	/**
+	 * Takes the permit of the connection, an interrupted wait fails the
+	 * request without a permit to release
+	 */
+	private void acquire() throws IOException {
+		try {
+			this.semaphore.acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new S7Exception("Interrupted while waiting for the connection", e);
+		}
+	}
+
 	public int getBYTE() {
 		this.dataPointer += 1;
 		return Nodave.SByte(this.msgIn, this.dataPointer - 1);
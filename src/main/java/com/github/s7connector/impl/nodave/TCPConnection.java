@@ -19,6 +19,9 @@
 */
 package com.github.s7connector.impl.nodave;
 
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Metrics;
 import com.github.s7connector.exception.S7Exception;
 
 import java.io.IOException;
@@ -61,6 +64,17 @@ public final class TCPConnection extends S7Connection {
      * @return the int
      */
     public int connectPLC() throws IOException {
+        return this.connectPLC(S7Metrics.NOOP);
+    }
+
+    /**
+     * Opens the connection to a PLC like {@link #connectPLC()}, the durations
+     * of the handshake phases are reported to the metrics
+     *
+     * @param metrics the metrics
+     * @return the int
+     */
+    public int connectPLC(final S7Metrics metrics) throws IOException {
         final byte[] b4 = {
                 (byte) 0x11, (byte) 0xE0, (byte) 0x00, (byte) 0x00, (byte) 0x00, (byte) 0x01, (byte) 0x00,
                 (byte) 0xC1, (byte) 0x02, (byte) 0x01, (byte) 0x00, (byte) 0xC2, (byte) 0x02, (byte) 0x01, (byte) 0x02,
@@ -81,13 +95,23 @@ public final class TCPConnection extends S7Connection {
             System.arraycopy(b4, 0, this.msgOut, 4, b4.length);
             packetLength = b4.length;
         }
+        long start = (metrics != S7Metrics.NOOP) ? System.nanoTime() : 0;
         this.sendISOPacket(packetLength);
         this.readISOPacket();
+        if (metrics != S7Metrics.NOOP) {
+            final long now = System.nanoTime();
+            metrics.handshake(S7Metrics.Phase.ISO_CONNECT, now - start);
+            start = now;
+        }
         /*
          * PDU p = new PDU(msgOut, 7); p.initHeader(1); p.addParam(b61);
          * exchange(p); return (0);
          */
-        return this.negPDUlengthRequest();
+        final int res = this.negPDUlengthRequest();
+        if (metrics != S7Metrics.NOOP) {
+            metrics.handshake(S7Metrics.Phase.SETUP_COMMUNICATION, System.nanoTime() - start);
+        }
+        return res;
     }
 
     /**
@@ -95,14 +119,48 @@ public final class TCPConnection extends S7Connection {
      */
     @Override
     public int exchange(final PDU p1) throws IOException {
+        final S7Metrics metrics = this.metrics;
+        final long start = (metrics != S7Metrics.NOOP) ? System.nanoTime() : 0;
         this.msgOut[4] = (byte) 0x02;
         this.msgOut[5] = (byte) 0xf0;
         this.msgOut[6] = (byte) 0x80;
-        this.sendISOPacket(3 + p1.hlen + p1.plen + p1.dlen);
-        this.readISOPacket();
+        final int size = 3 + p1.hlen + p1.plen + p1.dlen;
+        this.sendISOPacket(size);
+        final int received = this.readISOPacket();
+        if (metrics != S7Metrics.NOOP) {
+            this.report(metrics, System.nanoTime() - start, size + 4, received);
+        }
         return 0;
     }
 
+    /**
+     * Reports an exchange with the function and the first item of the request
+     *
+     * @param metrics       the metrics
+     * @param nanos         the round-trip time
+     * @param bytesSent     the size of the request packet
+     * @param bytesReceived the size of the answer packet
+     */
+    private void report(final S7Metrics metrics, final long nanos, final int bytesSent, final int bytesReceived) {
+        final int param = this.PDUstartOut + 10;
+        final int func = this.msgOut[param];
+        final S7Metrics.Function function = (func == PDU.FUNC_READ) ? S7Metrics.Function.READ
+                : (func == PDU.FUNC_WRITE) ? S7Metrics.Function.WRITE : S7Metrics.Function.OTHER;
+        final int pduReference = Nodave.USBEWord(this.msgOut, this.PDUstartOut + 4);
+        ItemKey item = null;
+        int items = 0;
+        if (function != S7Metrics.Function.OTHER) {
+            items = Nodave.USByte(this.msgOut, param + 1);
+            if (items > 0) {
+                final int spec = param + 2;
+                final int address = (Nodave.USByte(this.msgOut, spec + 9) << 16) | Nodave.USBEWord(this.msgOut, spec + 10);
+                item = new ItemKey(DaveArea.fromCode(Nodave.USByte(this.msgOut, spec + 8)),
+                        Nodave.USBEWord(this.msgOut, spec + 6), Nodave.USBEWord(this.msgOut, spec + 4), address / 8);
+            }
+        }
+        metrics.exchange(function, pduReference, item, items, nanos, bytesSent, bytesReceived);
+    }
+
     /**
      * Read iso packet.
      *
@@ -111,8 +169,17 @@ public final class TCPConnection extends S7Connection {
     protected int readISOPacket() throws IOException {
         int res = this.iface.read(this.msgIn, 0, 4);
         if (res == 4) {
-            final int len = (0x100 * this.msgIn[2]) + this.msgIn[3];
-            res += this.iface.read(this.msgIn, 4, len);
+            // the packet length includes the 4 bytes already read
+            final int len = Nodave.USBEWord(this.msgIn, 2) - 4;
+            int read = 0;
+            while (read < len) {
+                final int n = this.iface.read(this.msgIn, 4 + read, len - read);
+                if (n <= 0) {
+                    break;
+                }
+                read += n;
+            }
+            res += read;
         } else {
             return 0;
         }
@@ -0,0 +1,172 @@
+package com.github.s7connector.impl.serializer;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7AsyncConnection;
+import com.github.s7connector.api.S7AsyncSerializer;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.serializer.parser.BeanParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public final class S7AsyncSerializerImpl implements S7AsyncSerializer {
+    /**
+     * Decodes the polled images of a subscription on the executor, one at a
+     * time and only the latest
+     */
+    private final class Subscription<T> implements Consumer<byte[]> {
+        final Class<T> beanClass;
+
+        final Consumer<T> consumer;
+
+        final Consumer<S7Exception> exceptionConsumer;
+
+        final AtomicReference<byte[]> latest = new AtomicReference<>();
+
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private Subscription(Class<T> beanClass, Consumer<T> consumer, Consumer<S7Exception> exceptionConsumer) {
+            this.beanClass = beanClass;
+            this.consumer = consumer;
+            this.exceptionConsumer = exceptionConsumer;
+        }
+
+        @Override
+        public void accept(byte[] bytes) {
+            latest.set(bytes);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // the next image schedules again
+                    scheduled.set(false);
+                    logger.error("Decoding of {} rejected", beanClass.getName(), e);
+                    try {
+                        if (exceptionConsumer != null)
+                            exceptionConsumer.accept(new S7Exception("Decoding of " + beanClass.getName() + " rejected", e));
+                    } catch (Exception ne) {
+                        logger.error("Error while call exception consumer", ne);
+                    }
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                byte[] bytes = latest.getAndSet(null);
+                if (bytes != null) {
+                    try {
+                        consumer.accept(S7SerializerImpl.extractBytes(parser, beanClass, bytes, 0));
+                    } catch (S7Exception e) {
+                        logger.warn("Error while decode {}", beanClass.getName(), e);
+                        if (exceptionConsumer != null)
+                            exceptionConsumer.accept(e);
+                    } catch (Exception e) {
+                        logger.error("Error while call consumer", e);
+                    }
+                }
+                scheduled.set(false);
+                // an image set after the last getAndSet is drained by this or the next task
+                if (latest.get() == null || !scheduled.compareAndSet(false, true))
+                    return;
+            }
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(S7AsyncSerializerImpl.class);
+
+    private final S7AsyncConnection connection;
+
+    private final Executor executor;
+
+    private final BeanParser parser = new BeanParser();
+
+    /**
+     * Subscriptions of this serializer, registered as sinks of the connection
+     */
+    private final Map<ItemKey, List<Subscription<?>>> subscriptions = new ConcurrentHashMap<>();
+
+    public S7AsyncSerializerImpl(S7AsyncConnection connection, Executor executor) {
+        this.connection = connection;
+        this.executor = executor;
+    }
+
+    private ItemKey getKey(Class<?> beanClass, int dbNum, int byteOffset) throws S7Exception {
+        try {
+            return new ItemKey(DaveArea.DB, dbNum, parser.parseClass(beanClass).blockSize, byteOffset);
+        } catch (Exception e) {
+            throw new S7Exception("Error while parse " + beanClass.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> dispenseAsync(Class<T> beanClass, int dbNum, int byteOffset) {
+        final ItemKey key;
+        try {
+            key = getKey(beanClass, dbNum, byteOffset);
+        } catch (S7Exception e) {
+            CompletableFuture<T> cf = new CompletableFuture<>();
+            cf.completeExceptionally(e);
+            return cf;
+        }
+        return connection.read(key).thenApplyAsync(bytes -> {
+            try {
+                return S7SerializerImpl.extractBytes(parser, beanClass, bytes, 0);
+            } catch (S7Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> storeAsync(Object bean, int dbNum, int byteOffset) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                byte[] buffer = new byte[getKey(bean.getClass(), dbNum, byteOffset).getBytes()];
+                S7SerializerImpl.insertBytes(parser, bean, buffer, 0);
+                return buffer;
+            } catch (S7Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor).thenCompose(buffer -> connection.write(DaveArea.DB, dbNum, byteOffset, buffer));
+    }
+
+    @Override
+    public <T> void subscribe(Class<T> beanClass,
+                              int dbNum,
+                              int byteOffset,
+                              Consumer<T> consumer,
+                              Consumer<S7Exception> exceptionConsumer) throws S7Exception {
+        ItemKey key = getKey(beanClass, dbNum, byteOffset);
+        Subscription<T> subscription = new Subscription<>(beanClass, consumer, exceptionConsumer);
+        subscriptions.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(subscription);
+        connection.addSink(key, subscription, exceptionConsumer);
+    }
+
+    @Override
+    public void unsubscribe(Class<?> beanClass, int dbNum, int byteOffset) throws S7Exception {
+        ItemKey key = getKey(beanClass, dbNum, byteOffset);
+        List<Subscription<?>> list = subscriptions.get(key);
+        if (list == null)
+            return;
+        for (Subscription<?> subscription : list) {
+            if (subscription.beanClass == beanClass) {
+                list.remove(subscription);
+                connection.removeSink(key, subscription);
+            }
+        }
+        subscriptions.computeIfPresent(key, (k, l) -> l.isEmpty() ? null : l);
+    }
+}
@@ -0,0 +1,485 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.serializer;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.github.s7connector.api.S7Columns;
+import com.github.s7connector.api.S7PrimitiveSerializable.OfBoolean;
+import com.github.s7connector.api.S7PrimitiveSerializable.OfDouble;
+import com.github.s7connector.api.S7PrimitiveSerializable.OfFloat;
+import com.github.s7connector.api.S7PrimitiveSerializable.OfInt;
+import com.github.s7connector.api.S7PrimitiveSerializable.OfLong;
+import com.github.s7connector.api.S7Serializable;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.serializer.parser.BeanEntry;
+import com.github.s7connector.impl.serializer.parser.BeanParseResult;
+import com.github.s7connector.impl.serializer.parser.BeanParser;
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * Columnar image of an array of beans, decodes the elements into primitive
+ * columns without creating beans
+ */
+public final class S7ColumnsImpl implements S7Columns {
+
+	/**
+	 * Storage of a column
+	 */
+	private enum Kind {
+		BITS, INT, LONG, FLOAT, DOUBLE, OBJECT
+	}
+
+	/**
+	 * Column definition with the offsets relative to the bean
+	 */
+	private static final class Column {
+		String name;
+		int byteOffset, bitOffset, size;
+		Kind kind;
+		S7Serializable serializer;
+		Class<?> type;
+	}
+
+	/**
+	 * Columns and size of a bean class
+	 */
+	private static final class ColumnLayout {
+		final List<Column> columns = new ArrayList<Column>();
+		final Map<String, Integer> index = new HashMap<String, Integer>();
+		int blockSize;
+	}
+
+	/** Element count from which the columns are decoded in parallel. */
+	private static final int PARALLEL_THRESHOLD = 1024;
+
+	/** Element count of the partitions of a parallel decode. */
+	private static final int PARTITION_SIZE = 256;
+
+	/**
+	 * Layouts per class, shared by all instances
+	 */
+	private static final Map<Class<?>, ColumnLayout> layouts = new ConcurrentHashMap<Class<?>, ColumnLayout>();
+
+	/**
+	 * Returns the layout of a class
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @return the layout
+	 */
+	private static ColumnLayout getLayout(final Class<?> beanClass) throws S7Exception {
+		final ColumnLayout cached = layouts.get(beanClass);
+		if (cached != null) {
+			return cached;
+		}
+
+		final ColumnLayout layout = new ColumnLayout();
+		try {
+			final BeanParseResult result = BeanParser.parse(beanClass);
+			layout.blockSize = result.blockSize;
+			addColumns(layout, result, "", 0);
+		} catch (final Exception e) {
+			throw new S7Exception("Error while parse " + beanClass.getName(), e);
+		}
+
+		final ColumnLayout previous = layouts.putIfAbsent(beanClass, layout);
+		return (previous != null) ? previous : layout;
+	}
+
+	/**
+	 * Adds the columns of a parsed bean, nested structures and arrays are
+	 * flattened
+	 *
+	 * @param layout
+	 *            the layout
+	 * @param result
+	 *            the parsed bean
+	 * @param prefix
+	 *            the name prefix
+	 * @param byteOffset
+	 *            the offset of the bean
+	 */
+	private static void addColumns(final ColumnLayout layout, final BeanParseResult result, final String prefix,
+			final int byteOffset) throws Exception {
+		for (final BeanEntry entry : result.entries) {
+			final int count = entry.isArray ? entry.arraySize : 1;
+			for (int i = 0; i < count; i++) {
+				final String name = prefix + entry.field.getName() + (entry.isArray ? "[" + i + "]" : "");
+
+				if (entry.s7type == S7Type.STRUCT) {
+					addColumns(layout, BeanParser.parse(entry.type), name + ".", byteOffset + entry.getByteOffset(i));
+					continue;
+				}
+
+				final Column column = new Column();
+				column.name = name;
+				column.byteOffset = byteOffset + entry.getByteOffset(i);
+				column.bitOffset = entry.getBitOffset(i);
+				column.size = entry.size;
+				column.serializer = entry.serializer;
+				column.type = entry.type;
+				column.kind = getKind(entry.type, entry.serializer);
+
+				layout.index.put(name, layout.columns.size());
+				layout.columns.add(column);
+			}
+		}
+	}
+
+	/**
+	 * Returns the column storage of a field type
+	 *
+	 * @param type
+	 *            the (wrapper) type of the field
+	 * @param s
+	 *            the converter
+	 * @return the storage
+	 */
+	private static Kind getKind(final Class<?> type, final S7Serializable s) {
+		if ((type == Boolean.class) && (s instanceof OfBoolean)) {
+			return Kind.BITS;
+		} else if (((type == Byte.class) || (type == Short.class) || (type == Integer.class)) && (s instanceof OfInt)) {
+			return Kind.INT;
+		} else if ((type == Long.class) && (s instanceof OfLong)) {
+			return Kind.LONG;
+		} else if ((type == Float.class) && (s instanceof OfFloat)) {
+			return Kind.FLOAT;
+		} else if ((type == Double.class) && ((s instanceof OfDouble) || (s instanceof OfFloat))) {
+			return Kind.DOUBLE;
+		} else {
+			return Kind.OBJECT;
+		}
+	}
+
+	/**
+	 * Parallel decode of a range of elements
+	 */
+	private final class DecodeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final byte[] buffer;
+		private final int byteOffset, stride, from, to;
+
+		DecodeTask(final byte[] buffer, final int byteOffset, final int stride, final int from, final int to) {
+			this.buffer = buffer;
+			this.byteOffset = byteOffset;
+			this.stride = stride;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if ((this.to - this.from) <= PARTITION_SIZE) {
+				try {
+					S7ColumnsImpl.this.decodeRange(this.buffer, this.byteOffset, this.stride, this.from, this.to,
+							false);
+				} catch (final S7Exception e) {
+					throw new UncheckedIOException(e);
+				}
+			} else {
+				final int middle = (this.from + this.to) >>> 1;
+				invokeAll(new DecodeTask(this.buffer, this.byteOffset, this.stride, this.from, middle),
+						new DecodeTask(this.buffer, this.byteOffset, this.stride, middle, this.to));
+			}
+		}
+	}
+
+	/** The bean class. */
+	private final Class<?> beanClass;
+
+	/** The layout. */
+	private final ColumnLayout layout;
+
+	/** The maximum number of elements. */
+	private final int capacity;
+
+	/** The column data, in the order of the layout. */
+	private final Object[] data;
+
+	/** The number of elements of the last decode. */
+	private int size;
+
+	/**
+	 * Instantiates new columns.
+	 *
+	 * @param beanClass
+	 *            the mapped bean class
+	 * @param capacity
+	 *            the maximum number of elements
+	 */
+	public S7ColumnsImpl(final Class<?> beanClass, final int capacity) throws S7Exception {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Invalid capacity (" + capacity + ")");
+		}
+		this.beanClass = beanClass;
+		this.layout = getLayout(beanClass);
+		this.capacity = capacity;
+		this.data = new Object[this.layout.columns.size()];
+
+		for (int c = 0; c < this.data.length; c++) {
+			switch (this.layout.columns.get(c).kind) {
+			case BITS:
+				this.data[c] = new BitSet(capacity);
+				break;
+			case INT:
+				this.data[c] = new int[capacity];
+				break;
+			case LONG:
+				this.data[c] = new long[capacity];
+				break;
+			case FLOAT:
+				this.data[c] = new float[capacity];
+				break;
+			case DOUBLE:
+				this.data[c] = new double[capacity];
+				break;
+			default:
+				this.data[c] = new Object[capacity];
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * BOOL columns are decoded by the calling thread, as a {@link BitSet}
+	 * must not be modified concurrently.
+	 */
+	@Override
+	public S7Columns decode(final byte[] buffer, final int byteOffset, final int count, final int stride)
+			throws S7Exception {
+		if ((count < 0) || (count > this.capacity) || (stride <= 0)) {
+			throw new IllegalArgumentException("Invalid count (" + count + ") or stride (" + stride + ")");
+		}
+		if ((count > 0) && (buffer.length < (byteOffset + ((count - 1) * stride) + this.layout.blockSize))) {
+			throw new IllegalArgumentException("Buffer too small for " + count + " elements");
+		}
+
+		if (count >= PARALLEL_THRESHOLD) {
+			try {
+				ForkJoinPool.commonPool().invoke(new DecodeTask(buffer, byteOffset, stride, 0, count));
+			} catch (final UncheckedIOException e) {
+				throw (S7Exception) e.getCause();
+			}
+			this.decodeBits(buffer, byteOffset, stride, 0, count);
+		} else {
+			this.decodeRange(buffer, byteOffset, stride, 0, count, true);
+		}
+
+		for (int c = 0; c < this.data.length; c++) {
+			if (this.layout.columns.get(c).kind == Kind.BITS) {
+				((BitSet) this.data[c]).clear(count, this.capacity);
+			}
+		}
+		this.size = count;
+		return this;
+	}
+
+	/**
+	 * Decodes a range of elements column by column
+	 *
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the offset of the first element
+	 * @param stride
+	 *            the distance between two elements
+	 * @param from
+	 *            the first element, inclusive
+	 * @param to
+	 *            the last element, exclusive
+	 * @param bits
+	 *            true to decode the BOOL columns as well
+	 */
+	private void decodeRange(final byte[] buffer, final int byteOffset, final int stride, final int from, final int to,
+			final boolean bits) throws S7Exception {
+		for (int c = 0; c < this.data.length; c++) {
+			final Column column = this.layout.columns.get(c);
+			int offset = byteOffset + (from * stride) + column.byteOffset;
+
+			switch (column.kind) {
+			case BITS:
+				if (bits) {
+					this.decodeBits(column, (BitSet) this.data[c], buffer, byteOffset, stride, from, to);
+				}
+				break;
+			case INT: {
+				final int[] values = (int[]) this.data[c];
+				final OfInt s = (OfInt) column.serializer;
+				for (int i = from; i < to; i++, offset += stride) {
+					values[i] = s.getInt(buffer, offset, column.bitOffset);
+				}
+				break;
+			}
+			case LONG: {
+				final long[] values = (long[]) this.data[c];
+				final OfLong s = (OfLong) column.serializer;
+				for (int i = from; i < to; i++, offset += stride) {
+					values[i] = s.getLong(buffer, offset, column.bitOffset);
+				}
+				break;
+			}
+			case FLOAT: {
+				final float[] values = (float[]) this.data[c];
+				final OfFloat s = (OfFloat) column.serializer;
+				for (int i = from; i < to; i++, offset += stride) {
+					values[i] = s.getFloat(buffer, offset, column.bitOffset);
+				}
+				break;
+			}
+			case DOUBLE: {
+				final double[] values = (double[]) this.data[c];
+				if (column.serializer instanceof OfDouble) {
+					final OfDouble s = (OfDouble) column.serializer;
+					for (int i = from; i < to; i++, offset += stride) {
+						values[i] = s.getDouble(buffer, offset, column.bitOffset);
+					}
+				} else {
+					final OfFloat s = (OfFloat) column.serializer;
+					for (int i = from; i < to; i++, offset += stride) {
+						values[i] = s.getFloat(buffer, offset, column.bitOffset);
+					}
+				}
+				break;
+			}
+			default: {
+				final Object[] values = (Object[]) this.data[c];
+				for (int i = from; i < to; i++, offset += stride) {
+					values[i] = column.serializer.extract(column.type, buffer, offset, column.bitOffset);
+				}
+			}
+			}
+		}
+	}
+
+	/**
+	 * Decodes the BOOL columns of a range of elements
+	 */
+	private void decodeBits(final byte[] buffer, final int byteOffset, final int stride, final int from,
+			final int to) {
+		for (int c = 0; c < this.data.length; c++) {
+			final Column column = this.layout.columns.get(c);
+			if (column.kind == Kind.BITS) {
+				this.decodeBits(column, (BitSet) this.data[c], buffer, byteOffset, stride, from, to);
+			}
+		}
+	}
+
+	/**
+	 * Decodes a BOOL column of a range of elements
+	 */
+	private void decodeBits(final Column column, final BitSet values, final byte[] buffer, final int byteOffset,
+			final int stride, final int from, final int to) {
+		final OfBoolean s = (OfBoolean) column.serializer;
+		int offset = byteOffset + (from * stride) + column.byteOffset;
+		for (int i = from; i < to; i++, offset += stride) {
+			values.set(i, s.getBoolean(buffer, offset, column.bitOffset));
+		}
+	}
+
+	/**
+	 * Looks up the data of a column
+	 *
+	 * @param field
+	 *            the field name
+	 * @param kind
+	 *            the expected storage
+	 * @return the column data
+	 */
+	private Object getColumn(final String field, final Kind kind) {
+		final Integer index = this.layout.index.get(field);
+		if (index == null) {
+			throw new IllegalArgumentException("Unknown field: " + field);
+		}
+		final Column column = this.layout.columns.get(index);
+		if (column.kind != kind) {
+			throw new IllegalArgumentException("Field " + field + " is a " + column.kind + " column, not " + kind);
+		}
+		return this.data[index];
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Class<?> getBeanClass() {
+		return this.beanClass;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getBlockSize() {
+		return this.layout.blockSize;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BitSet getBits(final String field) {
+		return (BitSet) this.getColumn(field, Kind.BITS);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int[] getInts(final String field) {
+		return (int[]) this.getColumn(field, Kind.INT);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long[] getLongs(final String field) {
+		return (long[]) this.getColumn(field, Kind.LONG);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public float[] getFloats(final String field) {
+		return (float[]) this.getColumn(field, Kind.FLOAT);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public double[] getDoubles(final String field) {
+		return (double[]) this.getColumn(field, Kind.DOUBLE);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Object[] getObjects(final String field) {
+		return (Object[]) this.getColumn(field, Kind.OBJECT);
+	}
+
+}
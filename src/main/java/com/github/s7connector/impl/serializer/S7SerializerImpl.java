@@ -15,27 +15,92 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer;
 
+import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.s7connector.api.BitKey;
 import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Columns;
 import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.api.S7Metrics;
+import com.github.s7connector.api.S7PrimitiveSerializable.OfBoolean;
+import com.github.s7connector.api.S7PrimitiveSerializable.OfDouble;
+import com.github.s7connector.api.S7PrimitiveSerializable.OfFloat;
+import com.github.s7connector.api.S7PrimitiveSerializable.OfInt;
+import com.github.s7connector.api.S7PrimitiveSerializable.OfLong;
 import com.github.s7connector.api.S7Serializer;
 import com.github.s7connector.exception.S7Exception;
 import com.github.s7connector.impl.serializer.parser.BeanEntry;
+import com.github.s7connector.impl.serializer.parser.BeanEntry.Primitive;
 import com.github.s7connector.impl.serializer.parser.BeanParseResult;
 import com.github.s7connector.impl.serializer.parser.BeanParser;
+import com.github.s7connector.impl.utils.S7Type;
 
 /**
  * The Class S7Serializer is responsible for serializing S7 TCP Connection
+ *
+ * The serializer holds no lock, beans are encoded and decoded on the calling
+ * threads and the connector orders and packs the transfers.
  */
 public final class S7SerializerImpl implements S7Serializer {
 
+	/**
+	 * Key of a shadow image: bean class and location in the PLC
+	 */
+	private static final class ShadowKey {
+		private final Class<?> beanClass;
+		private final int dbNum, byteOffset;
+
+		ShadowKey(final Class<?> beanClass, final int dbNum, final int byteOffset) {
+			this.beanClass = beanClass;
+			this.dbNum = dbNum;
+			this.byteOffset = byteOffset;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) {
+				return true;
+			}
+			if ((o == null) || (this.getClass() != o.getClass())) {
+				return false;
+			}
+			final ShadowKey other = (ShadowKey) o;
+			return (this.beanClass == other.beanClass) && (this.dbNum == other.dbNum)
+					&& (this.byteOffset == other.byteOffset);
+		}
+
+		@Override
+		public int hashCode() {
+			return (((this.beanClass.hashCode() * 31) + this.dbNum) * 31) + this.byteOffset;
+		}
+	}
+
 	/** Local Logger. */
 	private static final Logger logger = LoggerFactory.getLogger(S7SerializerImpl.class);
 
+	/**
+	 * Gap in bytes up to which the ranges of requested fields are read
+	 * together, an additional read item costs about as much.
+	 */
+	private static final int FIELD_GAP = 16;
+
+	/** Element count from which arrays are decoded in parallel. */
+	private static final int PARALLEL_THRESHOLD = 1024;
+
 	/**
 	 * Extracts bytes from a buffer.
 	 *
@@ -50,47 +115,348 @@ public final class S7SerializerImpl implements S7Serializer {
 	 * @return the t
 	 */
 	public static <T> T extractBytes(final Class<T> beanClass, final byte[] buffer, final int byteOffset) throws S7Exception {
-		logger.trace("Extracting type {} from buffer with size: {} at offset {}", beanClass.getName(), buffer.length,
-				byteOffset);
+		return extractBytes(BeanParser.shared(), beanClass, buffer, byteOffset);
+	}
 
+	/**
+	 * Extracts bytes from a buffer with the converters of a parser.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param parser
+	 *            the parser
+	 * @param beanClass
+	 *            the bean class
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the byte offset
+	 * @return the t
+	 */
+	public static <T> T extractBytes(final BeanParser parser, final Class<T> beanClass, final byte[] buffer,
+			final int byteOffset) throws S7Exception {
+		if (logger.isTraceEnabled()) {
+			logger.trace("Extracting type {} from buffer with size: {} at offset {}", beanClass.getName(),
+					buffer.length, byteOffset);
+		}
+
+		final T obj;
 		try {
-			final T obj = beanClass.newInstance();
-			final BeanParseResult result = BeanParser.parse(beanClass);
-			for (final BeanEntry entry : result.entries) {
-				Object value = null;
-				if (entry.isArray) {
-					value = Array.newInstance(entry.type, entry.arraySize);
-					for (int i = 0; i < entry.arraySize; i++) {
-						final Object component = entry.serializer.extract(entry.type, buffer,
-								entry.byteOffset + byteOffset + (i * entry.s7type.getByteSize()),
-								entry.bitOffset + (i * entry.s7type.getBitSize()));
-						Array.set(value, i, component);
-					}
-				} else {
-					value = entry.serializer.extract(entry.type, buffer, entry.byteOffset + byteOffset,
-							entry.bitOffset);
-				}
+			final BeanParseResult result = parser.parseClass(beanClass);
+			if (result.constructor != null) {
+				return beanClass.cast(extractConstructed(result, result.entries, buffer, byteOffset));
+			}
+			obj = beanClass.newInstance();
+		} catch (final Exception e) {
+			throw new S7Exception("Error while extract bytes", e);
+		}
 
-				if (entry.field.getType() == byte[].class){
-					//Special case issue #45
-					Byte[] oldValue = (Byte[])value;
+		return extractInto(parser, obj, buffer, byteOffset);
+	}
 
-					value = new byte[oldValue.length];
+	/**
+	 * Decodes all values of a record or of a bean with final fields and
+	 * calls its constructor once
+	 *
+	 * @param result
+	 *            the parsed bean
+	 * @param entries
+	 *            the entries to decode, the others get their default value
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the byte offset
+	 * @return the new instance
+	 */
+	private static Object extractConstructed(final BeanParseResult result, final List<BeanEntry> entries,
+			final byte[] buffer, final int byteOffset) throws Exception {
+		final Class<?>[] parameterTypes = result.constructor.getParameterTypes();
+		final Object[] args = new Object[parameterTypes.length];
+		for (int i = 0; i < args.length; i++) {
+			if (parameterTypes[i].isPrimitive()) {
+				// default value of components without annotation
+				args[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+			}
+		}
 
-					for (int i=0; i<oldValue.length; i++){
-						((byte[])value)[i] = oldValue[i];
+		for (final BeanEntry entry : entries) {
+			if (entry.isArray) {
+				final Object array = Array.newInstance(entry.field.getType().getComponentType(), entry.arraySize);
+				for (int i = 0; i < entry.arraySize; i++) {
+					if (entry.primitive != Primitive.NONE) {
+						extractPrimitive(entry, null, array, i, buffer, entry.getByteOffset(i) + byteOffset,
+								entry.getBitOffset(i));
+					} else {
+						Array.set(array, i, entry.serializer.extract(entry.type, buffer,
+								entry.getByteOffset(i) + byteOffset, entry.getBitOffset(i)));
 					}
 				}
+				args[entry.parameterIndex] = array;
+			} else {
+				args[entry.parameterIndex] = entry.serializer.extract(entry.type, buffer, entry.byteOffset + byteOffset,
+						entry.bitOffset);
+			}
+		}
+
+		return result.constructor.newInstance(args);
+	}
+
+	/**
+	 * Extracts bytes from a buffer into an existing bean instance. Arrays and
+	 * nested structures already present on the bean are reused if their size
+	 * matches, so repeated extraction into the same bean does not allocate
+	 * them again.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param bean
+	 *            the bean to overwrite
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the byte offset
+	 * @return the bean
+	 */
+	public static <T> T extractInto(final T bean, final byte[] buffer, final int byteOffset) throws S7Exception {
+		return extractInto(BeanParser.shared(), bean, buffer, byteOffset);
+	}
 
-				entry.field.set(obj, value);
+	/**
+	 * Extracts bytes from a buffer into an existing bean instance with the
+	 * converters of a parser.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param parser
+	 *            the parser
+	 * @param bean
+	 *            the bean to overwrite
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the byte offset
+	 * @return the bean
+	 */
+	public static <T> T extractInto(final BeanParser parser, final T bean, final byte[] buffer, final int byteOffset)
+			throws S7Exception {
+		if (logger.isTraceEnabled()) {
+			logger.trace("Extracting into bean of type {} from buffer with size: {} at offset {}",
+					bean.getClass().getName(), buffer.length, byteOffset);
+		}
+
+		try {
+			final BeanParseResult result = parser.parseClass(bean);
+			if (result.constructor != null) {
+				throw new IllegalArgumentException("Immutable bean of type " + bean.getClass().getName());
 			}
 
-			return obj;
+			extractEntries(parser, bean, result.entries, buffer, byteOffset);
+
+			return bean;
 		} catch (final Exception e) {
 			throw new S7Exception("Error while extract bytes", e);
 		}
 	}
 
+	/**
+	 * Extracts the values of the given entries into an existing bean
+	 * instance
+	 *
+	 * @param parser
+	 *            the parser of nested beans
+	 * @param bean
+	 *            the bean to overwrite
+	 * @param entries
+	 *            the entries to decode
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the byte offset
+	 */
+	private static void extractEntries(final BeanParser parser, final Object bean, final List<BeanEntry> entries,
+			final byte[] buffer, final int byteOffset) throws Exception {
+		for (final BeanEntry entry : entries) {
+			if (entry.isArray) {
+				Object array = entry.field.get(bean);
+				if ((array == null) || (Array.getLength(array) != entry.arraySize)) {
+					array = Array.newInstance(entry.field.getType().getComponentType(), entry.arraySize);
+					entry.field.set(bean, array);
+				}
+
+				for (int i = 0; i < entry.arraySize; i++) {
+					final int componentByteOffset = entry.getByteOffset(i) + byteOffset;
+					final int componentBitOffset = entry.getBitOffset(i);
+
+					if (entry.primitive != Primitive.NONE) {
+						extractPrimitive(entry, null, array, i, buffer, componentByteOffset, componentBitOffset);
+						continue;
+					}
+
+					final Object component = (entry.s7type == S7Type.STRUCT) ? Array.get(array, i) : null;
+					if ((component != null) && (parser.parseClass(entry.type).constructor == null)) {
+						extractInto(parser, component, buffer, componentByteOffset);
+					} else {
+						Array.set(array, i,
+								entry.serializer.extract(entry.type, buffer, componentByteOffset, componentBitOffset));
+					}
+				}
+			} else if (entry.s7type == S7Type.STRUCT) {
+				final Object struct = entry.field.get(bean);
+				if ((struct != null) && (parser.parseClass(entry.type).constructor == null)) {
+					extractInto(parser, struct, buffer, entry.byteOffset + byteOffset);
+				} else {
+					entry.field.set(bean, entry.serializer.extract(entry.type, buffer, entry.byteOffset + byteOffset,
+							entry.bitOffset));
+				}
+			} else if (entry.primitive != Primitive.NONE) {
+				extractPrimitive(entry, bean, null, 0, buffer, entry.byteOffset + byteOffset, entry.bitOffset);
+			} else {
+				entry.field.set(bean,
+						entry.serializer.extract(entry.type, buffer, entry.byteOffset + byteOffset, entry.bitOffset));
+			}
+		}
+	}
+
+	/**
+	 * Extracts a primitive field or array component without boxing
+	 *
+	 * @param entry
+	 *            the bean entry
+	 * @param bean
+	 *            the bean, if a field is set
+	 * @param array
+	 *            the array, if a component is set
+	 * @param index
+	 *            the array index
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the byte offset
+	 * @param bitOffset
+	 *            the bit offset
+	 */
+	private static void extractPrimitive(final BeanEntry entry, final Object bean, final Object array, final int index,
+			final byte[] buffer, final int byteOffset, final int bitOffset) throws IllegalAccessException {
+		switch (entry.primitive) {
+		case BOOLEAN: {
+			final boolean value = ((OfBoolean) entry.serializer).getBoolean(buffer, byteOffset, bitOffset);
+			if (array != null) {
+				Array.setBoolean(array, index, value);
+			} else {
+				entry.field.setBoolean(bean, value);
+			}
+			break;
+		}
+		case BYTE: {
+			final byte value = (byte) ((OfInt) entry.serializer).getInt(buffer, byteOffset, bitOffset);
+			if (array != null) {
+				Array.setByte(array, index, value);
+			} else {
+				entry.field.setByte(bean, value);
+			}
+			break;
+		}
+		case SHORT: {
+			final short value = (short) ((OfInt) entry.serializer).getInt(buffer, byteOffset, bitOffset);
+			if (array != null) {
+				Array.setShort(array, index, value);
+			} else {
+				entry.field.setShort(bean, value);
+			}
+			break;
+		}
+		case INT: {
+			final int value = ((OfInt) entry.serializer).getInt(buffer, byteOffset, bitOffset);
+			if (array != null) {
+				Array.setInt(array, index, value);
+			} else {
+				entry.field.setInt(bean, value);
+			}
+			break;
+		}
+		case LONG: {
+			final long value = ((OfLong) entry.serializer).getLong(buffer, byteOffset, bitOffset);
+			if (array != null) {
+				Array.setLong(array, index, value);
+			} else {
+				entry.field.setLong(bean, value);
+			}
+			break;
+		}
+		case FLOAT: {
+			final float value = ((OfFloat) entry.serializer).getFloat(buffer, byteOffset, bitOffset);
+			if (array != null) {
+				Array.setFloat(array, index, value);
+			} else {
+				entry.field.setFloat(bean, value);
+			}
+			break;
+		}
+		case DOUBLE: {
+			final double value = ((OfDouble) entry.serializer).getDouble(buffer, byteOffset, bitOffset);
+			if (array != null) {
+				Array.setDouble(array, index, value);
+			} else {
+				entry.field.setDouble(bean, value);
+			}
+			break;
+		}
+		default:
+			throw new IllegalStateException("No primitive entry: " + entry.field.getName());
+		}
+	}
+
+	/**
+	 * Inserts a primitive field or array component without boxing
+	 *
+	 * @param entry
+	 *            the bean entry
+	 * @param bean
+	 *            the bean, if a field is read
+	 * @param array
+	 *            the array, if a component is read
+	 * @param index
+	 *            the array index
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the byte offset
+	 * @param bitOffset
+	 *            the bit offset
+	 */
+	private static void insertPrimitive(final BeanEntry entry, final Object bean, final Object array, final int index,
+			final byte[] buffer, final int byteOffset, final int bitOffset) throws IllegalAccessException {
+		switch (entry.primitive) {
+		case BOOLEAN:
+			((OfBoolean) entry.serializer).putBoolean(
+					(array != null) ? Array.getBoolean(array, index) : entry.field.getBoolean(bean), buffer, byteOffset,
+					bitOffset);
+			break;
+		case BYTE:
+		case SHORT:
+		case INT:
+			((OfInt) entry.serializer).putInt((array != null) ? Array.getInt(array, index) : entry.field.getInt(bean),
+					buffer, byteOffset, bitOffset);
+			break;
+		case LONG:
+			((OfLong) entry.serializer).putLong((array != null) ? Array.getLong(array, index) : entry.field.getLong(bean),
+					buffer, byteOffset, bitOffset);
+			break;
+		case FLOAT:
+			((OfFloat) entry.serializer).putFloat(
+					(array != null) ? Array.getFloat(array, index) : entry.field.getFloat(bean), buffer, byteOffset,
+					bitOffset);
+			break;
+		case DOUBLE:
+			((OfDouble) entry.serializer).putDouble(
+					(array != null) ? Array.getDouble(array, index) : entry.field.getDouble(bean), buffer, byteOffset,
+					bitOffset);
+			break;
+		default:
+			throw new IllegalStateException("No primitive entry: " + entry.field.getName());
+		}
+	}
+
 	/**
 	 * Inserts the bytes to the buffer.
 	 *
@@ -102,23 +468,53 @@ public final class S7SerializerImpl implements S7Serializer {
 	 *            the byte offset
 	 */
 	public static void insertBytes(final Object bean, final byte[] buffer, final int byteOffset) throws S7Exception {
-		logger.trace("Inerting buffer with size: {} at offset {} into bean: {}", buffer.length, byteOffset, bean);
+		insertBytes(BeanParser.shared(), bean, buffer, byteOffset);
+	}
+
+	/**
+	 * Inserts the bytes to the buffer with the converters of a parser.
+	 *
+	 * @param parser
+	 *            the parser
+	 * @param bean
+	 *            the bean
+	 * @param buffer
+	 *            the buffer
+	 * @param byteOffset
+	 *            the byte offset
+	 */
+	public static void insertBytes(final BeanParser parser, final Object bean, final byte[] buffer,
+			final int byteOffset) throws S7Exception {
+		if (logger.isTraceEnabled()) {
+			logger.trace("Inserting bean: {} into buffer with size: {} at offset {}", bean, buffer.length,
+					byteOffset);
+		}
 
 		try {
-			final BeanParseResult result = BeanParser.parse(bean);
+			final BeanParseResult result = parser.parseClass(bean);
 
 			for (final BeanEntry entry : result.entries) {
+				if (!entry.isArray && (entry.primitive != Primitive.NONE)) {
+					insertPrimitive(entry, bean, null, 0, buffer, entry.byteOffset + byteOffset, entry.bitOffset);
+					continue;
+				}
+
 				final Object fieldValue = entry.field.get(bean);
 
 				if (fieldValue != null) {
 					if (entry.isArray) {
 						for (int i = 0; i < entry.arraySize; i++) {
+							if (entry.primitive != Primitive.NONE) {
+								insertPrimitive(entry, null, fieldValue, i, buffer, entry.getByteOffset(i) + byteOffset,
+										entry.getBitOffset(i));
+								continue;
+							}
+
 							final Object arrayItem = Array.get(fieldValue, i);
 
 							if (arrayItem != null) {
-								entry.serializer.insert(arrayItem, buffer,
-										entry.byteOffset + byteOffset + (i * entry.s7type.getByteSize()),
-										entry.bitOffset + (i * entry.s7type.getBitSize()), entry.size);
+								entry.serializer.insert(arrayItem, buffer, entry.getByteOffset(i) + byteOffset,
+										entry.getBitOffset(i), entry.size);
 							}
 						}
 					} else {
@@ -135,6 +531,12 @@ public final class S7SerializerImpl implements S7Serializer {
 	/** The Connector. */
 	private final S7Connector connector;
 
+	/** The parser with the converters of this serializer. */
+	private final BeanParser parser = new BeanParser();
+
+	/** Last known bytes of the beans stored with storeChanges. */
+	private final Map<ShadowKey, byte[]> shadows = new ConcurrentHashMap<ShadowKey, byte[]>();
+
 	/**
 	 * Instantiates a new s7 serializer.
 	 *
@@ -147,12 +549,18 @@ public final class S7SerializerImpl implements S7Serializer {
 
 	/** {@inheritDoc} */
 	@Override
-	public synchronized <T> T dispense(final Class<T> beanClass, final int dbNum, final int byteOffset)
+	public <T> T dispense(final Class<T> beanClass, final int dbNum, final int byteOffset)
 			throws S7Exception {
 		try {
-			final BeanParseResult result = BeanParser.parse(beanClass);
+			final BeanParseResult result = this.parser.parseClass(beanClass);
+			final byte[] shadow = this.getShadow(beanClass, dbNum, byteOffset);
 			final byte[] buffer = this.connector.read(DaveArea.DB, dbNum, result.blockSize, byteOffset);
-			return extractBytes(beanClass, buffer, 0);
+			this.updateShadow(beanClass, dbNum, byteOffset, shadow, buffer);
+			final S7Metrics metrics = this.connector.getMetrics();
+			final long start = (metrics != S7Metrics.NOOP) ? System.nanoTime() : 0;
+			final T bean = extractBytes(this.parser, beanClass, buffer, 0);
+			decoded(metrics, beanClass, buffer.length, start);
+			return bean;
 		} catch (final Exception e) {
 			throw new S7Exception("Error while dispense", e);
 		}
@@ -160,11 +568,17 @@ public final class S7SerializerImpl implements S7Serializer {
 
 	/** {@inheritDoc} */
 	@Override
-	public synchronized <T> T dispense(final Class<T> beanClass, final int dbNum, final int byteOffset,
+	public <T> T dispense(final Class<T> beanClass, final int dbNum, final int byteOffset,
 			final int blockSize) throws S7Exception {
 		try {
+			final byte[] shadow = this.getShadow(beanClass, dbNum, byteOffset);
 			final byte[] buffer = this.connector.read(DaveArea.DB, dbNum, blockSize, byteOffset);
-			return extractBytes(beanClass, buffer, 0);
+			this.updateShadow(beanClass, dbNum, byteOffset, shadow, buffer);
+			final S7Metrics metrics = this.connector.getMetrics();
+			final long start = (metrics != S7Metrics.NOOP) ? System.nanoTime() : 0;
+			final T bean = extractBytes(this.parser, beanClass, buffer, 0);
+			decoded(metrics, beanClass, buffer.length, start);
+			return bean;
 		} catch (final Exception e) {
 			throw new S7Exception(
 					"Error while dispense: dbnum(" + dbNum + ") byteoffset(" + byteOffset + ") blocksize(" + blockSize + ")", e);
@@ -173,19 +587,485 @@ public final class S7SerializerImpl implements S7Serializer {
 
 	/** {@inheritDoc} */
 	@Override
-	public synchronized void store(final Object bean, final int dbNum, final int byteOffset) throws S7Exception {
+	public <T> List<T> dispenseArray(final Class<T> beanClass, final int dbNum, final int byteOffset,
+			final int count, final int stride) throws S7Exception {
+		if ((count < 0) || (stride <= 0)) {
+			throw new IllegalArgumentException("Invalid count (" + count + ") or stride (" + stride + ")");
+		}
 		try {
-			final BeanParseResult result = BeanParser.parse(bean);
+			final BeanParseResult result = this.parser.parseClass(beanClass);
+			final int length = (count > 0) ? ((count - 1) * stride) + result.blockSize : 0;
+			final byte[][] shadows = this.getShadows(beanClass, dbNum, byteOffset, count, stride);
+			final byte[] buffer = (length > 0) ? this.connector.read(DaveArea.DB, dbNum, length, byteOffset)
+					: new byte[0];
+
+			final S7Metrics metrics = this.connector.getMetrics();
+			final long start = (metrics != S7Metrics.NOOP) ? System.nanoTime() : 0;
+			final Object[] beans = new Object[count];
+			if (count >= PARALLEL_THRESHOLD) {
+				try {
+					IntStream.range(0, count).parallel().forEach(i -> {
+						try {
+							beans[i] = extractBytes(this.parser, beanClass, buffer, i * stride);
+						} catch (final S7Exception e) {
+							throw new UncheckedIOException(e);
+						}
+					});
+				} catch (final UncheckedIOException e) {
+					throw e.getCause();
+				}
+			} else {
+				for (int i = 0; i < count; i++) {
+					beans[i] = extractBytes(this.parser, beanClass, buffer, i * stride);
+				}
+			}
+			decoded(metrics, beanClass, buffer.length, start);
+
+			if (shadows != null) {
+				for (int i = 0; i < count; i++) {
+					this.updateShadow(beanClass, dbNum, byteOffset + (i * stride), shadows[i],
+							Arrays.copyOfRange(buffer, i * stride, (i * stride) + result.blockSize));
+				}
+			}
+
+			@SuppressWarnings("unchecked")
+			final List<T> list = (List<T>) Arrays.asList(beans);
+			return list;
+		} catch (final Exception e) {
+			throw new S7Exception("Error while dispense array: dbnum(" + dbNum + ") byteoffset(" + byteOffset
+					+ ") count(" + count + ") stride(" + stride + ")", e);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7Columns dispenseColumns(final S7Columns columns, final int dbNum, final int byteOffset,
+			final int count, final int stride) throws S7Exception {
+		if ((count < 0) || (count > columns.getCapacity()) || (stride <= 0)) {
+			throw new IllegalArgumentException("Invalid count (" + count + ") or stride (" + stride + ")");
+		}
+		try {
+			final int length = (count > 0) ? ((count - 1) * stride) + columns.getBlockSize() : 0;
+			final byte[][] shadows = this.getShadows(columns.getBeanClass(), dbNum, byteOffset, count, stride);
+			final byte[] buffer = (length > 0) ? this.connector.read(DaveArea.DB, dbNum, length, byteOffset)
+					: new byte[0];
+
+			final S7Metrics metrics = this.connector.getMetrics();
+			final long start = (metrics != S7Metrics.NOOP) ? System.nanoTime() : 0;
+			columns.decode(buffer, 0, count, stride);
+			decoded(metrics, columns.getBeanClass(), buffer.length, start);
+
+			if (shadows != null) {
+				for (int i = 0; i < count; i++) {
+					this.updateShadow(columns.getBeanClass(), dbNum, byteOffset + (i * stride), shadows[i],
+							Arrays.copyOfRange(buffer, i * stride, (i * stride) + columns.getBlockSize()));
+				}
+			}
+			return columns;
+		} catch (final Exception e) {
+			throw new S7Exception("Error while dispense columns: dbnum(" + dbNum + ") byteoffset(" + byteOffset
+					+ ") count(" + count + ") stride(" + stride + ")", e);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> T dispenseFields(final Class<T> beanClass, final int dbNum, final int byteOffset,
+			final String... fieldNames) throws S7Exception {
+		if (fieldNames.length == 0) {
+			throw new IllegalArgumentException("No field names");
+		}
+		try {
+			final BeanParseResult result = this.parser.parseClass(beanClass);
+			final List<BeanEntry> entries = new ArrayList<BeanEntry>(fieldNames.length);
+			for (final String name : fieldNames) {
+				final BeanEntry entry = result.index.get(name);
+				if (entry == null) {
+					throw new IllegalArgumentException("Unknown field: " + name);
+				}
+				if (!entries.contains(entry)) {
+					entries.add(entry);
+				}
+			}
+
+			// covering byte ranges, small gaps are read along
+			final List<BeanEntry> sorted = new ArrayList<BeanEntry>(entries);
+			sorted.sort(Comparator.comparingInt(entry -> entry.byteOffset));
+			final List<ItemKey> ranges = new ArrayList<ItemKey>();
+			int start = -1, end = -1;
+			for (final BeanEntry entry : sorted) {
+				if ((start >= 0) && ((entry.byteOffset - end) <= FIELD_GAP)) {
+					end = Math.max(end, entry.getEndOffset());
+					continue;
+				}
+				if (end > start) {
+					ranges.add(new ItemKey(DaveArea.DB, dbNum, end - start, byteOffset + start));
+				}
+				start = entry.byteOffset;
+				end = entry.getEndOffset();
+			}
+			if (end > start) {
+				ranges.add(new ItemKey(DaveArea.DB, dbNum, end - start, byteOffset + start));
+			}
 
 			final byte[] buffer = new byte[result.blockSize];
-			logger.trace("store-buffer-size: " + buffer.length);
+			for (final Map.Entry<ItemKey, byte[]> range : this.connector.read(ranges).entrySet()) {
+				System.arraycopy(range.getValue(), 0, buffer, range.getKey().getOffset() - byteOffset,
+						range.getKey().getBytes());
+			}
 
-			insertBytes(bean, buffer, 0);
+			final S7Metrics metrics = this.connector.getMetrics();
+			final long decodeStart = (metrics != S7Metrics.NOOP) ? System.nanoTime() : 0;
+			final T bean;
+			if (result.constructor != null) {
+				bean = beanClass.cast(extractConstructed(result, entries, buffer, 0));
+			} else {
+				bean = beanClass.newInstance();
+				extractEntries(this.parser, bean, entries, buffer, 0);
+			}
+			decoded(metrics, beanClass, buffer.length, decodeStart);
+			return bean;
+		} catch (final Exception e) {
+			throw new S7Exception("Error while dispense fields: dbnum(" + dbNum + ") byteoffset(" + byteOffset
+					+ ") fields(" + Arrays.toString(fieldNames) + ")", e);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> T dispenseInto(final T target, final int dbNum, final int byteOffset) throws S7Exception {
+		try {
+			final BeanParseResult result = this.parser.parseClass(target);
+			final byte[] shadow = this.getShadow(target.getClass(), dbNum, byteOffset);
+			final byte[] buffer = this.connector.read(DaveArea.DB, dbNum, result.blockSize, byteOffset);
+			this.updateShadow(target.getClass(), dbNum, byteOffset, shadow, buffer);
+			final S7Metrics metrics = this.connector.getMetrics();
+			final long start = (metrics != S7Metrics.NOOP) ? System.nanoTime() : 0;
+			extractInto(this.parser, target, buffer, 0);
+			decoded(metrics, target.getClass(), buffer.length, start);
+			return target;
+		} catch (final Exception e) {
+			throw new S7Exception("Error while dispense", e);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void store(final Object bean, final int dbNum, final int byteOffset) throws S7Exception {
+		try {
+			final BeanParseResult result = this.parser.parseClass(bean);
 
+			final byte[] buffer = new byte[result.blockSize];
+			insertBytes(this.parser, bean, buffer, 0);
+
+			final byte[] shadow = this.getShadow(bean.getClass(), dbNum, byteOffset);
 			this.connector.write(DaveArea.DB, dbNum, byteOffset, buffer);
+			this.replaceShadow(bean.getClass(), dbNum, byteOffset, shadow, buffer);
 		} catch (final Exception e) {
+			// unknown state after a failed write
+			this.dropShadow(bean.getClass(), dbNum, byteOffset);
 			throw new S7Exception("Error while store", e);
 		}
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public void storeArray(final List<?> beans, final int dbNum, final int byteOffset, final int stride)
+			throws S7Exception {
+		if (stride <= 0) {
+			throw new IllegalArgumentException("Invalid stride (" + stride + ")");
+		}
+		try {
+			// one item per element, padding and null elements are not written
+			final Map<ItemKey, byte[]> items = new LinkedHashMap<ItemKey, byte[]>();
+			final byte[][] buffers = new byte[beans.size()][];
+			for (int i = 0; i < beans.size(); i++) {
+				final Object bean = beans.get(i);
+				if (bean != null) {
+					buffers[i] = new byte[this.parser.parseClass(bean).blockSize];
+					insertBytes(this.parser, bean, buffers[i], 0);
+					items.put(new ItemKey(DaveArea.DB, dbNum, buffers[i].length, byteOffset + (i * stride)),
+							buffers[i]);
+				}
+			}
+
+			final byte[][] shadows = new byte[beans.size()][];
+			if (!this.shadows.isEmpty()) {
+				for (int i = 0; i < beans.size(); i++) {
+					final Object bean = beans.get(i);
+					if (bean != null) {
+						shadows[i] = this.getShadow(bean.getClass(), dbNum, byteOffset + (i * stride));
+					}
+				}
+			}
+
+			if (!items.isEmpty()) {
+				this.connector.write(items, Collections.<BitKey, Boolean> emptyMap());
+			}
+
+			if (!this.shadows.isEmpty()) {
+				for (int i = 0; i < beans.size(); i++) {
+					final Object bean = beans.get(i);
+					if (bean != null) {
+						this.replaceShadow(bean.getClass(), dbNum, byteOffset + (i * stride), shadows[i], buffers[i]);
+					}
+				}
+			}
+		} catch (final Exception e) {
+			// unknown state after a failed write
+			for (int i = 0; i < beans.size(); i++) {
+				final Object bean = beans.get(i);
+				if (bean != null) {
+					this.dropShadow(bean.getClass(), dbNum, byteOffset + (i * stride));
+				}
+			}
+			throw new S7Exception("Error while store array: dbnum(" + dbNum + ") byteoffset(" + byteOffset
+					+ ") stride(" + stride + ")", e);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void storeChanges(final Object bean, final int dbNum, final int byteOffset) throws S7Exception {
+		final ShadowKey key = new ShadowKey(bean.getClass(), dbNum, byteOffset);
+		try {
+			final BeanParseResult result = this.parser.parseClass(bean);
+
+			byte[] expected = this.shadows.get(key);
+			byte[] shadow = expected;
+			if ((shadow == null) || (shadow.length != result.blockSize)) {
+				// marks the location, a concurrent transfer replaces or removes the mark
+				expected = new byte[0];
+				this.shadows.put(key, expected);
+				shadow = this.connector.read(DaveArea.DB, dbNum, result.blockSize, byteOffset);
+			}
+
+			// unmapped bytes and bits keep their last known value
+			final byte[] buffer = Arrays.copyOf(shadow, shadow.length);
+			insertBytes(this.parser, bean, buffer, 0);
+
+			final boolean[] bitBytes = result.bitBytes;
+
+			final Map<ItemKey, byte[]> items = new LinkedHashMap<ItemKey, byte[]>();
+			final Map<BitKey, Boolean> bits = new LinkedHashMap<BitKey, Boolean>();
+
+			int i = 0;
+			while (i < buffer.length) {
+				if (buffer[i] == shadow[i]) {
+					i++;
+				} else if (bitBytes[i]) {
+					final int changed = (buffer[i] ^ shadow[i]) & 0xFF;
+					for (int bit = 0; bit < 8; bit++) {
+						if ((changed & (0x01 << bit)) != 0) {
+							bits.put(new BitKey(DaveArea.DB, dbNum, byteOffset + i, bit),
+									(buffer[i] & (0x01 << bit)) != 0);
+						}
+					}
+					i++;
+				} else {
+					final int start = i;
+					while ((i < buffer.length) && (buffer[i] != shadow[i]) && !bitBytes[i]) {
+						i++;
+					}
+					items.put(new ItemKey(DaveArea.DB, dbNum, i - start, byteOffset + start),
+							Arrays.copyOfRange(buffer, start, i));
+				}
+			}
+
+			if (logger.isTraceEnabled()) {
+				logger.trace("store-changes: {} ranges, {} bits", items.size(), bits.size());
+			}
+
+			if (!items.isEmpty() || !bits.isEmpty()) {
+				this.connector.write(items, bits);
+			}
+			this.replaceShadow(bean.getClass(), dbNum, byteOffset, expected, buffer);
+		} catch (final Exception e) {
+			// unknown state after a failed write
+			this.shadows.remove(key);
+			throw new S7Exception("Error while store changes", e);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void storeFields(final Object bean, final int dbNum, final int byteOffset, final String... fieldNames)
+			throws S7Exception {
+		try {
+			final BeanParseResult result = this.parser.parseClass(bean);
+			final byte[] buffer = new byte[result.blockSize];
+			insertBytes(this.parser, bean, buffer, 0);
+
+			final Map<ItemKey, byte[]> items = new LinkedHashMap<ItemKey, byte[]>();
+			final Map<BitKey, Boolean> bits = new LinkedHashMap<BitKey, Boolean>();
+			for (final String name : fieldNames) {
+				final BeanEntry entry = result.index.get(name);
+				if (entry == null) {
+					throw new IllegalArgumentException("Unknown field: " + name);
+				}
+				if (entry.s7type == S7Type.BOOL) {
+					final int count = entry.isArray ? entry.arraySize : 1;
+					for (int i = 0; i < count; i++) {
+						final int offset = entry.getByteOffset(i);
+						final int bit = entry.getBitOffset(i);
+						bits.put(new BitKey(DaveArea.DB, dbNum, byteOffset + offset, bit),
+								(buffer[offset] & (0x01 << bit)) != 0);
+					}
+				} else if (entry.getEndOffset() > entry.byteOffset) {
+					items.put(new ItemKey(DaveArea.DB, dbNum, entry.getEndOffset() - entry.byteOffset,
+							byteOffset + entry.byteOffset),
+							Arrays.copyOfRange(buffer, entry.byteOffset, entry.getEndOffset()));
+				}
+			}
+
+			final byte[] shadow = this.getShadow(bean.getClass(), dbNum, byteOffset);
+			if (!items.isEmpty() || !bits.isEmpty()) {
+				this.connector.write(items, bits);
+			}
+
+			if ((shadow != null) && (shadow.length == buffer.length)) {
+				// the written fields are known, the others keep their last known value
+				final byte[] patched = Arrays.copyOf(shadow, shadow.length);
+				for (final ItemKey item : items.keySet()) {
+					System.arraycopy(buffer, item.getOffset() - byteOffset, patched, item.getOffset() - byteOffset,
+							item.getBytes());
+				}
+				for (final Map.Entry<BitKey, Boolean> bit : bits.entrySet()) {
+					final int offset = bit.getKey().getByteOffset() - byteOffset;
+					final int mask = 0x01 << bit.getKey().getBitOffset();
+					patched[offset] = (byte) (bit.getValue() ? (patched[offset] | mask) : (patched[offset] & ~mask));
+				}
+				this.replaceShadow(bean.getClass(), dbNum, byteOffset, shadow, patched);
+			} else {
+				this.dropShadow(bean.getClass(), dbNum, byteOffset);
+			}
+		} catch (final Exception e) {
+			// unknown state after a failed write
+			this.dropShadow(bean.getClass(), dbNum, byteOffset);
+			throw new S7Exception("Error while store fields: dbnum(" + dbNum + ") byteoffset(" + byteOffset
+					+ ") fields(" + Arrays.toString(fieldNames) + ")", e);
+		}
+	}
+
+	/**
+	 * Reports a decoding to the metrics
+	 *
+	 * @param metrics
+	 *            the metrics of the connector
+	 * @param beanClass
+	 *            the bean class
+	 * @param bytes
+	 *            the number of bytes decoded
+	 * @param start
+	 *            the start of the decoding, from System.nanoTime()
+	 */
+	private static void decoded(final S7Metrics metrics, final Class<?> beanClass, final int bytes,
+			final long start) {
+		if (metrics != S7Metrics.NOOP) {
+			metrics.decode(beanClass, bytes, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Returns the shadow image of a location before a transfer
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset
+	 * @return the shadow image, null if there is none
+	 */
+	private byte[] getShadow(final Class<?> beanClass, final int dbNum, final int byteOffset) {
+		if (this.shadows.isEmpty()) {
+			return null;
+		}
+		return this.shadows.get(new ShadowKey(beanClass, dbNum, byteOffset));
+	}
+
+	/**
+	 * Returns the shadow images of the elements of an array before a transfer
+	 *
+	 * @return the shadow images, null if there are no shadow images at all
+	 */
+	private byte[][] getShadows(final Class<?> beanClass, final int dbNum, final int byteOffset, final int count,
+			final int stride) {
+		if (this.shadows.isEmpty()) {
+			return null;
+		}
+		final byte[][] shadows = new byte[count][];
+		for (int i = 0; i < count; i++) {
+			shadows[i] = this.getShadow(beanClass, dbNum, byteOffset + (i * stride));
+		}
+		return shadows;
+	}
+
+	/**
+	 * Refreshes the shadow image of a location after a read, if it is still
+	 * the image seen before the read. Otherwise it was changed by a
+	 * concurrent write and is kept.
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset
+	 * @param expected
+	 *            the shadow image before the read
+	 * @param buffer
+	 *            the bytes, must not be modified afterwards
+	 */
+	private void updateShadow(final Class<?> beanClass, final int dbNum, final int byteOffset, final byte[] expected,
+			final byte[] buffer) {
+		if ((expected != null) && (expected.length == buffer.length)) {
+			this.shadows.replace(new ShadowKey(beanClass, dbNum, byteOffset), expected, buffer);
+		}
+	}
+
+	/**
+	 * Replaces the shadow image of a location after a write, if it is still
+	 * the image seen before the write. A shadow image changed by a concurrent
+	 * write is dropped, as the order of both writes is unknown, the next
+	 * storeChanges reads the location again.
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset
+	 * @param expected
+	 *            the shadow image before the write
+	 * @param buffer
+	 *            the bytes, must not be modified afterwards
+	 */
+	private void replaceShadow(final Class<?> beanClass, final int dbNum, final int byteOffset, final byte[] expected,
+			final byte[] buffer) {
+		if (this.shadows.isEmpty()) {
+			return;
+		}
+		final ShadowKey key = new ShadowKey(beanClass, dbNum, byteOffset);
+		if ((expected == null) || !this.shadows.replace(key, expected, buffer)) {
+			this.shadows.remove(key);
+		}
+	}
+
+	/**
+	 * Drops the shadow image of a location
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @param dbNum
+	 *            the db num
+	 * @param byteOffset
+	 *            the byte offset
+	 */
+	private void dropShadow(final Class<?> beanClass, final int dbNum, final int byteOffset) {
+		if (!this.shadows.isEmpty()) {
+			this.shadows.remove(new ShadowKey(beanClass, dbNum, byteOffset));
+		}
+	}
+
 }
@@ -0,0 +1,575 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.serializer;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.s7connector.api.S7PrimitiveSerializable;
+import com.github.s7connector.api.S7Serializable;
+import com.github.s7connector.api.S7View;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.serializer.parser.BeanEntry;
+import com.github.s7connector.impl.serializer.parser.BeanParseResult;
+import com.github.s7connector.impl.serializer.parser.BeanParser;
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * Flyweight view over a byte image, decodes the fields on access
+ */
+public final class S7ViewImpl implements S7View {
+
+	/**
+	 * Field of a view with the offsets relative to the bean
+	 */
+	private static final class ViewField {
+		String name;
+		int byteOffset, bitOffset, size, arraySize, stride;
+		S7Type s7type;
+		S7Serializable serializer;
+		Class<?> type;
+	}
+
+	/**
+	 * Fields and size of a bean class
+	 */
+	private static final class ViewLayout {
+		final Map<String, ViewField> fields = new HashMap<String, ViewField>();
+		int blockSize;
+	}
+
+	/**
+	 * Layouts per class, shared by all views
+	 */
+	private static final Map<Class<?>, ViewLayout> layouts = new ConcurrentHashMap<Class<?>, ViewLayout>();
+
+	/**
+	 * Returns the layout of a class
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @return the layout
+	 */
+	private static ViewLayout getLayout(final Class<?> beanClass) throws S7Exception {
+		final ViewLayout cached = layouts.get(beanClass);
+		if (cached != null) {
+			return cached;
+		}
+
+		final ViewLayout layout = new ViewLayout();
+		try {
+			final BeanParseResult result = BeanParser.parse(beanClass);
+			layout.blockSize = result.blockSize;
+			addFields(layout, result, "", 0);
+		} catch (final Exception e) {
+			throw new S7Exception("Error while parse " + beanClass.getName(), e);
+		}
+
+		final ViewLayout previous = layouts.putIfAbsent(beanClass, layout);
+		return (previous != null) ? previous : layout;
+	}
+
+	/**
+	 * Adds the fields of a parsed bean, nested structures are flattened
+	 *
+	 * @param layout
+	 *            the layout
+	 * @param result
+	 *            the parsed bean
+	 * @param prefix
+	 *            the name prefix
+	 * @param byteOffset
+	 *            the offset of the bean
+	 */
+	private static void addFields(final ViewLayout layout, final BeanParseResult result, final String prefix,
+			final int byteOffset) throws Exception {
+		for (final BeanEntry entry : result.entries) {
+			final ViewField field = new ViewField();
+			field.name = prefix + entry.field.getName();
+			field.byteOffset = byteOffset + entry.byteOffset;
+			field.bitOffset = entry.bitOffset;
+			field.size = entry.size;
+			field.arraySize = entry.isArray ? entry.arraySize : 0;
+			field.s7type = entry.s7type;
+			field.serializer = entry.serializer;
+			field.type = entry.type;
+
+			field.stride = entry.stride;
+
+			if ((entry.s7type == S7Type.STRUCT) && !entry.isArray) {
+				addFields(layout, BeanParser.parse(entry.type), field.name + ".", field.byteOffset);
+			}
+
+			layout.fields.put(field.name, field);
+		}
+	}
+
+	/** The layout. */
+	private final ViewLayout layout;
+
+	/** The buffer, if it is a byte array. */
+	private byte[] array;
+
+	/** The offset of a wrapped ByteBuffer in its array. */
+	private int arrayOffset;
+
+	/** The buffer, if it has no accessible array. */
+	private ByteBuffer buffer;
+
+	/** The offset of the bean in the buffer. */
+	private int byteOffset;
+
+	/** Copy of a primitive field of a buffer without array. */
+	private byte[] scratch = new byte[8];
+
+	/**
+	 * Instantiates a new view.
+	 *
+	 * @param beanClass
+	 *            the mapped bean class
+	 */
+	public S7ViewImpl(final Class<?> beanClass) throws S7Exception {
+		this.layout = getLayout(beanClass);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7View wrap(final byte[] buffer, final int byteOffset) {
+		this.array = buffer;
+		this.arrayOffset = 0;
+		this.buffer = null;
+		this.byteOffset = byteOffset;
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7View wrap(final ByteBuffer buffer, final int byteOffset) {
+		if (buffer.hasArray()) {
+			this.array = buffer.array();
+			this.arrayOffset = buffer.arrayOffset();
+			this.buffer = null;
+		} else {
+			this.array = null;
+			this.arrayOffset = 0;
+			this.buffer = buffer;
+		}
+		this.byteOffset = byteOffset;
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7View moveTo(final int byteOffset) {
+		this.byteOffset = byteOffset;
+		return this;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getByteOffset() {
+		return this.byteOffset;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getBlockSize() {
+		return this.layout.blockSize;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean getBoolean(final String field) {
+		return this.getBoolean(field, 0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean getBoolean(final String field, final int index) {
+		final ViewField f = this.getField(field, index, S7Type.BOOL);
+		final int bit = f.bitOffset + index;
+		return ((this.read(this.position(f, index)) >> (bit % 8)) & 0x01) != 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getInt(final String field) {
+		return this.getInt(field, 0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getInt(final String field, final int index) {
+		final ViewField f = this.getField(field, index, null);
+		if (!(f.serializer instanceof S7PrimitiveSerializable.OfInt)) {
+			throw this.wrongType(f);
+		}
+		final int pos = this.position(f, index);
+		final S7PrimitiveSerializable.OfInt c = (S7PrimitiveSerializable.OfInt) f.serializer;
+		if (this.array != null) {
+			return c.getInt(this.array, pos, 0);
+		}
+		return c.getInt(this.load(f, pos), 0, 0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getLong(final String field) {
+		return this.getLong(field, 0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getLong(final String field, final int index) {
+		final ViewField f = this.getField(field, index, null);
+		if (!(f.serializer instanceof S7PrimitiveSerializable.OfLong)) {
+			return this.getInt(field, index);
+		}
+		final int pos = this.position(f, index);
+		final S7PrimitiveSerializable.OfLong c = (S7PrimitiveSerializable.OfLong) f.serializer;
+		if (this.array != null) {
+			return c.getLong(this.array, pos, 0);
+		}
+		return c.getLong(this.load(f, pos), 0, 0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public float getFloat(final String field) {
+		return this.getFloat(field, 0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public float getFloat(final String field, final int index) {
+		final ViewField f = this.getField(field, index, null);
+		if (!(f.serializer instanceof S7PrimitiveSerializable.OfFloat)) {
+			throw this.wrongType(f);
+		}
+		final int pos = this.position(f, index);
+		final S7PrimitiveSerializable.OfFloat c = (S7PrimitiveSerializable.OfFloat) f.serializer;
+		if (this.array != null) {
+			return c.getFloat(this.array, pos, 0);
+		}
+		return c.getFloat(this.load(f, pos), 0, 0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public double getDouble(final String field) {
+		return this.getDouble(field, 0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public double getDouble(final String field, final int index) {
+		final ViewField f = this.getField(field, index, null);
+		if (!(f.serializer instanceof S7PrimitiveSerializable.OfDouble)) {
+			throw this.wrongType(f);
+		}
+		final int pos = this.position(f, index);
+		final S7PrimitiveSerializable.OfDouble c = (S7PrimitiveSerializable.OfDouble) f.serializer;
+		if (this.array != null) {
+			return c.getDouble(this.array, pos, 0);
+		}
+		return c.getDouble(this.load(f, pos), 0, 0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String getString(final String field) {
+		final ViewField f = this.getStringField(field);
+		try {
+			return (String) this.get(f, 0);
+		} catch (final S7Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Object get(final String field) throws S7Exception {
+		return this.get(field, 0);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Object get(final String field, final int index) throws S7Exception {
+		return this.get(this.getField(field, index, null), index);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBoolean(final String field, final boolean value) {
+		this.setBoolean(field, 0, value);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBoolean(final String field, final int index, final boolean value) {
+		final ViewField f = this.getField(field, index, S7Type.BOOL);
+		final int pos = this.position(f, index);
+		final int mask = 0x01 << ((f.bitOffset + index) % 8);
+		this.write(pos, value ? (this.read(pos) | mask) : (this.read(pos) & ~mask));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setInt(final String field, final int value) {
+		this.setInt(field, 0, value);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setInt(final String field, final int index, final int value) {
+		final ViewField f = this.getField(field, index, null);
+		if (!(f.serializer instanceof S7PrimitiveSerializable.OfInt)) {
+			throw this.wrongType(f);
+		}
+		final int pos = this.position(f, index);
+		final S7PrimitiveSerializable.OfInt c = (S7PrimitiveSerializable.OfInt) f.serializer;
+		if (this.array != null) {
+			c.putInt(value, this.array, pos, 0);
+			return;
+		}
+		c.putInt(value, this.load(f, pos), 0, 0);
+		this.store(f, pos);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setLong(final String field, final long value) {
+		this.setLong(field, 0, value);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setLong(final String field, final int index, final long value) {
+		final ViewField f = this.getField(field, index, null);
+		if (!(f.serializer instanceof S7PrimitiveSerializable.OfLong)) {
+			this.setInt(field, index, (int) value);
+			return;
+		}
+		final int pos = this.position(f, index);
+		final S7PrimitiveSerializable.OfLong c = (S7PrimitiveSerializable.OfLong) f.serializer;
+		if (this.array != null) {
+			c.putLong(value, this.array, pos, 0);
+			return;
+		}
+		c.putLong(value, this.load(f, pos), 0, 0);
+		this.store(f, pos);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setFloat(final String field, final float value) {
+		this.setFloat(field, 0, value);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setFloat(final String field, final int index, final float value) {
+		final ViewField f = this.getField(field, index, null);
+		if (!(f.serializer instanceof S7PrimitiveSerializable.OfFloat)) {
+			throw this.wrongType(f);
+		}
+		final int pos = this.position(f, index);
+		final S7PrimitiveSerializable.OfFloat c = (S7PrimitiveSerializable.OfFloat) f.serializer;
+		if (this.array != null) {
+			c.putFloat(value, this.array, pos, 0);
+			return;
+		}
+		c.putFloat(value, this.load(f, pos), 0, 0);
+		this.store(f, pos);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setDouble(final String field, final double value) {
+		this.setDouble(field, 0, value);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setDouble(final String field, final int index, final double value) {
+		final ViewField f = this.getField(field, index, null);
+		if (!(f.serializer instanceof S7PrimitiveSerializable.OfDouble)) {
+			throw this.wrongType(f);
+		}
+		final int pos = this.position(f, index);
+		final S7PrimitiveSerializable.OfDouble c = (S7PrimitiveSerializable.OfDouble) f.serializer;
+		if (this.array != null) {
+			c.putDouble(value, this.array, pos, 0);
+			return;
+		}
+		c.putDouble(value, this.load(f, pos), 0, 0);
+		this.store(f, pos);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setString(final String field, final String value) {
+		final ViewField f = this.getStringField(field);
+		try {
+			this.set(f, 0, value);
+		} catch (final S7Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void set(final String field, final Object value) throws S7Exception {
+		this.set(field, 0, value);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void set(final String field, final int index, final Object value) throws S7Exception {
+		this.set(this.getField(field, index, null), index, value);
+	}
+
+	/**
+	 * Decodes a value with the converter of the field
+	 */
+	private Object get(final ViewField f, final int index) throws S7Exception {
+		final int pos = this.position(f, index);
+		final int bit = (f.bitOffset + index) % 8;
+		if (this.array != null) {
+			return f.serializer.extract(f.type, this.array, pos, bit);
+		}
+		final byte[] bytes = new byte[Math.max(f.stride, 1)];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = this.buffer.get(pos + i);
+		}
+		return f.serializer.extract(f.type, bytes, 0, bit);
+	}
+
+	/**
+	 * Encodes a value with the converter of the field
+	 */
+	private void set(final ViewField f, final int index, final Object value) throws S7Exception {
+		final int pos = this.position(f, index);
+		final int bit = (f.bitOffset + index) % 8;
+		if (this.array != null) {
+			f.serializer.insert(value, this.array, pos, bit, f.size);
+			return;
+		}
+		final byte[] bytes = new byte[Math.max(f.stride, 1)];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = this.buffer.get(pos + i);
+		}
+		f.serializer.insert(value, bytes, 0, bit, f.size);
+		for (int i = 0; i < bytes.length; i++) {
+			this.buffer.put(pos + i, bytes[i]);
+		}
+	}
+
+	/**
+	 * Looks up a field
+	 *
+	 * @param name
+	 *            the field name
+	 * @param index
+	 *            the array index, 0 for plain fields
+	 * @param s7type
+	 *            the expected type or null
+	 * @return the field
+	 */
+	private ViewField getField(final String name, final int index, final S7Type s7type) {
+		if ((this.array == null) && (this.buffer == null)) {
+			throw new IllegalStateException("View is not bound to a buffer");
+		}
+		final ViewField f = this.layout.fields.get(name);
+		if (f == null) {
+			throw new IllegalArgumentException("Unknown field: " + name);
+		}
+		if ((s7type != null) && (f.s7type != s7type)) {
+			throw this.wrongType(f);
+		}
+		if ((index < 0) || ((index > 0) && (index >= f.arraySize))) {
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for field " + name);
+		}
+		return f;
+	}
+
+	/**
+	 * Looks up a STRING or WSTRING field
+	 */
+	private ViewField getStringField(final String name) {
+		final ViewField f = this.getField(name, 0, null);
+		if ((f.s7type != S7Type.STRING) && (f.s7type != S7Type.WSTRING)) {
+			throw this.wrongType(f);
+		}
+		return f;
+	}
+
+	/**
+	 * Copies a primitive field of a buffer without array to the scratch array
+	 *
+	 * @return the scratch array with the field at index 0
+	 */
+	private byte[] load(final ViewField f, final int pos) {
+		final int size = f.serializer.getSizeInBytes();
+		if (this.scratch.length < size) {
+			this.scratch = new byte[size];
+		}
+		for (int i = 0; i < size; i++) {
+			this.scratch[i] = this.buffer.get(pos + i);
+		}
+		return this.scratch;
+	}
+
+	/**
+	 * Copies a primitive field from the scratch array back to the buffer
+	 */
+	private void store(final ViewField f, final int pos) {
+		final int size = f.serializer.getSizeInBytes();
+		for (int i = 0; i < size; i++) {
+			this.buffer.put(pos + i, this.scratch[i]);
+		}
+	}
+
+	/**
+	 * Calculates the buffer index of a field
+	 */
+	private int position(final ViewField f, final int index) {
+		final int pos = this.arrayOffset + this.byteOffset + f.byteOffset;
+		if (f.s7type == S7Type.BOOL) {
+			return pos + ((f.bitOffset + index) / 8);
+		}
+		return pos + (index * f.stride);
+	}
+
+	private IllegalArgumentException wrongType(final ViewField f) {
+		return new IllegalArgumentException("Field " + f.name + " is of type " + f.s7type);
+	}
+
+	private byte read(final int pos) {
+		return (this.array != null) ? this.array[pos] : this.buffer.get(pos);
+	}
+
+	private void write(final int pos, final int value) {
+		if (this.array != null) {
+			this.array[pos] = (byte) value;
+		} else {
+			this.buffer.put(pos, (byte) value);
+		}
+	}
+
+}
@@ -15,13 +15,13 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.converter;
 
-import com.github.s7connector.api.S7Serializable;
+import com.github.s7connector.api.S7PrimitiveSerializable;
 import com.github.s7connector.impl.utils.S7Type;
 
 /**
  * The Class BitConverter is responsible for converting bit values
  */
-public final class BitConverter implements S7Serializable {
+public final class BitConverter implements S7PrimitiveSerializable.OfBoolean {
 
 	/** {@inheritDoc} */
 	@Override
@@ -62,4 +62,19 @@ public final class BitConverter implements S7Serializable {
 		}
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public boolean getBoolean(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return (buffer[byteOffset] & (0x01 << bitOffset)) != 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putBoolean(final boolean value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		if (value) {
+			buffer[byteOffset] |= (0x01 << bitOffset);
+		} else {
+			buffer[byteOffset] &= ~(0x01 << bitOffset);
+		}
+	}
 }
@@ -15,10 +15,10 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.converter;
 
-import com.github.s7connector.api.S7Serializable;
+import com.github.s7connector.api.S7PrimitiveSerializable;
 import com.github.s7connector.impl.utils.S7Type;
 
-public class ByteConverter implements S7Serializable {
+public class ByteConverter implements S7PrimitiveSerializable.OfInt {
 
 	/** {@inheritDoc} */
 	@Override
@@ -52,4 +52,15 @@ public class ByteConverter implements S7Serializable {
 		buffer[byteOffset] = value;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public int getInt(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return buffer[byteOffset];
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putInt(final int value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		buffer[byteOffset] = (byte) value;
+	}
 }
@@ -15,12 +15,26 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.converter;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Calendar;
 import java.util.Date;
 
+import com.github.s7connector.api.S7Serializable;
 import com.github.s7connector.impl.utils.S7Type;
+import com.github.s7connector.impl.utils.S7Utils;
 
-public final class DateAndTimeConverter extends ByteConverter {
+/**
+ * Converter for the DATE_AND_TIME type
+ *
+ * Maps to {@link Date}, {@link LocalDateTime}, {@link Instant} and epoch millis
+ * ({@link Long}). The java.time and epoch mappings decode the BCD bytes
+ * directly (including the milliseconds) without Calendar or String
+ * allocation. Instants and epoch millis are interpreted in the default time
+ * zone, like the Date mapping, and are computed with epoch day arithmetic
+ * instead of a ZonedDateTime.
+ */
+public final class DateAndTimeConverter implements S7Serializable {
 
 	public static final int OFFSET_DAY = 2;
 	public static final int OFFSET_HOUR = 3;
@@ -31,6 +45,8 @@ public final class DateAndTimeConverter extends ByteConverter {
 	public static final int OFFSET_SECOND = 5;
 	public static final int OFFSET_YEAR = 0;
 
+	private static final long SECONDS_PER_DAY = 86400;
+
 	// 18, 1,16,16, 5,80,0,3, (dec)
 	// 12, 1,10,10, 5,50,0,3, (hex)
 	// 12-01-10 10:05:50.000
@@ -38,6 +54,14 @@ public final class DateAndTimeConverter extends ByteConverter {
 	/** {@inheritDoc} */
 	@Override
 	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		if (targetClass == LocalDateTime.class) {
+			return targetClass.cast(extractLocalDateTime(buffer, byteOffset));
+		} else if (targetClass == Instant.class) {
+			return targetClass.cast(Instant.ofEpochMilli(this.extractEpochMilli(buffer, byteOffset)));
+		} else if (targetClass == Long.class) {
+			return targetClass.cast(this.extractEpochMilli(buffer, byteOffset));
+		}
+
 		final Calendar c = Calendar.getInstance();
 		c.clear();
 
@@ -82,6 +106,62 @@ public final class DateAndTimeConverter extends ByteConverter {
 		return targetClass.cast(c.getTime());
 	}
 
+	/**
+	 * Decodes a DATE_AND_TIME value including milliseconds
+	 *
+	 * @param buffer
+	 * @param byteOffset
+	 * @return
+	 */
+	private LocalDateTime extractLocalDateTime(final byte[] buffer, final int byteOffset) {
+		int year = S7Utils.fromBCD(buffer[byteOffset + OFFSET_YEAR]);
+
+		if (year < 90) {
+			year += 2000;
+		} else {
+			year += 1900;
+		}
+
+		final int millis = (S7Utils.fromBCD(buffer[byteOffset + OFFSET_MILLIS_100_10]) * 10)
+				+ ((buffer[byteOffset + OFFSET_MILLIS_1_AND_DOW] >> 4) & 0x0F);
+
+		return LocalDateTime.of(year,
+				S7Utils.fromBCD(buffer[byteOffset + OFFSET_MONTH]),
+				S7Utils.fromBCD(buffer[byteOffset + OFFSET_DAY]),
+				S7Utils.fromBCD(buffer[byteOffset + OFFSET_HOUR]),
+				S7Utils.fromBCD(buffer[byteOffset + OFFSET_MINUTE]),
+				S7Utils.fromBCD(buffer[byteOffset + OFFSET_SECOND]),
+				millis * 1000000);
+	}
+
+	/**
+	 * Decodes a DATE_AND_TIME value of the default time zone to epoch millis
+	 *
+	 * @param buffer
+	 * @param byteOffset
+	 * @return
+	 */
+	private long extractEpochMilli(final byte[] buffer, final int byteOffset) {
+		int year = S7Utils.fromBCD(buffer[byteOffset + OFFSET_YEAR]);
+
+		if (year < 90) {
+			year += 2000;
+		} else {
+			year += 1900;
+		}
+
+		final int millis = (S7Utils.fromBCD(buffer[byteOffset + OFFSET_MILLIS_100_10]) * 10)
+				+ ((buffer[byteOffset + OFFSET_MILLIS_1_AND_DOW] >> 4) & 0x0F);
+
+		final long localSecond = (S7Utils.toEpochDay(year, S7Utils.fromBCD(buffer[byteOffset + OFFSET_MONTH]),
+				S7Utils.fromBCD(buffer[byteOffset + OFFSET_DAY])) * SECONDS_PER_DAY)
+				+ S7Utils.toSecondOfDay(S7Utils.fromBCD(buffer[byteOffset + OFFSET_HOUR]),
+						S7Utils.fromBCD(buffer[byteOffset + OFFSET_MINUTE]),
+						S7Utils.fromBCD(buffer[byteOffset + OFFSET_SECOND]));
+
+		return (S7Utils.localToEpochSecond(localSecond) * 1000) + millis;
+	}
+
 	/**
 	 * Dec -> Hex 10 = 0a 16 = 0f 17 = 10
 	 *
@@ -90,12 +170,7 @@ public final class DateAndTimeConverter extends ByteConverter {
 	 * @return
 	 */
 	public byte getFromPLC(final byte[] buffer, final int offset) {
-		try {
-			final byte ret = super.extract(Byte.class, buffer, offset, 0);
-			return (byte) Integer.parseInt(Integer.toHexString(ret & 0xFF));
-		} catch (final NumberFormatException e) {
-			return 0;
-		}
+		return (byte) S7Utils.fromBCD(buffer[offset]);
 	}
 
 	/** {@inheritDoc} */
@@ -120,6 +195,21 @@ public final class DateAndTimeConverter extends ByteConverter {
 	@Override
 	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
 			final int size) {
+		if (javaType instanceof LocalDateTime) {
+			this.insertLocalDateTime((LocalDateTime) javaType, buffer, byteOffset);
+			return;
+		} else if (javaType instanceof Instant) {
+			final Instant instant = (Instant) javaType;
+			this.insertLocalSecond(S7Utils.epochToLocalSecond(instant.getEpochSecond()), instant.getNano() / 1000000,
+					buffer, byteOffset);
+			return;
+		} else if (javaType instanceof Long) {
+			final long epochMilli = (Long) javaType;
+			this.insertLocalSecond(S7Utils.epochToLocalSecond(Math.floorDiv(epochMilli, 1000)),
+					(int) Math.floorMod(epochMilli, 1000), buffer, byteOffset);
+			return;
+		}
+
 		final Date date = (Date) javaType;
 		final Calendar c = Calendar.getInstance();
 		c.setTime(date);
@@ -167,6 +257,52 @@ public final class DateAndTimeConverter extends ByteConverter {
 		 */
 	}
 
+	/**
+	 * Encodes a DATE_AND_TIME value including milliseconds and day of week
+	 *
+	 * @param value
+	 * @param buffer
+	 * @param byteOffset
+	 */
+	private void insertLocalDateTime(final LocalDateTime value, final byte[] buffer, final int byteOffset) {
+		final long localSecond = (S7Utils.toEpochDay(value.getYear(), value.getMonthValue(), value.getDayOfMonth())
+				* SECONDS_PER_DAY) + S7Utils.toSecondOfDay(value.getHour(), value.getMinute(), value.getSecond());
+
+		this.insertLocalSecond(localSecond, value.getNano() / 1000000, buffer, byteOffset);
+	}
+
+	/**
+	 * Encodes a DATE_AND_TIME value from local seconds since 1970-01-01T00:00
+	 *
+	 * @param localSecond
+	 * @param millis
+	 * @param buffer
+	 * @param byteOffset
+	 */
+	private void insertLocalSecond(final long localSecond, final int millis, final byte[] buffer,
+			final int byteOffset) {
+		final long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+		final int secondOfDay = (int) Math.floorMod(localSecond, SECONDS_PER_DAY);
+		final int date = S7Utils.fromEpochDay(epochDay);
+		final int year = date >> 9;
+
+		if ((year < 1990) || (year > 2089)) {
+			throw new IllegalArgumentException("Year out of range (1990-2089): " + year);
+		}
+
+		// S7 counts the days of week from 1 (sunday) to 7 (saturday), 1970-01-01 was a thursday
+		final int dow = (int) Math.floorMod(epochDay + 4, 7) + 1;
+
+		buffer[byteOffset + OFFSET_YEAR] = S7Utils.toBCD(year);
+		buffer[byteOffset + OFFSET_MONTH] = S7Utils.toBCD((date >> 5) & 0x0F);
+		buffer[byteOffset + OFFSET_DAY] = S7Utils.toBCD(date & 0x1F);
+		buffer[byteOffset + OFFSET_HOUR] = S7Utils.toBCD(secondOfDay / 3600);
+		buffer[byteOffset + OFFSET_MINUTE] = S7Utils.toBCD((secondOfDay / 60) % 60);
+		buffer[byteOffset + OFFSET_SECOND] = S7Utils.toBCD(secondOfDay % 60);
+		buffer[byteOffset + OFFSET_MILLIS_100_10] = S7Utils.toBCD(millis / 10);
+		buffer[byteOffset + OFFSET_MILLIS_1_AND_DOW] = (byte) (((millis % 10) << 4) | dow);
+	}
+
 	/**
 	 * Hex -> dec 0a = 10 0f = 16 10 = 17
 	 *
@@ -175,12 +311,7 @@ public final class DateAndTimeConverter extends ByteConverter {
 	 * @param i
 	 */
 	public void putToPLC(final byte[] buffer, final int offset, final int i) {
-		try {
-			final int ret = Integer.parseInt("" + i, 16);
-			buffer[offset] = (byte) ret;
-		} catch (final NumberFormatException e) {
-			return;
-		}
+		buffer[offset] = S7Utils.toBCD(i);
 	}
 
 }
@@ -15,15 +15,30 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.converter;
 
+import java.time.LocalDate;
 import java.util.Calendar;
 import java.util.Date;
 
 import com.github.s7connector.impl.utils.S7Type;
-
+import com.github.s7connector.impl.utils.S7Utils;
+
+/**
+ * Converter for the DATE type (days since 1.1.1990)
+ *
+ * Maps to {@link Date} and {@link LocalDate}, both decoded with epoch day
+ * arithmetic without Calendar allocation.
+ */
 public final class DateConverter extends IntegerConverter {
 
+	/**
+	 * 1.1.1990 as epoch day
+	 */
+	private static final long EPOCH_DAY_1990 = 7305;
+
 	private static final long MILLI_TO_DAY_FACTOR = 24 * 60 * 60 * 1000;
 
+	private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
 	/**
 	 * 1.1.1990
 	 */
@@ -43,18 +58,14 @@ public final class DateConverter extends IntegerConverter {
 	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) {
 		final long days = super.extract(Integer.class, buffer, byteOffset, bitOffset);
 
-		long millis = days * MILLI_TO_DAY_FACTOR;
+		if (targetClass == LocalDate.class) {
+			return targetClass.cast(LocalDate.ofEpochDay(EPOCH_DAY_1990 + days));
+		}
 
-		millis += OFFSET_1990;
+		// midnight in the default time zone
+		final long epochSecond = S7Utils.localToEpochSecond((EPOCH_DAY_1990 + days) * SECONDS_PER_DAY);
 
-		final Calendar c = Calendar.getInstance();
-		c.setTimeInMillis(millis);
-		c.set(Calendar.MILLISECOND, 0);
-		c.set(Calendar.SECOND, 0);
-		c.set(Calendar.MINUTE, 0);
-		c.set(Calendar.HOUR_OF_DAY, 0);
-
-		return targetClass.cast(c.getTime());
+		return targetClass.cast(new Date(epochSecond * 1000));
 	}
 
 	/** {@inheritDoc} */
@@ -67,6 +78,17 @@ public final class DateConverter extends IntegerConverter {
 	@Override
 	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
 			final int size) {
+		if (javaType instanceof LocalDate) {
+			final long days = ((LocalDate) javaType).toEpochDay() - EPOCH_DAY_1990;
+
+			if ((days < 0) || (days > 0xFFFF)) {
+				throw new IllegalArgumentException("Date out of range (1990-01-01 - 2169-06-06): " + javaType);
+			}
+
+			super.insert((int) days, buffer, byteOffset, bitOffset, 2);
+			return;
+		}
+
 		final Date d = (Date) javaType;
 
 		long millis = d.getTime();
@@ -0,0 +1,163 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.serializer.converter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import com.github.s7connector.api.S7Serializable;
+import com.github.s7connector.impl.utils.S7Type;
+import com.github.s7connector.impl.utils.S7Utils;
+
+/**
+ * Converter for the DTL type (S7-1200/1500)
+ *
+ * Year (2 bytes), month, day, weekday (1 = sunday), hour, minute, second
+ * and nanoseconds (4 bytes)
+ *
+ * Maps to {@link LocalDateTime}, {@link Instant}, epoch millis ({@link Long})
+ * and {@link Date} like {@link DateAndTimeConverter}, instants and epoch
+ * millis are interpreted in the default time zone and computed with epoch day
+ * arithmetic. Other types are rejected.
+ */
+public final class DtlConverter implements S7Serializable {
+
+	public static final int OFFSET_YEAR = 0;
+	public static final int OFFSET_MONTH = 2;
+	public static final int OFFSET_DAY = 3;
+	public static final int OFFSET_WEEKDAY = 4;
+	public static final int OFFSET_HOUR = 5;
+	public static final int OFFSET_MINUTE = 6;
+	public static final int OFFSET_SECOND = 7;
+	public static final int OFFSET_NANOS = 8;
+
+	private static final long SECONDS_PER_DAY = 86400;
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		final int year = ((buffer[byteOffset + OFFSET_YEAR] & 0xFF) << 8) | (buffer[byteOffset + OFFSET_YEAR + 1] & 0xFF);
+		final int nanos = ((buffer[byteOffset + OFFSET_NANOS] & 0xFF) << 24)
+				| ((buffer[byteOffset + OFFSET_NANOS + 1] & 0xFF) << 16)
+				| ((buffer[byteOffset + OFFSET_NANOS + 2] & 0xFF) << 8) | (buffer[byteOffset + OFFSET_NANOS + 3] & 0xFF);
+
+		if (targetClass == LocalDateTime.class) {
+			return targetClass.cast(LocalDateTime.of(year, buffer[byteOffset + OFFSET_MONTH],
+					buffer[byteOffset + OFFSET_DAY], buffer[byteOffset + OFFSET_HOUR],
+					buffer[byteOffset + OFFSET_MINUTE], buffer[byteOffset + OFFSET_SECOND], nanos));
+		} else if ((targetClass != Instant.class) && (targetClass != Long.class) && (targetClass != Date.class)) {
+			throw new IllegalArgumentException("DTL does not map to " + targetClass.getName());
+		}
+
+		if ((nanos < 0) || (nanos > 999999999)) {
+			throw new IllegalArgumentException("Invalid nanoseconds: " + nanos);
+		}
+
+		final long localSecond = (S7Utils.toEpochDay(year, buffer[byteOffset + OFFSET_MONTH],
+				buffer[byteOffset + OFFSET_DAY]) * SECONDS_PER_DAY)
+				+ S7Utils.toSecondOfDay(buffer[byteOffset + OFFSET_HOUR], buffer[byteOffset + OFFSET_MINUTE],
+						buffer[byteOffset + OFFSET_SECOND]);
+		final long epochSecond = S7Utils.localToEpochSecond(localSecond);
+
+		if (targetClass == Instant.class) {
+			return targetClass.cast(Instant.ofEpochSecond(epochSecond, nanos));
+		}
+
+		final long epochMilli = (epochSecond * 1000) + (nanos / 1000000);
+		if (targetClass == Long.class) {
+			return targetClass.cast(epochMilli);
+		}
+		return targetClass.cast(new Date(epochMilli));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7Type getS7Type() {
+		return S7Type.DTL;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBits() {
+		return 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBytes() {
+		return 12;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
+			final int size) {
+		if (javaType instanceof LocalDateTime) {
+			final LocalDateTime value = (LocalDateTime) javaType;
+			final long localSecond = (S7Utils.toEpochDay(value.getYear(), value.getMonthValue(),
+					value.getDayOfMonth()) * SECONDS_PER_DAY)
+					+ S7Utils.toSecondOfDay(value.getHour(), value.getMinute(), value.getSecond());
+			this.insertLocalSecond(localSecond, value.getNano(), buffer, byteOffset);
+		} else if (javaType instanceof Instant) {
+			final Instant instant = (Instant) javaType;
+			this.insertLocalSecond(S7Utils.epochToLocalSecond(instant.getEpochSecond()), instant.getNano(), buffer,
+					byteOffset);
+		} else if ((javaType instanceof Long) || (javaType instanceof Date)) {
+			final long epochMilli = (javaType instanceof Long) ? (Long) javaType : ((Date) javaType).getTime();
+			this.insertLocalSecond(S7Utils.epochToLocalSecond(Math.floorDiv(epochMilli, 1000)),
+					(int) Math.floorMod(epochMilli, 1000) * 1000000, buffer, byteOffset);
+		} else {
+			throw new IllegalArgumentException("DTL does not map from " + javaType.getClass().getName());
+		}
+	}
+
+	/**
+	 * Encodes a DTL value from local seconds since 1970-01-01T00:00
+	 *
+	 * @param localSecond
+	 * @param nanos
+	 * @param buffer
+	 * @param byteOffset
+	 */
+	private void insertLocalSecond(final long localSecond, final int nanos, final byte[] buffer,
+			final int byteOffset) {
+		final long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+		final int secondOfDay = (int) Math.floorMod(localSecond, SECONDS_PER_DAY);
+		final int date = S7Utils.fromEpochDay(epochDay);
+		final int year = date >> 9;
+
+		if ((year < 1970) || (year > 2262)) {
+			throw new IllegalArgumentException("DTL out of range (1970 - 2262): " + year);
+		}
+
+		buffer[byteOffset + OFFSET_YEAR] = (byte) (year >> 8);
+		buffer[byteOffset + OFFSET_YEAR + 1] = (byte) year;
+		buffer[byteOffset + OFFSET_MONTH] = (byte) ((date >> 5) & 0x0F);
+		buffer[byteOffset + OFFSET_DAY] = (byte) (date & 0x1F);
+		// 1 = sunday, 1970-01-01 was a thursday
+		buffer[byteOffset + OFFSET_WEEKDAY] = (byte) (Math.floorMod(epochDay + 4, 7) + 1);
+		buffer[byteOffset + OFFSET_HOUR] = (byte) (secondOfDay / 3600);
+		buffer[byteOffset + OFFSET_MINUTE] = (byte) ((secondOfDay / 60) % 60);
+		buffer[byteOffset + OFFSET_SECOND] = (byte) (secondOfDay % 60);
+
+		buffer[byteOffset + OFFSET_NANOS] = (byte) (nanos >> 24);
+		buffer[byteOffset + OFFSET_NANOS + 1] = (byte) (nanos >> 16);
+		buffer[byteOffset + OFFSET_NANOS + 2] = (byte) (nanos >> 8);
+		buffer[byteOffset + OFFSET_NANOS + 3] = (byte) nanos;
+	}
+
+}
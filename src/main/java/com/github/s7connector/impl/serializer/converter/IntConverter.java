@@ -0,0 +1,29 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.serializer.converter;
+
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * Converter for the INT type (16 bit signed)
+ */
+public final class IntConverter extends IntegralConverter {
+
+	public IntConverter() {
+		super(S7Type.INT, 2, true);
+	}
+
+}
@@ -15,10 +15,10 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.converter;
 
-import com.github.s7connector.api.S7Serializable;
+import com.github.s7connector.api.S7PrimitiveSerializable;
 import com.github.s7connector.impl.utils.S7Type;
 
-public class IntegerConverter implements S7Serializable {
+public class IntegerConverter implements S7PrimitiveSerializable.OfInt {
 
 	private static final int OFFSET_HIGH_BYTE = 0;
 	private static final int OFFSET_LOW_BYTE = 1;
@@ -63,4 +63,16 @@ public class IntegerConverter implements S7Serializable {
 		buffer[byteOffset + OFFSET_HIGH_BYTE] = higher;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public int getInt(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return (buffer[byteOffset + OFFSET_LOW_BYTE] & 0xFF) | ((buffer[byteOffset + OFFSET_HIGH_BYTE] & 0xFF) << 8);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putInt(final int value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		buffer[byteOffset + OFFSET_LOW_BYTE] = (byte) value;
+		buffer[byteOffset + OFFSET_HIGH_BYTE] = (byte) (value >> 8);
+	}
 }
@@ -0,0 +1,136 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.serializer.converter;
+
+import java.math.BigInteger;
+
+import com.github.s7connector.api.S7PrimitiveSerializable;
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * Base converter for the signed and unsigned integer types with 1, 2, 4 or
+ * 8 bytes
+ *
+ * Maps to int and long fields without boxing and to {@link Byte},
+ * {@link Short}, {@link Integer}, {@link Long} and {@link BigInteger}
+ * (unsigned 64 bit values).
+ */
+public abstract class IntegralConverter implements S7PrimitiveSerializable.OfInt, S7PrimitiveSerializable.OfLong {
+
+	private static final BigInteger UNSIGNED_64 = BigInteger.ONE.shiftLeft(64);
+
+	private final S7Type s7type;
+
+	private final int size;
+
+	private final boolean signed;
+
+	/**
+	 * @param s7type
+	 *            the S7 type
+	 * @param size
+	 *            the size in bytes
+	 * @param signed
+	 *            true for signed types
+	 */
+	protected IntegralConverter(final S7Type s7type, final int size, final boolean signed) {
+		this.s7type = s7type;
+		this.size = size;
+		this.signed = signed;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		final long value = this.getLong(buffer, byteOffset, bitOffset);
+
+		if (targetClass == Integer.class) {
+			return targetClass.cast((int) value);
+		} else if (targetClass == Short.class) {
+			return targetClass.cast((short) value);
+		} else if (targetClass == Byte.class) {
+			return targetClass.cast((byte) value);
+		} else if (targetClass == BigInteger.class) {
+			final BigInteger i = BigInteger.valueOf(value);
+			return targetClass.cast(((value < 0) && !this.signed) ? i.add(UNSIGNED_64) : i);
+		}
+
+		return targetClass.cast(value);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getInt(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return (int) this.getLong(buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getLong(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		long value = 0;
+		for (int i = 0; i < this.size; i++) {
+			value = (value << 8) | (buffer[byteOffset + i] & 0xFF);
+		}
+		if (this.signed && (this.size < 8)) {
+			final int shift = 64 - (this.size * 8);
+			value = (value << shift) >> shift;
+		}
+		return value;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7Type getS7Type() {
+		return this.s7type;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBits() {
+		return 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBytes() {
+		return this.size;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
+			final int size) {
+		this.putLong(((Number) javaType).longValue(), buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putInt(final int value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		// int values of unsigned types are not sign extended
+		this.putLong(this.signed ? value : (value & 0xFFFFFFFFL), buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putLong(final long value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		long v = value;
+		for (int i = this.size - 1; i >= 0; i--) {
+			buffer[byteOffset + i] = (byte) v;
+			v >>= 8;
+		}
+	}
+
+}
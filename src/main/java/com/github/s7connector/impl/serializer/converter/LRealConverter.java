@@ -0,0 +1,86 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.serializer.converter;
+
+import com.github.s7connector.api.S7PrimitiveSerializable;
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * Converter for the LREAL type (64 bit IEEE 754)
+ *
+ * Maps to double fields without boxing and to {@link Double} and
+ * {@link Float}
+ */
+public final class LRealConverter implements S7PrimitiveSerializable.OfDouble {
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		final double value = this.getDouble(buffer, byteOffset, bitOffset);
+
+		if (targetClass == Float.class) {
+			return targetClass.cast((float) value);
+		}
+
+		return targetClass.cast(value);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public double getDouble(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		long bits = 0;
+		for (int i = 0; i < 8; i++) {
+			bits = (bits << 8) | (buffer[byteOffset + i] & 0xFF);
+		}
+		return Double.longBitsToDouble(bits);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7Type getS7Type() {
+		return S7Type.LREAL;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBits() {
+		return 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBytes() {
+		return 8;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
+			final int size) {
+		this.putDouble(((Number) javaType).doubleValue(), buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putDouble(final double value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		long bits = Double.doubleToLongBits(value);
+		for (int i = 7; i >= 0; i--) {
+			buffer[byteOffset + i] = (byte) bits;
+			bits >>= 8;
+		}
+	}
+
+}
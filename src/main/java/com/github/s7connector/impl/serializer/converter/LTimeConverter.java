@@ -0,0 +1,90 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.serializer.converter;
+
+import java.time.Duration;
+
+import com.github.s7connector.api.S7PrimitiveSerializable;
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * Converter for the LTIME type (signed nanoseconds)
+ *
+ * Maps to long fields (nanoseconds) without boxing and to {@link Duration}
+ * and {@link Long}
+ */
+public final class LTimeConverter implements S7PrimitiveSerializable.OfLong {
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		final long nanos = this.getLong(buffer, byteOffset, bitOffset);
+
+		if (targetClass == Duration.class) {
+			return targetClass.cast(Duration.ofNanos(nanos));
+		}
+
+		return targetClass.cast(nanos);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getLong(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		long value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = (value << 8) | (buffer[byteOffset + i] & 0xFF);
+		}
+		return value;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7Type getS7Type() {
+		return S7Type.LTIME;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBits() {
+		return 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBytes() {
+		return 8;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
+			final int size) {
+		final long nanos = (javaType instanceof Duration) ? ((Duration) javaType).toNanos()
+				: ((Number) javaType).longValue();
+		this.putLong(nanos, buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putLong(final long value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		long v = value;
+		for (int i = 7; i >= 0; i--) {
+			buffer[byteOffset + i] = (byte) v;
+			v >>= 8;
+		}
+	}
+
+}
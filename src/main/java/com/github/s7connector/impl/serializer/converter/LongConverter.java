@@ -15,10 +15,10 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.converter;
 
-import com.github.s7connector.api.S7Serializable;
+import com.github.s7connector.api.S7PrimitiveSerializable;
 import com.github.s7connector.impl.utils.S7Type;
 
-public final class LongConverter implements S7Serializable {
+public final class LongConverter implements S7PrimitiveSerializable.OfInt, S7PrimitiveSerializable.OfLong {
 
 	/** {@inheritDoc} */
 	@Override
@@ -40,7 +40,7 @@ public final class LongConverter implements S7Serializable {
 	/** {@inheritDoc} */
 	@Override
 	public S7Type getS7Type() {
-		return S7Type.WORD;
+		return S7Type.DINT;
 	}
 
 	/** {@inheritDoc} */
@@ -70,4 +70,31 @@ public final class LongConverter implements S7Serializable {
 		buffer[byteOffset + 3] = b4;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public int getInt(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return ((buffer[byteOffset + 0] & 0xFF) << 24) | ((buffer[byteOffset + 1] & 0xFF) << 16)
+				| ((buffer[byteOffset + 2] & 0xFF) << 8) | (buffer[byteOffset + 3] & 0xFF);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putInt(final int value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		buffer[byteOffset + 0] = (byte) (value >> 24);
+		buffer[byteOffset + 1] = (byte) (value >> 16);
+		buffer[byteOffset + 2] = (byte) (value >> 8);
+		buffer[byteOffset + 3] = (byte) value;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getLong(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return this.getInt(buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putLong(final long value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		this.putInt((int) value, buffer, byteOffset, bitOffset);
+	}
 }
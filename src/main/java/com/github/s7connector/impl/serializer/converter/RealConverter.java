@@ -15,10 +15,10 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.converter;
 
-import com.github.s7connector.api.S7Serializable;
+import com.github.s7connector.api.S7PrimitiveSerializable;
 import com.github.s7connector.impl.utils.S7Type;
 
-public final class RealConverter implements S7Serializable {
+public final class RealConverter implements S7PrimitiveSerializable.OfFloat {
 
 	private static final int OFFSET_POS1 = 0;
 	private static final int OFFSET_POS2 = 1;
@@ -75,4 +75,22 @@ public final class RealConverter implements S7Serializable {
 		buffer[byteOffset + OFFSET_POS1] = (byte) ((iValue >> 24) & 0xFF);
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public float getFloat(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return Float.intBitsToFloat(((buffer[byteOffset + OFFSET_POS4] & 0xFF) << 0)
+				| ((buffer[byteOffset + OFFSET_POS3] & 0xFF) << 8) | ((buffer[byteOffset + OFFSET_POS2] & 0xFF) << 16)
+				| ((buffer[byteOffset + OFFSET_POS1] & 0xFF) << 24));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putFloat(final float value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		final int iValue = Float.floatToIntBits(value);
+
+		buffer[byteOffset + OFFSET_POS4] = (byte) ((iValue >> 0) & 0xFF);
+		buffer[byteOffset + OFFSET_POS3] = (byte) ((iValue >> 8) & 0xFF);
+		buffer[byteOffset + OFFSET_POS2] = (byte) ((iValue >> 16) & 0xFF);
+		buffer[byteOffset + OFFSET_POS1] = (byte) ((iValue >> 24) & 0xFF);
+	}
 }
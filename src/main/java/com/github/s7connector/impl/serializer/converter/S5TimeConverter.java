@@ -0,0 +1,112 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.serializer.converter;
+
+import java.time.Duration;
+
+import com.github.s7connector.api.S7PrimitiveSerializable;
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * Converter for the S5TIME type
+ *
+ * Three BCD digits with a time base of 10ms, 100ms, 1s or 10s. Maps to int
+ * and long fields (milliseconds) without boxing and to {@link Duration},
+ * {@link Integer} and {@link Long}. Inserted values are rounded down to the
+ * finest time base which can hold them.
+ */
+public final class S5TimeConverter implements S7PrimitiveSerializable.OfInt, S7PrimitiveSerializable.OfLong {
+
+	/** The time bases in milliseconds. */
+	private static final int[] TIME_BASES = { 10, 100, 1000, 10000 };
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		final int millis = this.getInt(buffer, byteOffset, bitOffset);
+
+		if (targetClass == Duration.class) {
+			return targetClass.cast(Duration.ofMillis(millis));
+		} else if (targetClass == Integer.class) {
+			return targetClass.cast(millis);
+		}
+
+		return targetClass.cast((long) millis);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getInt(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		final int base = TIME_BASES[(buffer[byteOffset] >> 4) & 0x03];
+		final int value = ((buffer[byteOffset] & 0x0F) * 100) + (((buffer[byteOffset + 1] >> 4) & 0x0F) * 10)
+				+ (buffer[byteOffset + 1] & 0x0F);
+		return value * base;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getLong(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return this.getInt(buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7Type getS7Type() {
+		return S7Type.S5TIME;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBits() {
+		return 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBytes() {
+		return 2;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
+			final int size) {
+		final long millis = (javaType instanceof Duration) ? ((Duration) javaType).toMillis()
+				: ((Number) javaType).longValue();
+		this.putLong(millis, buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putInt(final int value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		this.putLong(value, buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putLong(final long value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		for (int i = 0; i < TIME_BASES.length; i++) {
+			final long units = value / TIME_BASES[i];
+			if ((value >= 0) && (units <= 999)) {
+				buffer[byteOffset] = (byte) ((i << 4) | (units / 100));
+				buffer[byteOffset + 1] = (byte) ((((units / 10) % 10) << 4) | (units % 10));
+				return;
+			}
+		}
+		throw new IllegalArgumentException("S5TIME out of range (0 - 9990s): " + value + "ms");
+	}
+
+}
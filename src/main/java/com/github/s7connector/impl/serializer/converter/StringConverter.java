@@ -15,21 +15,130 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.converter;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
 import com.github.s7connector.api.S7Serializable;
 import com.github.s7connector.impl.utils.S7Type;
 
+/**
+ * Converter for the STRING type
+ *
+ * The characters are encoded with an explicit charset, ISO-8859-1 by
+ * default. Repeated short values can be served from a cache instead of
+ * decoding them again. Other charsets or a cache are configured by
+ * registering a factory in the
+ * {@link com.github.s7connector.api.S7ConverterRegistry}, each serializer
+ * then has its own cache.
+ */
 public final class StringConverter implements S7Serializable {
 
+	/**
+	 * Cached value with its encoded bytes
+	 */
+	private static final class CacheEntry {
+		final byte[] bytes;
+		final String value;
+
+		CacheEntry(final byte[] bytes, final String value) {
+			this.bytes = bytes;
+			this.value = value;
+		}
+	}
+
 	private static final int OFFSET_CURRENT_LENGTH = 1;
 	private static final int OFFSET_OVERALL_LENGTH = 0;
 	private static final int OFFSET_START = 2;
 
+	/** Longest value in bytes which is cached. */
+	private static final int MAX_CACHED_LENGTH = 32;
+
+	/** The charset. */
+	private final Charset charset;
+
+	/** Maximum code point of a single byte charset, 0 for others. */
+	private final int maxSingleByte;
+
+	/** The direct mapped cache, null if disabled. */
+	private final CacheEntry[] cache;
+
+	/**
+	 * Instantiates a converter with ISO-8859-1 and without cache
+	 */
+	public StringConverter() {
+		this(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Instantiates a converter without cache
+	 *
+	 * @param charset
+	 *            the charset
+	 */
+	public StringConverter(final Charset charset) {
+		this(charset, 0);
+	}
+
+	/**
+	 * Instantiates a converter
+	 *
+	 * @param charset
+	 *            the charset
+	 * @param cacheSize
+	 *            the number of cached values (rounded up to a power of two),
+	 *            0 to disable the cache
+	 */
+	public StringConverter(final Charset charset, final int cacheSize) {
+		this.charset = charset;
+		if (StandardCharsets.ISO_8859_1.equals(charset)) {
+			this.maxSingleByte = 0xFF;
+		} else if (StandardCharsets.US_ASCII.equals(charset)) {
+			this.maxSingleByte = 0x7F;
+		} else {
+			this.maxSingleByte = 0;
+		}
+		this.cache = (cacheSize > 0) ? new CacheEntry[Integer.highestOneBit((cacheSize * 2) - 1)] : null;
+	}
+
+	/**
+	 * @return the charset
+	 */
+	public Charset getCharset() {
+		return this.charset;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) {
-		final int len = buffer[byteOffset + OFFSET_CURRENT_LENGTH] & 0xFF;
+		final int len = Math.min(buffer[byteOffset + OFFSET_CURRENT_LENGTH] & 0xFF,
+				buffer.length - byteOffset - OFFSET_START);
+		final int start = byteOffset + OFFSET_START;
 
-		return targetClass.cast(new String(buffer, byteOffset + OFFSET_START, len));
+		if ((this.cache == null) || (len > MAX_CACHED_LENGTH)) {
+			return targetClass.cast(this.decode(buffer, start, len));
+		}
+
+		int hash = len;
+		for (int i = start; i < (start + len); i++) {
+			hash = (31 * hash) + buffer[i];
+		}
+		final int slot = (hash ^ (hash >>> 16)) & (this.cache.length - 1);
+
+		final CacheEntry entry = this.cache[slot];
+		if ((entry != null) && equals(entry.bytes, buffer, start, len)) {
+			return targetClass.cast(entry.value);
+		}
+
+		final byte[] bytes = new byte[len];
+		System.arraycopy(buffer, start, bytes, 0, len);
+		final String value = this.decode(bytes, 0, len);
+		this.cache[slot] = new CacheEntry(bytes, value);
+		return targetClass.cast(value);
 	}
 
 	/** {@inheritDoc} */
@@ -52,23 +161,58 @@ public final class StringConverter implements S7Serializable {
 		return 2; // 2 bytes overhead
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBytes(final int size) {
+		return OFFSET_START + size;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
 			final int size) {
 		final String value = (String) javaType;
-
-		final int len = value.length();
-
-		if (len > size) {
-			throw new IllegalArgumentException("String to big: " + len);
+		final int start = byteOffset + OFFSET_START;
+
+		int len;
+		if (this.maxSingleByte > 0) {
+			len = value.length();
+			if (len > size) {
+				throw new IllegalArgumentException("String to big: " + len);
+			}
+			for (int i = 0; i < len; i++) {
+				final char c = value.charAt(i);
+				buffer[start + i] = (byte) ((c <= this.maxSingleByte) ? c : '?');
+			}
+		} else {
+			final CharsetEncoder encoder = this.charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			final ByteBuffer target = ByteBuffer.wrap(buffer, start, Math.min(size, buffer.length - start));
+			final CoderResult result = encoder.encode(CharBuffer.wrap(value), target, true);
+			if (result.isOverflow() || encoder.flush(target).isOverflow()) {
+				throw new IllegalArgumentException("String to big: " + value.length());
+			}
+			len = target.position() - start;
 		}
 
 		buffer[byteOffset + OFFSET_OVERALL_LENGTH] = (byte) size;
 		buffer[byteOffset + OFFSET_CURRENT_LENGTH] = (byte) len;
+	}
 
-		final byte[] strBytes = value.getBytes();
-		System.arraycopy(strBytes, 0, buffer, byteOffset+OFFSET_START, len);
+	private String decode(final byte[] bytes, final int offset, final int len) {
+		return new String(bytes, offset, len, this.charset);
+	}
+
+	private static boolean equals(final byte[] bytes, final byte[] buffer, final int offset, final int len) {
+		if (bytes.length != len) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			if (bytes[i] != buffer[offset + i]) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 }
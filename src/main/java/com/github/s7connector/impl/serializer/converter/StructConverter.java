@@ -18,14 +18,35 @@ package com.github.s7connector.impl.serializer.converter;
 import com.github.s7connector.api.S7Serializable;
 import com.github.s7connector.exception.S7Exception;
 import com.github.s7connector.impl.serializer.S7SerializerImpl;
+import com.github.s7connector.impl.serializer.parser.BeanParser;
 import com.github.s7connector.impl.utils.S7Type;
 
 public final class StructConverter implements S7Serializable {
 
+	/** The parser of the nested beans. */
+	private final BeanParser parser;
+
+	/**
+	 * Instantiates a converter with the shared parser
+	 */
+	public StructConverter() {
+		this(BeanParser.shared());
+	}
+
+	/**
+	 * Instantiates a converter
+	 *
+	 * @param parser
+	 *            the parser of the nested beans
+	 */
+	public StructConverter(final BeanParser parser) {
+		this.parser = parser;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) throws S7Exception {
-		return S7SerializerImpl.extractBytes(targetClass, buffer, byteOffset);
+		return S7SerializerImpl.extractBytes(this.parser, targetClass, buffer, byteOffset);
 	}
 
 	/** {@inheritDoc} */
@@ -50,7 +71,7 @@ public final class StructConverter implements S7Serializable {
 	@Override
 	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
 			final int size) throws S7Exception {
-		S7SerializerImpl.insertBytes(javaType, buffer, byteOffset);
+		S7SerializerImpl.insertBytes(this.parser, javaType, buffer, byteOffset);
 	}
 
 }
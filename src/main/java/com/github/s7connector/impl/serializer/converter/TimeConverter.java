@@ -15,9 +15,17 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.converter;
 
+import java.time.Duration;
+
+import com.github.s7connector.api.S7PrimitiveSerializable;
 import com.github.s7connector.impl.utils.S7Type;
 
-public final class TimeConverter extends ByteConverter {
+/**
+ * Converter for the TIME type (milliseconds)
+ *
+ * Maps to {@link Long} and to a signed {@link Duration}
+ */
+public final class TimeConverter extends ByteConverter implements S7PrimitiveSerializable.OfLong {
 
 	/** {@inheritDoc} */
 	@Override
@@ -30,6 +38,10 @@ public final class TimeConverter extends ByteConverter {
 		final long l = ((long) b1 & 0xFF) << 0 | ((long) b2 & 0xFF) << 8 | ((long) b3 & 0xFF) << 16
 				| ((long) b4 & 0xFF) << 24;
 
+		if (targetClass == Duration.class) {
+			return targetClass.cast(Duration.ofMillis((int) l));
+		}
+
 		return targetClass.cast(l);
 	}
 
@@ -49,7 +61,7 @@ public final class TimeConverter extends ByteConverter {
 	@Override
 	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
 			final int size) {
-		final long l = (Long) javaType;
+		final long l = (javaType instanceof Duration) ? ((Duration) javaType).toMillis() : (Long) javaType;
 
 		final byte b1 = (byte) ((byte) (l >> 0) & 0xFF);
 		final byte b2 = (byte) ((byte) (l >> 8) & 0xFF);
@@ -62,4 +74,36 @@ public final class TimeConverter extends ByteConverter {
 		super.insert(b4, buffer, byteOffset + 0, bitOffset, 1);
 	}
 
+	/**
+	 * Extracts the signed number of milliseconds
+	 */
+	@Override
+	public int getInt(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return ((buffer[byteOffset + 0] & 0xFF) << 24) | ((buffer[byteOffset + 1] & 0xFF) << 16)
+				| ((buffer[byteOffset + 2] & 0xFF) << 8) | (buffer[byteOffset + 3] & 0xFF);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putInt(final int value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		buffer[byteOffset + 0] = (byte) (value >> 24);
+		buffer[byteOffset + 1] = (byte) (value >> 16);
+		buffer[byteOffset + 2] = (byte) (value >> 8);
+		buffer[byteOffset + 3] = (byte) value;
+	}
+
+	/**
+	 * Extracts the number of milliseconds as unsigned value, like the
+	 * {@link Long} mapping
+	 */
+	@Override
+	public long getLong(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return this.getInt(buffer, byteOffset, bitOffset) & 0xFFFFFFFFL;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putLong(final long value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		this.putInt((int) value, buffer, byteOffset, bitOffset);
+	}
 }
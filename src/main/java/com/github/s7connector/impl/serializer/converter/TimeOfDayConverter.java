@@ -0,0 +1,102 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.serializer.converter;
+
+import java.time.LocalTime;
+
+import com.github.s7connector.api.S7PrimitiveSerializable;
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * Converter for the TIME_OF_DAY type (milliseconds since midnight)
+ *
+ * Maps to int and long fields (milliseconds) without boxing and to
+ * {@link LocalTime}, {@link Integer} and {@link Long}
+ */
+public final class TimeOfDayConverter implements S7PrimitiveSerializable.OfInt, S7PrimitiveSerializable.OfLong {
+
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		final int millis = this.getInt(buffer, byteOffset, bitOffset);
+
+		if (targetClass == LocalTime.class) {
+			return targetClass.cast(LocalTime.ofNanoOfDay(millis * NANOS_PER_MILLI));
+		} else if (targetClass == Integer.class) {
+			return targetClass.cast(millis);
+		}
+
+		return targetClass.cast((long) millis);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getInt(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return ((buffer[byteOffset] & 0xFF) << 24) | ((buffer[byteOffset + 1] & 0xFF) << 16)
+				| ((buffer[byteOffset + 2] & 0xFF) << 8) | (buffer[byteOffset + 3] & 0xFF);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public long getLong(final byte[] buffer, final int byteOffset, final int bitOffset) {
+		return this.getInt(buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7Type getS7Type() {
+		return S7Type.TIME_OF_DAY;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBits() {
+		return 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBytes() {
+		return 4;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
+			final int size) {
+		final long millis = (javaType instanceof LocalTime) ? ((LocalTime) javaType).toNanoOfDay() / NANOS_PER_MILLI
+				: ((Number) javaType).longValue();
+		this.putLong(millis, buffer, byteOffset, bitOffset);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putInt(final int value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		buffer[byteOffset] = (byte) (value >> 24);
+		buffer[byteOffset + 1] = (byte) (value >> 16);
+		buffer[byteOffset + 2] = (byte) (value >> 8);
+		buffer[byteOffset + 3] = (byte) value;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void putLong(final long value, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		this.putInt((int) value, buffer, byteOffset, bitOffset);
+	}
+
+}
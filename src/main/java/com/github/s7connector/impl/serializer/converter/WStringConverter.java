@@ -0,0 +1,100 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.impl.serializer.converter;
+
+import java.nio.charset.StandardCharsets;
+
+import com.github.s7connector.api.S7Serializable;
+import com.github.s7connector.impl.utils.S7Type;
+
+/**
+ * Converter for the WSTRING type of the S7-1200/1500
+ *
+ * A word with the maximum and a word with the current length in characters
+ * are followed by the UTF-16BE characters, the size is specified in
+ * characters.
+ */
+public final class WStringConverter implements S7Serializable {
+
+	private static final int OFFSET_OVERALL_LENGTH = 0;
+	private static final int OFFSET_CURRENT_LENGTH = 2;
+	private static final int OFFSET_START = 4;
+
+	/** {@inheritDoc} */
+	@Override
+	public <T> T extract(final Class<T> targetClass, final byte[] buffer, final int byteOffset, final int bitOffset) {
+		final int max = ((buffer[byteOffset + OFFSET_OVERALL_LENGTH] & 0xFF) << 8)
+				| (buffer[byteOffset + OFFSET_OVERALL_LENGTH + 1] & 0xFF);
+		final int current = ((buffer[byteOffset + OFFSET_CURRENT_LENGTH] & 0xFF) << 8)
+				| (buffer[byteOffset + OFFSET_CURRENT_LENGTH + 1] & 0xFF);
+
+		// a current length beyond the maximum or the buffer is truncated
+		final int len = Math.min(Math.min(current, max), (buffer.length - byteOffset - OFFSET_START) / 2);
+
+		return targetClass.cast(new String(buffer, byteOffset + OFFSET_START, len * 2, StandardCharsets.UTF_16BE));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public S7Type getS7Type() {
+		return S7Type.WSTRING;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBits() {
+		return 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBytes() {
+		// Not static
+		return 4; // 4 bytes overhead
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getSizeInBytes(final int size) {
+		return OFFSET_START + (size * 2);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void insert(final Object javaType, final byte[] buffer, final int byteOffset, final int bitOffset,
+			final int size) {
+		final String value = (String) javaType;
+
+		final int len = value.length();
+
+		if ((len > size) || ((OFFSET_START + (len * 2)) > (buffer.length - byteOffset))) {
+			throw new IllegalArgumentException("String to big: " + len);
+		}
+
+		buffer[byteOffset + OFFSET_OVERALL_LENGTH] = (byte) (size >> 8);
+		buffer[byteOffset + OFFSET_OVERALL_LENGTH + 1] = (byte) size;
+		buffer[byteOffset + OFFSET_CURRENT_LENGTH] = (byte) (len >> 8);
+		buffer[byteOffset + OFFSET_CURRENT_LENGTH + 1] = (byte) len;
+
+		int pos = byteOffset + OFFSET_START;
+		for (int i = 0; i < len; i++) {
+			final char c = value.charAt(i);
+			buffer[pos++] = (byte) (c >> 8);
+			buffer[pos++] = (byte) c;
+		}
+	}
+
+}
@@ -26,6 +26,14 @@ import com.github.s7connector.impl.utils.S7Type;
  * @author Thomas Rudin
  */
 public final class BeanEntry {
+
+	/**
+	 * Primitive access path of a field or of the array components
+	 */
+	public enum Primitive {
+		NONE, BOOLEAN, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE
+	}
+
 	/**
 	 * The Array size
 	 */
@@ -36,11 +44,23 @@ public final class BeanEntry {
 	 */
 	public int byteOffset, bitOffset, size;
 
+	/**
+	 * Size of one element and distance between array elements in bytes, 0
+	 * for BOOL values
+	 */
+	public int elementSize, stride;
+
 	/**
 	 * The corresponding field
 	 */
 	public Field field;
 
+	/**
+	 * The index of the constructor parameter, if the bean is constructed
+	 * with its values
+	 */
+	public int parameterIndex = -1;
+
 	/**
 	 * Array type
 	 */
@@ -56,8 +76,55 @@ public final class BeanEntry {
 	 */
 	public S7Serializable serializer;
 
+	/**
+	 * The primitive access path, NONE for the boxed path
+	 */
+	public Primitive primitive = Primitive.NONE;
+
 	/**
 	 * The Java type
 	 */
 	public Class<?> type;
+
+	/**
+	 * Byte offset of an array element relative to the bean, BOOL arrays
+	 * continue in the next byte after bit 7
+	 * 
+	 * @param index
+	 *            the array index, 0 for plain values
+	 * @return the byte offset
+	 */
+	public int getByteOffset(final int index) {
+		if (this.s7type == S7Type.BOOL) {
+			return this.byteOffset + ((this.bitOffset + index) / 8);
+		}
+		return this.byteOffset + (index * this.stride);
+	}
+
+	/**
+	 * End of the bytes of the value relative to the bean, exclusive
+	 * 
+	 * @return the end offset
+	 */
+	public int getEndOffset() {
+		final int count = this.isArray ? this.arraySize : 1;
+		if (count <= 0) {
+			return this.byteOffset;
+		}
+		return this.getByteOffset(count - 1) + ((this.s7type == S7Type.BOOL) ? 1 : this.elementSize);
+	}
+
+	/**
+	 * Bit offset of an array element
+	 * 
+	 * @param index
+	 *            the array index, 0 for plain values
+	 * @return the bit offset
+	 */
+	public int getBitOffset(final int index) {
+		if (this.s7type == S7Type.BOOL) {
+			return (this.bitOffset + index) % 8;
+		}
+		return this.bitOffset;
+	}
 }
@@ -15,18 +15,37 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.parser;
 
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Vector;
 
 public final class BeanParseResult {
 
 	/**
-	 * The needed blocksize
+	 * The needed blocksize: the end of the last mapped byte
 	 */
 	public int blockSize;
 
+	/**
+	 * Bytes which hold BOOL values only, including nested structures
+	 */
+	public boolean[] bitBytes;
+
+	/**
+	 * The constructor taking the decoded values of records and beans with
+	 * final fields, null for beans with a no-arg constructor
+	 */
+	public Constructor<?> constructor;
+
 	/**
 	 * The Bean entries
 	 */
 	public Vector<BeanEntry> entries = new Vector<BeanEntry>();
 
+	/**
+	 * The Bean entries by field name
+	 */
+	public Map<String, BeanEntry> index = new HashMap<String, BeanEntry>();
+
 }
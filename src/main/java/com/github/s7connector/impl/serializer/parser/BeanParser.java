@@ -15,15 +15,35 @@ limitations under the License.
 */
 package com.github.s7connector.impl.serializer.parser;
 
+import java.beans.ConstructorProperties;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.s7connector.api.S7ConverterRegistry;
+import com.github.s7connector.api.S7PrimitiveSerializable;
 import com.github.s7connector.api.S7Serializable;
 import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.impl.serializer.converter.StructConverter;
+import com.github.s7connector.impl.serializer.parser.BeanEntry.Primitive;
 import com.github.s7connector.impl.utils.S7Type;
 
+/**
+ * Parses and caches the layout of bean classes. Each parser creates its own
+ * converters of a parsed class from the {@link S7ConverterRegistry}, a
+ * serializer with its own parser does not share converter state with other
+ * serializers. The static methods use a parser shared by the static
+ * serializer methods, views and columns.
+ */
 public final class BeanParser {
 
 	/**
@@ -31,6 +51,39 @@ public final class BeanParser {
 	 */
 	private static final Logger logger = LoggerFactory.getLogger(BeanParser.class);
 
+	/**
+	 * Result of matchParameters for a constructor with ambiguous parameters
+	 */
+	private static final int[] AMBIGUOUS = new int[0];
+
+	/**
+	 * The shared parser
+	 */
+	private static final BeanParser shared = new BeanParser();
+
+	/**
+	 * Parsed classes, the results are shared and must not be modified
+	 */
+	private final Map<Class<?>, BeanParseResult> cache = new ConcurrentHashMap<Class<?>, BeanParseResult>();
+
+	/**
+	 * Class.getRecordComponents() and RecordComponent.getName(), null before
+	 * Java 16
+	 */
+	private static final Method getRecordComponents, getRecordComponentName;
+
+	static {
+		Method components = null, name = null;
+		try {
+			components = Class.class.getMethod("getRecordComponents");
+			name = Class.forName("java.lang.reflect.RecordComponent").getMethod("getName");
+		} catch (final Exception e) {
+			// no records
+		}
+		getRecordComponents = components;
+		getRecordComponentName = name;
+	}
+
 	/**
 	 * Returns the wrapper for the primitive type
 	 * 
@@ -42,6 +95,8 @@ public final class BeanParser {
 			return Boolean.class;
 		} else if (primitiveType == byte.class) {
 			return Byte.class;
+		} else if (primitiveType == short.class) {
+			return Short.class;
 		} else if (primitiveType == int.class) {
 			return Integer.class;
 		} else if (primitiveType == float.class) {
@@ -57,47 +112,94 @@ public final class BeanParser {
 	}
 
 	/**
-	 * Parses a Class
+	 * Returns the most specific primitive access path of a converter for a
+	 * field type
+	 * 
+	 * @param fieldType
+	 * @param s
+	 * @return
+	 */
+	private static Primitive getPrimitive(final Class<?> fieldType, final S7Serializable s) {
+		if ((fieldType == boolean.class) && (s instanceof S7PrimitiveSerializable.OfBoolean)) {
+			return Primitive.BOOLEAN;
+		} else if ((fieldType == byte.class) && (s instanceof S7PrimitiveSerializable.OfInt)) {
+			return Primitive.BYTE;
+		} else if ((fieldType == short.class) && (s instanceof S7PrimitiveSerializable.OfInt)) {
+			return Primitive.SHORT;
+		} else if ((fieldType == int.class) && (s instanceof S7PrimitiveSerializable.OfInt)) {
+			return Primitive.INT;
+		} else if ((fieldType == long.class) && (s instanceof S7PrimitiveSerializable.OfLong)) {
+			return Primitive.LONG;
+		} else if ((fieldType == float.class) && (s instanceof S7PrimitiveSerializable.OfFloat)) {
+			return Primitive.FLOAT;
+		} else if ((fieldType == double.class) && (s instanceof S7PrimitiveSerializable.OfDouble)) {
+			return Primitive.DOUBLE;
+		} else {
+			return Primitive.NONE;
+		}
+	}
+
+	/**
+	 * @return the parser shared by the static methods
+	 */
+	public static BeanParser shared() {
+		return shared;
+	}
+
+	/**
+	 * Parses a Class with the shared parser, the result is cached per class
 	 * 
 	 * @param jclass
 	 * @return
 	 * @throws Exception
 	 */
 	public static BeanParseResult parse(final Class<?> jclass) throws Exception {
+		return shared.parseClass(jclass);
+	}
+
+	/**
+	 * Parses a Class, the result is cached per class
+	 * 
+	 * @param jclass
+	 * @return
+	 * @throws Exception
+	 */
+	public BeanParseResult parseClass(final Class<?> jclass) throws Exception {
+		final BeanParseResult cached = this.cache.get(jclass);
+		if (cached != null) {
+			return cached;
+		}
+
+		final BeanParseResult res = this.doParse(jclass);
+		final BeanParseResult previous = this.cache.putIfAbsent(jclass, res);
+		return (previous != null) ? previous : res;
+	}
+
+	/**
+	 * Parses a Class without cache
+	 * 
+	 * @param jclass
+	 * @return
+	 * @throws Exception
+	 */
+	private BeanParseResult doParse(final Class<?> jclass) throws Exception {
 		final BeanParseResult res = new BeanParseResult();
-		logger.trace("Parsing: " + jclass.getName());
+		logger.trace("Parsing: {}", jclass.getName());
 
-		for (final Field field : jclass.getFields()) {
+		// one converter per type and class, STRUCTs are parsed by this parser
+		final Map<S7Type, S7Serializable> converters = new EnumMap<S7Type, S7Serializable>(S7Type.class);
+
+		final Field[] recordFields = getRecordFields(jclass);
+		for (final Field field : (recordFields != null) ? recordFields : jclass.getFields()) {
 			final S7Variable dataAnnotation = field.getAnnotation(S7Variable.class);
 
 			if (dataAnnotation != null) {
-				logger.trace("Parsing field: " + field.getName());
-				logger.trace("		type: " + dataAnnotation.type());
-				logger.trace("		byteOffset: " + dataAnnotation.byteOffset());
-				logger.trace("		bitOffset: " + dataAnnotation.bitOffset());
-				logger.trace("		size: " + dataAnnotation.size());
-				logger.trace("		arraySize: " + dataAnnotation.arraySize());
-
-				final int offset = dataAnnotation.byteOffset();
-
-				// update max offset
-				if (offset > res.blockSize) {
-					res.blockSize = offset;
-				}
-
-				if (dataAnnotation.type() == S7Type.STRUCT) {
-					// recurse
-					logger.trace("Recursing...");
-					final BeanParseResult subResult = parse(field.getType());
-					res.blockSize += subResult.blockSize;
-					logger.trace("	New blocksize: " + res.blockSize);
+				if (logger.isTraceEnabled()) {
+					logger.trace("Parsing field: {} type: {} byteOffset: {} bitOffset: {} size: {} arraySize: {}",
+							field.getName(), dataAnnotation.type(), dataAnnotation.byteOffset(),
+							dataAnnotation.bitOffset(), dataAnnotation.size(), dataAnnotation.arraySize());
 				}
 
-				logger.trace("	New blocksize (+offset): " + res.blockSize);
-
-				// Add dynamic size
-				res.blockSize += dataAnnotation.size();
-
 				// Plain element
 				final BeanEntry entry = new BeanEntry();
 				entry.byteOffset = dataAnnotation.byteOffset();
@@ -113,36 +215,299 @@ public final class BeanParser {
 					entry.type = getWrapperForPrimitiveType(entry.type.getComponentType());
 				}
 
-				// Create new serializer
-				final S7Serializable s = entry.s7type.getSerializer().newInstance();
+				S7Serializable s = converters.get(entry.s7type);
+				if (s == null) {
+					s = (entry.s7type == S7Type.STRUCT) ? new StructConverter(this)
+							: S7ConverterRegistry.create(entry.s7type);
+					converters.put(entry.s7type, s);
+				}
 				entry.serializer = s;
+				entry.primitive = getPrimitive(
+						entry.isArray ? field.getType().getComponentType() : field.getType(), s);
+
+				if (entry.s7type == S7Type.STRUCT) {
+					// recurse
+					logger.trace("Recursing...");
+					entry.elementSize = this.parseClass(entry.type).blockSize;
+				} else {
+					entry.elementSize = s.getSizeInBytes(entry.size);
+				}
 
-				res.blockSize += (s.getSizeInBytes() * dataAnnotation.arraySize());
-				logger.trace("	New blocksize (+array): " + res.blockSize);
+				// array elements of structures and strings start at even addresses
+				entry.stride = entry.elementSize;
+				if (entry.isArray && ((entry.s7type == S7Type.STRUCT) || (entry.s7type == S7Type.STRING))) {
+					entry.stride += entry.stride % 2;
+				}
+
+				res.entries.add(entry);
+			}
+		}
+
+		this.computeLayout(jclass, res);
+		findConstructor(jclass, res, recordFields);
+
+		if (logger.isTraceEnabled()) {
+			logger.trace("Parsing done, overall size: {}", res.blockSize);
+		}
+
+		return res;
+	}
+
+	/**
+	 * Returns the fields of the record components in declaration order
+	 * 
+	 * @param jclass
+	 * @return the fields, null if the class is no record
+	 * @throws Exception
+	 */
+	private static Field[] getRecordFields(final Class<?> jclass) throws Exception {
+		if (getRecordComponents == null) {
+			return null;
+		}
+		final Object[] components = (Object[]) getRecordComponents.invoke(jclass);
+		if (components == null) {
+			return null;
+		}
+
+		final Field[] fields = new Field[components.length];
+		for (int i = 0; i < components.length; i++) {
+			fields[i] = jclass.getDeclaredField((String) getRecordComponentName.invoke(components[i]));
+			fields[i].setAccessible(true);
+		}
+		return fields;
+	}
 
-				if (s.getSizeInBits() > 0) {
-					boolean offsetOfBitAlreadyKnown = false;
-					for (final BeanEntry parsedEntry : res.entries) {
-						if (parsedEntry.byteOffset == entry.byteOffset) {
-							offsetOfBitAlreadyKnown = true;
+	/**
+	 * Finds the constructor of records and of beans with final fields only,
+	 * which is called with the decoded values instead of setting the fields.
+	 * The canonical constructor is used for records. The parameters of other
+	 * beans are matched to the annotated fields by
+	 * {@link ConstructorProperties}, by the parameter names (compiled with
+	 * -parameters) or, without names, by their distinct types. Constructors
+	 * with ambiguous parameters are skipped, an error is reported if no
+	 * constructor or several constructors match.
+	 * 
+	 * @param jclass
+	 * @param res
+	 * @param recordFields
+	 *            the record component fields, null for other beans
+	 * @throws Exception
+	 */
+	private static void findConstructor(final Class<?> jclass, final BeanParseResult res, final Field[] recordFields)
+			throws Exception {
+		if (recordFields != null) {
+			final Class<?>[] parameterTypes = new Class<?>[recordFields.length];
+			for (int i = 0; i < recordFields.length; i++) {
+				parameterTypes[i] = recordFields[i].getType();
+			}
+			final Constructor<?> constructor = jclass.getDeclaredConstructor(parameterTypes);
+			constructor.setAccessible(true);
+
+			for (final BeanEntry entry : res.entries) {
+				entry.parameterIndex = Arrays.asList(recordFields).indexOf(entry.field);
+			}
+			res.constructor = constructor;
+			return;
+		}
+
+		if (res.entries.isEmpty()) {
+			return;
+		}
+		for (final BeanEntry entry : res.entries) {
+			if (!Modifier.isFinal(entry.field.getModifiers())) {
+				return;
+			}
+		}
+
+		Constructor<?> constructor = null;
+		int[] indexes = null;
+		Constructor<?> ambiguous = null;
+		for (final Constructor<?> candidate : jclass.getDeclaredConstructors()) {
+			if (candidate.getParameterTypes().length != res.entries.size()) {
+				continue;
+			}
+			final int[] match = matchParameters(candidate, res);
+			if (match == null) {
+				continue;
+			}
+			if (match == AMBIGUOUS) {
+				// another constructor may match uniquely
+				ambiguous = candidate;
+				continue;
+			}
+			if (constructor != null) {
+				throw new IllegalArgumentException("Ambiguous constructors " + constructor + " and " + candidate
+						+ " for the final fields of " + jclass.getName());
+			}
+			constructor = candidate;
+			indexes = match;
+		}
+
+		if ((constructor == null) && (ambiguous != null)) {
+			throw new IllegalArgumentException("Ambiguous parameters of " + ambiguous + " for the final fields of "
+					+ jclass.getName() + ", use @ConstructorProperties or compile with -parameters");
+		}
+		if (constructor == null) {
+			final String[] names = new String[res.entries.size()];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = res.entries.get(i).field.getName();
+			}
+			throw new IllegalArgumentException("No constructor of " + jclass.getName() + " for the final fields "
+					+ Arrays.toString(names));
+		}
+		constructor.setAccessible(true);
+
+		for (int i = 0; i < indexes.length; i++) {
+			res.entries.get(i).parameterIndex = indexes[i];
+		}
+		res.constructor = constructor;
+	}
+
+	/**
+	 * Matches the parameters of a constructor to the annotated fields
+	 * 
+	 * @param constructor
+	 * @param res
+	 * @return the parameter index per entry, null if the constructor does not
+	 *         take the fields, {@link #AMBIGUOUS} if a field matches several
+	 *         parameters
+	 */
+	private static int[] matchParameters(final Constructor<?> constructor, final BeanParseResult res) {
+		final Class<?>[] types = constructor.getParameterTypes();
+		final String[] names = getParameterNames(constructor);
+		final int[] indexes = new int[res.entries.size()];
+		final boolean[] taken = new boolean[types.length];
+
+		for (int i = 0; i < indexes.length; i++) {
+			final Field field = res.entries.get(i).field;
+			int index = -1;
+			for (int p = 0; p < types.length; p++) {
+				if ((types[p] != field.getType()) || ((names != null) && !names[p].equals(field.getName()))) {
+					continue;
+				}
+				if (index != -1) {
+					return AMBIGUOUS;
+				}
+				index = p;
+			}
+			if ((index == -1) || taken[index]) {
+				return null;
+			}
+			taken[index] = true;
+			indexes[i] = index;
+		}
+		return indexes;
+	}
+
+	/**
+	 * Returns the parameter names of {@link ConstructorProperties} or of the
+	 * class file
+	 * 
+	 * @param constructor
+	 * @return the names, null if unknown
+	 */
+	private static String[] getParameterNames(final Constructor<?> constructor) {
+		final ConstructorProperties properties = constructor.getAnnotation(ConstructorProperties.class);
+		if (properties != null) {
+			if (properties.value().length != constructor.getParameterTypes().length) {
+				throw new IllegalArgumentException("@ConstructorProperties of " + constructor
+						+ " does not name all parameters");
+			}
+			return properties.value();
+		}
+
+		final Parameter[] parameters = constructor.getParameters();
+		if ((parameters.length == 0) || !parameters[0].isNamePresent()) {
+			return null;
+		}
+		final String[] names = new String[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			names[i] = parameters[i].getName();
+		}
+		return names;
+	}
+
+	/**
+	 * Computes the exact block size and the bytes holding BOOL values only,
+	 * overlapping fields are reported
+	 * 
+	 * @param jclass
+	 * @param res
+	 * @throws Exception
+	 */
+	private void computeLayout(final Class<?> jclass, final BeanParseResult res) throws Exception {
+		for (final BeanEntry entry : res.entries) {
+			res.blockSize = Math.max(res.blockSize, entry.getEndOffset());
+			res.index.put(entry.field.getName(), entry);
+		}
+
+		// owner of each byte and of each bit of BOOL values
+		final BeanEntry[] owners = new BeanEntry[res.blockSize];
+		final BeanEntry[][] bitOwners = new BeanEntry[res.blockSize][];
+		final boolean[] bitBytes = new boolean[res.blockSize];
+
+		for (final BeanEntry entry : res.entries) {
+			final int count = entry.isArray ? entry.arraySize : 1;
+			final boolean[] structBitBytes = (entry.s7type == S7Type.STRUCT) ? this.parseClass(entry.type).bitBytes
+					: null;
+
+			for (int i = 0; i < count; i++) {
+				final int offset = entry.getByteOffset(i);
+				if (entry.s7type == S7Type.BOOL) {
+					final int bit = entry.getBitOffset(i);
+					if (bitOwners[offset] == null) {
+						bitOwners[offset] = new BeanEntry[8];
+					}
+					if ((owners[offset] != null) || (bitOwners[offset][bit] != null)) {
+						warnOverlap(jclass, entry, (owners[offset] != null) ? owners[offset] : bitOwners[offset][bit]);
+					}
+					bitOwners[offset][bit] = entry;
+					bitBytes[offset] = true;
+				} else {
+					boolean warned = false;
+					for (int b = offset; b < (offset + entry.elementSize); b++) {
+						if (!warned && ((owners[b] != null) || (bitOwners[b] != null))) {
+							warned = warnOverlap(jclass, entry,
+									(owners[b] != null) ? owners[b] : firstOwner(bitOwners[b]));
 						}
+						owners[b] = entry;
 					}
-					if (!offsetOfBitAlreadyKnown) {
-						res.blockSize++;
+					if (structBitBytes != null) {
+						System.arraycopy(structBitBytes, 0, bitBytes, offset, structBitBytes.length);
 					}
 				}
+			}
+		}
 
-				res.entries.add(entry);
+		// bytes shared with other values are no BOOL-only bytes
+		for (int b = 0; b < bitBytes.length; b++) {
+			if ((owners[b] != null) && (owners[b].s7type != S7Type.STRUCT)) {
+				bitBytes[b] = false;
 			}
 		}
+		res.bitBytes = bitBytes;
+	}
 
-		logger.trace("Parsing done, overall size: " + res.blockSize);
+	private static BeanEntry firstOwner(final BeanEntry[] owners) {
+		for (final BeanEntry owner : owners) {
+			if (owner != null) {
+				return owner;
+			}
+		}
+		return null;
+	}
 
-		return res;
+	private static boolean warnOverlap(final Class<?> jclass, final BeanEntry entry, final BeanEntry other) {
+		if (other == entry) {
+			return false;
+		}
+		logger.warn("Overlapping fields in {}: {} and {}", jclass.getName(), other.field.getName(),
+				entry.field.getName());
+		return true;
 	}
 
 	/**
-	 * Parses an Object
+	 * Parses an Object with the shared parser
 	 * 
 	 * @param obj
 	 * @return
@@ -152,4 +517,15 @@ public final class BeanParser {
 		return parse(obj.getClass());
 	}
 
+	/**
+	 * Parses an Object
+	 * 
+	 * @param obj
+	 * @return
+	 * @throws Exception
+	 */
+	public BeanParseResult parseClass(final Object obj) throws Exception {
+		return this.parseClass(obj.getClass());
+	}
+
 }
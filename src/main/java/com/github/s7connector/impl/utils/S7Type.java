@@ -20,12 +20,27 @@ import com.github.s7connector.impl.serializer.converter.BitConverter;
 import com.github.s7connector.impl.serializer.converter.ByteConverter;
 import com.github.s7connector.impl.serializer.converter.DateAndTimeConverter;
 import com.github.s7connector.impl.serializer.converter.DateConverter;
+import com.github.s7connector.impl.serializer.converter.DWordConverter;
+import com.github.s7connector.impl.serializer.converter.DtlConverter;
+import com.github.s7connector.impl.serializer.converter.IntConverter;
 import com.github.s7connector.impl.serializer.converter.IntegerConverter;
+import com.github.s7connector.impl.serializer.converter.LIntConverter;
+import com.github.s7connector.impl.serializer.converter.LRealConverter;
+import com.github.s7connector.impl.serializer.converter.LTimeConverter;
+import com.github.s7connector.impl.serializer.converter.LWordConverter;
 import com.github.s7connector.impl.serializer.converter.LongConverter;
 import com.github.s7connector.impl.serializer.converter.RealConverter;
+import com.github.s7connector.impl.serializer.converter.S5TimeConverter;
+import com.github.s7connector.impl.serializer.converter.SIntConverter;
 import com.github.s7connector.impl.serializer.converter.StringConverter;
 import com.github.s7connector.impl.serializer.converter.StructConverter;
 import com.github.s7connector.impl.serializer.converter.TimeConverter;
+import com.github.s7connector.impl.serializer.converter.TimeOfDayConverter;
+import com.github.s7connector.impl.serializer.converter.UDIntConverter;
+import com.github.s7connector.impl.serializer.converter.UIntConverter;
+import com.github.s7connector.impl.serializer.converter.ULIntConverter;
+import com.github.s7connector.impl.serializer.converter.USIntConverter;
+import com.github.s7connector.impl.serializer.converter.WStringConverter;
 
 /**
  * Type of the Address
@@ -54,9 +69,9 @@ public enum S7Type {
 	DATE_AND_TIME(DateAndTimeConverter.class, 8, 0),
 
 	/**
-	 * Double word
+	 * Double word, unsigned
 	 */
-	DWORD(LongConverter.class, 4, 0),
+	DWORD(DWordConverter.class, 4, 0),
 
 	/**
 	 * Real-type, corresponds to float or double
@@ -68,6 +83,12 @@ public enum S7Type {
 	 */
 	STRING(StringConverter.class, 2, 0),
 
+	/**
+	 * Wide string type (S7-1200/1500), UTF-16, size in characters must be
+	 * specified manually
+	 */
+	WSTRING(WStringConverter.class, 4, 0),
+
 	/**
 	 * Structure type
 	 */
@@ -84,9 +105,75 @@ public enum S7Type {
 	WORD(IntegerConverter.class, 2, 0),
 
 	/**
-	 * A DINT-type (same as DWORD-type)
+	 * Signed 32 bit integer
+	 */
+	DINT(LongConverter.class, 4, 0),
+
+	/**
+	 * Signed 8 bit integer
+	 */
+	SINT(SIntConverter.class, 1, 0),
+
+	/**
+	 * Unsigned 8 bit integer
+	 */
+	USINT(USIntConverter.class, 1, 0),
+
+	/**
+	 * Signed 16 bit integer
+	 */
+	INT(IntConverter.class, 2, 0),
+
+	/**
+	 * Unsigned 16 bit integer
+	 */
+	UINT(UIntConverter.class, 2, 0),
+
+	/**
+	 * Unsigned 32 bit integer
+	 */
+	UDINT(UDIntConverter.class, 4, 0),
+
+	/**
+	 * Signed 64 bit integer (S7-1500)
+	 */
+	LINT(LIntConverter.class, 8, 0),
+
+	/**
+	 * Unsigned 64 bit integer (S7-1500)
+	 */
+	ULINT(ULIntConverter.class, 8, 0),
+
+	/**
+	 * 64 bit bit string (S7-1500)
+	 */
+	LWORD(LWordConverter.class, 8, 0),
+
+	/**
+	 * Real-type with 64 bit, corresponds to double (S7-1200/1500)
+	 */
+	LREAL(LRealConverter.class, 8, 0),
+
+	/**
+	 * S5 time with 3 BCD digits and a time base, number of millis
+	 */
+	S5TIME(S5TimeConverter.class, 2, 0),
+
+	/**
+	 * Time of day, 4 bytes in length, number of millis since midnight
+	 */
+	TIME_OF_DAY(TimeOfDayConverter.class, 4, 0),
+
+	/**
+	 * Time-type with 64 bit, number of nanos (S7-1500)
+	 */
+	LTIME(LTimeConverter.class, 8, 0),
+
+	/**
+	 * Date and time with 12 bytes and a precision in nanoseconds
+	 * (S7-1200/1500)
 	 */
-	DINT(LongConverter.class, 2, 0);
+	DTL(DtlConverter.class, 12, 0);
 
 	private int byteSize, bitSize;
 
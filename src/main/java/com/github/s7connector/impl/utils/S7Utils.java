@@ -15,6 +15,13 @@ limitations under the License.
 */
 package com.github.s7connector.impl.utils;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.TimeZone;
+
 /**
  * S7-Utility class
  *
@@ -22,6 +29,262 @@ package com.github.s7connector.impl.utils;
  *
  */
 public final class S7Utils {
+
+	/**
+	 * Days from 0000-03-01 to 1970-01-01
+	 */
+	private static final long DAYS_0000_TO_1970 = 719468;
+
+	/**
+	 * Days per 400 years
+	 */
+	private static final long DAYS_PER_ERA = 146097;
+
+	/**
+	 * The offset of the default time zone between two transitions, immutable
+	 */
+	private static final class OffsetWindow {
+		final String zoneId;
+
+		final ZoneRules rules;
+
+		/** The epoch seconds of the window, start inclusive, end exclusive */
+		final long start, end;
+
+		/** The local seconds mapping to exactly one instant of the window */
+		final long localStart, localEnd;
+
+		final int offset;
+
+		OffsetWindow(final String zoneId, final ZoneRules rules, final long epochSecond) {
+			this.zoneId = zoneId;
+			this.rules = rules;
+
+			final Instant instant = Instant.ofEpochSecond(epochSecond);
+			this.offset = rules.getOffset(instant).getTotalSeconds();
+			if (rules.isFixedOffset()) {
+				this.start = this.localStart = Long.MIN_VALUE;
+				this.end = this.localEnd = Long.MAX_VALUE;
+				return;
+			}
+
+			// the transition at or before the instant and the one after it
+			final ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+			final ZoneOffsetTransition next = rules.nextTransition(instant);
+			if (previous == null) {
+				this.start = this.localStart = Long.MIN_VALUE;
+			} else {
+				this.start = previous.toEpochSecond();
+				// without the gap or overlap of the transition
+				this.localStart = this.start
+						+ Math.max(this.offset, previous.getOffsetBefore().getTotalSeconds());
+			}
+			if (next == null) {
+				this.end = this.localEnd = Long.MAX_VALUE;
+			} else {
+				this.end = next.toEpochSecond();
+				this.localEnd = this.end + Math.min(this.offset, next.getOffsetAfter().getTotalSeconds());
+			}
+		}
+
+		boolean contains(final long epochSecond) {
+			return (epochSecond >= this.start) && (epochSecond < this.end);
+		}
+	}
+
+	/**
+	 * The last used offset window, replaced when the default time zone
+	 * changes or a value of another window is converted
+	 */
+	private static volatile OffsetWindow offsetWindow;
+
+	/**
+	 * BCD-Byte to decimal lookup, invalid BCD digits decode to 0
+	 */
+	private static final byte[] BCD_TO_DEC = new byte[256];
+
+	static {
+		for (int i = 0; i < BCD_TO_DEC.length; i++) {
+			final int high = i >> 4;
+			final int low = i & 0x0F;
+			if ((high <= 9) && (low <= 9)) {
+				BCD_TO_DEC[i] = (byte) ((high * 10) + low);
+			}
+		}
+	}
+
+	/**
+	 * Decodes a BCD encoded byte (0x00 - 0x99)
+	 *
+	 * @param bcd
+	 *            the BCD byte
+	 * @return the decimal value 0 - 99, 0 if the byte is no valid BCD
+	 */
+	public static int fromBCD(final byte bcd) {
+		return BCD_TO_DEC[bcd & 0xFF];
+	}
+
+	/**
+	 * Encodes the last two decimal digits of a value as BCD byte
+	 *
+	 * @param value
+	 *            the decimal value
+	 * @return the BCD byte
+	 */
+	public static byte toBCD(final int value) {
+		return (byte) ((((value / 10) % 10) << 4) | (value % 10));
+	}
+
+	/**
+	 * Returns the epoch day of a date like LocalDate.toEpochDay(), without
+	 * allocation
+	 *
+	 * @param year
+	 *            the year
+	 * @param month
+	 *            the month, 1 - 12
+	 * @param day
+	 *            the day of month
+	 * @return the days since 1970-01-01
+	 * @throws IllegalArgumentException
+	 *             if the month or day is invalid
+	 */
+	public static long toEpochDay(final int year, final int month, final int day) {
+		if ((month < 1) || (month > 12) || (day < 1) || (day > lengthOfMonth(year, month))) {
+			throw new IllegalArgumentException("Invalid date: " + year + "-" + month + "-" + day);
+		}
+		// years start in march, the leap day is the last day of a year
+		final long y = (month <= 2) ? year - 1 : year;
+		final long era = Math.floorDiv(y, 400);
+		final long yearOfEra = y - (era * 400);
+		final long dayOfYear = ((((153 * ((month > 2) ? month - 3 : month + 9)) + 2) / 5) + day) - 1;
+		final long dayOfEra = ((yearOfEra * 365) + (yearOfEra / 4)) - (yearOfEra / 100) + dayOfYear;
+		return ((era * DAYS_PER_ERA) + dayOfEra) - DAYS_0000_TO_1970;
+	}
+
+	/**
+	 * Returns the date of an epoch day like LocalDate.ofEpochDay(), without
+	 * allocation
+	 *
+	 * @param epochDay
+	 *            the days since 1970-01-01
+	 * @return the date packed as (year &lt;&lt; 9) | (month &lt;&lt; 5) | day
+	 */
+	public static int fromEpochDay(final long epochDay) {
+		final long days = epochDay + DAYS_0000_TO_1970;
+		final long era = Math.floorDiv(days, DAYS_PER_ERA);
+		final long dayOfEra = days - (era * DAYS_PER_ERA);
+		final long yearOfEra = ((dayOfEra - (dayOfEra / 1460)) + (dayOfEra / 36524) - (dayOfEra / 146096)) / 365;
+		final long dayOfYear = dayOfEra - (((yearOfEra * 365) + (yearOfEra / 4)) - (yearOfEra / 100));
+		final long m = ((dayOfYear * 5) + 2) / 153;
+		final int day = (int) ((dayOfYear - (((153 * m) + 2) / 5)) + 1);
+		final int month = (int) ((m < 10) ? m + 3 : m - 9);
+		final int year = (int) ((era * 400) + yearOfEra + ((month <= 2) ? 1 : 0));
+		return (year << 9) | (month << 5) | day;
+	}
+
+	/**
+	 * Returns the second of day of a time
+	 *
+	 * @param hour
+	 *            the hour, 0 - 23
+	 * @param minute
+	 *            the minute, 0 - 59
+	 * @param second
+	 *            the second, 0 - 59
+	 * @return the seconds since midnight
+	 * @throws IllegalArgumentException
+	 *             if a field is out of range
+	 */
+	public static int toSecondOfDay(final int hour, final int minute, final int second) {
+		if ((hour < 0) || (hour > 23) || (minute < 0) || (minute > 59) || (second < 0) || (second > 59)) {
+			throw new IllegalArgumentException("Invalid time: " + hour + ":" + minute + ":" + second);
+		}
+		return (hour * 3600) + (minute * 60) + second;
+	}
+
+	/**
+	 * Converts a local date and time of the default time zone to epoch
+	 * seconds, without ZonedDateTime. Like LocalDateTime.atZone(), local
+	 * times in a gap are shifted forward by the length of the gap and local
+	 * times in an overlap get the earlier offset.
+	 *
+	 * The offset is cached until the next transition of the zone, only
+	 * values in another window or next to a transition look up the rules.
+	 *
+	 * @param localSecond
+	 *            the local seconds since 1970-01-01T00:00
+	 * @return the epoch seconds
+	 */
+	public static long localToEpochSecond(final long localSecond) {
+		final OffsetWindow window = getOffsetWindow();
+		if ((localSecond >= window.localStart) && (localSecond < window.localEnd)) {
+			return localSecond - window.offset;
+		}
+
+		final LocalDateTime local = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+		final ZoneOffsetTransition transition = window.rules.getTransition(local);
+		// a gap is shifted forward, an overlap gets the earlier offset, both the offset before
+		final long epochSecond = localSecond - ((transition != null) ? transition.getOffsetBefore()
+				: window.rules.getOffset(local)).getTotalSeconds();
+		if (!window.contains(epochSecond)) {
+			offsetWindow = new OffsetWindow(window.zoneId, window.rules, epochSecond);
+		}
+		return epochSecond;
+	}
+
+	/**
+	 * Converts epoch seconds to a local date and time of the default time
+	 * zone, without ZonedDateTime. The offset is cached until the next
+	 * transition of the zone.
+	 *
+	 * @param epochSecond
+	 *            the epoch seconds
+	 * @return the local seconds since 1970-01-01T00:00
+	 */
+	public static long epochToLocalSecond(final long epochSecond) {
+		OffsetWindow window = getOffsetWindow();
+		if (!window.contains(epochSecond)) {
+			window = new OffsetWindow(window.zoneId, window.rules, epochSecond);
+			offsetWindow = window;
+		}
+		return epochSecond + window.offset;
+	}
+
+	/**
+	 * Returns the cached offset window, a new one if the default time zone
+	 * changed. TimeZone.getDefault() only copies the default zone, the
+	 * rules are looked up again after a change only.
+	 */
+	private static OffsetWindow getOffsetWindow() {
+		final TimeZone zone = TimeZone.getDefault();
+		final OffsetWindow window = offsetWindow;
+		if ((window != null) && window.zoneId.equals(zone.getID())) {
+			return window;
+		}
+		final OffsetWindow current = new OffsetWindow(zone.getID(), zone.toZoneId().getRules(),
+				System.currentTimeMillis() / 1000);
+		offsetWindow = current;
+		return current;
+	}
+
+	/**
+	 * Returns the number of days of a month
+	 */
+	private static int lengthOfMonth(final int year, final int month) {
+		switch (month) {
+		case 2:
+			return (((year % 4) == 0) && (((year % 100) != 0) || ((year % 400) == 0))) ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
 	/**
 	 * Converts a byte to 8 bits
 	 *
@@ -0,0 +1,182 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Serializer;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.api.factory.S7SerializerFactory;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.S7BaseConnection;
+import com.github.s7connector.impl.utils.S7Type;
+import com.github.s7connector.test.connector.MemoryConnector;
+import com.github.s7connector.test.connector.MemoryS7Connection;
+
+public class ArrayTest {
+
+	@Test
+	public void dispenseArrayWithOneRead() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		byte[] image = c.image(DaveArea.DB, 5);
+		for (int i = 0; i < 10; i++) {
+			image[20 + (i * 6)] = 0x01;
+			image[20 + (i * 6) + 3] = (byte) i;
+		}
+
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+		List<Station> stations = p.dispenseArray(Station.class, 5, 20, 10, 6);
+
+		Assert.assertEquals(1, c.reads.size());
+		Assert.assertEquals(10, stations.size());
+		for (int i = 0; i < 10; i++) {
+			Assert.assertTrue(stations.get(i).active);
+			Assert.assertEquals(i, stations.get(i).count);
+		}
+	}
+
+	@Test
+	public void dispenseLargeArray() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		byte[] image = c.image(DaveArea.DB, 5);
+		for (int i = 0; i < 5000; i++) {
+			image[(i * 6) + 3] = (byte) i;
+		}
+
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+		List<Station> stations = p.dispenseArray(Station.class, 5, 0, 5000, 6);
+
+		Assert.assertEquals(1, c.reads.size());
+		for (int i = 0; i < 5000; i++) {
+			Assert.assertEquals(i & 0xFF, stations.get(i).count);
+		}
+	}
+
+	@Test
+	public void storeArrayWithOneWrite() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+
+		List<Station> stations = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Station s = new Station();
+			s.active = true;
+			s.count = 100 + i;
+			stations.add(s);
+		}
+		stations.add(1, null);
+
+		p.storeArray(stations, 5, 10, 8);
+
+		Assert.assertEquals(1, c.writeRequests);
+		byte[] image = c.image(DaveArea.DB, 5);
+		Assert.assertEquals(0x01, image[10]);
+		Assert.assertEquals(100, image[13]);
+		Assert.assertEquals(0x00, image[18]);
+		Assert.assertEquals(101, image[29]);
+		Assert.assertEquals(102, image[37]);
+	}
+
+	@Test
+	public void storeArrayKeepsPaddingAndNullSlots() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		byte[] image = c.image(DaveArea.DB, 5);
+		Arrays.fill(image, 0, 100, (byte) 0x7F);
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+
+		Station first = new Station();
+		first.count = 1;
+		Station third = new Station();
+		third.count = 3;
+		p.storeArray(Arrays.asList(first, null, third), 5, 10, 8);
+
+		Assert.assertEquals(1, c.writeRequests);
+		int blockSize = 4;
+		for (int i = 0; i < 100; i++) {
+			int slot = (i - 10) / 8, pos = (i - 10) % 8;
+			boolean written = (i >= 10) && (slot != 1) && (slot < 3) && (pos < blockSize);
+			if (!written) {
+				Assert.assertEquals("byte " + i, 0x7F, image[i]);
+			}
+		}
+		Assert.assertEquals(1, image[13]);
+		Assert.assertEquals(3, image[29]);
+	}
+
+	@Test
+	public void readPacksChunks() throws IOException {
+		MemoryS7Connection dc = new MemoryS7Connection(240);
+		byte[] image = dc.image(DaveArea.DB.getCode(), 7);
+		for (int i = 0; i < 500; i++) {
+			image[10 + i] = (byte) (i * 7);
+		}
+
+		byte[] buffer;
+		try (S7BaseConnection c = new TestConnection(dc)) {
+			buffer = c.read(DaveArea.DB, 7, 500, 10);
+		}
+
+		// 6 chunks of at most 96 bytes, two per PDU
+		Assert.assertEquals(3, dc.exchanges);
+		Assert.assertArrayEquals(Arrays.copyOfRange(image, 10, 510), buffer);
+	}
+
+	@Test
+	public void readItemsInOneRequest() throws IOException {
+		MemoryS7Connection dc = new MemoryS7Connection(240);
+		byte[] image = dc.image(DaveArea.DB.getCode(), 7);
+		for (int i = 0; i < 300; i++) {
+			image[i] = (byte) i;
+		}
+
+		ItemKey first = new ItemKey(DaveArea.DB, 7, 4, 2);
+		ItemKey second = new ItemKey(DaveArea.DB, 7, 3, 201);
+		Map<ItemKey, byte[]> result;
+		try (S7BaseConnection c = new TestConnection(dc)) {
+			result = c.read(Arrays.asList(first, second));
+		}
+
+		Assert.assertEquals(1, dc.exchanges);
+		Assert.assertArrayEquals(new byte[] { 2, 3, 4, 5 }, result.get(first));
+		Assert.assertArrayEquals(new byte[] { (byte) 201, (byte) 202, (byte) 203 }, result.get(second));
+	}
+
+	private static class TestConnection extends S7BaseConnection {
+		TestConnection(MemoryS7Connection dc) {
+			init(dc);
+		}
+
+		@Override
+		public void close() {}
+	}
+
+	public static class Station {
+		@S7Variable(type=S7Type.BOOL, byteOffset=0, bitOffset=0)
+		public boolean active;
+
+		@S7Variable(type=S7Type.WORD, byteOffset=2)
+		public int count;
+	}
+}
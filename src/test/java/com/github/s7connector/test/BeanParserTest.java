@@ -0,0 +1,119 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.serializer.S7SerializerImpl;
+import com.github.s7connector.impl.serializer.parser.BeanParseResult;
+import com.github.s7connector.impl.serializer.parser.BeanParser;
+import com.github.s7connector.impl.utils.S7Type;
+
+public class BeanParserTest {
+
+	@Test
+	public void exactBlockSize() throws Exception {
+		Assert.assertEquals(4, BeanParser.parse(ArrayTest.Station.class).blockSize);
+		Assert.assertEquals(28, BeanParser.parse(ViewTest.MyDB.class).blockSize);
+		// last field is a STRUCT at 98: BYTE, then a STRUCT at 1 with 10 bytes and STRING[20]
+		Assert.assertEquals(98 + 1 + 10 + 22, BeanParser.parse(SerializerTest.MyDB.class).blockSize);
+	}
+
+	@Test
+	public void arrayLayout() throws Exception {
+		BeanParseResult result = BeanParser.parse(ArrayDB.class);
+		Assert.assertEquals(26 + 6 + 5, result.blockSize);
+		Assert.assertTrue(result.bitBytes[0]);
+		Assert.assertTrue(result.bitBytes[1]);
+		Assert.assertFalse(result.bitBytes[2]);
+		// BOOL of the STRUCT array elements
+		Assert.assertTrue(result.bitBytes[26]);
+		Assert.assertFalse(result.bitBytes[27]);
+		Assert.assertTrue(result.bitBytes[32]);
+	}
+
+	@Test
+	public void sizeOnlyForStrings() throws Exception {
+		BeanParseResult result = BeanParser.parse(SizedDB.class);
+		Assert.assertEquals(4, result.index.get("counts").elementSize);
+		Assert.assertEquals(8 + 2 + 4, result.blockSize);
+	}
+
+	@Test
+	public void arrayRoundTrip() throws S7Exception {
+		ArrayDB bean = new ArrayDB();
+		bean.flags = new boolean[] { false, false, false, false, false, false, false, false, true, true };
+		bean.names = new String[] { "a", "bc" };
+		bean.totals = new long[] { -1, 2, 70000 };
+		bean.items = new Item[] { new Item(), new Item() };
+		bean.items[0].ok = true;
+		bean.items[0].value = 0x1234;
+		bean.items[1].value = 0x5678;
+
+		byte[] buffer = new byte[100];
+		S7SerializerImpl.insertBytes(bean, buffer, 0);
+		Assert.assertEquals(0x03, buffer[1]);
+		Assert.assertEquals('b', buffer[10]);
+		Assert.assertEquals((byte) 0xFF, buffer[17]);
+		Assert.assertEquals(0x12, buffer[28]);
+		Assert.assertEquals(0x56, buffer[34]);
+
+		ArrayDB copy = S7SerializerImpl.extractBytes(ArrayDB.class, buffer, 0);
+		Assert.assertArrayEquals(bean.flags, copy.flags);
+		Assert.assertArrayEquals(bean.names, copy.names);
+		Assert.assertArrayEquals(bean.totals, copy.totals);
+		Assert.assertTrue(copy.items[0].ok);
+		Assert.assertEquals(0x1234, copy.items[0].value);
+		Assert.assertEquals(0x5678, copy.items[1].value);
+	}
+
+	public static class ArrayDB {
+		@S7Variable(type=S7Type.BOOL, byteOffset=0, bitOffset=0, arraySize=10)
+		public boolean[] flags;
+
+		@S7Variable(type=S7Type.STRING, byteOffset=2, size=3, arraySize=2)
+		public String[] names;
+
+		@S7Variable(type=S7Type.DINT, byteOffset=14, arraySize=3)
+		public long[] totals;
+
+		@S7Variable(type=S7Type.STRUCT, byteOffset=26, arraySize=2)
+		public Item[] items;
+	}
+
+	public static class SizedDB {
+		// size is ignored for types without a variable size
+		@S7Variable(type=S7Type.DWORD, byteOffset=0, size=10, arraySize=2)
+		public long[] counts;
+
+		@S7Variable(type=S7Type.STRING, byteOffset=8, size=4)
+		public String name;
+	}
+
+	public static class Item {
+		@S7Variable(type=S7Type.BOOL, byteOffset=0, bitOffset=0)
+		public boolean ok;
+
+		@S7Variable(type=S7Type.WORD, byteOffset=2)
+		public int value;
+
+		@S7Variable(type=S7Type.BYTE, byteOffset=4)
+		public byte spare;
+	}
+}
@@ -0,0 +1,144 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.BitKey;
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Serializer;
+import com.github.s7connector.api.annotation.Datablock;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.api.factory.S7SerializerFactory;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.S7BaseConnection;
+import com.github.s7connector.impl.utils.S7Type;
+import com.github.s7connector.test.connector.MemoryConnector;
+import com.github.s7connector.test.connector.MemoryS7Connection;
+
+public class BitAccessTest {
+
+	@Test
+	public void readBitsInOneRequest() throws IOException {
+		MemoryS7Connection dc = new MemoryS7Connection(240);
+		byte[] image = dc.image(DaveArea.DB.getCode(), 3);
+		image[10] = 0x05;
+		image[90] = (byte) 0x80;
+
+		BitKey first = new BitKey(DaveArea.DB, 3, 10, 2);
+		BitKey second = new BitKey(DaveArea.DB, 3, 10, 1);
+		BitKey third = new BitKey(DaveArea.DB, 3, 90, 7);
+		Map<BitKey, Boolean> result;
+		try (S7BaseConnection c = new TestConnection(dc)) {
+			result = c.readBits(Arrays.asList(first, second, third));
+		}
+
+		Assert.assertEquals(1, dc.exchanges);
+		Assert.assertTrue(result.get(first));
+		Assert.assertFalse(result.get(second));
+		Assert.assertTrue(result.get(third));
+	}
+
+	@Test
+	public void writeBitKeepsOtherBits() throws IOException {
+		MemoryS7Connection dc = new MemoryS7Connection(240);
+		byte[] image = dc.image(DaveArea.DB.getCode(), 3);
+		image[4] = (byte) 0xF0;
+
+		try (S7BaseConnection c = new TestConnection(dc)) {
+			c.writeBit(new BitKey(DaveArea.DB, 3, 4, 0), true);
+			c.writeBit(new BitKey(DaveArea.DB, 3, 4, 7), false);
+			Assert.assertFalse(c.readBit(new BitKey(DaveArea.DB, 3, 4, 7)));
+		}
+
+		Assert.assertEquals(3, dc.exchanges);
+		Assert.assertEquals(0x71, image[4]);
+	}
+
+	@Test
+	public void storeFieldsWritesBitsAndRanges() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+
+		//set by the PLC program
+		c.image(DaveArea.DB, 10)[0] = (byte) 0x81;
+		c.image(DaveArea.DB, 10)[2] = 0x42;
+
+		MyDB bean = new MyDB();
+		bean.start = true;
+		bean.setpoint = 0x1234;
+		p.storeFields(bean, 10, 0, "start", "setpoint");
+
+		Assert.assertEquals(1, c.writeRequests);
+		Assert.assertEquals(Arrays.asList(new BitKey(DaveArea.DB, 10, 0, 1)), c.bitWrites);
+		Assert.assertEquals(Arrays.asList(new ItemKey(DaveArea.DB, 10, 2, 4)), c.writes);
+		Assert.assertEquals((byte) 0x83, c.image(DaveArea.DB, 10)[0]);
+		Assert.assertEquals(0x42, c.image(DaveArea.DB, 10)[2]);
+		Assert.assertEquals(0x12, c.image(DaveArea.DB, 10)[4]);
+		Assert.assertEquals(0x34, c.image(DaveArea.DB, 10)[5]);
+	}
+
+	@Test
+	public void storeFieldsPatchesShadow() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+
+		MyDB bean = p.dispense(MyDB.class, 10, 0);
+		p.storeChanges(bean, 10, 0);
+		bean.start = true;
+		p.storeFields(bean, 10, 0, "start");
+		c.clear();
+
+		p.storeChanges(bean, 10, 0);
+		Assert.assertEquals(0, c.writeRequests);
+	}
+
+	@Test(expected = S7Exception.class)
+	public void storeUnknownField() throws S7Exception {
+		S7Serializer p = S7SerializerFactory.buildSerializer(new MemoryConnector());
+		p.storeFields(new MyDB(), 10, 0, "unknown");
+	}
+
+	private static class TestConnection extends S7BaseConnection {
+		TestConnection(MemoryS7Connection dc) {
+			init(dc);
+		}
+
+		@Override
+		public void close() {}
+	}
+
+	@Datablock
+	public static class MyDB {
+		@S7Variable(type=S7Type.BOOL, byteOffset=0, bitOffset=0)
+		public boolean manual;
+
+		@S7Variable(type=S7Type.BOOL, byteOffset=0, bitOffset=1)
+		public boolean start;
+
+		@S7Variable(type=S7Type.BYTE, byteOffset=2)
+		public int mode;
+
+		@S7Variable(type=S7Type.WORD, byteOffset=4)
+		public int setpoint;
+	}
+}
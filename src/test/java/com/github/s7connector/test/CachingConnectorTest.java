@@ -0,0 +1,222 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.api.factory.S7ConnectorFactory;
+import com.github.s7connector.impl.S7CachingConnector;
+import com.github.s7connector.test.connector.MemoryConnector;
+
+public class CachingConnectorTest {
+
+	private static S7CachingConnector cache(S7Connector connector) {
+		return (S7CachingConnector) S7ConnectorFactory.buildCachingConnector(connector)
+				.withTtl(DaveArea.DB, Duration.ofMinutes(1))
+				.build();
+	}
+
+	@Test
+	public void containedRangesAreHits() throws IOException {
+		MemoryConnector c = new MemoryConnector();
+		c.image(DaveArea.DB, 1)[12] = 0x42;
+		S7CachingConnector cache = cache(c);
+
+		byte[] block = cache.read(DaveArea.DB, 1, 10, 10);
+		block[2] = 0;
+		Assert.assertArrayEquals(new byte[] { 0x42, 0 }, cache.read(DaveArea.DB, 1, 2, 12));
+		Assert.assertEquals(0x42, cache.read(DaveArea.DB, 1, 10, 10)[2]);
+		cache.read(DaveArea.DB, 1, 10, 15);
+
+		Assert.assertEquals(Arrays.asList(new ItemKey(DaveArea.DB, 1, 10, 10), new ItemKey(DaveArea.DB, 1, 10, 15)),
+				c.reads);
+		Assert.assertEquals(2, cache.getHits());
+		Assert.assertEquals(2, cache.getMisses());
+	}
+
+	@Test
+	public void ttlPerArea() throws Exception {
+		MemoryConnector c = new MemoryConnector();
+		S7Connector cache = S7ConnectorFactory.buildCachingConnector(c)
+				.withTtl(DaveArea.DB, Duration.ofMillis(50))
+				.build();
+
+		cache.read(DaveArea.DB, 1, 4, 0);
+		cache.read(DaveArea.DB, 1, 4, 0);
+		cache.read(DaveArea.FLAGS, 0, 4, 0);
+		cache.read(DaveArea.FLAGS, 0, 4, 0);
+		Assert.assertEquals(3, c.reads.size());
+
+		Thread.sleep(60);
+		cache.read(DaveArea.DB, 1, 4, 0);
+		Assert.assertEquals(4, c.reads.size());
+	}
+
+	@Test
+	public void writesInvalidateOverlappingRanges() throws IOException {
+		MemoryConnector c = new MemoryConnector();
+		S7CachingConnector cache = cache(c);
+
+		cache.read(DaveArea.DB, 1, 10, 0);
+		cache.read(DaveArea.DB, 1, 10, 100);
+		cache.write(DaveArea.DB, 1, 8, new byte[] { 1, 2, 3, 4 });
+		Assert.assertEquals(1, cache.size());
+
+		Assert.assertArrayEquals(new byte[] { 1, 2 }, cache.read(DaveArea.DB, 1, 2, 8));
+		cache.read(DaveArea.DB, 1, 10, 100);
+		Assert.assertEquals(3, c.reads.size());
+	}
+
+	@Test
+	public void multiItemReads() throws IOException {
+		MemoryConnector c = new MemoryConnector();
+		S7CachingConnector cache = cache(c);
+
+		cache.read(DaveArea.DB, 1, 10, 0);
+		c.clear();
+		ItemKey cached = new ItemKey(DaveArea.DB, 1, 4, 2);
+		ItemKey missing = new ItemKey(DaveArea.DB, 1, 4, 50);
+		Map<ItemKey, byte[]> result = cache.read(Arrays.asList(missing, cached));
+
+		Assert.assertEquals(Arrays.asList(missing, cached), new ArrayList<>(result.keySet()));
+		Assert.assertEquals(Arrays.asList(missing), c.reads);
+	}
+
+	@Test
+	public void concurrentReadsShareOneRequest() throws Exception {
+		AtomicInteger requests = new AtomicInteger();
+		S7Connector slow = new MemoryConnector() {
+			@Override
+			public byte[] read(DaveArea area, int areaNumber, int bytes, int offset) {
+				requests.incrementAndGet();
+				try {
+					Thread.sleep(200);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return new byte[bytes];
+			}
+		};
+		S7CachingConnector cache = cache(slow);
+
+		int threads = 8;
+		CyclicBarrier barrier = new CyclicBarrier(threads);
+		List<Thread> readers = new ArrayList<>();
+		AtomicInteger results = new AtomicInteger();
+		for (int i = 0; i < threads; i++) {
+			Thread t = new Thread(() -> {
+				try {
+					barrier.await();
+					if (cache.read(DaveArea.DB, 1, 4, 0).length == 4)
+						results.incrementAndGet();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			});
+			t.start();
+			readers.add(t);
+		}
+		for (Thread t : readers) {
+			t.join();
+		}
+
+		Assert.assertEquals(threads, results.get());
+		Assert.assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void concurrentMultiItemReadsShareOneRequest() throws Exception {
+		AtomicInteger requests = new AtomicInteger();
+		S7Connector slow = new MemoryConnector() {
+			@Override
+			public byte[] read(DaveArea area, int areaNumber, int bytes, int offset) {
+				requests.incrementAndGet();
+				try {
+					Thread.sleep(200);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return new byte[bytes];
+			}
+		};
+		S7CachingConnector cache = cache(slow);
+		ItemKey first = new ItemKey(DaveArea.DB, 1, 4, 0);
+		ItemKey second = new ItemKey(DaveArea.DB, 1, 4, 50);
+
+		int threads = 8;
+		CyclicBarrier barrier = new CyclicBarrier(threads);
+		List<Thread> readers = new ArrayList<>();
+		AtomicInteger results = new AtomicInteger();
+		for (int i = 0; i < threads; i++) {
+			boolean single = (i % 2 == 0);
+			Thread t = new Thread(() -> {
+				try {
+					barrier.await();
+					if (single) {
+						if (cache.read(DaveArea.DB, 1, 4, 0).length == 4)
+							results.incrementAndGet();
+					} else if (cache.read(Arrays.asList(first, second)).size() == 2) {
+						results.incrementAndGet();
+					}
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			});
+			t.start();
+			readers.add(t);
+		}
+		for (Thread t : readers) {
+			t.join();
+		}
+
+		Assert.assertEquals(threads, results.get());
+		Assert.assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void leastRecentlyUsedBlocksAreEvicted() throws IOException {
+		MemoryConnector c = new MemoryConnector();
+		S7CachingConnector cache = (S7CachingConnector) S7ConnectorFactory.buildCachingConnector(c)
+				.withTtl(Duration.ofMinutes(1))
+				.withMaxBytes(20)
+				.build();
+
+		cache.read(DaveArea.DB, 1, 10, 0);
+		cache.read(DaveArea.DB, 2, 10, 0);
+		cache.read(DaveArea.DB, 1, 10, 0);
+		cache.read(DaveArea.DB, 3, 10, 0);
+		Assert.assertEquals(2, cache.size());
+
+		c.clear();
+		cache.read(DaveArea.DB, 1, 10, 0);
+		cache.read(DaveArea.DB, 2, 10, 0);
+		Assert.assertEquals(Arrays.asList(new ItemKey(DaveArea.DB, 2, 10, 0)), c.reads);
+	}
+
+}
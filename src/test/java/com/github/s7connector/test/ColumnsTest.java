@@ -0,0 +1,121 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.S7Columns;
+import com.github.s7connector.api.S7Serializer;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.api.factory.S7SerializerFactory;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.utils.S7Type;
+import com.github.s7connector.test.connector.MemoryConnector;
+
+public class ColumnsTest {
+
+	public static class Sample {
+
+		@S7Variable(byteOffset = 0, bitOffset = 2, type = S7Type.BOOL)
+		public boolean ok;
+
+		@S7Variable(byteOffset = 2, type = S7Type.INT)
+		public short count;
+
+		@S7Variable(byteOffset = 4, type = S7Type.REAL)
+		public float value;
+
+		@S7Variable(byteOffset = 8, type = S7Type.STRUCT)
+		public Limits limits;
+
+		@S7Variable(byteOffset = 12, type = S7Type.STRING, size = 4)
+		public String name;
+	}
+
+	public static class Limits {
+
+		@S7Variable(byteOffset = 0, type = S7Type.WORD, arraySize = 2)
+		public int[] range;
+	}
+
+	private static void fill(byte[] image, int offset, int i) {
+		image[offset] = (byte) ((i % 2) == 0 ? 0x04 : 0x00);
+		image[offset + 2] = (byte) (-i >> 8);
+		image[offset + 3] = (byte) (-i);
+		// 1.0f
+		image[offset + 4] = 0x3F;
+		image[offset + 5] = (byte) 0x80;
+		image[offset + 9] = (byte) i;
+		image[offset + 11] = (byte) (i + 1);
+		image[offset + 12] = 4;
+		image[offset + 13] = 1;
+		image[offset + 14] = 'x';
+	}
+
+	@Test
+	public void dispenseColumns() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		byte[] image = c.image(DaveArea.DB, 3);
+		for (int i = 0; i < 10; i++) {
+			fill(image, i * 18, i);
+		}
+
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+		S7Columns columns = S7SerializerFactory.buildColumns(Sample.class, 16);
+		Assert.assertSame(columns, p.dispenseColumns(columns, 3, 0, 10, 18));
+
+		Assert.assertEquals(1, c.reads.size());
+		Assert.assertEquals(10, columns.size());
+		for (int i = 0; i < 10; i++) {
+			Assert.assertEquals((i % 2) == 0, columns.getBits("ok").get(i));
+			Assert.assertEquals(-i, columns.getInts("count")[i]);
+			Assert.assertEquals(1.0f, columns.getFloats("value")[i], 0.0f);
+			Assert.assertEquals(i, columns.getInts("limits.range[0]")[i]);
+			Assert.assertEquals(i + 1, columns.getInts("limits.range[1]")[i]);
+			Assert.assertEquals("x", columns.getObjects("name")[i]);
+		}
+	}
+
+	@Test
+	public void decodeLargeTableAndReuse() throws S7Exception {
+		byte[] buffer = new byte[5000 * 18];
+		for (int i = 0; i < 5000; i++) {
+			fill(buffer, i * 18, i);
+		}
+
+		S7Columns columns = S7SerializerFactory.buildColumns(Sample.class, 5000);
+		columns.decode(buffer, 0, 5000, 18);
+		int[] counts = columns.getInts("count");
+		for (int i = 0; i < 5000; i++) {
+			Assert.assertEquals((short) -i, counts[i]);
+			Assert.assertEquals((i % 2) == 0, columns.getBits("ok").get(i));
+		}
+
+		// next poll with fewer elements reuses the columns
+		columns.decode(buffer, 18, 3, 18);
+		Assert.assertSame(counts, columns.getInts("count"));
+		Assert.assertEquals(-1, counts[0]);
+		Assert.assertEquals(1, columns.getBits("ok").cardinality());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wrongColumnType() throws S7Exception {
+		S7SerializerFactory.buildColumns(Sample.class, 1).getLongs("count");
+	}
+
+}
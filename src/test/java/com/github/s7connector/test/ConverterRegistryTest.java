@@ -0,0 +1,144 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.S7ConverterRegistry;
+import com.github.s7connector.api.S7Serializable;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.serializer.S7SerializerImpl;
+import com.github.s7connector.impl.serializer.converter.IntegerConverter;
+import com.github.s7connector.impl.serializer.parser.BeanEntry;
+import com.github.s7connector.impl.serializer.parser.BeanParseResult;
+import com.github.s7connector.impl.serializer.parser.BeanParser;
+import com.github.s7connector.impl.utils.S7Type;
+
+public class ConverterRegistryTest {
+
+	@Test
+	public void bindsPrimitives() throws Exception {
+		Map<String, BeanEntry.Primitive> primitives = new HashMap<>();
+		for (BeanEntry entry : BeanParser.parse(PrimitiveDB.class).entries) {
+			primitives.put(entry.field.getName(), entry.primitive);
+		}
+
+		Assert.assertEquals(BeanEntry.Primitive.BOOLEAN, primitives.get("on"));
+		Assert.assertEquals(BeanEntry.Primitive.BYTE, primitives.get("b"));
+		Assert.assertEquals(BeanEntry.Primitive.SHORT, primitives.get("s"));
+		Assert.assertEquals(BeanEntry.Primitive.INT, primitives.get("word"));
+		Assert.assertEquals(BeanEntry.Primitive.LONG, primitives.get("dint"));
+		Assert.assertEquals(BeanEntry.Primitive.FLOAT, primitives.get("f"));
+		// REAL to double keeps the decimal conversion of the boxed path
+		Assert.assertEquals(BeanEntry.Primitive.NONE, primitives.get("d"));
+		Assert.assertEquals(BeanEntry.Primitive.INT, primitives.get("words"));
+		Assert.assertEquals(BeanEntry.Primitive.NONE, primitives.get("boxed"));
+	}
+
+	@Test
+	public void primitiveRoundTrip() throws S7Exception {
+		PrimitiveDB bean = new PrimitiveDB();
+		bean.on = true;
+		bean.b = -5;
+		bean.s = 1000;
+		bean.word = 0xFFFF;
+		bean.dint = -7;
+		bean.f = 3.25f;
+		bean.d = 1.1;
+		bean.words = new int[] { 1, 2, 3 };
+		bean.boxed = 17;
+
+		byte[] buffer = new byte[40];
+		S7SerializerImpl.insertBytes(bean, buffer, 0);
+		PrimitiveDB copy = S7SerializerImpl.extractBytes(PrimitiveDB.class, buffer, 0);
+
+		Assert.assertTrue(copy.on);
+		Assert.assertEquals(-5, copy.b);
+		Assert.assertEquals(1000, copy.s);
+		Assert.assertEquals(0xFFFF, copy.word);
+		Assert.assertEquals(-7, copy.dint);
+		Assert.assertEquals(3.25f, copy.f, 0.0f);
+		Assert.assertEquals(1.1, copy.d, 0.0);
+		Assert.assertArrayEquals(new int[] { 1, 2, 3 }, copy.words);
+		Assert.assertEquals(Integer.valueOf(17), copy.boxed);
+	}
+
+	@Test
+	public void registerConverter() throws Exception {
+		Supplier<? extends S7Serializable> previous = S7ConverterRegistry.register(S7Type.WORD,
+				() -> new IntegerConverter() {
+					@Override
+					public int getInt(byte[] buffer, int byteOffset, int bitOffset) {
+						return super.getInt(buffer, byteOffset, bitOffset) * 10;
+					}
+				});
+		try {
+			byte[] buffer = new byte[] { 0, 5 };
+			Assert.assertEquals(50, S7SerializerImpl.extractBytes(new BeanParser(), CustomDB.class, buffer, 0).value);
+		} finally {
+			S7ConverterRegistry.register(S7Type.WORD, previous);
+		}
+	}
+
+	@Test
+	public void convertersPerParser() throws Exception {
+		BeanParseResult first = new BeanParser().parseClass(PrimitiveDB.class);
+		BeanParseResult second = new BeanParser().parseClass(PrimitiveDB.class);
+
+		Assert.assertSame(first.index.get("s").serializer, first.index.get("word").serializer);
+		Assert.assertNotSame(first.index.get("word").serializer, second.index.get("word").serializer);
+	}
+
+	public static class PrimitiveDB {
+		@S7Variable(type=S7Type.BOOL, byteOffset=0, bitOffset=0)
+		public boolean on;
+
+		@S7Variable(type=S7Type.BYTE, byteOffset=1)
+		public byte b;
+
+		@S7Variable(type=S7Type.WORD, byteOffset=2)
+		public short s;
+
+		@S7Variable(type=S7Type.WORD, byteOffset=4)
+		public int word;
+
+		@S7Variable(type=S7Type.DINT, byteOffset=6)
+		public long dint;
+
+		@S7Variable(type=S7Type.REAL, byteOffset=10)
+		public float f;
+
+		@S7Variable(type=S7Type.REAL, byteOffset=14)
+		public double d;
+
+		@S7Variable(type=S7Type.WORD, byteOffset=18, arraySize=3)
+		public int[] words;
+
+		@S7Variable(type=S7Type.WORD, byteOffset=24)
+		public Integer boxed;
+	}
+
+	public static class CustomDB {
+		@S7Variable(type=S7Type.WORD, byteOffset=0)
+		public int value;
+	}
+}
@@ -0,0 +1,92 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Serializer;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.api.factory.S7SerializerFactory;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.utils.S7Type;
+import com.github.s7connector.test.connector.MemoryConnector;
+
+public class DispenseFieldsTest {
+
+	public static class LargeDB {
+
+		@S7Variable(byteOffset = 0, type = S7Type.WORD)
+		public int head;
+
+		@S7Variable(byteOffset = 10, type = S7Type.WORD)
+		public int near;
+
+		@S7Variable(byteOffset = 100, type = S7Type.BYTE, arraySize = 200)
+		public byte[] payload;
+
+		@S7Variable(byteOffset = 400, type = S7Type.REAL)
+		public float tail;
+
+		@S7Variable(byteOffset = 404, bitOffset = 3, type = S7Type.BOOL)
+		public boolean flag;
+	}
+
+	@Test
+	public void readsOnlyRequestedRanges() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		byte[] image = c.image(DaveArea.DB, 9);
+		image[20 + 1] = 1;
+		image[20 + 11] = 2;
+		image[20 + 150] = 3;
+		image[20 + 400] = 0x3F;
+		image[20 + 401] = (byte) 0x80;
+		image[20 + 404] = 0x08;
+
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+		LargeDB bean = p.dispenseFields(LargeDB.class, 9, 20, "tail", "head", "flag", "near");
+
+		Assert.assertEquals(1, bean.head);
+		Assert.assertEquals(2, bean.near);
+		Assert.assertEquals(1.0f, bean.tail, 0.0f);
+		Assert.assertTrue(bean.flag);
+		Assert.assertNull(bean.payload);
+
+		// gaps up to 16 bytes are merged
+		Assert.assertEquals(2, c.reads.size());
+		Assert.assertEquals(new ItemKey(DaveArea.DB, 9, 12, 20), c.reads.get(0));
+		Assert.assertEquals(new ItemKey(DaveArea.DB, 9, 5, 420), c.reads.get(1));
+	}
+
+	@Test(expected = S7Exception.class)
+	public void unknownField() throws S7Exception {
+		S7SerializerFactory.buildSerializer(new MemoryConnector()).dispenseFields(LargeDB.class, 9, 0, "missing");
+	}
+
+	@Test
+	public void noFieldNames() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		try {
+			S7SerializerFactory.buildSerializer(c).dispenseFields(LargeDB.class, 9, 0);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			Assert.assertTrue(c.reads.isEmpty());
+		}
+	}
+
+}
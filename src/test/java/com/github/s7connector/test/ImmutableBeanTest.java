@@ -0,0 +1,212 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.beans.ConstructorProperties;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.serializer.S7SerializerImpl;
+import com.github.s7connector.impl.utils.S7Type;
+
+public class ImmutableBeanTest {
+
+	public static final class Snapshot {
+
+		@S7Variable(byteOffset = 0, bitOffset = 1, type = S7Type.BOOL)
+		public final boolean running;
+
+		@S7Variable(byteOffset = 2, type = S7Type.WORD)
+		public final int speed;
+
+		@S7Variable(byteOffset = 4, type = S7Type.STRUCT)
+		public final Axis axis;
+
+		@S7Variable(byteOffset = 8, type = S7Type.WORD, arraySize = 2)
+		public final int[] counters;
+
+		public Snapshot(boolean running, int speed, Axis axis, int[] counters) {
+			this.running = running;
+			this.speed = speed;
+			this.axis = axis;
+			this.counters = counters;
+		}
+	}
+
+	public static final class Axis {
+
+		@S7Variable(byteOffset = 0, type = S7Type.REAL)
+		public final float position;
+
+		Axis(float position) {
+			this.position = position;
+		}
+	}
+
+	public static final class Swapped {
+
+		@S7Variable(byteOffset = 0, type = S7Type.WORD)
+		public final int first;
+
+		@S7Variable(byteOffset = 2, type = S7Type.WORD)
+		public final int second;
+
+		@ConstructorProperties({ "second", "first" })
+		public Swapped(int second, int first) {
+			this.first = first;
+			this.second = second;
+		}
+	}
+
+	public static final class Ambiguous {
+
+		@S7Variable(byteOffset = 0, type = S7Type.WORD)
+		public final int first;
+
+		@S7Variable(byteOffset = 2, type = S7Type.WORD)
+		public final int second;
+
+		public Ambiguous(int x, int y) {
+			this.first = x;
+			this.second = y;
+		}
+	}
+
+	public static final class OneUnique {
+
+		@S7Variable(byteOffset = 0, type = S7Type.WORD)
+		public final int a;
+
+		@S7Variable(byteOffset = 2, type = S7Type.WORD)
+		public final int b;
+
+		@S7Variable(byteOffset = 4, type = S7Type.REAL)
+		public final float c;
+
+		public OneUnique(int x, int y, float z) {
+			this.a = y;
+			this.b = x;
+			this.c = z;
+		}
+
+		@ConstructorProperties({ "c", "a", "b" })
+		public OneUnique(float c, int a, int b) {
+			this.a = a;
+			this.b = b;
+			this.c = c;
+		}
+	}
+
+	public static final class NoConstructor {
+
+		@S7Variable(byteOffset = 0, type = S7Type.WORD)
+		public final int value = 0;
+	}
+
+	@Test
+	public void extract() throws S7Exception {
+		byte[] buffer = new byte[] { 2, 0, 0, 42, 0x3F, (byte) 0x80, 0, 0, 0, 1, 0, 2 };
+		Snapshot snapshot = S7SerializerImpl.extractBytes(Snapshot.class, buffer, 0);
+		Assert.assertTrue(snapshot.running);
+		Assert.assertEquals(42, snapshot.speed);
+		Assert.assertEquals(1.0f, snapshot.axis.position, 0.0f);
+		Assert.assertArrayEquals(new int[] { 1, 2 }, snapshot.counters);
+
+		byte[] out = new byte[buffer.length];
+		S7SerializerImpl.insertBytes(snapshot, out, 0);
+		Assert.assertArrayEquals(buffer, out);
+	}
+
+	@Test(expected = S7Exception.class)
+	public void extractIntoImmutable() throws S7Exception {
+		Snapshot snapshot = new Snapshot(false, 0, new Axis(0), new int[2]);
+		S7SerializerImpl.extractInto(snapshot, new byte[12], 0);
+	}
+
+	@Test(expected = S7Exception.class)
+	public void missingConstructor() throws S7Exception {
+		S7SerializerImpl.extractBytes(NoConstructor.class, new byte[2], 0);
+	}
+
+	@Test
+	public void constructorProperties() throws S7Exception {
+		Swapped swapped = S7SerializerImpl.extractBytes(Swapped.class, new byte[] { 0, 1, 0, 2 }, 0);
+		Assert.assertEquals(1, swapped.first);
+		Assert.assertEquals(2, swapped.second);
+	}
+
+	@Test(expected = S7Exception.class)
+	public void ambiguousConstructor() throws S7Exception {
+		S7SerializerImpl.extractBytes(Ambiguous.class, new byte[4], 0);
+	}
+
+	@Test
+	public void skipsAmbiguousConstructor() throws S7Exception {
+		OneUnique bean = S7SerializerImpl.extractBytes(OneUnique.class,
+				new byte[] { 0, 1, 0, 2, 0x3F, (byte) 0x80, 0, 0 }, 0);
+		Assert.assertEquals(1, bean.a);
+		Assert.assertEquals(2, bean.b);
+		Assert.assertEquals(1.0f, bean.c, 0.0f);
+	}
+
+	@Test
+	public void record() throws Exception {
+		// records need Java 16, the sources are compiled for Java 8
+		boolean records;
+		try {
+			Class.class.getMethod("getRecordComponents");
+			records = true;
+		} catch (NoSuchMethodException e) {
+			records = false;
+		}
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeTrue(records && (compiler != null));
+
+		// components in another order than the offsets
+		Path dir = Files.createTempDirectory("record");
+		Path source = dir.resolve("Reading.java");
+		Files.write(source, ("public record Reading("
+				+ "@com.github.s7connector.api.annotation.S7Variable(byteOffset = 2, "
+				+ "type = com.github.s7connector.impl.utils.S7Type.WORD) int second, "
+				+ "@com.github.s7connector.api.annotation.S7Variable(byteOffset = 0, "
+				+ "type = com.github.s7connector.impl.utils.S7Type.WORD) int first) {}").getBytes("UTF-8"));
+		String classpath = Paths.get(S7Variable.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+				.toString();
+		Assert.assertEquals(0, compiler.run(null, null, null, "-d", dir.toString(), "-cp", classpath,
+				source.toString()));
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() },
+				ImmutableBeanTest.class.getClassLoader())) {
+			Class<?> type = loader.loadClass("Reading");
+			Object reading = S7SerializerImpl.extractBytes(type, new byte[] { 0, 1, 0, 2 }, 0);
+			Assert.assertEquals(1, type.getMethod("first").invoke(reading));
+			Assert.assertEquals(2, type.getMethod("second").invoke(reading));
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.api.S7Metrics;
+import com.github.s7connector.api.S7Serializer;
+import com.github.s7connector.api.SiemensPLCS;
+import com.github.s7connector.api.annotation.Datablock;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.api.factory.S7ConnectorFactory;
+import com.github.s7connector.api.factory.S7SerializerFactory;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.S7TCPAsyncConnection;
+import com.github.s7connector.impl.metrics.LatencyHistogram;
+import com.github.s7connector.impl.metrics.S7MetricsRecorder;
+import com.github.s7connector.impl.nodave.Nodave;
+import com.github.s7connector.impl.utils.S7Type;
+import com.github.s7connector.test.connector.S7SimulatorServer;
+
+public class MetricsTest {
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long end = System.currentTimeMillis() + 10000;
+		while (!condition.getAsBoolean()) {
+			Assert.assertTrue("timeout", System.currentTimeMillis() < end);
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void requestsAreMeasured() throws IOException {
+		S7MetricsRecorder metrics = new S7MetricsRecorder();
+		try (S7SimulatorServer server = new S7SimulatorServer(240);
+				S7Connector c = S7ConnectorFactory.buildTCPConnector()
+						.withHost(server.getHost())
+						.withPort(server.getPort())
+						.withMetrics(metrics)
+						.build()) {
+			c.read(DaveArea.DB, 1, 4, 0);
+			c.write(DaveArea.DB, 1, 0, new byte[] { 1, 2 });
+		}
+
+		Assert.assertEquals(1, metrics.getReadRequests());
+		Assert.assertEquals(1, metrics.getWriteRequests());
+		Assert.assertEquals(0, metrics.getOtherRequests());
+		Assert.assertEquals(2, metrics.getRoundTrip().getCount());
+		Assert.assertTrue(metrics.getBytesSent() > 0);
+		Assert.assertTrue(metrics.getBytesReceived() > 0);
+	}
+
+	@Test
+	public void itemErrorsAreCounted() throws IOException {
+		S7MetricsRecorder metrics = new S7MetricsRecorder();
+		try (S7SimulatorServer server = new S7SimulatorServer(240);
+				S7Connector c = S7ConnectorFactory.buildTCPConnector()
+						.withHost(server.getHost())
+						.withPort(server.getPort())
+						.withMetrics(metrics)
+						.build()) {
+			server.getSimulator().injectError(Nodave.RESULT_ITEM_NOT_AVAILABLE, 1);
+			try {
+				c.read(DaveArea.DB, 1, 4, 8);
+				Assert.fail();
+			} catch (S7Exception e) {
+				// expected
+			}
+		}
+
+		Assert.assertEquals(1, metrics.getItemErrors());
+		Assert.assertEquals(1, metrics.getItemErrors(new ItemKey(DaveArea.DB, 1, 4, 8)));
+	}
+
+	@Test
+	public void pollCyclesAndReconnects() throws Exception {
+		S7MetricsRecorder metrics = new S7MetricsRecorder();
+		try (S7SimulatorServer server = new S7SimulatorServer(240);
+				S7TCPAsyncConnection c = new S7TCPAsyncConnection(server.getHost(), SiemensPLCS.SNon200, 0, 2,
+						server.getPort())) {
+			c.setMetrics(metrics);
+			c.setPeriod(Duration.ofMillis(20));
+			c.addItem(new ItemKey(DaveArea.DB, 1, 4, 0), data -> {});
+			c.addItem(new ItemKey(DaveArea.DB, 1, 4, 100), data -> {});
+			c.start();
+
+			await(() -> metrics.getPollCycles() >= 3);
+			Assert.assertEquals(1.0, metrics.getPdusPerCycle(), 0.0);
+			Assert.assertEquals(0, metrics.getReconnects());
+
+			server.dropConnections();
+			await(() -> metrics.getReconnects() >= 1);
+		}
+	}
+
+	@Test
+	public void handshakeAndDecoding() throws IOException {
+		List<S7Metrics.Phase> phases = new ArrayList<>();
+		List<ItemKey> items = new ArrayList<>();
+		List<Class<?>> decoded = new ArrayList<>();
+		S7Metrics metrics = new S7Metrics() {
+			@Override
+			public void handshake(Phase phase, long nanos) {
+				phases.add(phase);
+			}
+
+			@Override
+			public void exchange(Function function, int pduReference, ItemKey item, int count, long nanos,
+					int bytesSent, int bytesReceived) {
+				items.add(item);
+			}
+
+			@Override
+			public void decode(Class<?> beanClass, int bytes, long nanos) {
+				decoded.add(beanClass);
+			}
+		};
+		try (S7SimulatorServer server = new S7SimulatorServer(240);
+				S7Connector c = S7ConnectorFactory.buildTCPConnector()
+						.withHost(server.getHost())
+						.withPort(server.getPort())
+						.withMetrics(metrics)
+						.build()) {
+			S7Serializer serializer = S7SerializerFactory.buildSerializer(c);
+			serializer.dispense(MyDB.class, 7, 12);
+		}
+
+		Assert.assertEquals(Arrays.asList(S7Metrics.Phase.TCP_CONNECT, S7Metrics.Phase.ISO_CONNECT,
+				S7Metrics.Phase.SETUP_COMMUNICATION), phases);
+		Assert.assertEquals(Arrays.asList(new ItemKey(DaveArea.DB, 7, 4, 12)), items);
+		Assert.assertEquals(Arrays.asList(MyDB.class), decoded);
+	}
+
+	@Test
+	public void histogramPercentiles() {
+		LatencyHistogram h = new LatencyHistogram();
+		for (int i = 0; i < 99; i++) {
+			h.record(10_000);
+		}
+		h.record(5_000_000);
+
+		Assert.assertEquals(100, h.getCount());
+		Assert.assertEquals(5000, h.getMaxMicros());
+		Assert.assertEquals(15, h.getPercentileMicros(50));
+		Assert.assertEquals(15, h.getPercentileMicros(99));
+		Assert.assertEquals(5000, h.getPercentileMicros(100));
+	}
+
+	@Datablock
+	public static class MyDB {
+		@S7Variable(type=S7Type.DWORD, byteOffset=0)
+		public long counter;
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.impl.nodave.PDU;
+
+import java.util.Arrays;
+
+public class PDUTest {
+
+	@Test
+	public void multiItemWriteRequest() {
+		byte[] mem = new byte[256];
+		PDU p = new PDU(mem, 0);
+		p.prepareWriteRequest();
+		p.addVarToWriteRequest(DaveArea.DB, 1, 10, 3, new byte[]{ 1, 2, 3 });
+		p.addBitVarToWriteRequest(DaveArea.DB, 1, 8 * 20 + 5, 1, new byte[]{ 1 });
+
+		byte[] expected = new byte[]{
+				// header
+				0x32, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00, 0x1a, 0x00, 0x0d,
+				// parameters
+				0x05, 0x02,
+				0x12, 0x0a, 0x10, 0x02, 0x00, 0x03, 0x00, 0x01, (byte) 0x84, 0x00, 0x00, 0x50,
+				0x12, 0x0a, 0x10, 0x01, 0x00, 0x01, 0x00, 0x01, (byte) 0x84, 0x00, 0x00, (byte) 0xa5,
+				// data, first item padded to even length
+				0x00, 0x04, 0x00, 0x18, 0x01, 0x02, 0x03, 0x00,
+				0x00, 0x03, 0x00, 0x01, 0x01
+		};
+
+		Assert.assertEquals(expected.length, p.getLength());
+		Assert.assertArrayEquals(expected, Arrays.copyOf(mem, expected.length));
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.BitKey;
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.SiemensPLCS;
+import com.github.s7connector.impl.S7ProcessImage;
+import com.github.s7connector.impl.S7TCPAsyncConnection;
+import com.github.s7connector.test.connector.S7SimulatorServer;
+
+public class ProcessImageTest {
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long end = System.currentTimeMillis() + 10000;
+		while (!condition.getAsBoolean()) {
+			Assert.assertTrue("timeout", System.currentTimeMillis() < end);
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void rangesAreCoalesced() throws Exception {
+		try (S7SimulatorServer server = new S7SimulatorServer(240);
+				S7TCPAsyncConnection c = new S7TCPAsyncConnection(server.getHost(), SiemensPLCS.SNon200, 0, 2,
+						server.getPort());
+				S7ProcessImage image = new S7ProcessImage(c)) {
+			image.addRange(new ItemKey(DaveArea.DB, 1, 4, 0));
+			image.addRange(new ItemKey(DaveArea.DB, 1, 4, 10));
+			image.addRange(new ItemKey(DaveArea.DB, 1, 2, 2));
+			image.addRange(new ItemKey(DaveArea.DB, 1, 4, 200));
+			image.addRange(new ItemKey(DaveArea.FLAGS, 0, 1, 0));
+
+			Assert.assertEquals(Arrays.asList(new ItemKey(DaveArea.DB, 1, 14, 0), new ItemKey(DaveArea.DB, 1, 4, 200),
+					new ItemKey(DaveArea.FLAGS, 0, 1, 0)), image.getBlocks());
+
+			image.removeRange(new ItemKey(DaveArea.DB, 1, 4, 10));
+			Assert.assertEquals(new ItemKey(DaveArea.DB, 1, 4, 0), image.getBlocks().get(0));
+		}
+	}
+
+	@Test
+	public void snapshotsAreConsistent() throws Exception {
+		try (S7SimulatorServer server = new S7SimulatorServer(240);
+				S7TCPAsyncConnection c = new S7TCPAsyncConnection(server.getHost(), SiemensPLCS.SNon200, 0, 2,
+						server.getPort());
+				S7ProcessImage image = new S7ProcessImage(c)) {
+			byte[] db = server.getSimulator().image(DaveArea.DB.getCode(), 1);
+			db[0] = 0x12;
+			db[300] = 0x05;
+			image.addRange(new ItemKey(DaveArea.DB, 1, 2, 0));
+			image.addRange(new ItemKey(DaveArea.DB, 1, 2, 0));
+			image.addRange(new ItemKey(DaveArea.DB, 1, 1, 300));
+
+			S7ProcessImage.Snapshot empty = image.snapshot();
+			Assert.assertEquals(0, empty.getCycle());
+			Assert.assertFalse(empty.contains(new ItemKey(DaveArea.DB, 1, 2, 0)));
+
+			c.setPeriod(Duration.ofMillis(20));
+			c.start();
+			await(() -> image.snapshot().getCycle() >= 2);
+
+			S7ProcessImage.Snapshot snapshot = image.snapshot();
+			Assert.assertNotNull(snapshot.getTimestamp());
+			Assert.assertArrayEquals(new byte[] { 0x12, 0 }, snapshot.read(DaveArea.DB, 1, 2, 0));
+			Assert.assertTrue(snapshot.readBit(new BitKey(DaveArea.DB, 1, 300, 2)));
+			Assert.assertFalse(snapshot.readBit(new BitKey(DaveArea.DB, 1, 300, 1)));
+
+			// readers cost no requests
+			int requests = server.requests.get();
+			for (int i = 0; i < 1000; i++) {
+				image.snapshot().read(DaveArea.DB, 1, 1, 1);
+			}
+			Assert.assertTrue(server.requests.get() - requests <= 2);
+
+			// a snapshot does not change with later cycles
+			db[0] = 0x34;
+			long cycle = snapshot.getCycle();
+			await(() -> image.snapshot().getCycle() > cycle + 1);
+			Assert.assertEquals(0x12, snapshot.read(DaveArea.DB, 1, 1, 0)[0]);
+			Assert.assertEquals(0x34, image.snapshot().read(DaveArea.DB, 1, 1, 0)[0]);
+		}
+	}
+
+	@Test
+	public void imageKeepsItemsOfTheSameKey() throws Exception {
+		try (S7SimulatorServer server = new S7SimulatorServer(240);
+				S7TCPAsyncConnection c = new S7TCPAsyncConnection(server.getHost(), SiemensPLCS.SNon200, 0, 2,
+						server.getPort())) {
+			ItemKey key = new ItemKey(DaveArea.DB, 1, 2, 0);
+			AtomicInteger consumed = new AtomicInteger();
+			c.addItem(key, data -> consumed.incrementAndGet());
+			S7ProcessImage image = new S7ProcessImage(c);
+			image.addRange(key);
+			c.setPeriod(Duration.ofMillis(20));
+			c.start();
+			await(() -> image.snapshot().getCycle() >= 1 && consumed.get() >= 1);
+
+			// the item is still polled after the image is closed
+			image.close();
+			int count = consumed.get();
+			await(() -> consumed.get() > count + 2);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rangeNotInImage() throws Exception {
+		try (S7SimulatorServer server = new S7SimulatorServer(240);
+				S7TCPAsyncConnection c = new S7TCPAsyncConnection(server.getHost(), SiemensPLCS.SNon200, 0, 2,
+						server.getPort());
+				S7ProcessImage image = new S7ProcessImage(c)) {
+			image.addRange(new ItemKey(DaveArea.DB, 1, 2, 0));
+			c.setPeriod(Duration.ofMillis(20));
+			c.start();
+			await(() -> image.snapshot().getCycle() >= 1);
+			image.snapshot().read(DaveArea.DB, 1, 4, 0);
+		}
+	}
+
+}
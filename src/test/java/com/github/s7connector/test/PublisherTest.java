@@ -0,0 +1,228 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Flow;
+import com.github.s7connector.api.SiemensPLCS;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.S7ItemPublisher;
+import com.github.s7connector.impl.S7TCPAsyncConnection;
+import com.github.s7connector.test.connector.S7SimulatorServer;
+
+public class PublisherTest {
+
+	private static final ItemKey KEY = new ItemKey(DaveArea.DB, 1, 2, 0);
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long end = System.currentTimeMillis() + 10000;
+		while (!condition.getAsBoolean()) {
+			Assert.assertTrue("timeout", System.currentTimeMillis() < end);
+			Thread.sleep(10);
+		}
+	}
+
+	private static class TestSubscriber implements S7Flow.Subscriber<byte[]> {
+		final List<byte[]> items = new CopyOnWriteArrayList<>();
+
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+
+		volatile boolean completed;
+
+		volatile S7Flow.Subscription subscription;
+
+		final long initialDemand;
+
+		TestSubscriber(long initialDemand) {
+			this.initialDemand = initialDemand;
+		}
+
+		@Override
+		public void onSubscribe(S7Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (initialDemand > 0)
+				subscription.request(initialDemand);
+		}
+
+		@Override
+		public void onNext(byte[] item) {
+			items.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error.set(throwable);
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+
+	private S7SimulatorServer server;
+
+	private S7TCPAsyncConnection connection;
+
+	private ExecutorService executor;
+
+	private final AtomicInteger cycles = new AtomicInteger();
+
+	@Before
+	public void start() throws Exception {
+		server = new S7SimulatorServer(240);
+		connection = new S7TCPAsyncConnection(server.getHost(), SiemensPLCS.SNon200, 0, 2, server.getPort());
+		connection.setPeriod(Duration.ofMillis(20));
+		connection.addCycleListener(cycles::incrementAndGet);
+		executor = Executors.newCachedThreadPool();
+	}
+
+	@After
+	public void stop() throws Exception {
+		connection.close();
+		server.close();
+		executor.shutdownNow();
+	}
+
+	private byte[] image() {
+		return server.getSimulator().image(DaveArea.DB.getCode(), 1);
+	}
+
+	@Test
+	public void demandIsRespected() throws Exception {
+		TestSubscriber subscriber = new TestSubscriber(2);
+		connection.publish(KEY, S7Flow.Overflow.LATEST, 1, executor).subscribe(subscriber);
+		connection.start();
+
+		await(() -> subscriber.items.size() == 2);
+		int cycle = cycles.get();
+		await(() -> cycles.get() > cycle + 3);
+		Assert.assertEquals(2, subscriber.items.size());
+
+		subscriber.subscription.request(1);
+		await(() -> subscriber.items.size() == 3);
+	}
+
+	@Test
+	public void slowSubscriberDoesNotDelayPoll() throws Exception {
+		AtomicInteger delivered = new AtomicInteger();
+		AtomicReference<byte[]> last = new AtomicReference<>();
+		TestSubscriber slow = new TestSubscriber(Long.MAX_VALUE) {
+			@Override
+			public void onNext(byte[] item) {
+				try {
+					Thread.sleep(300);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				last.set(item);
+				delivered.incrementAndGet();
+			}
+		};
+		connection.publish(KEY).subscribe(slow);
+		connection.start();
+
+		await(() -> cycles.get() >= 10);
+		Assert.assertTrue(delivered.get() <= 1);
+
+		// conflated to the latest image
+		image()[0] = 0x55;
+		int cycle = cycles.get();
+		await(() -> cycles.get() > cycle + 1);
+		int count = delivered.get();
+		await(() -> delivered.get() > count + 1);
+		Assert.assertEquals(0x55, last.get()[0]);
+	}
+
+	@Test
+	public void bufferOverflowFails() throws Exception {
+		TestSubscriber subscriber = new TestSubscriber(0);
+		connection.publish(KEY, S7Flow.Overflow.BUFFER, 2, executor).subscribe(subscriber);
+		connection.start();
+
+		await(() -> subscriber.error.get() != null);
+		Assert.assertTrue(subscriber.error.get() instanceof S7Exception);
+		Assert.assertTrue(subscriber.items.isEmpty());
+	}
+
+	@Test
+	public void dropKeepsOldestItems() throws Exception {
+		image()[0] = 0x11;
+		TestSubscriber subscriber = new TestSubscriber(0);
+		connection.publish(KEY, S7Flow.Overflow.DROP, 1, executor).subscribe(subscriber);
+		connection.start();
+
+		await(() -> cycles.get() >= 2);
+		image()[0] = 0x22;
+		int cycle = cycles.get();
+		await(() -> cycles.get() > cycle + 2);
+
+		subscriber.subscription.request(1);
+		await(() -> subscriber.items.size() == 1);
+		Assert.assertEquals(0x11, subscriber.items.get(0)[0]);
+	}
+
+	@Test
+	public void publishKeepsItemsOfTheSameKey() throws Exception {
+		AtomicInteger consumed = new AtomicInteger();
+		connection.addItem(KEY, data -> consumed.incrementAndGet());
+		TestSubscriber subscriber = new TestSubscriber(1);
+		connection.publish(KEY, S7Flow.Overflow.LATEST, 1, executor).subscribe(subscriber);
+		connection.start();
+
+		await(() -> subscriber.items.size() == 1 && consumed.get() >= 1);
+		subscriber.subscription.cancel();
+
+		// the item is still polled after the last subscriber left
+		int count = consumed.get();
+		await(() -> consumed.get() > count + 2);
+	}
+
+	@Test
+	public void subscribersGetOwnArraysAndComplete() throws Exception {
+		// buffered items are delivered before the completion
+		TestSubscriber first = new TestSubscriber(Long.MAX_VALUE);
+		TestSubscriber second = new TestSubscriber(1);
+		S7ItemPublisher publisher = connection.publish(KEY, S7Flow.Overflow.LATEST, 1, executor);
+		publisher.subscribe(first);
+		publisher.subscribe(second);
+		connection.start();
+
+		await(() -> !first.items.isEmpty() && !second.items.isEmpty());
+		Assert.assertNotSame(first.items.get(0), second.items.get(0));
+
+		second.subscription.cancel();
+		publisher.close();
+		await(() -> first.completed);
+		Assert.assertFalse(second.completed);
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.impl.S7BaseConnection;
+import com.github.s7connector.impl.nodave.PDU;
+import com.github.s7connector.test.connector.MemoryS7Connection;
+
+public class RequestCombiningTest {
+
+	/**
+	 * Holds the first exchange until it is released
+	 */
+	private static class GatedS7Connection extends MemoryS7Connection {
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		volatile boolean broken;
+
+		GatedS7Connection() {
+			super(240);
+		}
+
+		@Override
+		public int exchange(PDU p1) throws IOException {
+			if (exchanges == 0) {
+				entered.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			} else if (broken) {
+				exchanges++;
+				throw new IOException("broken link");
+			}
+			return super.exchange(p1);
+		}
+	}
+
+	private static Thread start(IORunnable task, List<IOException> errors) {
+		Thread t = new Thread(() -> {
+			try {
+				task.run();
+			} catch (IOException e) {
+				errors.add(e);
+			}
+		});
+		t.start();
+		return t;
+	}
+
+	private interface IORunnable {
+		void run() throws IOException;
+	}
+
+	/**
+	 * Starts the tasks after each other while the first exchange is held, so
+	 * they are queued in this order
+	 */
+	private static void queue(GatedS7Connection dc, S7BaseConnection c, List<IOException> errors,
+			IORunnable... tasks) throws InterruptedException {
+		List<Thread> threads = new ArrayList<>();
+		threads.add(start(() -> c.read(DaveArea.DB, 9, 1, 0), errors));
+		Assert.assertTrue(dc.entered.await(10, TimeUnit.SECONDS));
+		long deadline = System.currentTimeMillis() + 10000;
+		for (IORunnable task : tasks) {
+			Thread t = start(task, errors);
+			while ((t.getState() != Thread.State.BLOCKED) && (System.currentTimeMillis() < deadline)) {
+				Thread.sleep(1);
+			}
+			threads.add(t);
+		}
+		dc.release.countDown();
+		for (Thread t : threads) {
+			t.join(10000);
+		}
+	}
+
+	@Test
+	public void concurrentReadsArePacked() throws Exception {
+		GatedS7Connection dc = new GatedS7Connection();
+		byte[] image = dc.image(DaveArea.DB.getCode(), 1);
+		for (int i = 0; i < 100; i++) {
+			image[i] = (byte) i;
+		}
+
+		final S7BaseConnection c = new TestConnection(dc);
+		final byte[][] results = new byte[4][];
+		final List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			final int n = i;
+			threads.add(new Thread(() -> {
+				try {
+					results[n] = c.read(DaveArea.DB, 1, 2, n * 10);
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}));
+		}
+
+		threads.get(0).start();
+		Assert.assertTrue(dc.entered.await(10, TimeUnit.SECONDS));
+		for (int i = 1; i < 4; i++) {
+			threads.get(i).start();
+		}
+		// wait until the other readers are queued and wait for the connection
+		long deadline = System.currentTimeMillis() + 10000;
+		for (int i = 1; i < 4; i++) {
+			while ((threads.get(i).getState() != Thread.State.BLOCKED) && (System.currentTimeMillis() < deadline)) {
+				Thread.sleep(1);
+			}
+		}
+		dc.release.countDown();
+		for (Thread t : threads) {
+			t.join(10000);
+		}
+
+		Assert.assertEquals(2, dc.exchanges);
+		for (int i = 0; i < 4; i++) {
+			Assert.assertArrayEquals(new byte[] { (byte) (i * 10), (byte) ((i * 10) + 1) }, results[i]);
+		}
+	}
+
+	@Test
+	public void readAfterWriteSeesWrittenValue() throws Exception {
+		GatedS7Connection dc = new GatedS7Connection();
+		S7BaseConnection c = new TestConnection(dc);
+		List<IOException> errors = Collections.synchronizedList(new ArrayList<>());
+		byte[][] result = new byte[1][];
+
+		queue(dc, c, errors,
+				() -> c.write(DaveArea.DB, 1, 4, new byte[] { 0x42 }),
+				() -> result[0] = c.read(DaveArea.DB, 1, 1, 4));
+
+		Assert.assertTrue(errors.isEmpty());
+		Assert.assertArrayEquals(new byte[] { 0x42 }, result[0]);
+		Assert.assertEquals(3, dc.exchanges);
+	}
+
+	@Test
+	public void failedWritesAreNotRepeated() throws Exception {
+		GatedS7Connection dc = new GatedS7Connection();
+		S7BaseConnection c = new TestConnection(dc);
+		List<IOException> errors = Collections.synchronizedList(new ArrayList<>());
+		dc.broken = true;
+
+		queue(dc, c, errors,
+				() -> c.write(DaveArea.DB, 1, 0, new byte[] { 1 }),
+				() -> c.write(DaveArea.DB, 1, 8, new byte[] { 2 }),
+				() -> c.read(DaveArea.DB, 1, 1, 0));
+
+		// one failed exchange for the packed writes, the read fails without one
+		Assert.assertEquals(2, dc.exchanges);
+		Assert.assertEquals(3, errors.size());
+		Assert.assertSame(errors.get(0), errors.get(1));
+		Assert.assertSame(errors.get(0), errors.get(2));
+	}
+
+	private static class TestConnection extends S7BaseConnection {
+		TestConnection(MemoryS7Connection dc) {
+			init(dc);
+		}
+
+		@Override
+		public void close() {}
+	}
+
+}
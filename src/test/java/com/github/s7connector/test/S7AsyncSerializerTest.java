@@ -0,0 +1,164 @@
+package com.github.s7connector.test;
+
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7AsyncSerializer;
+import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.api.factory.S7SerializerFactory;
+import com.github.s7connector.impl.S7BaseAsyncConnection;
+import com.github.s7connector.impl.S7BaseConnection;
+import com.github.s7connector.impl.utils.S7Type;
+import com.github.s7connector.test.connector.MemoryS7Connection;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class S7AsyncSerializerTest {
+
+    public static class Counter {
+        @S7Variable(type = S7Type.WORD, byteOffset = 0)
+        public int value;
+    }
+
+    private static class TestConnection extends S7BaseConnection {
+        TestConnection(MemoryS7Connection dc) {
+            init(dc);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class TestAsyncConnection extends S7BaseAsyncConnection {
+        final MemoryS7Connection dc = new MemoryS7Connection(240);
+
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+        @Override
+        protected S7Connector doStartConnection() {
+            return new TestConnection(dc);
+        }
+
+        @Override
+        protected ScheduledExecutorService getExecutor() {
+            return executor;
+        }
+    }
+
+    @Test
+    public void dispenseAndStore() throws Exception {
+        TestAsyncConnection connection = new TestAsyncConnection();
+        connection.start();
+        try {
+            S7AsyncSerializer serializer = S7SerializerFactory.buildAsyncSerializer(connection);
+
+            Counter counter = new Counter();
+            counter.value = 0x1234;
+            serializer.storeAsync(counter, 4, 10).get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(0x12, connection.dc.image(DaveArea.DB.getCode(), 4)[10]);
+
+            Counter result = serializer.dispenseAsync(Counter.class, 4, 10).get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(0x1234, result.value);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void subscribeUsesBatchedPoll() throws Exception {
+        TestAsyncConnection connection = new TestAsyncConnection();
+        byte[] image = connection.dc.image(DaveArea.DB.getCode(), 4);
+        image[1] = 1;
+        image[21] = 2;
+
+        S7AsyncSerializer serializer = S7SerializerFactory.buildAsyncSerializer(connection, Runnable::run);
+        BlockingQueue<Integer> first = new LinkedBlockingQueue<>();
+        BlockingQueue<Integer> second = new LinkedBlockingQueue<>();
+        serializer.subscribe(Counter.class, 4, 0, c -> first.add(c.value));
+        serializer.subscribe(Counter.class, 4, 20, c -> second.add(c.value));
+
+        connection.setPeriod(Duration.ofSeconds(60));
+        connection.start();
+        try {
+            Assert.assertEquals(Integer.valueOf(1), first.poll(10, TimeUnit.SECONDS));
+            Assert.assertEquals(Integer.valueOf(2), second.poll(10, TimeUnit.SECONDS));
+            // both items with one request
+            Assert.assertEquals(1, connection.dc.exchanges);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void subscriptionsKeepItemOfTheSameKey() throws Exception {
+        TestAsyncConnection connection = new TestAsyncConnection();
+        connection.dc.image(DaveArea.DB.getCode(), 4)[1] = 7;
+
+        BlockingQueue<byte[]> item = new LinkedBlockingQueue<>();
+        connection.addItem(new ItemKey(DaveArea.DB, 4, 2, 0), item::add);
+
+        S7AsyncSerializer serializer = S7SerializerFactory.buildAsyncSerializer(connection, Runnable::run);
+        BlockingQueue<Integer> first = new LinkedBlockingQueue<>();
+        BlockingQueue<Integer> second = new LinkedBlockingQueue<>();
+        serializer.subscribe(Counter.class, 4, 0, c -> first.add(c.value));
+        serializer.subscribe(Counter.class, 4, 0, c -> second.add(c.value));
+
+        connection.setPeriod(Duration.ofMillis(20));
+        connection.start();
+        try {
+            Assert.assertEquals(7, item.poll(10, TimeUnit.SECONDS)[1]);
+            Assert.assertEquals(Integer.valueOf(7), first.poll(10, TimeUnit.SECONDS));
+            Assert.assertEquals(Integer.valueOf(7), second.poll(10, TimeUnit.SECONDS));
+
+            serializer.unsubscribe(Counter.class, 4, 0);
+            item.clear();
+            Assert.assertNotNull(item.poll(10, TimeUnit.SECONDS));
+            item.clear();
+            first.clear();
+            second.clear();
+            Assert.assertNotNull(item.poll(10, TimeUnit.SECONDS));
+            Assert.assertTrue(first.isEmpty());
+            Assert.assertTrue(second.isEmpty());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void rejectedDecodingIsReported() throws Exception {
+        TestAsyncConnection connection = new TestAsyncConnection();
+        connection.dc.image(DaveArea.DB.getCode(), 4)[1] = 3;
+
+        AtomicBoolean reject = new AtomicBoolean(true);
+        S7AsyncSerializer serializer = S7SerializerFactory.buildAsyncSerializer(connection, task -> {
+            if (reject.getAndSet(false))
+                throw new RejectedExecutionException("saturated");
+            task.run();
+        });
+        BlockingQueue<Integer> values = new LinkedBlockingQueue<>();
+        BlockingQueue<S7Exception> errors = new LinkedBlockingQueue<>();
+        serializer.subscribe(Counter.class, 4, 0, c -> values.add(c.value), errors::add);
+
+        connection.setPeriod(Duration.ofMillis(20));
+        connection.start();
+        try {
+            Assert.assertTrue(errors.poll(10, TimeUnit.SECONDS).getCause() instanceof RejectedExecutionException);
+            // delivers again with the next poll
+            Assert.assertEquals(Integer.valueOf(3), values.poll(10, TimeUnit.SECONDS));
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -132,6 +132,57 @@ public class SerializerTest {
 			Assert.assertEquals( in.byteArray2[i], out.byteArray2[i] );
 	}
 	
+	@Test
+	public void dispenseInto() throws S7Exception {
+		EchoConnector c = new EchoConnector();
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+
+		MyDB in = new MyDB();
+		in.str = "first";
+		in.str2 = "second";
+		in.byteArray2 = new Byte[10];
+		for (int i=0; i<in.byteArray.length; i++) {
+			in.byteArray[i] = (byte) i;
+			in.byteArray2[i] = (byte) (i * 2);
+		}
+		in.s = new SubStruct();
+		in.s.subByte = 0x22;
+		in.s.subStruct = new SubSubStruct();
+		in.s.subStruct.subBytes = new Byte[10];
+		for (int i=0; i<in.s.subStruct.subBytes.length; i++)
+			in.s.subStruct.subBytes[i] = (byte) (i + 1);
+		in.s.subStruct.deepString = "deep";
+		in.date1 = new Date(0);
+		in.date2 = new Date(0);
+		in.simpleDate1 = new Date(0);
+		p.store(in, 0, 0);
+
+		MyDB target = p.dispense(MyDB.class, 0, 0);
+		Byte[] byteArray = target.byteArray;
+		Byte[] byteArray2 = target.byteArray2;
+		SubStruct s = target.s;
+		SubSubStruct subStruct = target.s.subStruct;
+
+		in.str = "changed";
+		in.byteArray[3] = 0x7F;
+		in.s.subByte = 0x33;
+		in.s.subStruct.deepString = "deeper";
+		p.store(in, 0, 0);
+
+		Assert.assertSame(target, p.dispenseInto(target, 0, 0));
+
+		Assert.assertSame(byteArray, target.byteArray);
+		Assert.assertSame(byteArray2, target.byteArray2);
+		Assert.assertSame(s, target.s);
+		Assert.assertSame(subStruct, target.s.subStruct);
+
+		Assert.assertEquals("changed", target.str);
+		Assert.assertEquals(Byte.valueOf((byte) 0x7F), target.byteArray[3]);
+		Assert.assertEquals(0x33, target.s.subByte);
+		Assert.assertEquals("deeper", target.s.subStruct.deepString);
+		Assert.assertArrayEquals(in.s.subStruct.subBytes, target.s.subStruct.subBytes);
+	}
+
 	@Datablock
 	public static class MyDB
 	{
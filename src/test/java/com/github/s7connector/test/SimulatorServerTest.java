@@ -0,0 +1,126 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.BitKey;
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Connector;
+import com.github.s7connector.api.S7Serializer;
+import com.github.s7connector.api.factory.S7ConnectorFactory;
+import com.github.s7connector.api.factory.S7SerializerFactory;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.nodave.Nodave;
+import com.github.s7connector.test.connector.S7SimulatorServer;
+
+public class SimulatorServerTest {
+
+	private static S7Connector connect(S7SimulatorServer server) throws IOException {
+		return S7ConnectorFactory.buildTCPConnector()
+				.withHost(server.getHost())
+				.withPort(server.getPort())
+				.build();
+	}
+
+	@Test
+	public void readAndWriteOverTcp() throws IOException {
+		try (S7SimulatorServer server = new S7SimulatorServer(240); S7Connector c = connect(server)) {
+			byte[] flags = server.getSimulator().image(DaveArea.FLAGS.getCode(), 0);
+			flags[20] = 0x11;
+			flags[21] = 0x22;
+
+			Assert.assertArrayEquals(new byte[] { 0x11, 0x22 }, c.read(DaveArea.FLAGS, 0, 2, 20));
+
+			c.write(DaveArea.DB, 5, 300, new byte[] { 1, 2, 3 });
+			Assert.assertArrayEquals(new byte[] { 1, 2, 3 }, c.read(DaveArea.DB, 5, 3, 300));
+
+			c.writeBit(new BitKey(DaveArea.OUTPUTS, 0, 2, 3), true);
+			Assert.assertEquals(0x08, server.getSimulator().image(DaveArea.OUTPUTS.getCode(), 0)[2]);
+		}
+	}
+
+	@Test
+	public void largeReadsAreSplitByPduSize() throws IOException {
+		try (S7SimulatorServer server = new S7SimulatorServer(240); S7Connector c = connect(server)) {
+			byte[] image = server.getSimulator().image(DaveArea.DB.getCode(), 1);
+			for (int i = 0; i < 1000; i++) {
+				image[i] = (byte) i;
+			}
+			server.requests.set(0);
+
+			byte[] buffer = c.read(DaveArea.DB, 1, 1000, 0);
+			for (int i = 0; i < 1000; i++) {
+				Assert.assertEquals((byte) i, buffer[i]);
+			}
+			Assert.assertTrue(server.requests.get() > 1);
+
+			ItemKey first = new ItemKey(DaveArea.DB, 1, 4, 10);
+			ItemKey second = new ItemKey(DaveArea.DB, 1, 4, 500);
+			server.requests.set(0);
+			Map<ItemKey, byte[]> items = c.read(Arrays.asList(first, second));
+			Assert.assertEquals(1, server.requests.get());
+			Assert.assertArrayEquals(Arrays.copyOfRange(image, 500, 504), items.get(second));
+		}
+	}
+
+	@Test
+	public void serializerOverTcpWithLatency() throws IOException {
+		try (S7SimulatorServer server = new S7SimulatorServer(480); S7Connector c = connect(server)) {
+			server.setLatency(20);
+			S7Serializer s = S7SerializerFactory.buildSerializer(c);
+
+			ArrayTest.Station station = new ArrayTest.Station();
+			station.active = true;
+			station.count = 42;
+			s.store(station, 3, 10);
+
+			long start = System.nanoTime();
+			ArrayTest.Station result = s.dispense(ArrayTest.Station.class, 3, 10);
+			Assert.assertTrue(System.nanoTime() - start >= 20_000_000L);
+			Assert.assertTrue(result.active);
+			Assert.assertEquals(42, result.count);
+		}
+	}
+
+	@Test
+	public void injectedErrors() throws IOException {
+		try (S7SimulatorServer server = new S7SimulatorServer(240); S7Connector c = connect(server)) {
+			server.getSimulator().injectError(Nodave.RESULT_ITEM_NOT_AVAILABLE, 1);
+			try {
+				c.read(DaveArea.DB, 1, 4, 0);
+				Assert.fail();
+			} catch (S7Exception e) {
+				// expected
+			}
+			Assert.assertArrayEquals(new byte[4], c.read(DaveArea.DB, 1, 4, 0));
+
+			try {
+				c.read(DaveArea.DB, 1, 4, 65534);
+				Assert.fail();
+			} catch (S7Exception e) {
+				// address out of range
+			}
+		}
+	}
+
+}
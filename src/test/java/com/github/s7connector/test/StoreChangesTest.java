@@ -0,0 +1,116 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.BitKey;
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Serializer;
+import com.github.s7connector.api.annotation.Datablock;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.api.factory.S7SerializerFactory;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.utils.S7Type;
+import com.github.s7connector.test.connector.MemoryConnector;
+
+public class StoreChangesTest {
+
+	@Test
+	public void writesChangedBitsOnly() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+
+		MyDB bean = new MyDB();
+		bean.value = 1.5;
+		p.storeChanges(bean, 10, 100);
+
+		//concurrent change by the PLC
+		c.image(DaveArea.DB, 10)[100] |= 0x80;
+		c.image(DaveArea.DB, 10)[106] = 0x42;
+		c.clear();
+
+		bean.start = true;
+		p.storeChanges(bean, 10, 100);
+
+		Assert.assertEquals(1, c.writeRequests);
+		Assert.assertTrue(c.writes.isEmpty());
+		Assert.assertEquals(1, c.bitWrites.size());
+		Assert.assertEquals(new BitKey(DaveArea.DB, 10, 100, 1), c.bitWrites.get(0));
+		Assert.assertEquals((byte) 0x82, c.image(DaveArea.DB, 10)[100]);
+		Assert.assertEquals(0x42, c.image(DaveArea.DB, 10)[106]);
+	}
+
+	@Test
+	public void writesChangedRangesOnly() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+
+		MyDB bean = p.dispense(MyDB.class, 10, 0);
+		p.storeChanges(bean, 10, 0);
+		Assert.assertEquals(0, c.writeRequests);
+
+		bean.value = 2.0;
+		bean.counter = 0x0101;
+		p.storeChanges(bean, 10, 0);
+
+		Assert.assertEquals(1, c.writeRequests);
+		Assert.assertEquals(2, c.writes.size());
+		Assert.assertEquals(new ItemKey(DaveArea.DB, 10, 1, 2), c.writes.get(0));
+		Assert.assertEquals(new ItemKey(DaveArea.DB, 10, 2, 8), c.writes.get(1));
+		Assert.assertEquals(bean.value, p.dispense(MyDB.class, 10, 0).value, 0.0);
+		Assert.assertEquals(bean.counter, p.dispense(MyDB.class, 10, 0).counter);
+
+		c.clear();
+		p.storeChanges(bean, 10, 0);
+		Assert.assertEquals(0, c.writeRequests);
+	}
+
+	@Test
+	public void dispenseUpdatesShadow() throws S7Exception {
+		MemoryConnector c = new MemoryConnector();
+		S7Serializer p = S7SerializerFactory.buildSerializer(c);
+
+		MyDB bean = new MyDB();
+		p.storeChanges(bean, 10, 0);
+
+		//changed by the PLC and dispensed
+		c.image(DaveArea.DB, 10)[0] = 0x01;
+		bean = p.dispense(MyDB.class, 10, 0);
+		Assert.assertTrue(bean.manual);
+		c.clear();
+
+		p.storeChanges(bean, 10, 0);
+		Assert.assertEquals(0, c.writeRequests);
+	}
+
+	@Datablock
+	public static class MyDB {
+		@S7Variable(type=S7Type.BOOL, byteOffset=0, bitOffset=0)
+		public boolean manual;
+
+		@S7Variable(type=S7Type.BOOL, byteOffset=0, bitOffset=1)
+		public boolean start;
+
+		@S7Variable(type=S7Type.REAL, byteOffset=2)
+		public double value;
+
+		@S7Variable(type=S7Type.WORD, byteOffset=8)
+		public int counter;
+	}
+}
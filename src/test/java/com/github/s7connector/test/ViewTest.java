@@ -0,0 +1,245 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.api.S7View;
+import com.github.s7connector.api.annotation.S7Variable;
+import com.github.s7connector.api.factory.S7SerializerFactory;
+import com.github.s7connector.exception.S7Exception;
+import com.github.s7connector.impl.serializer.S7SerializerImpl;
+import com.github.s7connector.impl.utils.S7Type;
+
+public class ViewTest {
+
+	@Test
+	public void readFields() throws S7Exception {
+		MyDB bean = new MyDB();
+		bean.running = true;
+		bean.flags = new boolean[] { false, true, false, false, false, false, false, true };
+		bean.counter = 0xBEEF;
+		bean.total = -2;
+		bean.value = 1.5f;
+		bean.name = "Station";
+		bean.nested = new Nested();
+		bean.nested.level = 42;
+
+		byte[] buffer = new byte[100];
+		S7SerializerImpl.insertBytes(bean, buffer, 10);
+
+		S7View view = S7SerializerFactory.buildView(MyDB.class).wrap(buffer, 10);
+		Assert.assertTrue(view.getBoolean("running"));
+		Assert.assertTrue(view.getBoolean("flags", 1));
+		Assert.assertFalse(view.getBoolean("flags", 2));
+		Assert.assertTrue(view.getBoolean("flags", 7));
+		Assert.assertEquals(0xBEEF, view.getInt("counter"));
+		Assert.assertEquals(-2, view.getLong("total"));
+		Assert.assertEquals(1.5f, view.getFloat("value"), 0.0f);
+		Assert.assertEquals("Station", view.getString("name"));
+		Assert.assertEquals(42, view.getInt("nested.level"));
+		Assert.assertEquals(42, ((Nested) view.get("nested")).level);
+	}
+
+	@Test
+	public void writeFields() throws S7Exception {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+		S7View view = S7SerializerFactory.buildView(MyDB.class).wrap(buffer, 20);
+		view.setBoolean("flags", 7, true);
+		view.setInt("counter", 1234);
+		view.setFloat("value", 2.5f);
+		view.setString("name", "abc");
+		view.set("total", 7L);
+
+		byte[] bytes = new byte[100];
+		buffer.get(bytes);
+		MyDB bean = S7SerializerImpl.extractBytes(MyDB.class, bytes, 20);
+		Assert.assertTrue(bean.flags[7]);
+		Assert.assertFalse(bean.flags[6]);
+		Assert.assertEquals(1234, bean.counter);
+		Assert.assertEquals(2.5f, bean.value, 0.0f);
+		Assert.assertEquals("abc", bean.name);
+		Assert.assertEquals(7L, bean.total);
+	}
+
+	@Test
+	public void shareBuffer() throws S7Exception {
+		byte[] buffer = new byte[60];
+		for (int i = 0; i < 10; i++) {
+			buffer[(i * 6) + 3] = (byte) i;
+		}
+
+		S7View view = S7SerializerFactory.buildView(ArrayTest.Station.class).wrap(buffer, 0);
+		for (int i = 0; i < 10; i++) {
+			Assert.assertEquals(i, view.moveTo(i * 6).getInt("count"));
+		}
+	}
+
+	@Test
+	public void readScalarTypes() throws S7Exception {
+		byte[] buffer = new byte[64];
+		S7SerializerImpl.insertBytes(ScalarDB.filled(), buffer, 0);
+
+		S7View view = S7SerializerFactory.buildView(ScalarDB.class).wrap(buffer, 0);
+		Assert.assertEquals(-5, view.getInt("sint"));
+		Assert.assertEquals(200, view.getInt("usint"));
+		Assert.assertEquals(-300, view.getInt("i"));
+		Assert.assertEquals(-300, view.getLong("i"));
+		Assert.assertEquals(60000, view.getInt("ui"));
+		Assert.assertEquals(4000000000L, view.getLong("udint"));
+		Assert.assertEquals(0xFFFFFFFFL, view.getLong("dword"));
+		Assert.assertEquals(Long.MIN_VALUE + 1, view.getLong("lint"));
+		Assert.assertEquals(-1L, view.getLong("ulint"));
+		Assert.assertEquals(0x0123456789ABCDEFL, view.getLong("lword"));
+		Assert.assertEquals(1e300, view.getDouble("lreal"), 0.0);
+		Assert.assertEquals(1500, view.getLong("time"));
+		Assert.assertEquals(43200000, view.getInt("tod"));
+		Assert.assertEquals(20000, view.getInt("s5time"));
+		Assert.assertEquals(123456789012L, view.getLong("ltime"));
+	}
+
+	@Test
+	public void writeScalarTypes() throws S7Exception {
+		ScalarDB expected = ScalarDB.filled();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+		S7View view = S7SerializerFactory.buildView(ScalarDB.class).wrap(buffer, 0);
+		view.setInt("sint", expected.sint);
+		view.setInt("usint", expected.usint);
+		view.setInt("i", expected.i);
+		view.setInt("ui", expected.ui);
+		view.setLong("udint", expected.udint);
+		view.setLong("dword", expected.dword);
+		view.setLong("lint", expected.lint);
+		view.setLong("ulint", expected.ulint);
+		view.setLong("lword", expected.lword);
+		view.setDouble("lreal", expected.lreal);
+		view.setLong("time", expected.time);
+		view.setInt("tod", expected.tod);
+		view.setInt("s5time", expected.s5time);
+		view.setLong("ltime", expected.ltime);
+
+		byte[] bytes = new byte[64];
+		buffer.get(bytes);
+		byte[] image = new byte[64];
+		S7SerializerImpl.insertBytes(expected, image, 0);
+		Assert.assertArrayEquals(image, bytes);
+		Assert.assertEquals(expected.lint, view.getLong("lint"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void noDoubleOfReal() throws S7Exception {
+		S7SerializerFactory.buildView(MyDB.class).wrap(new byte[100], 0).getDouble("value");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wrongType() throws S7Exception {
+		S7SerializerFactory.buildView(MyDB.class).wrap(new byte[100], 0).getFloat("counter");
+	}
+
+	public static class MyDB {
+		@S7Variable(type=S7Type.BOOL, byteOffset=0, bitOffset=0)
+		public boolean running;
+
+		@S7Variable(type=S7Type.BOOL, byteOffset=2, bitOffset=0, arraySize=8)
+		public boolean[] flags;
+
+		@S7Variable(type=S7Type.WORD, byteOffset=4)
+		public int counter;
+
+		@S7Variable(type=S7Type.DINT, byteOffset=6)
+		public long total;
+
+		@S7Variable(type=S7Type.REAL, byteOffset=10)
+		public float value;
+
+		@S7Variable(type=S7Type.STRING, byteOffset=14, size=10)
+		public String name;
+
+		@S7Variable(type=S7Type.STRUCT, byteOffset=26)
+		public Nested nested;
+	}
+
+	public static class ScalarDB {
+		@S7Variable(type=S7Type.SINT, byteOffset=0)
+		public int sint;
+
+		@S7Variable(type=S7Type.USINT, byteOffset=1)
+		public int usint;
+
+		@S7Variable(type=S7Type.INT, byteOffset=2)
+		public int i;
+
+		@S7Variable(type=S7Type.UINT, byteOffset=4)
+		public int ui;
+
+		@S7Variable(type=S7Type.UDINT, byteOffset=6)
+		public long udint;
+
+		@S7Variable(type=S7Type.DWORD, byteOffset=10)
+		public long dword;
+
+		@S7Variable(type=S7Type.LINT, byteOffset=14)
+		public long lint;
+
+		@S7Variable(type=S7Type.ULINT, byteOffset=22)
+		public long ulint;
+
+		@S7Variable(type=S7Type.LWORD, byteOffset=30)
+		public long lword;
+
+		@S7Variable(type=S7Type.LREAL, byteOffset=38)
+		public double lreal;
+
+		@S7Variable(type=S7Type.TIME, byteOffset=46)
+		public long time;
+
+		@S7Variable(type=S7Type.TIME_OF_DAY, byteOffset=50)
+		public int tod;
+
+		@S7Variable(type=S7Type.S5TIME, byteOffset=54)
+		public int s5time;
+
+		@S7Variable(type=S7Type.LTIME, byteOffset=56)
+		public long ltime;
+
+		static ScalarDB filled() {
+			ScalarDB bean = new ScalarDB();
+			bean.sint = -5;
+			bean.usint = 200;
+			bean.i = -300;
+			bean.ui = 60000;
+			bean.udint = 4000000000L;
+			bean.dword = 0xFFFFFFFFL;
+			bean.lint = Long.MIN_VALUE + 1;
+			bean.ulint = -1L;
+			bean.lword = 0x0123456789ABCDEFL;
+			bean.lreal = 1e300;
+			bean.time = 1500;
+			bean.tod = 43200000;
+			bean.s5time = 20000;
+			bean.ltime = 123456789012L;
+			return bean;
+		}
+	}
+
+	public static class Nested {
+		@S7Variable(type=S7Type.WORD, byteOffset=0)
+		public int level;
+	}
+}
@@ -0,0 +1,108 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test.connector;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.s7connector.api.BitKey;
+import com.github.s7connector.api.DaveArea;
+import com.github.s7connector.api.ItemKey;
+import com.github.s7connector.api.S7Connector;
+
+/**
+ * Memory connector for testing
+ * 
+ * keeps an image per area and area number and records the requests
+ *
+ */
+public class MemoryConnector implements S7Connector {
+
+	private final Map<String, byte[]> images = new HashMap<>();
+
+	/**
+	 * Read requests
+	 */
+	public final List<ItemKey> reads = new ArrayList<>();
+
+	/**
+	 * Written areas
+	 */
+	public final List<ItemKey> writes = new ArrayList<>();
+
+	/**
+	 * Written bits
+	 */
+	public final List<BitKey> bitWrites = new ArrayList<>();
+
+	/**
+	 * Number of write requests
+	 */
+	public int writeRequests;
+
+	public byte[] image(DaveArea area, int areaNumber) {
+		return images.computeIfAbsent(area + ":" + areaNumber, k -> new byte[65536]);
+	}
+
+	public void clear() {
+		reads.clear();
+		writes.clear();
+		bitWrites.clear();
+		writeRequests = 0;
+	}
+
+	@Override
+	public byte[] read(DaveArea area, int areaNumber, int bytes, int offset) {
+		reads.add(new ItemKey(area, areaNumber, bytes, offset));
+		byte[] buffer = new byte[bytes];
+		System.arraycopy(image(area, areaNumber), offset, buffer, 0, bytes);
+		return buffer;
+	}
+
+	@Override
+	public void write(DaveArea area, int areaNumber, int offset, byte[] buffer) {
+		writeRequests++;
+		writes.add(new ItemKey(area, areaNumber, buffer.length, offset));
+		System.arraycopy(buffer, 0, image(area, areaNumber), offset, buffer.length);
+	}
+
+	@Override
+	public void write(Map<ItemKey, byte[]> items, Map<BitKey, Boolean> bits) {
+		writeRequests++;
+		for (Map.Entry<ItemKey, byte[]> item : items.entrySet()) {
+			ItemKey key = item.getKey();
+			writes.add(key);
+			System.arraycopy(item.getValue(), 0, image(key.getArea(), key.getAreaNumber()), key.getOffset(),
+					item.getValue().length);
+		}
+		for (Map.Entry<BitKey, Boolean> bit : bits.entrySet()) {
+			BitKey key = bit.getKey();
+			bitWrites.add(key);
+			byte[] image = image(key.getArea(), key.getAreaNumber());
+			if (bit.getValue())
+				image[key.getByteOffset()] |= (0x01 << key.getBitOffset());
+			else
+				image[key.getByteOffset()] &= ~(0x01 << key.getBitOffset());
+		}
+	}
+
+	@Override
+	public void close() throws IOException {}
+
+}
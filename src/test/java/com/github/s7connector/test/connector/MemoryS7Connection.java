@@ -0,0 +1,65 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test.connector;
+
+import java.io.IOException;
+
+import com.github.s7connector.impl.nodave.Nodave;
+import com.github.s7connector.impl.nodave.PDU;
+import com.github.s7connector.impl.nodave.S7Connection;
+
+/**
+ * In-memory S7 connection for testing
+ * 
+ * answers read and write requests with an {@link S7Simulator} without a
+ * transport and counts the exchanged PDUs
+ *
+ */
+public class MemoryS7Connection extends S7Connection {
+
+	private final S7Simulator simulator;
+
+	/**
+	 * Number of exchanged PDUs
+	 */
+	public int exchanges;
+
+	public MemoryS7Connection(int pduLength) {
+		this(new S7Simulator(pduLength));
+	}
+
+	public MemoryS7Connection(S7Simulator simulator) {
+		super(null);
+		this.simulator = simulator;
+		this.maxPDUlength = simulator.getPduLength();
+	}
+
+	public S7Simulator getSimulator() {
+		return simulator;
+	}
+
+	public byte[] image(int area, int areaNumber) {
+		return simulator.image(area, areaNumber);
+	}
+
+	@Override
+	public int exchange(PDU p1) throws IOException {
+		exchanges++;
+		simulator.handle(msgOut, PDUstartOut, msgIn, PDUstartIn);
+		return Nodave.RESULT_OK;
+	}
+
+}
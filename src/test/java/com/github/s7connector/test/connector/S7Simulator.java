@@ -0,0 +1,179 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test.connector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.s7connector.impl.nodave.Nodave;
+import com.github.s7connector.impl.nodave.PDU;
+
+/**
+ * In-memory S7 PLC for testing
+ * 
+ * answers setup-communication, read-var and write-var jobs from an image per
+ * area and area number, the images of areas without number (flags, inputs,
+ * outputs) use area number 0
+ *
+ */
+public class S7Simulator {
+
+	/**
+	 * Function code of the setup-communication job
+	 */
+	private static final int FUNC_SETUP = 0xF0;
+
+	private static final int IMAGE_SIZE = 65536;
+
+	private final Map<String, byte[]> images = new HashMap<>();
+
+	/**
+	 * Negotiated PDU length
+	 */
+	private final int pduLength;
+
+	private int injectedError, injectedCount;
+
+	public S7Simulator(int pduLength) {
+		this.pduLength = pduLength;
+	}
+
+	public int getPduLength() {
+		return pduLength;
+	}
+
+	public synchronized byte[] image(int area, int areaNumber) {
+		return images.computeIfAbsent(area + ":" + areaNumber, k -> new byte[IMAGE_SIZE]);
+	}
+
+	/**
+	 * Answers every item of the next requests with an error
+	 * 
+	 * @param itemError
+	 *            the item return code, e.g. Nodave.RESULT_ITEM_NOT_AVAILABLE
+	 * @param requests
+	 *            the number of requests
+	 */
+	public synchronized void injectError(int itemError, int requests) {
+		this.injectedError = itemError;
+		this.injectedCount = requests;
+	}
+
+	/**
+	 * Answers a request
+	 * 
+	 * @param in
+	 *            the buffer with the request
+	 * @param req
+	 *            the start of the request PDU
+	 * @param out
+	 *            the buffer for the response
+	 * @param res
+	 *            the start of the response PDU
+	 * @return the length of the response PDU
+	 */
+	public synchronized int handle(byte[] in, int req, byte[] out, int res) {
+		int param = req + 10;
+		int func = Nodave.USByte(in, param);
+		int count = Nodave.USByte(in, param + 1);
+		int data = param + Nodave.USBEWord(in, req + 6);
+
+		for (int i = 0; i < 12; i++)
+			out[res + i] = 0;
+		out[res] = 0x32;
+		out[res + 1] = 3;
+		// PDU reference
+		out[res + 4] = in[req + 4];
+		out[res + 5] = in[req + 5];
+
+		if (func == FUNC_SETUP) {
+			System.arraycopy(in, param, out, res + 12, 8);
+			Nodave.setUSBEWord(out, res + 18, Math.min(pduLength, Nodave.USBEWord(in, param + 6)));
+			Nodave.setUSBEWord(out, res + 6, 8);
+			return 20;
+		}
+		if ((func != PDU.FUNC_READ) && (func != PDU.FUNC_WRITE)) {
+			// unsupported function, error class 0x85
+			out[res + 10] = (byte) 0x85;
+			return 12;
+		}
+
+		int error = 0;
+		if (injectedCount > 0) {
+			injectedCount--;
+			error = injectedError;
+		}
+
+		out[res + 12] = (byte) func;
+		out[res + 13] = (byte) count;
+		int pos = res + 14;
+
+		for (int i = 0; i < count; i++) {
+			int item = param + 2 + (i * 12);
+			int transport = Nodave.USByte(in, item + 3);
+			int length = Nodave.USBEWord(in, item + 4);
+			int areaNumber = Nodave.USBEWord(in, item + 6);
+			int area = Nodave.USByte(in, item + 8);
+			int address = (Nodave.USByte(in, item + 9) << 16) | Nodave.USBEWord(in, item + 10);
+			byte[] image = image(area, areaNumber);
+			int itemError = error;
+			if ((itemError == 0) && (((address / 8) + length) > image.length))
+				itemError = Nodave.RESULT_ADDRESS_OUT_OF_RANGE;
+
+			if (func == PDU.FUNC_READ) {
+				if (itemError != 0) {
+					out[pos] = (byte) itemError;
+					out[pos + 1] = 0;
+					Nodave.setUSBEWord(out, pos + 2, 0);
+					pos += 4;
+					continue;
+				}
+				out[pos] = (byte) 0xFF;
+				if (transport == 1) {
+					out[pos + 1] = 3;
+					Nodave.setUSBEWord(out, pos + 2, 1);
+					out[pos + 4] = (byte) ((image[address / 8] >> (address % 8)) & 0x01);
+				} else {
+					out[pos + 1] = 4;
+					Nodave.setUSBEWord(out, pos + 2, length * 8);
+					System.arraycopy(image, address / 8, out, pos + 4, length);
+				}
+				pos += 4 + length;
+				if ((i < (count - 1)) && ((length % 2) == 1))
+					pos++;
+			} else {
+				int dataTransport = Nodave.USByte(in, data + 1);
+				if (itemError == 0) {
+					if (dataTransport == 3) {
+						if (in[data + 4] != 0)
+							image[address / 8] |= (0x01 << (address % 8));
+						else
+							image[address / 8] &= ~(0x01 << (address % 8));
+					} else {
+						System.arraycopy(in, data + 4, image, address / 8, length);
+					}
+				}
+				data += 4 + length + (length % 2);
+				out[pos++] = (itemError != 0) ? (byte) itemError : (byte) 0xFF;
+			}
+		}
+
+		Nodave.setUSBEWord(out, res + 6, 2);
+		Nodave.setUSBEWord(out, res + 8, pos - (res + 14));
+		return pos - res;
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test.connector;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.s7connector.impl.nodave.Nodave;
+
+/**
+ * ISO-on-TCP server for testing
+ * 
+ * accepts connections on localhost, answers the COTP connect request and
+ * passes the S7 PDUs to an {@link S7Simulator}, so the whole wire path of
+ * {@link com.github.s7connector.impl.S7TCPConnection} runs without a PLC
+ *
+ */
+public class S7SimulatorServer implements Closeable {
+
+	/**
+	 * COTP PDU types
+	 */
+	private static final int COTP_CR = 0xE0, COTP_CC = 0xD0, COTP_DT = 0xF0;
+
+	/**
+	 * Offset of the S7 PDU: TPKT header and COTP data header
+	 */
+	private static final int PDU_START = 7;
+
+	private final S7Simulator simulator;
+
+	private final ServerSocket serverSocket;
+
+	private final List<Socket> clients = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Number of answered S7 PDUs
+	 */
+	public final AtomicInteger requests = new AtomicInteger();
+
+	private volatile long latency;
+
+	public S7SimulatorServer(S7Simulator simulator) throws IOException {
+		this.simulator = simulator;
+		this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		Thread acceptor = new Thread(this::accept, "S7SimulatorServer-" + getPort());
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	public S7SimulatorServer(int pduLength) throws IOException {
+		this(new S7Simulator(pduLength));
+	}
+
+	public String getHost() {
+		return serverSocket.getInetAddress().getHostAddress();
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	public S7Simulator getSimulator() {
+		return simulator;
+	}
+
+	/**
+	 * Delays every answer, the client waits about 500ms for an answer
+	 * 
+	 * @param millis
+	 *            the delay in milliseconds
+	 */
+	public void setLatency(long millis) {
+		this.latency = millis;
+	}
+
+	/**
+	 * Closes all client connections, the server keeps accepting new ones
+	 */
+	public void dropConnections() {
+		for (Socket client : clients) {
+			try {
+				client.close();
+			} catch (IOException e) {
+				// closing anyway
+			}
+		}
+		clients.clear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		dropConnections();
+	}
+
+	private void accept() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket client = serverSocket.accept();
+				client.setTcpNoDelay(true);
+				clients.add(client);
+				Thread t = new Thread(() -> serve(client), "S7SimulatorClient-" + client.getPort());
+				t.setDaemon(true);
+				t.start();
+			} catch (IOException e) {
+				// server closed
+			}
+		}
+	}
+
+	private void serve(Socket client) {
+		byte[] in = new byte[Nodave.MAX_RAW_LEN];
+		byte[] out = new byte[Nodave.MAX_RAW_LEN];
+		try (Socket s = client) {
+			DataInputStream is = new DataInputStream(s.getInputStream());
+			OutputStream os = s.getOutputStream();
+			while (true) {
+				is.readFully(in, 0, 4);
+				int length = Nodave.USBEWord(in, 2);
+				is.readFully(in, 4, length - 4);
+
+				int type = Nodave.USByte(in, 5);
+				if (type == COTP_CR) {
+					System.arraycopy(in, 0, out, 0, length);
+					out[5] = (byte) COTP_CC;
+					// destination reference is the source reference of the request
+					out[6] = in[8];
+					out[7] = in[9];
+					Nodave.setUSBEWord(out, 8, 1);
+				} else if (type == COTP_DT) {
+					out[4] = 0x02;
+					out[5] = (byte) COTP_DT;
+					out[6] = (byte) 0x80;
+					length = PDU_START + simulator.handle(in, PDU_START, out, PDU_START);
+					requests.incrementAndGet();
+				} else {
+					return;
+				}
+				out[0] = 0x03;
+				out[1] = 0x00;
+				Nodave.setUSBEWord(out, 2, length);
+
+				if (latency > 0)
+					Thread.sleep(latency);
+				os.write(out, 0, length);
+				os.flush();
+			}
+		} catch (IOException e) {
+			// client disconnected
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			clients.remove(client);
+		}
+	}
+
+}
@@ -15,9 +15,13 @@ limitations under the License.
 */
 package com.github.s7connector.test.converter;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Random;
+import java.util.TimeZone;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -121,4 +125,161 @@ public class DateAndTimeConverterTest
 		Assert.assertEquals(calendar.getTime(), d);
 	}
 
+	@Test
+	public void extractLocalDateTime()
+	{
+		DateAndTimeConverter c = new DateAndTimeConverter();
+		//12-01-10 10:05:50.123, tuesday
+		byte[] buffer = new byte[]{ 0x12, 0x01, 0x10, 0x10, 0x05, 0x50, 0x12, 0x33 };
+
+		LocalDateTime d = c.extract(LocalDateTime.class, buffer, 0, 0);
+
+		Assert.assertEquals(LocalDateTime.of(2012, 1, 10, 10, 5, 50, 123000000), d);
+	}
+
+	@Test
+	public void insertLocalDateTime()
+	{
+		DateAndTimeConverter c = new DateAndTimeConverter();
+		byte[] buffer = new byte[8];
+
+		c.insert(LocalDateTime.of(2012, 1, 10, 10, 5, 50, 123000000), buffer, 0, 0, 8);
+
+		byte[] expected = new byte[]{ 0x12, 0x01, 0x10, 0x10, 0x05, 0x50, 0x12, 0x33 };
+		Assert.assertArrayEquals(expected, buffer);
+	}
+
+	@Test
+	public void loopLocalDateTime()
+	{
+		DateAndTimeConverter c = new DateAndTimeConverter();
+		byte[] buffer = new byte[8];
+
+		Random random = new Random();
+
+		for (int i=0; i<500; i++)
+		{
+			LocalDateTime d = LocalDateTime.of(
+					random.nextInt(100) + 1990,
+					random.nextInt(12) + 1,
+					random.nextInt(28) + 1,
+					random.nextInt(24),
+					random.nextInt(60),
+					random.nextInt(60),
+					random.nextInt(1000) * 1000000);
+
+			c.insert(d, buffer, 0, 0, 8);
+
+			Assert.assertEquals(d, c.extract(LocalDateTime.class, buffer, 0, 0));
+		}
+	}
+
+	@Test
+	public void instantAndMillisMatchDate()
+	{
+		DateAndTimeConverter c = new DateAndTimeConverter();
+		byte[] buffer = new byte[8];
+
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2010, 10, 20, 9, 15, 30);
+		Date d = calendar.getTime();
+
+		c.insert(d, buffer, 0, 0, 8);
+
+		Assert.assertEquals(d.toInstant(), c.extract(Instant.class, buffer, 0, 0));
+		Assert.assertEquals(Long.valueOf(d.getTime()), c.extract(Long.class, buffer, 0, 0));
+
+		byte[] buffer2 = new byte[8];
+		c.insert(d.getTime(), buffer2, 0, 0, 8);
+		Assert.assertEquals(d, c.extract(Date.class, buffer2, 0, 0));
+
+		c.insert(d.toInstant(), buffer2, 0, 0, 8);
+		Assert.assertEquals(d, c.extract(Date.class, buffer2, 0, 0));
+	}
+
+	@Test
+	public void instantMatchesZonedDateTime()
+	{
+		DateAndTimeConverter c = new DateAndTimeConverter();
+		byte[] buffer = new byte[8];
+
+		TimeZone previous = TimeZone.getDefault();
+		try
+		{
+			for (String zone : new String[]{ "UTC", "Europe/Berlin", "America/Sao_Paulo", "Australia/Lord_Howe" })
+			{
+				TimeZone.setDefault(TimeZone.getTimeZone(zone));
+				ZoneId zoneId = ZoneId.of(zone);
+
+				// every 20 minutes of a year, including the gaps and overlaps of the transitions
+				for (LocalDateTime d = LocalDateTime.of(2012, 1, 1, 0, 0, 0, 7000000); d.getYear() < 2013; d = d.plusMinutes(20))
+				{
+					Instant expected = d.atZone(zoneId).toInstant();
+
+					c.insert(d, buffer, 0, 0, 8);
+					Assert.assertEquals(zone + " " + d, expected, c.extract(Instant.class, buffer, 0, 0));
+					Assert.assertEquals(Long.valueOf(expected.toEpochMilli()), c.extract(Long.class, buffer, 0, 0));
+
+					c.insert(expected, buffer, 0, 0, 8);
+					Assert.assertEquals(LocalDateTime.ofInstant(expected, zoneId), c.extract(LocalDateTime.class, buffer, 0, 0));
+					c.insert(expected.toEpochMilli(), buffer, 0, 0, 8);
+					Assert.assertEquals(LocalDateTime.ofInstant(expected, zoneId), c.extract(LocalDateTime.class, buffer, 0, 0));
+				}
+			}
+		}
+		finally
+		{
+			TimeZone.setDefault(previous);
+		}
+	}
+
+	@Test
+	public void randomInstantsMatchZonedDateTime()
+	{
+		DateAndTimeConverter c = new DateAndTimeConverter();
+		byte[] buffer = new byte[8];
+		Random random = new Random(1);
+
+		TimeZone previous = TimeZone.getDefault();
+		try
+		{
+			TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+			ZoneId zoneId = ZoneId.of("Europe/Berlin");
+
+			// values of different offset windows in turn
+			for (int i = 0; i < 20000; i++)
+			{
+				LocalDateTime d = LocalDateTime.of(1990 + random.nextInt(100), 1 + random.nextInt(12), 1 + random.nextInt(28),
+						random.nextInt(24), random.nextInt(60), random.nextInt(60));
+				Instant expected = d.atZone(zoneId).toInstant();
+
+				c.insert(d, buffer, 0, 0, 8);
+				Assert.assertEquals(d.toString(), expected, c.extract(Instant.class, buffer, 0, 0));
+
+				c.insert(expected, buffer, 0, 0, 8);
+				Assert.assertEquals(LocalDateTime.ofInstant(expected, zoneId), c.extract(LocalDateTime.class, buffer, 0, 0));
+			}
+		}
+		finally
+		{
+			TimeZone.setDefault(previous);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void instantOfInvalidDate()
+	{
+		//12-02-30 10:05:50.000
+		new DateAndTimeConverter().extract(Instant.class, new byte[]{ 0x12, 0x02, 0x30, 0x10, 0x05, 0x50, 0x00, 0x05 }, 0, 0);
+	}
+
+	@Test
+	public void invalidBCD()
+	{
+		DateAndTimeConverter c = new DateAndTimeConverter();
+		byte[] buffer = new byte[]{ 0x1A };
+		Assert.assertEquals(0, c.getFromPLC(buffer, 0));
+	}
+
 }
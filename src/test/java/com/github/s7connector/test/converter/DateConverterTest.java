@@ -15,13 +15,17 @@ limitations under the License.
 */
 package com.github.s7connector.test.converter;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.TimeZone;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.github.s7connector.impl.serializer.converter.DateConverter;
+import com.github.s7connector.impl.utils.S7Utils;
 
 public class DateConverterTest
 {
@@ -117,4 +121,74 @@ public class DateConverterTest
 		Assert.assertEquals(calendar.getTime(), d);
 	}
 
+	@Test
+	public void localDate()
+	{
+		DateConverter c = new DateConverter();
+		byte[] buffer = new byte[2];
+
+		c.insert(LocalDate.of(1990, 1, 5), buffer, 0, 0, 2);
+
+		Assert.assertEquals(0x00, buffer[0]);
+		Assert.assertEquals(0x04, buffer[1]);
+		Assert.assertEquals(LocalDate.of(1990, 1, 5), c.extract(LocalDate.class, buffer, 0, 0));
+	}
+
+	@Test
+	public void loopLocalDate()
+	{
+		DateConverter c = new DateConverter();
+		byte[] buffer = new byte[2];
+
+		for (LocalDate d = LocalDate.of(1990, 1, 1); d.getYear() < 2100; d = d.plusDays(7))
+		{
+			c.insert(d, buffer, 0, 0, 2);
+			Assert.assertEquals(d, c.extract(LocalDate.class, buffer, 0, 0));
+		}
+	}
+
+	@Test
+	public void dateIsLocalMidnight()
+	{
+		DateConverter c = new DateConverter();
+		byte[] buffer = new byte[2];
+
+		TimeZone previous = TimeZone.getDefault();
+		try
+		{
+			// transitions at midnight
+			TimeZone.setDefault(TimeZone.getTimeZone("America/Sao_Paulo"));
+			ZoneId zone = ZoneId.of("America/Sao_Paulo");
+
+			for (LocalDate d = LocalDate.of(2010, 1, 1); d.getYear() < 2014; d = d.plusDays(1))
+			{
+				c.insert(d, buffer, 0, 0, 2);
+				Assert.assertEquals(d.toString(), Date.from(d.atStartOfDay(zone).toInstant()),
+						c.extract(Date.class, buffer, 0, 0));
+			}
+		}
+		finally
+		{
+			TimeZone.setDefault(previous);
+		}
+	}
+
+	@Test
+	public void epochDayArithmetic()
+	{
+		for (long day = -800000; day < 800000; day += 37)
+		{
+			LocalDate d = LocalDate.ofEpochDay(day);
+			Assert.assertEquals(day, S7Utils.toEpochDay(d.getYear(), d.getMonthValue(), d.getDayOfMonth()));
+			Assert.assertEquals((d.getYear() << 9) | (d.getMonthValue() << 5) | d.getDayOfMonth(),
+					S7Utils.fromEpochDay(day));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidEpochDay()
+	{
+		S7Utils.toEpochDay(2023, 2, 29);
+	}
+
 }
@@ -0,0 +1,115 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test.converter;
+
+import java.math.BigInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.impl.serializer.converter.DWordConverter;
+import com.github.s7connector.impl.serializer.converter.IntConverter;
+import com.github.s7connector.impl.serializer.converter.LIntConverter;
+import com.github.s7connector.impl.serializer.converter.LRealConverter;
+import com.github.s7connector.impl.serializer.converter.LWordConverter;
+import com.github.s7connector.impl.serializer.converter.SIntConverter;
+import com.github.s7connector.impl.serializer.converter.UDIntConverter;
+import com.github.s7connector.impl.serializer.converter.UIntConverter;
+import com.github.s7connector.impl.serializer.converter.ULIntConverter;
+import com.github.s7connector.impl.utils.S7Type;
+
+public class IntegralConverterTest
+{
+
+	@Test
+	public void signedAndUnsigned()
+	{
+		byte[] buffer = new byte[]{ (byte) 0xFF, (byte) 0xFE };
+		Assert.assertEquals(-2, new IntConverter().getInt(buffer, 0, 0));
+		Assert.assertEquals(65534, new UIntConverter().getInt(buffer, 0, 0));
+		Assert.assertEquals(-1, new SIntConverter().getInt(buffer, 0, 0));
+		Assert.assertEquals(Short.valueOf((short) -2), new IntConverter().extract(Short.class, buffer, 0, 0));
+	}
+
+	@Test
+	public void insertInt()
+	{
+		byte[] buffer = new byte[2];
+		new IntConverter().insert(-2, buffer, 0, 0, 2);
+		Assert.assertArrayEquals(new byte[]{ (byte) 0xFF, (byte) 0xFE }, buffer);
+	}
+
+	@Test
+	public void udint()
+	{
+		byte[] buffer = new byte[4];
+		UDIntConverter c = new UDIntConverter();
+		c.putLong(4000000000L, buffer, 0, 0);
+		Assert.assertEquals(4000000000L, c.getLong(buffer, 0, 0));
+		Assert.assertEquals(Long.valueOf(4000000000L), c.extract(Long.class, buffer, 0, 0));
+	}
+
+	@Test
+	public void lint()
+	{
+		byte[] buffer = new byte[9];
+		LIntConverter c = new LIntConverter();
+		c.insert(Long.MIN_VALUE + 1, buffer, 1, 0, 8);
+		Assert.assertEquals((byte) 0x80, buffer[1]);
+		Assert.assertEquals(0x01, buffer[8]);
+		Assert.assertEquals(Long.MIN_VALUE + 1, c.getLong(buffer, 1, 0));
+	}
+
+	@Test
+	public void ulint()
+	{
+		byte[] buffer = new byte[8];
+		java.util.Arrays.fill(buffer, (byte) 0xFF);
+		ULIntConverter c = new ULIntConverter();
+		Assert.assertEquals(-1L, c.getLong(buffer, 0, 0));
+		Assert.assertEquals(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE), c.extract(BigInteger.class, buffer, 0, 0));
+	}
+
+	@Test
+	public void dwordIsUnsigned()
+	{
+		byte[] buffer = new byte[]{ (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF };
+		DWordConverter c = new DWordConverter();
+		Assert.assertEquals(S7Type.DWORD, c.getS7Type());
+		Assert.assertEquals(0xFFFFFFFFL, c.getLong(buffer, 0, 0));
+		Assert.assertEquals(Long.valueOf(0xFFFFFFFFL), c.extract(Long.class, buffer, 0, 0));
+		Assert.assertEquals(-1, c.getInt(buffer, 0, 0));
+	}
+
+	@Test
+	public void lwordHasOwnType()
+	{
+		Assert.assertEquals(S7Type.LWORD, new LWordConverter().getS7Type());
+		Assert.assertEquals(S7Type.ULINT, new ULIntConverter().getS7Type());
+	}
+
+	@Test
+	public void lreal()
+	{
+		byte[] buffer = new byte[8];
+		LRealConverter c = new LRealConverter();
+		c.insert(1.0d, buffer, 0, 0, 8);
+		Assert.assertArrayEquals(new byte[]{ 0x3F, (byte) 0xF0, 0, 0, 0, 0, 0, 0 }, buffer);
+		Assert.assertEquals(1.0d, c.getDouble(buffer, 0, 0), 0.0d);
+		Assert.assertEquals(Float.valueOf(1.0f), c.extract(Float.class, buffer, 0, 0));
+	}
+
+}
@@ -20,6 +20,7 @@ import org.junit.Test;
 
 import com.github.s7connector.impl.serializer.converter.StringConverter;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 public class StringConverterTest
@@ -73,7 +74,7 @@ public class StringConverterTest
 
 		Assert.assertTrue(inStr.length() > 127);
 		Assert.assertTrue(inStr.length() < 240);
-		byte[] inBytes = inStr.getBytes();
+		byte[] inBytes = inStr.getBytes(StandardCharsets.ISO_8859_1);
 
 		StringConverter c = new StringConverter();
 		byte[] buffer = new byte[256];
@@ -85,4 +86,42 @@ public class StringConverterTest
 		Assert.assertEquals(inStr, str);
 	}
 
+	@Test
+	public void insertLatin1()
+	{
+		StringConverter c = new StringConverter();
+		byte[] buffer = new byte[8];
+		c.insert("\u00e4\u20ac", buffer, 0, 0, 6);
+		byte[] expected = new byte[]{ 6, 2, (byte) 0xE4, '?', 0, 0, 0, 0 };
+		Assert.assertArrayEquals(expected, buffer);
+	}
+
+	@Test
+	public void insertUtf8CountsBytes()
+	{
+		StringConverter c = new StringConverter(StandardCharsets.UTF_8);
+		byte[] buffer = new byte[8];
+		c.insert("\u00e4b", buffer, 0, 0, 6);
+		byte[] expected = new byte[]{ 6, 3, (byte) 0xC3, (byte) 0xA4, 'b', 0, 0, 0 };
+		Assert.assertArrayEquals(expected, buffer);
+		Assert.assertEquals("\u00e4b", c.extract(String.class, buffer, 0, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void insertUtf8TooBig()
+	{
+		StringConverter c = new StringConverter(StandardCharsets.UTF_8);
+		c.insert("\u00e4\u00e4\u00e4", new byte[10], 0, 0, 5);
+	}
+
+	@Test
+	public void extractCached()
+	{
+		StringConverter c = new StringConverter(StandardCharsets.ISO_8859_1, 16);
+		byte[] buffer = new byte[]{ 8, 5, 'H', 'e', 'l', 'l', 'o', 0, 8, 5, 'H', 'e', 'l', 'l', 'o', 0, 8, 5, 'W', 'o', 'r', 'l', 'd' };
+		String first = c.extract(String.class, buffer, 0, 0);
+		Assert.assertSame(first, c.extract(String.class, buffer, 8, 0));
+		Assert.assertEquals("World", c.extract(String.class, buffer, 16, 0));
+	}
+
 }
@@ -0,0 +1,111 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test.converter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.impl.serializer.converter.DtlConverter;
+import com.github.s7connector.impl.serializer.converter.LTimeConverter;
+import com.github.s7connector.impl.serializer.converter.S5TimeConverter;
+import com.github.s7connector.impl.serializer.converter.TimeOfDayConverter;
+
+public class TimeTypesConverterTest
+{
+
+	@Test
+	public void s5time()
+	{
+		S5TimeConverter c = new S5TimeConverter();
+		byte[] buffer = new byte[2];
+
+		c.insert(Duration.ofMillis(1230), buffer, 0, 0, 2);
+		Assert.assertArrayEquals(new byte[]{ 0x01, 0x23 }, buffer);
+		Assert.assertEquals(1230, c.getInt(buffer, 0, 0));
+
+		c.putInt(9990000, buffer, 0, 0);
+		Assert.assertArrayEquals(new byte[]{ 0x39, (byte) 0x99 }, buffer);
+		Assert.assertEquals(Duration.ofSeconds(9990), c.extract(Duration.class, buffer, 0, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void s5timeOutOfRange()
+	{
+		new S5TimeConverter().putInt(10000000, new byte[2], 0, 0);
+	}
+
+	@Test
+	public void timeOfDay()
+	{
+		TimeOfDayConverter c = new TimeOfDayConverter();
+		byte[] buffer = new byte[4];
+		c.insert(LocalTime.of(1, 0, 0, 5000000), buffer, 0, 0, 4);
+		Assert.assertEquals(3600005, c.getInt(buffer, 0, 0));
+		Assert.assertEquals(LocalTime.of(1, 0, 0, 5000000), c.extract(LocalTime.class, buffer, 0, 0));
+	}
+
+	@Test
+	public void ltime()
+	{
+		LTimeConverter c = new LTimeConverter();
+		byte[] buffer = new byte[8];
+		c.insert(Duration.ofNanos(-1), buffer, 0, 0, 8);
+		Assert.assertEquals(-1L, c.getLong(buffer, 0, 0));
+		Assert.assertEquals(Duration.ofNanos(-1), c.extract(Duration.class, buffer, 0, 0));
+	}
+
+	@Test
+	public void dtl()
+	{
+		DtlConverter c = new DtlConverter();
+		byte[] buffer = new byte[12];
+		// 2024-03-10 is a sunday
+		LocalDateTime value = LocalDateTime.of(2024, 3, 10, 13, 14, 15, 123456789);
+		c.insert(value, buffer, 0, 0, 12);
+		Assert.assertArrayEquals(new byte[]{ 0x07, (byte) 0xE8, 3, 10, 1, 13, 14, 15, 0x07, 0x5B, (byte) 0xCD, 0x15 },
+				buffer);
+		Assert.assertEquals(value, c.extract(LocalDateTime.class, buffer, 0, 0));
+	}
+
+	@Test
+	public void dtlTargetTypes()
+	{
+		DtlConverter c = new DtlConverter();
+		byte[] buffer = new byte[12];
+		Instant instant = LocalDateTime.of(2024, 3, 10, 13, 14, 15, 123000000).atZone(ZoneId.systemDefault()).toInstant();
+		c.insert(instant, buffer, 0, 0, 12);
+		Assert.assertEquals(instant, c.extract(Instant.class, buffer, 0, 0));
+		Assert.assertEquals(Long.valueOf(instant.toEpochMilli()), c.extract(Long.class, buffer, 0, 0));
+		Assert.assertEquals(Date.from(instant), c.extract(Date.class, buffer, 0, 0));
+
+		c.insert(Date.from(instant), buffer, 0, 0, 12);
+		Assert.assertEquals(instant, c.extract(Instant.class, buffer, 0, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void dtlRejectsOtherTypes()
+	{
+		new DtlConverter().extract(String.class, new byte[]{ 0x07, (byte) 0xE8, 3, 10, 1, 13, 14, 15, 0, 0, 0, 0 }, 0, 0);
+	}
+
+}
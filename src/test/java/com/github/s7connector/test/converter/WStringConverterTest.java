@@ -0,0 +1,69 @@
+/*
+Copyright 2016 S7connector members (github.com/s7connector)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package com.github.s7connector.test.converter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.s7connector.impl.serializer.converter.WStringConverter;
+
+public class WStringConverterTest
+{
+
+	@Test
+	public void insert()
+	{
+		WStringConverter c = new WStringConverter();
+		byte[] buffer = new byte[12];
+		c.insert("H\u20AC", buffer, 0, 0, 4);
+		byte[] expected = new byte[]{ 0, 4, 0, 2, 0, 'H', 0x20, (byte) 0xAC, 0, 0, 0, 0 };
+		Assert.assertArrayEquals(expected, buffer);
+		Assert.assertEquals(12, c.getSizeInBytes(4));
+	}
+
+	@Test
+	public void extract()
+	{
+		WStringConverter c = new WStringConverter();
+		byte[] buffer = new byte[]{ 0, 0, 4, 0, 2, 0, 'H', 0x20, (byte) 0xAC, 0, 0 };
+		Assert.assertEquals("H\u20AC", c.extract(String.class, buffer, 1, 0));
+	}
+
+	@Test
+	public void extractTruncated()
+	{
+		WStringConverter c = new WStringConverter();
+		// current length beyond the maximum
+		byte[] buffer = new byte[]{ 0, 1, 0, 2, 0, 'H', 0, 'i' };
+		Assert.assertEquals("H", c.extract(String.class, buffer, 0, 0));
+		// current length beyond the buffer
+		buffer = new byte[]{ 0, 4, 0, 4, 0, 'H', 0, 'i', 0 };
+		Assert.assertEquals("Hi", c.extract(String.class, buffer, 0, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void insertTooBig()
+	{
+		new WStringConverter().insert("Hello", new byte[20], 0, 0, 4);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void insertBeyondBuffer()
+	{
+		new WStringConverter().insert("Hello", new byte[10], 0, 0, 10);
+	}
+
+}